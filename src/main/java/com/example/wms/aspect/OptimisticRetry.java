@@ -0,0 +1,15 @@
+package com.example.wms.aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs the method in a new transaction when it loses an optimistic lock race. Only the outermost call retries;
+ * inside an enclosing transaction the conflict is passed on to the caller, whose whole unit of work must be redone.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OptimisticRetry {
+}
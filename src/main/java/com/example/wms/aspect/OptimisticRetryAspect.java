@@ -0,0 +1,115 @@
+package com.example.wms.aspect;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.model.db.entity.Stock;
+import com.example.wms.model.db.repository.StockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries {@link OptimisticRetry} methods with full-jitter exponential backoff. Ordered before the transaction
+ * interceptor, so that every attempt runs in a fresh transaction and persistence context. Inside a transaction
+ * that is already open nothing is retried; the conflict reaches the client as 409.
+ * <p>
+ * Publishes {@code optimistic.lock.attempts} and {@code optimistic.lock.retries} per method, and
+ * {@code optimistic.lock.conflicts} per method, entity and location, so that conflicts / attempts gives the
+ * conflict rate and the location tag points at contended bins.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class OptimisticRetryAspect {
+    private final MeterRegistry meterRegistry;
+    private final StockRepository stockRepository;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticRetryAspect(MeterRegistry meterRegistry,
+                                 StockRepository stockRepository,
+                                 @Value("${app.retry.optimistic.max-attempts:4}") int maxAttempts,
+                                 @Value("${app.retry.optimistic.initial-backoff:10ms}") Duration initialBackoff,
+                                 @Value("${app.retry.optimistic.max-backoff:200ms}") Duration maxBackoff) {
+        this.meterRegistry = meterRegistry;
+        this.stockRepository = stockRepository;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+    }
+
+    @Around("@annotation(com.example.wms.aspect.OptimisticRetry)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        Counter attempts = meterRegistry.counter("optimistic.lock.attempts", "method", method);
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                recordConflict(method, e);
+                if (attempt >= maxAttempts) {
+                    log.warn("{} lost {} optimistic lock races in a row, giving up", method, attempt);
+                    throw new CommonBackendException("The data was modified concurrently, please try again", HttpStatus.CONFLICT);
+                }
+                meterRegistry.counter("optimistic.lock.retries", "method", method).increment();
+                long backoff = backoffMillis(attempt);
+                log.info("{} lost an optimistic lock race, retrying in {} ms (attempt {} of {})", method, backoff, attempt + 1, maxAttempts);
+                Thread.sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * Full jitter: uniformly random in [0, min(max, initial * 2^(attempt - 1))], so that the losers of one race do
+     * not collide again on the next attempt.
+     */
+    long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void recordConflict(String method, RuntimeException e) {
+        String entity = "unknown";
+        Object id = null;
+        if (e instanceof ObjectOptimisticLockingFailureException failure) {
+            entity = simpleName(failure.getPersistentClassName());
+            id = failure.getIdentifier();
+        } else if (e instanceof OptimisticLockException failure && failure.getEntity() != null) {
+            entity = failure.getEntity().getClass().getSimpleName();
+        }
+
+        String location = "none";
+        if (Stock.class.getSimpleName().equals(entity) && id instanceof Long stockId) {
+            location = stockRepository.findLocationIdById(stockId).map(String::valueOf).orElse("none");
+        }
+        meterRegistry.counter("optimistic.lock.conflicts", "method", method, "entity", entity, "location", location).increment();
+    }
+
+    private static String simpleName(String className) {
+        if (className == null) {
+            return "unknown";
+        }
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.wms.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caffeine-backed Hibernate second-level cache for rarely changing reference entities and their natural-key lookups.
+ * Entries are invalidated by Hibernate on every write made through JPA; rows changed behind its back (plain JDBC)
+ * stay stale until the TTL passes.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    public static final String REFERENCE_DATA_REGION = "reference-data";
+    public static final String REFERENCE_LOOKUP_REGION = "reference-lookups";
+
+    /**
+     * One cache manager per application context, so that contexts sharing a JVM (tests) never share regions.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${app.cache.reference.max-size:10000}") long maxSize,
+                                              @Value("${app.cache.reference.ttl:10m}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:wms:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(REFERENCE_DATA_REGION, bounded(maxSize, ttl));
+        cacheManager.createCache(REFERENCE_LOOKUP_REGION, bounded(maxSize, ttl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded(maxSize, ttl));
+        // Per-table invalidation timestamps must outlive every cached query result, so this region is never evicted.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, unbounded());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = unbounded();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+
+    private static CaffeineConfiguration<Object, Object> unbounded() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
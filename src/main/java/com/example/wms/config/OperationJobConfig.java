@@ -0,0 +1,27 @@
+package com.example.wms.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for operations executed in the background. Both the thread count and the queue are bounded, so a burst of
+ * large operations is rejected instead of exhausting database connections.
+ */
+@Configuration
+public class OperationJobConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor operationJobExecutor(@Value("${app.operations.async.threads:2}") int threads,
+                                                       @Value("${app.operations.async.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("operation-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
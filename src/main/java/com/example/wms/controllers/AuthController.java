@@ -0,0 +1,25 @@
+package com.example.wms.controllers;
+
+import com.example.wms.model.dto.request.TokenReq;
+import com.example.wms.model.dto.response.TokenResp;
+import com.example.wms.service.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+@Tag(name = "Аутентификация")
+public class AuthController {
+    private final TokenService tokenService;
+
+    @PostMapping("/token")
+    @Operation(summary = "Получить токен доступа")
+    public TokenResp issueToken(@RequestBody @Valid TokenReq req) {
+        return tokenService.issueToken(req);
+    }
+
+}
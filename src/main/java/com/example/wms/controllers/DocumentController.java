@@ -2,12 +2,13 @@ package com.example.wms.controllers;
 
 import com.example.wms.model.dto.request.DocumentInfoReq;
 import com.example.wms.model.dto.response.DocumentInfoResp;
+import com.example.wms.model.enums.TotalMode;
 import com.example.wms.service.DocumentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -36,12 +37,14 @@ public class DocumentController {
     @GetMapping("/all")
     @Operation(summary = "Получить список документов")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
-    public Page<DocumentInfoResp> getAllDocuments(@RequestParam(defaultValue = "1") Integer page,
-                                                  @RequestParam(defaultValue = "10") Integer perPage,
-                                                  @RequestParam(defaultValue = "number") String sort,
-                                                  @RequestParam(defaultValue = "ASC") Sort.Direction order,
-                                                  @RequestParam(required = false) String filter) {
-        return documentService.getAllDocuments(page, perPage, sort, order, filter);
+    public Slice<DocumentInfoResp> getAllDocuments(@RequestParam(defaultValue = "1") Integer page,
+                                                   @RequestParam(defaultValue = "10") Integer perPage,
+                                                   @RequestParam(defaultValue = "number") String sort,
+                                                   @RequestParam(defaultValue = "ASC") Sort.Direction order,
+                                                   @RequestParam(required = false) String filter,
+                                                   @RequestParam(defaultValue = "true") Boolean withTotal,
+                                                   @RequestParam(defaultValue = "false") Boolean approximateTotal) {
+        return documentService.getAllDocuments(page, perPage, sort, order, filter, TotalMode.of(withTotal, approximateTotal));
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,81 @@
+package com.example.wms.controllers;
+
+import com.example.wms.model.enums.ExportFormat;
+import com.example.wms.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+@Tag(name = "Выгрузка")
+public class ExportController {
+    private final ExportService exportService;
+
+    @GetMapping("/stocks")
+    @Operation(summary = "Выгрузить запасы, изменённые начиная с момента времени, в NDJSON или CSV")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER')")
+    public void exportStocks(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                             @RequestParam(required = false) Instant since,
+                             @RequestParam(defaultValue = "false") Boolean gzip,
+                             HttpServletResponse response) throws IOException {
+        try (OutputStream out = open(response, "stocks", format, gzip)) {
+            exportService.exportStocks(format, since, out);
+        }
+    }
+
+    @GetMapping("/operations")
+    @Operation(summary = "Выгрузить операции, изменённые начиная с момента времени, в NDJSON или CSV")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER')")
+    public void exportOperations(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                 @RequestParam(required = false) Instant since,
+                                 @RequestParam(defaultValue = "false") Boolean gzip,
+                                 HttpServletResponse response) throws IOException {
+        try (OutputStream out = open(response, "operations", format, gzip)) {
+            exportService.exportOperations(format, since, out);
+        }
+    }
+
+    @GetMapping("/inventories")
+    @Operation(summary = "Выгрузить инвентаризации, проведённые начиная с момента времени, в NDJSON или CSV")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER')")
+    public void exportInventories(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                  @RequestParam(required = false) Instant since,
+                                  @RequestParam(defaultValue = "false") Boolean gzip,
+                                  HttpServletResponse response) throws IOException {
+        try (OutputStream out = open(response, "inventories", format, gzip)) {
+            exportService.exportInventories(format, since, out);
+        }
+    }
+
+    /**
+     * With {@code gzip} the body is a .gz file of the export, not a compressed transfer of it: a Content-Encoding
+     * header would make clients unpack it on the fly and save plain text under the .gz name.
+     */
+    private static OutputStream open(HttpServletResponse response, String name, ExportFormat format, boolean gzip)
+            throws IOException {
+        String filename = name + "." + format.getExtension();
+        if (!gzip) {
+            response.setContentType(format.getContentType());
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
+            return response.getOutputStream();
+        }
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename + ".gz");
+        return new GZIPOutputStream(response.getOutputStream(), 8192);
+    }
+}
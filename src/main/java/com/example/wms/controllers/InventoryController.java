@@ -1,11 +1,13 @@
 package com.example.wms.controllers;
 
+import com.example.wms.model.dto.response.CursorPageResp;
 import com.example.wms.model.dto.response.InventorInfoResp;
+import com.example.wms.model.enums.TotalMode;
 import com.example.wms.service.InventoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -27,11 +29,24 @@ public class InventoryController {
     @GetMapping("/all")
     @Operation(summary = "Получить список инвентаризаций запасов")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER')")
-    public Page<InventorInfoResp> getAllInventories(@RequestParam(defaultValue = "1") Integer page,
-                                                    @RequestParam(defaultValue = "10") Integer perPage,
-                                                    @RequestParam(defaultValue = "id") String sort,
-                                                    @RequestParam(defaultValue = "ASC") Sort.Direction order,
-                                                    @RequestParam(required = false) Long filter) {
-        return inventoryService.getAllInventories(page, perPage, sort, order, filter);
+    public Slice<InventorInfoResp> getAllInventories(@RequestParam(defaultValue = "1") Integer page,
+                                                     @RequestParam(defaultValue = "10") Integer perPage,
+                                                     @RequestParam(defaultValue = "id") String sort,
+                                                     @RequestParam(defaultValue = "ASC") Sort.Direction order,
+                                                     @RequestParam(required = false) Long filter,
+                                                     @RequestParam(defaultValue = "true") Boolean withTotal,
+                                                     @RequestParam(defaultValue = "false") Boolean approximateTotal) {
+        return inventoryService.getAllInventories(page, perPage, sort, order, filter, TotalMode.of(withTotal, approximateTotal));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Получить список инвентаризаций запасов по курсору")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER')")
+    public CursorPageResp<InventorInfoResp> scrollInventories(@RequestParam(required = false) String after,
+                                                              @RequestParam(defaultValue = "10") Integer perPage,
+                                                              @RequestParam(defaultValue = "id") String sort,
+                                                              @RequestParam(defaultValue = "ASC") Sort.Direction order,
+                                                              @RequestParam(required = false) Long filter) {
+        return inventoryService.scrollInventories(after, perPage, sort, order, filter);
     }
 }
@@ -1,31 +1,45 @@
 package com.example.wms.controllers;
 
 import com.example.wms.model.dto.request.OperationInfoReq;
+import com.example.wms.model.dto.response.CursorPageResp;
+import com.example.wms.model.dto.response.OperationJobResp;
 import com.example.wms.model.dto.response.OperationInfoResp;
 import com.example.wms.model.enums.OperationType;
+import com.example.wms.model.enums.TotalMode;
+import com.example.wms.service.IdempotencyService;
+import com.example.wms.service.OperationJobService;
 import com.example.wms.service.OperationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/operations")
 @RequiredArgsConstructor
 @Tag(name = "Операции")
 public class OperationController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final OperationService operationService;
+    private final OperationJobService operationJobService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @Operation(summary = "Создать операцию")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
-    public OperationInfoResp createOperation(@RequestBody @Valid OperationInfoReq req) {
-        return operationService.createOperation(req);
+    public OperationInfoResp createOperation(@RequestBody @Valid OperationInfoReq req,
+                                             @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /operations", req, OperationInfoResp.class,
+                () -> operationService.createOperation(req));
     }
 
     @PostMapping("/start/{id}")
@@ -38,22 +52,62 @@ public class OperationController {
     @PostMapping("/receiving/{id}")
     @Operation(summary = "Провести операцию приемки товаров по id")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
-    public OperationInfoResp receivingOperation(@PathVariable Long id) {
-        return operationService.receivingOperation(id);
+    public OperationInfoResp receivingOperation(@PathVariable Long id,
+                                                @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /operations/receiving/" + id, null, OperationInfoResp.class,
+                () -> operationService.receivingOperation(id));
     }
 
     @PostMapping("/shipping/{id}")
     @Operation(summary = "Провести операцию отгрузки товаров по id")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
-    public OperationInfoResp shippingOperation(@PathVariable Long id) {
-        return operationService.shippingOperation(id);
+    public OperationInfoResp shippingOperation(@PathVariable Long id,
+                                               @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /operations/shipping/" + id, null, OperationInfoResp.class,
+                () -> operationService.shippingOperation(id));
     }
 
     @PostMapping("/transfer/{id}")
     @Operation(summary = "Провести операцию перемещения товаров по id")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
-    public OperationInfoResp transferOperation(@PathVariable Long id) {
-        return operationService.transferOperation(id);
+    public OperationInfoResp transferOperation(@PathVariable Long id,
+                                               @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /operations/transfer/" + id, null, OperationInfoResp.class,
+                () -> operationService.transferOperation(id));
+    }
+
+    @PostMapping("/receiving/{id}/async")
+    @Operation(summary = "Запустить фоновое проведение операции приемки товаров по id")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
+    public ResponseEntity<OperationJobResp> receivingOperationAsync(@PathVariable Long id,
+                                                                    @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.accepted().body(idempotencyService.execute(idempotencyKey, "POST /operations/receiving/" + id + "/async",
+                null, OperationJobResp.class, () -> operationJobService.submit(id, OperationType.RECEIVING)));
+    }
+
+    @PostMapping("/shipping/{id}/async")
+    @Operation(summary = "Запустить фоновое проведение операции отгрузки товаров по id")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
+    public ResponseEntity<OperationJobResp> shippingOperationAsync(@PathVariable Long id,
+                                                                   @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.accepted().body(idempotencyService.execute(idempotencyKey, "POST /operations/shipping/" + id + "/async",
+                null, OperationJobResp.class, () -> operationJobService.submit(id, OperationType.SHIPPING)));
+    }
+
+    @PostMapping("/transfer/{id}/async")
+    @Operation(summary = "Запустить фоновое проведение операции перемещения товаров по id")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
+    public ResponseEntity<OperationJobResp> transferOperationAsync(@PathVariable Long id,
+                                                                   @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.accepted().body(idempotencyService.execute(idempotencyKey, "POST /operations/transfer/" + id + "/async",
+                null, OperationJobResp.class, () -> operationJobService.submit(id, OperationType.TRANSFER)));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Получить статус фонового проведения операции")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
+    public OperationJobResp getOperationJob(@PathVariable UUID jobId) {
+        return operationJobService.getJob(jobId);
     }
 
     @GetMapping("/{id}")
@@ -66,12 +120,25 @@ public class OperationController {
     @GetMapping("/all")
     @Operation(summary = "Получить список операций")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
-    public Page<OperationInfoResp> getAllOperations(@RequestParam(defaultValue = "1") Integer page,
-                                                          @RequestParam(defaultValue = "10") Integer perPage,
-                                                          @RequestParam(defaultValue = "id") String sort,
-                                                          @RequestParam(defaultValue = "ASC") Sort.Direction order,
-                                                          @RequestParam(required = false) OperationType filter) {
-        return operationService.getAllOperations(page, perPage, sort, order, filter);
+    public Slice<OperationInfoResp> getAllOperations(@RequestParam(defaultValue = "1") Integer page,
+                                                     @RequestParam(defaultValue = "10") Integer perPage,
+                                                     @RequestParam(defaultValue = "id") String sort,
+                                                     @RequestParam(defaultValue = "ASC") Sort.Direction order,
+                                                     @RequestParam(required = false) OperationType filter,
+                                                     @RequestParam(defaultValue = "true") Boolean withTotal,
+                                                     @RequestParam(defaultValue = "false") Boolean approximateTotal) {
+        return operationService.getAllOperations(page, perPage, sort, order, filter, TotalMode.of(withTotal, approximateTotal));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Получить список операций по курсору")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
+    public CursorPageResp<OperationInfoResp> scrollOperations(@RequestParam(required = false) String after,
+                                                              @RequestParam(defaultValue = "10") Integer perPage,
+                                                              @RequestParam(defaultValue = "id") String sort,
+                                                              @RequestParam(defaultValue = "ASC") Sort.Direction order,
+                                                              @RequestParam(required = false) OperationType filter) {
+        return operationService.scrollOperations(after, perPage, sort, order, filter);
     }
 
     @DeleteMapping("/{id}")
@@ -1,13 +1,17 @@
 package com.example.wms.controllers;
 
+import com.example.wms.model.dto.request.OperationDetailBulkReq;
 import com.example.wms.model.dto.request.OperationDetailInfoReq;
+import com.example.wms.model.dto.response.CursorPageResp;
+import com.example.wms.model.dto.response.OperationDetailBulkResp;
 import com.example.wms.model.dto.response.OperationDetailInfoResp;
+import com.example.wms.model.enums.TotalMode;
 import com.example.wms.service.OperationDetailService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -26,6 +30,13 @@ public class OperationDetailController {
         return operationDetailService.createOperationDetail(req);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Создать детали операции пакетом")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
+    public OperationDetailBulkResp createOperationDetails(@RequestBody @Valid OperationDetailBulkReq req) {
+        return operationDetailService.createOperationDetails(req);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Получить детали операции по id")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
@@ -36,12 +47,25 @@ public class OperationDetailController {
     @GetMapping("/all")
     @Operation(summary = "Получить список деталей операций")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
-    public Page<OperationDetailInfoResp> getAllOperationDetails(@RequestParam(defaultValue = "1") Integer page,
-                                                                @RequestParam(defaultValue = "10") Integer perPage,
-                                                                @RequestParam(defaultValue = "id") String sort,
-                                                                @RequestParam(defaultValue = "ASC") Sort.Direction order,
-                                                                @RequestParam(required = false) Long filter) {
-        return operationDetailService.getAllOperationDetails(page, perPage, sort, order, filter);
+    public Slice<OperationDetailInfoResp> getAllOperationDetails(@RequestParam(defaultValue = "1") Integer page,
+                                                                 @RequestParam(defaultValue = "10") Integer perPage,
+                                                                 @RequestParam(defaultValue = "id") String sort,
+                                                                 @RequestParam(defaultValue = "ASC") Sort.Direction order,
+                                                                 @RequestParam(required = false) Long filter,
+                                                                 @RequestParam(defaultValue = "true") Boolean withTotal,
+                                                                 @RequestParam(defaultValue = "false") Boolean approximateTotal) {
+        return operationDetailService.getAllOperationDetails(page, perPage, sort, order, filter, TotalMode.of(withTotal, approximateTotal));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Получить список деталей операций по курсору")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
+    public CursorPageResp<OperationDetailInfoResp> scrollOperationDetails(@RequestParam(required = false) String after,
+                                                                          @RequestParam(defaultValue = "10") Integer perPage,
+                                                                          @RequestParam(defaultValue = "id") String sort,
+                                                                          @RequestParam(defaultValue = "ASC") Sort.Direction order,
+                                                                          @RequestParam(required = false) Long filter) {
+        return operationDetailService.scrollOperationDetails(after, perPage, sort, order, filter);
     }
 
     @PutMapping("/{id}")
@@ -2,16 +2,21 @@ package com.example.wms.controllers;
 
 import com.example.wms.model.dto.request.ProductInfoReq;
 import com.example.wms.model.dto.response.ProductInfoResp;
+import com.example.wms.model.dto.response.StockTotalResp;
+import com.example.wms.model.enums.TotalMode;
 import com.example.wms.service.ProductService;
+import com.example.wms.service.StockTotalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 
 @RestController
 @RequestMapping("/products")
@@ -19,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Товары")
 public class ProductController {
     private final ProductService productService;
+    private final StockTotalService stockTotalService;
 
     @PostMapping
     @Operation(summary = "Создать товар")
@@ -34,15 +40,24 @@ public class ProductController {
         return productService.getProduct(id);
     }
 
+    @GetMapping("/{id}/stock")
+    @Operation(summary = "Получить количество товара по складам")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
+    public List<StockTotalResp> getProductStock(@PathVariable Long id) {
+        return stockTotalService.getProductTotals(id);
+    }
+
     @GetMapping("/all")
     @Operation(summary = "Получить список товаров")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
-    public Page<ProductInfoResp> getAllProducts(@RequestParam(defaultValue = "1") Integer page,
-                                                @RequestParam(defaultValue = "10") Integer perPage,
-                                                @RequestParam(defaultValue = "sku") String sort,
-                                                @RequestParam(defaultValue = "ASC") Sort.Direction order,
-                                                @RequestParam(required = false) String filter) {
-        return productService.getAllProducts(page, perPage, sort, order, filter);
+    public Slice<ProductInfoResp> getAllProducts(@RequestParam(defaultValue = "1") Integer page,
+                                                 @RequestParam(defaultValue = "10") Integer perPage,
+                                                 @RequestParam(defaultValue = "sku") String sort,
+                                                 @RequestParam(defaultValue = "ASC") Sort.Direction order,
+                                                 @RequestParam(required = false) String filter,
+                                                 @RequestParam(defaultValue = "true") Boolean withTotal,
+                                                 @RequestParam(defaultValue = "false") Boolean approximateTotal) {
+        return productService.getAllProducts(page, perPage, sort, order, filter, TotalMode.of(withTotal, approximateTotal));
     }
 
     @PutMapping("/{id}")
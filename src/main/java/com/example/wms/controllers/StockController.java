@@ -1,22 +1,34 @@
 package com.example.wms.controllers;
 
+import com.example.wms.model.dto.request.AvailableToPromiseReq;
+import com.example.wms.model.dto.response.AvailableToPromiseResp;
+import com.example.wms.model.dto.response.CursorPageResp;
 import com.example.wms.model.dto.response.StockInfoResp;
-
+import com.example.wms.model.dto.response.StockQuantityResp;
+import com.example.wms.model.enums.TotalMode;
+import com.example.wms.service.AvailableToPromiseService;
+import com.example.wms.service.StockLedgerService;
 import com.example.wms.service.StockService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.List;
+
 @RestController
 @RequestMapping("/stocks")
 @RequiredArgsConstructor
 @Tag(name = "Запасы")
 public class StockController {
     private final StockService stockService;
+    private final StockLedgerService stockLedgerService;
+    private final AvailableToPromiseService availableToPromiseService;
 
     @GetMapping("/{productId}/{locationId}")
     @Operation(summary = "Получить запас товара по id товара и id локации")
@@ -28,12 +40,41 @@ public class StockController {
     @GetMapping("/all")
     @Operation(summary = "Получить список запасов товаров")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
-    public Page<StockInfoResp> getAllStocks(@RequestParam(defaultValue = "1") Integer page,
-                                            @RequestParam(defaultValue = "10") Integer perPage,
-                                            @RequestParam(defaultValue = "status") String sort,
-                                            @RequestParam(defaultValue = "ASC") Sort.Direction order,
-                                            @RequestParam(required = false) String filter) {
-        return stockService.getAllStocks(page, perPage, sort, order, filter);
+    public Slice<StockInfoResp> getAllStocks(@RequestParam(defaultValue = "1") Integer page,
+                                             @RequestParam(defaultValue = "10") Integer perPage,
+                                             @RequestParam(defaultValue = "status") String sort,
+                                             @RequestParam(defaultValue = "ASC") Sort.Direction order,
+                                             @RequestParam(required = false) String filter,
+                                             @RequestParam(defaultValue = "true") Boolean withTotal,
+                                             @RequestParam(defaultValue = "false") Boolean approximateTotal) {
+        return stockService.getAllStocks(page, perPage, sort, order, filter, TotalMode.of(withTotal, approximateTotal));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Получить список запасов товаров по курсору")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER') or hasRole('PICKER') or hasRole('RECEIVER')")
+    public CursorPageResp<StockInfoResp> scrollStocks(@RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = "10") Integer perPage,
+                                                      @RequestParam(defaultValue = "status") String sort,
+                                                      @RequestParam(defaultValue = "ASC") Sort.Direction order,
+                                                      @RequestParam(required = false) String filter) {
+        return stockService.scrollStocks(after, perPage, sort, order, filter);
+    }
+
+    @GetMapping("/history/{locationId}")
+    @Operation(summary = "Получить запасы в локации на момент времени")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER')")
+    public List<StockQuantityResp> getStocksAt(@PathVariable Long locationId,
+                                               @RequestParam Instant at,
+                                               @RequestParam(required = false) Long productId) {
+        return stockLedgerService.getQuantitiesAt(locationId, productId, at);
+    }
+
+    @PostMapping("/atp")
+    @Operation(summary = "Рассчитать доступное к обещанию количество по артикулам и складам")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER')")
+    public List<AvailableToPromiseResp> getAvailableToPromise(@RequestBody @Valid AvailableToPromiseReq req) {
+        return availableToPromiseService.getAvailableToPromise(req);
     }
 
     @PostMapping("/inventory/{stockId}/{actualQuantity}")
@@ -1,13 +1,16 @@
 package com.example.wms.controllers;
 
 import com.example.wms.model.dto.request.WarehouseInfoReq;
+import com.example.wms.model.dto.response.StockTotalResp;
 import com.example.wms.model.dto.response.WarehouseInfoResp;
+import com.example.wms.service.StockTotalService;
 import com.example.wms.service.WarehouseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Склады")
 public class WarehouseController {
     private final WarehouseService warehouseService;
+    private final StockTotalService stockTotalService;
 
     @PostMapping
     @Operation(summary = "Создать склад")
@@ -44,6 +48,15 @@ public class WarehouseController {
         return warehouseService.getAllWarehouses(page, perPage, sort, order);
     }
 
+    @GetMapping("/{id}/stock")
+    @Operation(summary = "Получить количество товаров на складе")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STOREKEEPER')")
+    public Slice<StockTotalResp> getWarehouseStock(@PathVariable Long id,
+                                                   @RequestParam(defaultValue = "1") Integer page,
+                                                   @RequestParam(defaultValue = "10") Integer perPage) {
+        return stockTotalService.getWarehouseTotals(id, page, perPage);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Обновить склад по id")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
@@ -1,5 +1,6 @@
 package com.example.wms.exception;
 
+import jakarta.persistence.OptimisticLockException;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.web.error.ErrorAttributeOptions;
@@ -8,6 +9,8 @@ import org.springframework.boot.web.servlet.error.ErrorAttributes;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -40,6 +43,30 @@ public class GlobalExceptionHandler {
         response.sendError(ex.getStatus().value(), ex.getMessage());
     }
 
+    /**
+     * Optimistic lock races that no retry absorbed, e.g. inside an idempotent request whose transaction is already
+     * open when the retry aspect runs. The client may resend the request, with the same Idempotency-Key.
+     */
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    public void handleOptimisticLockingFailure(HttpServletResponse response, RuntimeException ex) throws IOException {
+        log.warn("Optimistic lock race lost: {}", ex.getMessage());
+        response.sendError(HttpStatus.CONFLICT.value(), "The data was modified concurrently, please try again");
+    }
+
+    @ExceptionHandler(StockShortageException.class)
+    public ResponseEntity<StockShortageErrorMessage> handleStockShortage(StockShortageException ex) {
+        log.error("{}: {} shortages", ex.getMessage(), ex.getShortages().size());
+
+        return ResponseEntity.status(ex.getStatus()).body(new StockShortageErrorMessage(ex.getMessage(), ex.getShortages()));
+    }
+
+    @ExceptionHandler(OperationDetailBulkException.class)
+    public ResponseEntity<OperationDetailBulkErrorMessage> handleOperationDetailBulk(OperationDetailBulkException ex) {
+        log.error("{}: {} row errors", ex.getMessage(), ex.getErrors().size());
+
+        return ResponseEntity.status(ex.getStatus()).body(new OperationDetailBulkErrorMessage(ex.getMessage(), ex.getErrors()));
+    }
+
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ErrorMessage> handleMissingParams(MissingServletRequestParameterException ex) {
         String parameter = ex.getParameterName();
@@ -0,0 +1,18 @@
+package com.example.wms.exception;
+
+import com.example.wms.model.dto.response.OperationDetailRowErrorResp;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class OperationDetailBulkErrorMessage extends ErrorMessage {
+    private List<OperationDetailRowErrorResp> errors;
+
+    public OperationDetailBulkErrorMessage(String message, List<OperationDetailRowErrorResp> errors) {
+        super(message);
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.wms.exception;
+
+import com.example.wms.model.dto.response.OperationDetailRowErrorResp;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+@Getter
+public class OperationDetailBulkException extends CommonBackendException {
+    private final List<OperationDetailRowErrorResp> errors;
+
+    public OperationDetailBulkException(String message, List<OperationDetailRowErrorResp> errors) {
+        super(message, HttpStatus.UNPROCESSABLE_ENTITY);
+        this.errors = errors;
+    }
+}
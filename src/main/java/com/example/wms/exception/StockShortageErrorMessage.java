@@ -0,0 +1,18 @@
+package com.example.wms.exception;
+
+import com.example.wms.model.dto.response.StockShortageResp;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class StockShortageErrorMessage extends ErrorMessage {
+    private List<StockShortageResp> shortages;
+
+    public StockShortageErrorMessage(String message, List<StockShortageResp> shortages) {
+        super(message);
+        this.shortages = shortages;
+    }
+}
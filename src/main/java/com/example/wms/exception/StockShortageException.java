@@ -0,0 +1,17 @@
+package com.example.wms.exception;
+
+import com.example.wms.model.dto.response.StockShortageResp;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+@Getter
+public class StockShortageException extends CommonBackendException {
+    private final List<StockShortageResp> shortages;
+
+    public StockShortageException(String message, List<StockShortageResp> shortages) {
+        super(message, HttpStatus.CONFLICT);
+        this.shortages = shortages;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.Category;
+import com.example.wms.model.dto.request.CategoryInfoReq;
+import com.example.wms.model.dto.response.CategoryInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CategoryMapper {
+    public static CategoryInfoResp toInfoResp(Category category) {
+        return CategoryInfoResp.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .build();
+    }
+
+    public static Category toEntity(CategoryInfoReq req) {
+        Category category = new Category();
+        category.setName(req.getName());
+        category.setDescription(req.getDescription());
+        return category;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.Document;
+import com.example.wms.model.dto.response.DocumentInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class DocumentMapper {
+    public static DocumentInfoResp toInfoResp(Document document) {
+        return DocumentInfoResp.builder()
+                .id(document.getId())
+                .number(document.getNumber())
+                .date(document.getDate())
+                .notes(document.getNotes())
+                .partnerName(document.getPartner().getName())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.Inventory;
+import com.example.wms.model.dto.response.InventorInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class InventoryMapper {
+    public static InventorInfoResp toInfoResp(Inventory inventory) {
+        return InventorInfoResp.builder()
+                .id(inventory.getId())
+                .actualQuantity(inventory.getActualQuantity())
+                .inventoryDate(inventory.getInventoryDate())
+                .stockId(inventory.getStock().getId())
+                .build();
+    }
+}
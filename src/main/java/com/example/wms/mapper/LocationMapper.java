@@ -0,0 +1,22 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.Location;
+import com.example.wms.model.dto.response.LocationInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class LocationMapper {
+    public static LocationInfoResp toInfoResp(Location location) {
+        return LocationInfoResp.builder()
+                .id(location.getId())
+                .name(location.getName())
+                .locationType(location.getLocationType())
+                .maxCapacity(location.getMaxCapacity())
+                .dimensions(location.getDimensions())
+                .description(location.getDescription())
+                .warehouseName(location.getWarehouse().getName())
+                .build();
+    }
+}
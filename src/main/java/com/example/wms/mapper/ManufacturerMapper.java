@@ -0,0 +1,30 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.Manufacturer;
+import com.example.wms.model.dto.request.ManufacturerInfoReq;
+import com.example.wms.model.dto.response.ManufacturerInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ManufacturerMapper {
+    public static ManufacturerInfoResp toInfoResp(Manufacturer manufacturer) {
+        return ManufacturerInfoResp.builder()
+                .id(manufacturer.getId())
+                .name(manufacturer.getName())
+                .address(manufacturer.getAddress())
+                .email(manufacturer.getEmail())
+                .phone(manufacturer.getPhone())
+                .build();
+    }
+
+    public static Manufacturer toEntity(ManufacturerInfoReq req) {
+        Manufacturer manufacturer = new Manufacturer();
+        manufacturer.setName(req.getName());
+        manufacturer.setAddress(req.getAddress());
+        manufacturer.setEmail(req.getEmail());
+        manufacturer.setPhone(req.getPhone());
+        return manufacturer;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.OperationDetail;
+import com.example.wms.model.dto.response.OperationDetailInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class OperationDetailMapper {
+    public static OperationDetailInfoResp toInfoResp(OperationDetail detail) {
+        return OperationDetailInfoResp.builder()
+                .id(detail.getId())
+                .quantity(detail.getQuantity())
+                .operationId(detail.getOperation().getId())
+                .sku(detail.getProduct().getSku())
+                .fromLocationName(detail.getFromLocation().getName())
+                .toLocationName(detail.getToLocation().getName())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.Operation;
+import com.example.wms.model.dto.response.OperationInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class OperationMapper {
+    public static OperationInfoResp toInfoResp(Operation operation) {
+        return OperationInfoResp.builder()
+                .id(operation.getId())
+                .operationType(operation.getOperationType())
+                .operationStatus(operation.getOperationStatus())
+                .username(operation.getUser().getUsername())
+                .documentNumber(operation.getDocument().getNumber())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.Partner;
+import com.example.wms.model.dto.request.PartnerInfoReq;
+import com.example.wms.model.dto.response.PartnerInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PartnerMapper {
+    public static PartnerInfoResp toInfoResp(Partner partner) {
+        return PartnerInfoResp.builder()
+                .id(partner.getId())
+                .name(partner.getName())
+                .partnerType(partner.getPartnerType())
+                .address(partner.getAddress())
+                .email(partner.getEmail())
+                .phone(partner.getPhone())
+                .build();
+    }
+
+    public static Partner toEntity(PartnerInfoReq req) {
+        Partner partner = new Partner();
+        partner.setName(req.getName());
+        partner.setPartnerType(req.getPartnerType());
+        partner.setAddress(req.getAddress());
+        partner.setEmail(req.getEmail());
+        partner.setPhone(req.getPhone());
+        return partner;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.Product;
+import com.example.wms.model.dto.response.ProductInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductMapper {
+    public static ProductInfoResp toInfoResp(Product product) {
+        return ProductInfoResp.builder()
+                .id(product.getId())
+                .sku(product.getSku())
+                .name(product.getName())
+                .description(product.getDescription())
+                .weight(product.getWeight())
+                .dimensions(product.getDimensions())
+                .categoryName(product.getCategory().getName())
+                .manufacturerName(product.getManufacturer().getName())
+                .build();
+    }
+}
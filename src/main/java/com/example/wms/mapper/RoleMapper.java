@@ -0,0 +1,26 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.Role;
+import com.example.wms.model.dto.request.RoleInfoReq;
+import com.example.wms.model.dto.response.RoleInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RoleMapper {
+    public static RoleInfoResp toInfoResp(Role role) {
+        return RoleInfoResp.builder()
+                .id(role.getId())
+                .name(role.getName())
+                .description(role.getDescription())
+                .build();
+    }
+
+    public static Role toEntity(RoleInfoReq req) {
+        Role role = new Role();
+        role.setName(req.getName());
+        role.setDescription(req.getDescription());
+        return role;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.Stock;
+import com.example.wms.model.db.projection.AvailableToPromise;
+import com.example.wms.model.db.projection.StockQuantity;
+import com.example.wms.model.db.projection.StockTotalView;
+import com.example.wms.model.dto.response.AvailableToPromiseResp;
+import com.example.wms.model.dto.response.StockInfoResp;
+import com.example.wms.model.dto.response.StockQuantityResp;
+import com.example.wms.model.dto.response.StockTotalResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StockMapper {
+    public static StockInfoResp toInfoResp(Stock stock) {
+        return StockInfoResp.builder()
+                .id(stock.getId())
+                .quantity(stock.getQuantity())
+                .status(stock.getStatus())
+                .productSku(stock.getProduct().getSku())
+                .locationName(stock.getLocation().getName())
+                .build();
+    }
+
+    public static StockQuantityResp toQuantityResp(StockQuantity quantity, Instant at) {
+        return StockQuantityResp.builder()
+                .productId(quantity.getProductId())
+                .locationId(quantity.getLocationId())
+                .quantity(quantity.getQuantity())
+                .at(at)
+                .build();
+    }
+
+    public static AvailableToPromiseResp toAvailableToPromiseResp(AvailableToPromise row) {
+        return AvailableToPromiseResp.builder()
+                .productId(row.getProductId())
+                .productSku(row.getProductSku())
+                .warehouseId(row.getWarehouseId())
+                .warehouseName(row.getWarehouseName())
+                .onHand(row.getOnHand())
+                .inbound(row.getInbound())
+                .outbound(row.getOutbound())
+                .available(row.getAvailable())
+                .build();
+    }
+
+    public static StockTotalResp toTotalResp(StockTotalView total) {
+        return StockTotalResp.builder()
+                .productId(total.getProductId())
+                .productSku(total.getProductSku())
+                .warehouseId(total.getWarehouseId())
+                .warehouseName(total.getWarehouseName())
+                .onHand(total.getOnHand())
+                .unavailable(total.getUnavailable())
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.User;
+import com.example.wms.model.dto.response.UserInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class UserMapper {
+    public static UserInfoResp toInfoResp(User user) {
+        return UserInfoResp.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .middleName(user.getMiddleName())
+                .roleName(user.getRole().getName())
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.wms.mapper;
+
+import com.example.wms.model.db.entity.Warehouse;
+import com.example.wms.model.dto.request.WarehouseInfoReq;
+import com.example.wms.model.dto.response.WarehouseInfoResp;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WarehouseMapper {
+    public static WarehouseInfoResp toInfoResp(Warehouse warehouse) {
+        return WarehouseInfoResp.builder()
+                .id(warehouse.getId())
+                .name(warehouse.getName())
+                .address(warehouse.getAddress())
+                .capacity(warehouse.getCapacity())
+                .build();
+    }
+
+    public static Warehouse toEntity(WarehouseInfoReq req) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName(req.getName());
+        warehouse.setAddress(req.getAddress());
+        warehouse.setCapacity(req.getCapacity());
+        return warehouse;
+    }
+}
@@ -18,7 +18,8 @@ import java.util.List;
 @Table(name = "documents")
 public class Document {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documents_seq")
+    @SequenceGenerator(name = "documents_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -14,7 +14,8 @@ import java.time.Instant;
 @Table(name = "inventories")
 public class Inventory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventories_seq")
+    @SequenceGenerator(name = "inventories_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -1,9 +1,12 @@
 package com.example.wms.model.db.entity;
 
+import com.example.wms.config.HibernateCacheConfig;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -17,9 +20,12 @@ import java.util.List;
 @Setter
 @Entity
 @Table(name = "manufacturers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.REFERENCE_DATA_REGION)
 public class Manufacturer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "manufacturers_seq")
+    @SequenceGenerator(name = "manufacturers_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -20,7 +20,8 @@ import java.util.List;
 @Table(name = "operations")
 public class Operation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operations_seq")
+    @SequenceGenerator(name = "operations_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -32,6 +33,10 @@ public class Operation {
     @Column(name = "status", length = 50, nullable = false)
     private OperationStatus operationStatus;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false, nullable = false)
     private Instant createdAt;
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+
 
 @Getter
 @Setter
@@ -12,13 +14,17 @@ import lombok.Setter;
 @Table(name = "operation_details")
 public class OperationDetail {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operation_details_seq")
+    @SequenceGenerator(name = "operation_details_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
     @Column(name = "quantity", nullable = false)
     private Integer quantity;
 
+    @Column(name = "executed_at")
+    private Instant executedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "from_location_id")
     @JsonBackReference(value = "location-outgoing")
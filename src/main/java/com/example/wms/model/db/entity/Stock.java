@@ -16,10 +16,10 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
-@Table(name = "stocks")
+@Table(name = "stocks", uniqueConstraints = @UniqueConstraint(
+        name = "uk_stocks_product_location", columnNames = {"product_id", "location_id"}))
 public class Stock {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -30,6 +30,10 @@ public class Stock {
     @Enumerated(EnumType.STRING)
     private StockStatus status;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
@@ -0,0 +1,35 @@
+package com.example.wms.model.db.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Entity
+@Immutable
+@Table(name = "stock_ledger")
+public class StockLedgerEntry {
+    @Id
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "operation_id")
+    private Long operationId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+
+    @Column(name = "delta", nullable = false)
+    private Integer delta;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+}
@@ -0,0 +1,36 @@
+package com.example.wms.model.db.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "stock_reservations")
+public class StockReservation {
+    @Id
+    @Column(name = "operation_detail_id", nullable = false)
+    private Long operationDetailId;
+
+    @Column(name = "operation_id", nullable = false)
+    private Long operationId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+}
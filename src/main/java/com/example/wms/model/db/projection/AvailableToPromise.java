@@ -0,0 +1,20 @@
+package com.example.wms.model.db.projection;
+
+public interface AvailableToPromise {
+
+    Long getProductId();
+
+    String getProductSku();
+
+    Long getWarehouseId();
+
+    String getWarehouseName();
+
+    Integer getOnHand();
+
+    Integer getInbound();
+
+    Integer getOutbound();
+
+    Integer getAvailable();
+}
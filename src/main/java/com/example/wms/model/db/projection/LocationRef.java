@@ -0,0 +1,10 @@
+package com.example.wms.model.db.projection;
+
+public interface LocationRef {
+
+    Long getId();
+
+    String getName();
+
+    Boolean getIsActive();
+}
@@ -0,0 +1,14 @@
+package com.example.wms.model.db.projection;
+
+public interface ReservationRequest {
+
+    Long getProductId();
+
+    String getProductSku();
+
+    Long getLocationId();
+
+    String getLocationName();
+
+    Integer getQuantity();
+}
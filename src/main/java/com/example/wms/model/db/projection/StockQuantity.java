@@ -0,0 +1,10 @@
+package com.example.wms.model.db.projection;
+
+public interface StockQuantity {
+
+    Long getProductId();
+
+    Long getLocationId();
+
+    Integer getQuantity();
+}
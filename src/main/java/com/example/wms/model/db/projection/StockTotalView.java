@@ -0,0 +1,16 @@
+package com.example.wms.model.db.projection;
+
+public interface StockTotalView {
+
+    Long getProductId();
+
+    String getProductSku();
+
+    Long getWarehouseId();
+
+    String getWarehouseName();
+
+    Long getOnHand();
+
+    Long getUnavailable();
+}
@@ -0,0 +1,8 @@
+package com.example.wms.model.db.projection;
+
+public interface UserRef {
+
+    Long getId();
+
+    String getUsername();
+}
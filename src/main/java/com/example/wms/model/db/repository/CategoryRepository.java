@@ -1,9 +1,13 @@
 package com.example.wms.model.db.repository;
 
+import com.example.wms.config.HibernateCacheConfig;
 import com.example.wms.model.db.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,8 +17,12 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Optional<Category> findByName(String categoryName);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.REFERENCE_LOOKUP_REGION)})
     Optional<Category> findByNameAndIsActiveTrue(String categoryName);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.REFERENCE_LOOKUP_REGION)})
     Optional<Category> findByIdAndIsActiveTrue(Long id);
 
     Page<Category> findAllByIsActiveTrue(Pageable pageRequest);
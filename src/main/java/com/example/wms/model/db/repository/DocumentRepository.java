@@ -3,6 +3,8 @@ package com.example.wms.model.db.repository;
 import com.example.wms.model.db.entity.Document;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,8 +17,22 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
 
     Optional<Document> findByIdAndIsActiveTrue(Long id);
 
+    @EntityGraph(attributePaths = {"partner"})
     Page<Document> findAllByIsActiveTrue(Pageable pageRequest);
 
+    @EntityGraph(attributePaths = {"partner"})
     @Query("select d from Document d where d.partner.name like %:filter%")
     Page<Document> findAllFiltered(Pageable pageRequest, @Param("filter") String filter);
+
+    @EntityGraph(attributePaths = {"partner"})
+    Slice<Document> findSliceByIsActiveTrue(Pageable pageRequest);
+
+    @EntityGraph(attributePaths = {"partner"})
+    @Query("select d from Document d where d.partner.name like %:filter%")
+    Slice<Document> findSliceFiltered(Pageable pageRequest, @Param("filter") String filter);
+
+    long countByIsActiveTrue();
+
+    @Query("select count(d) from Document d where d.partner.name like %:filter%")
+    long countFiltered(@Param("filter") String filter);
 }
@@ -0,0 +1,62 @@
+package com.example.wms.model.db.repository;
+
+import com.example.wms.model.db.entity.IdempotencyKey;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Claims the key for a request that is about to execute; returns 0 when the key is already taken. An expired
+     * key that was not purged yet is taken over.
+     */
+    @Modifying
+    @Query(value = """
+            insert into idempotency_keys (idempotency_key, request_hash, created_at, expires_at)
+            values (:key, :requestHash, :now, :expiresAt)
+            on conflict (idempotency_key) do update
+                set request_hash = excluded.request_hash,
+                    response = null,
+                    created_at = excluded.created_at,
+                    expires_at = excluded.expires_at
+                where idempotency_keys.expires_at < excluded.created_at
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    int reserve(@Param("key") String key, @Param("requestHash") String requestHash,
+                @Param("now") Instant now, @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query(value = "update idempotency_keys set response = :response where idempotency_key = :key", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    int complete(@Param("key") String key, @Param("response") String response);
+
+    @Modifying
+    @Query(value = "delete from idempotency_keys where idempotency_key = :key and response is null", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    int release(@Param("key") String key);
+
+    /**
+     * Deletes at most {@code batchSize} expired keys, skipping rows locked by other instances purging concurrently.
+     */
+    @Modifying
+    @Query(value = """
+            delete from idempotency_keys
+            where idempotency_key in (select idempotency_key
+                                      from idempotency_keys
+                                      where expires_at < :now
+                                      limit :batchSize
+                                      for update skip locked)
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    int deleteExpired(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
@@ -1,16 +1,54 @@
 package com.example.wms.model.db.repository;
 
 import com.example.wms.model.db.entity.Inventory;
+import com.example.wms.model.dto.response.InventoryExportResp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.stream.Stream;
+
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
     @Query("select i from Inventory i where i.stock.id = :filter")
     Page<Inventory> findAllFiltered(@Param("filter")Long filter, Pageable pageRequest);
 
+    Slice<Inventory> findSliceBy(Pageable pageable);
+
+    Slice<Inventory> findSliceByStockId(Long stockId, Pageable pageRequest);
+
+    long countByStockId(Long stockId);
+
+    Window<Inventory> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Inventory> findByStockId(Long stockId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Inventories taken at or after :since (all when null) in id order, read through a server-side cursor.
+     * Inventories are never changed once taken, so the inventory date stands in for a change date.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.example.wms.model.dto.response.InventoryExportResp(
+                i.id, s.id, p.sku, l.name, i.actualQuantity, i.inventoryDate)
+            from Inventory i
+                     join i.stock s
+                     join s.product p
+                     join s.location l
+            where :since is null or i.inventoryDate >= :since
+            order by i.id
+            """)
+    Stream<InventoryExportResp> streamForExport(@Param("since") Instant since);
 }
 
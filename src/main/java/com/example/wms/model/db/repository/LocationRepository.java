@@ -1,14 +1,22 @@
 package com.example.wms.model.db.repository;
 
+import com.example.wms.config.HibernateCacheConfig;
 import com.example.wms.model.db.entity.Location;
+import com.example.wms.model.db.projection.LocationRef;
 import com.example.wms.model.enums.LocationType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,12 +24,22 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
 
     Optional<Location> findByName(String name);
 
+    Optional<LocationRef> findRefByName(String name);
+
+    List<LocationRef> findRefsByNameInAndIsActiveTrue(Collection<String> names);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.REFERENCE_LOOKUP_REGION)})
     Optional<Location> findByNameAndIsActiveTrue(String name);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.REFERENCE_LOOKUP_REGION)})
     Optional<Location> findByIdAndIsActiveTrue(Long id);
 
+    @EntityGraph(attributePaths = {"warehouse"})
     Page<Location> findAllByIsActiveTrue(Pageable pageRequest);
 
+    @EntityGraph(attributePaths = {"warehouse"})
     @Query("select l from Location l where l.locationType = :locationType")
     Page<Location> findAllFiltered(@Param("locationType") LocationType filter, Pageable pageRequest);
 }
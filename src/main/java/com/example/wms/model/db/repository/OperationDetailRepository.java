@@ -1,16 +1,60 @@
 package com.example.wms.model.db.repository;
 
 import com.example.wms.model.db.entity.OperationDetail;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 
 @Repository
 public interface OperationDetailRepository extends JpaRepository<OperationDetail, Long> {
 
+    @EntityGraph(attributePaths = {"operation", "product", "fromLocation", "toLocation"})
     Page<OperationDetail> findByOperationId(Long operationId, Pageable pageRequest);
 
+    @Override
+    @EntityGraph(attributePaths = {"operation", "product", "fromLocation", "toLocation"})
+    Page<OperationDetail> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"operation", "product", "fromLocation", "toLocation"})
+    Slice<OperationDetail> findSliceBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"operation", "product", "fromLocation", "toLocation"})
+    Slice<OperationDetail> findSliceByOperationId(Long operationId, Pageable pageRequest);
+
+    long countByOperationId(Long operationId);
+
+    @EntityGraph(attributePaths = {"operation", "product", "fromLocation", "toLocation"})
+    Window<OperationDetail> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"operation", "product", "fromLocation", "toLocation"})
+    Window<OperationDetail> findByOperationId(Long operationId, ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("select d.id from OperationDetail d where d.operation.id = :operationId and d.executedAt is null order by d.id")
+    List<Long> findPendingIdsByOperationId(@Param("operationId") Long operationId);
+
+    @EntityGraph(attributePaths = {"product", "fromLocation", "toLocation"})
+    List<OperationDetail> findByIdInAndExecutedAtIsNullOrderById(Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "operation_details"))
+    @Query(value = "update operation_details set executed_at = now() where id = any(cast(:ids as bigint[]))", nativeQuery = true)
+    int markExecuted(@Param("ids") Long[] ids);
 
 }
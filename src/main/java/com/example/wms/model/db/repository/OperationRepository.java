@@ -1,17 +1,95 @@
 package com.example.wms.model.db.repository;
 
 import com.example.wms.model.db.entity.Operation;
+import com.example.wms.model.dto.response.OperationExportResp;
+import com.example.wms.model.enums.OperationStatus;
 import com.example.wms.model.enums.OperationType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface OperationRepository extends JpaRepository<Operation, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = {"user", "document"})
+    Page<Operation> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "document"})
     @Query("select o from Operation o where o.operationType = :operationType")
     Page<Operation> findAllFiltered(@Param("operationType") OperationType operationType, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "document"})
+    Slice<Operation> findSliceBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "document"})
+    Slice<Operation> findSliceByOperationType(OperationType operationType, Pageable pageable);
+
+    long countByOperationType(OperationType operationType);
+
+    @EntityGraph(attributePaths = {"user", "document"})
+    Window<Operation> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "document"})
+    Window<Operation> findByOperationType(OperationType operationType, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Loads the operation and locks its row until the end of the transaction, so that executions of
+     * the same operation never apply stock changes concurrently.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Operation o where o.id = :id")
+    Optional<Operation> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Moves the operation to {@code to} only if it is still in one of the {@code from} statuses; returns 0 when
+     * another request changed the status first.
+     */
+    @Modifying
+    @Query("""
+            update Operation o set o.operationStatus = :to, o.updatedAt = :updatedAt, o.version = o.version + 1
+            where o.id = :id and o.operationStatus in :from
+            """)
+    int updateStatus(@Param("id") Long id,
+                     @Param("from") Collection<OperationStatus> from,
+                     @Param("to") OperationStatus to,
+                     @Param("updatedAt") Instant updatedAt);
+
+    @Query("select o.operationStatus from Operation o where o.id = :id")
+    Optional<OperationStatus> findStatusById(@Param("id") Long id);
+
+    /**
+     * Operations changed at or after :since (all when null) in id order, read through a server-side cursor.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.example.wms.model.dto.response.OperationExportResp(
+                o.id, o.operationType, o.operationStatus, u.username, d.number, o.createdAt, o.updatedAt)
+            from Operation o
+                     join o.user u
+                     join o.document d
+            where :since is null or o.updatedAt >= :since
+            order by o.id
+            """)
+    Stream<OperationExportResp> streamForExport(@Param("since") Instant since);
 }
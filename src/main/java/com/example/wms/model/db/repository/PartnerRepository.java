@@ -1,10 +1,14 @@
 package com.example.wms.model.db.repository;
 
+import com.example.wms.config.HibernateCacheConfig;
 import com.example.wms.model.db.entity.Partner;
 import com.example.wms.model.enums.PartnerType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +20,8 @@ public interface PartnerRepository extends JpaRepository<Partner, Long> {
 
     Optional<Partner> findByName(String name);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.REFERENCE_LOOKUP_REGION)})
     Optional<Partner> findByIdAndIsActiveTrue(Long id);
 
     Page<Partner> findAllByIsActiveTrue(Pageable pageRequest);
@@ -1,26 +1,69 @@
 package com.example.wms.model.db.repository;
 
+import com.example.wms.config.HibernateCacheConfig;
 import com.example.wms.model.db.entity.Product;
+import com.example.wms.model.db.projection.ProductRef;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    /**
+     * Ids of the products whose category or manufacturer name contains :filter, one index-driven branch per
+     * joined table; see {@link StockRepository#FILTERED_IDS}.
+     */
+    String FILTERED_IDS = """
+            (select p1.id from Product p1 where p1.category.name like %:filter%
+             union
+             select p2.id from Product p2 where p2.manufacturer.name like %:filter%)
+            """;
+
     Optional<Product> findBySku(String sku);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.REFERENCE_LOOKUP_REGION)})
     Optional<Product> findBySkuAndIsActiveTrue(String sku);
 
+    @Query("select p.id from Product p where p.sku = :sku and p.isActive = true")
+    Optional<Long> findActiveIdBySku(@Param("sku") String sku);
+
+    @Query("select p.id as id, p.sku as sku from Product p where p.sku in :skus and p.isActive = true")
+    List<ProductRef> findActiveRefsBySkuIn(@Param("skus") Collection<String> skus);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.REFERENCE_LOOKUP_REGION)})
     Optional<Product> findByIdAndIsActiveTrue(Long id);
 
+    @EntityGraph(attributePaths = {"category", "manufacturer"})
     Page<Product> findAllByIsActiveTrue(Pageable pageRequest);
 
-    @Query("select p from Product p where p.category.name like %:filter% or p.manufacturer.name like %:filter%")
+    @EntityGraph(attributePaths = {"category", "manufacturer"})
+    @Query("select p from Product p where p.id in " + FILTERED_IDS)
     Page<Product> findAllFiltered(Pageable pageRequest, @Param("filter") String filter);
+
+    @EntityGraph(attributePaths = {"category", "manufacturer"})
+    Slice<Product> findSliceByIsActiveTrue(Pageable pageRequest);
+
+    @EntityGraph(attributePaths = {"category", "manufacturer"})
+    @Query("select p from Product p where p.id in " + FILTERED_IDS)
+    Slice<Product> findSliceFiltered(Pageable pageRequest, @Param("filter") String filter);
+
+    long countByIsActiveTrue();
+
+    @Query("select count(p) from Product p where p.id in " + FILTERED_IDS)
+    long countFiltered(@Param("filter") String filter);
 }
@@ -0,0 +1,101 @@
+package com.example.wms.model.db.repository;
+
+import com.example.wms.model.db.entity.StockLedgerEntry;
+import com.example.wms.model.db.projection.StockQuantity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface StockLedgerRepository extends JpaRepository<StockLedgerEntry, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into stock_ledger (operation_id, product_id, location_id, delta)
+            select * from unnest(cast(:operationIds as bigint[]), cast(:productIds as bigint[]),
+                                 cast(:locationIds as bigint[]), cast(:deltas as integer[]))
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_ledger"))
+    int append(@Param("operationIds") Long[] operationIds, @Param("productIds") Long[] productIds,
+               @Param("locationIds") Long[] locationIds, @Param("deltas") Integer[] deltas);
+
+    /**
+     * Takes the snapshot lock for the current transaction; false when another instance is taking a snapshot.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(hashtext('stock_snapshots'))", nativeQuery = true)
+    boolean tryLockSnapshots();
+
+    /**
+     * Writes a snapshot at :takenAt for every key with ledger rows since the previous run, as the key's previous
+     * snapshot plus those rows. Does nothing unless :takenAt is later than the previous run.
+     */
+    @Modifying
+    @Query(value = """
+            with previous as (select coalesce(max(taken_at), '-infinity') as taken_at from stock_snapshot_runs),
+                 changes as (select l.location_id, l.product_id, sum(l.delta) as delta
+                             from stock_ledger l
+                             where l.created_at > (select taken_at from previous)
+                               and l.created_at <= :takenAt
+                             group by l.location_id, l.product_id)
+            insert into stock_snapshots (location_id, product_id, taken_at, quantity)
+            select c.location_id, c.product_id, :takenAt, cast(coalesce(s.quantity, 0) + c.delta as integer)
+            from changes c
+                     left join lateral (select s.quantity
+                                        from stock_snapshots s
+                                        where s.location_id = c.location_id
+                                          and s.product_id = c.product_id
+                                        order by s.taken_at desc
+                                        limit 1) s on true
+            where :takenAt > (select taken_at from previous)
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_snapshots"))
+    int insertSnapshots(@Param("takenAt") Instant takenAt);
+
+    @Modifying
+    @Query(value = """
+            insert into stock_snapshot_runs (taken_at)
+            select :takenAt
+            where :takenAt > (select coalesce(max(taken_at), '-infinity') from stock_snapshot_runs)
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_snapshot_runs"))
+    int insertSnapshotRun(@Param("takenAt") Instant takenAt);
+
+    /**
+     * Non-zero quantities at a location as of :at: the latest snapshot run at or before :at, plus the ledger rows
+     * between that run and :at. Both lookups are bounded by the location, so the cost depends on how many keys the
+     * location holds and how much changed since the run, not on the length of the history.
+     */
+    @Query(value = """
+            with run as (select max(taken_at) as taken_at from stock_snapshot_runs where taken_at <= :at),
+                 snapshot as (select distinct on (s.product_id) s.product_id, s.quantity
+                              from stock_snapshots s
+                              where s.location_id = :locationId
+                                and (cast(:productId as bigint) is null or s.product_id = :productId)
+                                and s.taken_at <= (select taken_at from run)
+                              order by s.product_id, s.taken_at desc),
+                 changes as (select l.product_id, sum(l.delta) as delta
+                             from stock_ledger l
+                             where l.location_id = :locationId
+                               and (cast(:productId as bigint) is null or l.product_id = :productId)
+                               and l.created_at > coalesce((select taken_at from run), '-infinity')
+                               and l.created_at <= :at
+                             group by l.product_id)
+            select coalesce(s.product_id, c.product_id) as productId,
+                   cast(:locationId as bigint) as locationId,
+                   cast(coalesce(s.quantity, 0) + coalesce(c.delta, 0) as integer) as quantity
+            from snapshot s
+                     full join changes c on c.product_id = s.product_id
+            where coalesce(s.quantity, 0) + coalesce(c.delta, 0) <> 0
+            order by 1
+            """, nativeQuery = true)
+    List<StockQuantity> findQuantitiesAt(@Param("locationId") Long locationId, @Param("productId") Long productId,
+                                         @Param("at") Instant at);
+}
@@ -0,0 +1,106 @@
+package com.example.wms.model.db.repository;
+
+import com.example.wms.model.db.entity.StockPendingTotal;
+import com.example.wms.model.db.projection.AvailableToPromise;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockPendingTotalRepository extends JpaRepository<StockPendingTotal, StockPendingTotal.Key> {
+
+    /**
+     * Subtracts the pending quantities of the receiving and shipping details selected by a {@code where} clause
+     * appended to this prefix. Executed details are skipped, as they no longer count. Rows are written in
+     * (product_id, warehouse_id) order, the same order in which {@link #addPending} writes them.
+     */
+    String REMOVE_DETAILS = """
+            insert into stock_pending_totals as t (product_id, warehouse_id, inbound, outbound)
+            select d.product_id,
+                   l.warehouse_id,
+                   -sum(case when o.type = 'RECEIVING' then d.quantity else 0 end),
+                   -sum(case when o.type = 'SHIPPING' then d.quantity else 0 end)
+            from operation_details d
+                     join operations o on o.id = d.operation_id
+                     join locations l on l.id = case when o.type = 'RECEIVING' then d.to_location_id else d.from_location_id end
+            where o.type in ('RECEIVING', 'SHIPPING')
+              and d.executed_at is null
+            """;
+
+    String REMOVE_DETAILS_UPSERT = """
+            group by d.product_id, l.warehouse_id
+            order by d.product_id, l.warehouse_id
+            on conflict (product_id, warehouse_id) do update
+            set inbound = t.inbound + excluded.inbound,
+                outbound = t.outbound + excluded.outbound
+            """;
+
+    /**
+     * Adds inbound[i] and outbound[i] of the product at the warehouse of locationIds[i] to the totals.
+     */
+    @Modifying
+    @Query(value = """
+            insert into stock_pending_totals as t (product_id, warehouse_id, inbound, outbound)
+            select k.product_id, l.warehouse_id, sum(k.inbound), sum(k.outbound)
+            from unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[]),
+                        cast(:inbound as integer[]), cast(:outbound as integer[]))
+                     as k(product_id, location_id, inbound, outbound)
+                     join locations l on l.id = k.location_id
+            group by k.product_id, l.warehouse_id
+            order by k.product_id, l.warehouse_id
+            on conflict (product_id, warehouse_id) do update
+            set inbound = t.inbound + excluded.inbound,
+                outbound = t.outbound + excluded.outbound
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_pending_totals"))
+    int addPending(@Param("productIds") Long[] productIds, @Param("locationIds") Long[] locationIds,
+                   @Param("inbound") Integer[] inbound, @Param("outbound") Integer[] outbound);
+
+    @Modifying
+    @Query(value = REMOVE_DETAILS + "  and d.id = any(cast(:detailIds as bigint[]))\n" + REMOVE_DETAILS_UPSERT, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_pending_totals"))
+    int removeDetails(@Param("detailIds") Long[] detailIds);
+
+    @Modifying
+    @Query(value = REMOVE_DETAILS + "  and d.operation_id = :operationId\n" + REMOVE_DETAILS_UPSERT, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_pending_totals"))
+    int removeOperation(@Param("operationId") Long operationId);
+
+    /**
+     * Available-to-promise per (product, warehouse) of the given SKUs in one pass: available stock on hand plus
+     * pending inbound minus pending outbound. Pairs without stock and without pending quantities are omitted.
+     */
+    @Query(value = """
+            with requested as (select p.id, p.sku
+                               from products p
+                               where p.sku = any(cast(:skus as varchar[]))),
+                 on_hand as (select t.product_id, t.warehouse_id, t.on_hand - t.unavailable as quantity
+                             from stock_totals t
+                             where t.product_id in (select id from requested)
+                               and (cast(:warehouseId as bigint) is null or t.warehouse_id = :warehouseId)
+                               and t.on_hand <> t.unavailable),
+                 pending as (select t.product_id, t.warehouse_id, t.inbound, t.outbound
+                             from stock_pending_totals t
+                             where t.product_id in (select id from requested)
+                               and (cast(:warehouseId as bigint) is null or t.warehouse_id = :warehouseId)
+                               and (t.inbound <> 0 or t.outbound <> 0))
+            select r.id as productId, r.sku as productSku, w.id as warehouseId, w.name as warehouseName,
+                   cast(coalesce(h.quantity, 0) as integer) as onHand,
+                   coalesce(p.inbound, 0) as inbound,
+                   coalesce(p.outbound, 0) as outbound,
+                   cast(coalesce(h.quantity, 0) + coalesce(p.inbound, 0) - coalesce(p.outbound, 0) as integer) as available
+            from on_hand h
+                     full join pending p on p.product_id = h.product_id and p.warehouse_id = h.warehouse_id
+                     join requested r on r.id = coalesce(h.product_id, p.product_id)
+                     join warehouses w on w.id = coalesce(h.warehouse_id, p.warehouse_id)
+            order by r.sku, w.id
+            """, nativeQuery = true)
+    List<AvailableToPromise> findAvailableToPromise(@Param("skus") String[] skus, @Param("warehouseId") Long warehouseId);
+}
@@ -3,23 +3,250 @@ package com.example.wms.model.db.repository;
 import com.example.wms.model.db.entity.Location;
 import com.example.wms.model.db.entity.Product;
 import com.example.wms.model.db.entity.Stock;
+import com.example.wms.model.db.projection.StockQuantity;
+import com.example.wms.model.dto.response.StockExportResp;
 import com.example.wms.model.enums.StockStatus;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Repository
-public interface StockRepository extends JpaRepository<Stock, Long> {
+public interface StockRepository extends JpaRepository<Stock, Long>, JpaSpecificationExecutor<Stock> {
+
+    /**
+     * Ids of the stocks whose SKU or location name contains :filter. Each branch starts from a trigram index
+     * and follows a foreign key index, where an OR across the joined tables scans every stock row.
+     */
+    String FILTERED_IDS = """
+            (select s1.id from Stock s1 where s1.product.sku like %:filter%
+             union
+             select s2.id from Stock s2 where s2.location.name like %:filter%)
+            """;
 
     Optional<Stock> findByProductAndLocation(Product product, Location location);
 
     Optional<Stock> findByIdAndStatus(Long id, StockStatus status);
 
-    @Query("select s from Stock s where s.product.sku like %:filter% or s.location.name like %:filter%")
+    @Query("select s.location.id from Stock s where s.id = :id")
+    Optional<Long> findLocationIdById(@Param("id") Long id);
+
+    /**
+     * Adds {@code quantity} to the stock row of the product at the location, creating the row when it does not exist.
+     * Runs as a single statement on the (product_id, location_id) unique key, so concurrent receipts never lose updates.
+     */
+    @Query(value = """
+            insert into stocks (product_id, location_id, quantity, status, created_at, updated_at)
+            values (:productId, :locationId, :quantity, 'AVAILABLE', now(), now())
+            on conflict (product_id, location_id)
+            do update set quantity = stocks.quantity + excluded.quantity, version = stocks.version + 1, updated_at = now()
+            returning *
+            """, nativeQuery = true)
+    Stock upsertQuantity(@Param("productId") Long productId,
+                         @Param("locationId") Long locationId,
+                         @Param("quantity") Integer quantity);
+
+    /**
+     * Multi-row variant of {@link #upsertQuantity}: adds quantities[i] to the (productIds[i], locationIds[i]) row.
+     * Keys must be distinct; rows are written in (product_id, location_id) order, the same order used for locking.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stocks"))
+    @Query(value = """
+            insert into stocks (product_id, location_id, quantity, status, created_at, updated_at)
+            select k.product_id, k.location_id, k.quantity, 'AVAILABLE', now(), now()
+            from unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[]), cast(:quantities as integer[]))
+                     as k(product_id, location_id, quantity)
+            order by k.product_id, k.location_id
+            on conflict (product_id, location_id)
+            do update set quantity = stocks.quantity + excluded.quantity, version = stocks.version + 1, updated_at = now()
+            """, nativeQuery = true)
+    int upsertQuantities(@Param("productIds") Long[] productIds,
+                         @Param("locationIds") Long[] locationIds,
+                         @Param("quantities") Integer[] quantities);
+
+    /**
+     * Subtracts {@code quantity} only when the row holds at least that much and returns the remaining quantity.
+     * An empty result means the row is missing or short; the check and the write are one statement, so
+     * concurrent pickers cannot oversell the same bin.
+     */
+    @Query(value = """
+            update stocks
+            set quantity = quantity - :quantity, version = version + 1, updated_at = now()
+            where product_id = :productId and location_id = :locationId and quantity >= :quantity
+            returning quantity
+            """, nativeQuery = true)
+    Optional<Integer> decreaseQuantity(@Param("productId") Long productId,
+                                       @Param("locationId") Long locationId,
+                                       @Param("quantity") Integer quantity);
+
+    /**
+     * Removes the row once it is empty. Rows referenced by inventory history are kept with zero quantity.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stocks"))
+    @Query(value = """
+            delete from stocks s
+            where s.product_id = :productId and s.location_id = :locationId and s.quantity = 0
+              and not exists (select 1 from inventories i where i.stock_id = s.id)
+            """, nativeQuery = true)
+    int deleteIfEmpty(@Param("productId") Long productId, @Param("locationId") Long locationId);
+
+    /**
+     * Locks the existing rows of the (productIds[i], locationIds[i]) keys in (product_id, location_id) order
+     * and returns their quantities. Keys without a row are simply absent from the result.
+     */
+    @Query(value = """
+            select s.product_id as productId, s.location_id as locationId, s.quantity as quantity
+            from stocks s
+            join unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[])) as k(product_id, location_id)
+              on s.product_id = k.product_id and s.location_id = k.location_id
+            order by s.product_id, s.location_id
+            for update of s
+            """, nativeQuery = true)
+    List<StockQuantity> lockQuantities(@Param("productIds") Long[] productIds, @Param("locationIds") Long[] locationIds);
+
+    /**
+     * Multi-row variant of {@link #decreaseQuantity}. Returns the number of rows decremented; a row that is
+     * short is left untouched, so callers compare the count with the number of keys.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stocks"))
+    @Query(value = """
+            update stocks s
+            set quantity = s.quantity - k.quantity, version = s.version + 1, updated_at = now()
+            from unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[]), cast(:quantities as integer[]))
+                     as k(product_id, location_id, quantity)
+            where s.product_id = k.product_id and s.location_id = k.location_id and s.quantity >= k.quantity
+            """, nativeQuery = true)
+    int decreaseQuantities(@Param("productIds") Long[] productIds,
+                           @Param("locationIds") Long[] locationIds,
+                           @Param("quantities") Integer[] quantities);
+
+    /**
+     * Multi-row variant of {@link #deleteIfEmpty}.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stocks"))
+    @Query(value = """
+            delete from stocks s
+            using unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[])) as k(product_id, location_id)
+            where s.product_id = k.product_id and s.location_id = k.location_id and s.quantity = 0
+              and not exists (select 1 from inventories i where i.stock_id = s.id)
+            """, nativeQuery = true)
+    int deleteAllIfEmpty(@Param("productIds") Long[] productIds, @Param("locationIds") Long[] locationIds);
+
+    /**
+     * Creates empty rows for the (productIds[i], locationIds[i]) keys that have no stock yet, in key order,
+     * so that they can be locked together with the existing rows.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stocks"))
+    @Query(value = """
+            insert into stocks (product_id, location_id, quantity, status, created_at, updated_at)
+            select k.product_id, k.location_id, 0, 'AVAILABLE', now(), now()
+            from unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[])) as k(product_id, location_id)
+            order by k.product_id, k.location_id
+            on conflict (product_id, location_id) do nothing
+            """, nativeQuery = true)
+    int insertMissing(@Param("productIds") Long[] productIds, @Param("locationIds") Long[] locationIds);
+
+    /**
+     * Locks the stock rows of the (productIds[i], locationIds[i]) keys in (product_id, location_id) order.
+     * Every multi-row writer takes its locks in this order, so concurrent transfers cannot deadlock.
+     */
+    @Query(value = """
+            select s.* from stocks s
+            join unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[])) as k(product_id, location_id)
+              on s.product_id = k.product_id and s.location_id = k.location_id
+            order by s.product_id, s.location_id
+            for update of s
+            """, nativeQuery = true)
+    List<Stock> findAllForUpdate(@Param("productIds") Long[] productIds, @Param("locationIds") Long[] locationIds);
+
+    @Override
+    @EntityGraph(attributePaths = {"product", "location"})
+    Page<Stock> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"product", "location"})
+    @Query("select s from Stock s where s.id in " + FILTERED_IDS)
     Page<Stock> findAllFiltered(Pageable pageRequest, @Param("filter") String filter);
+
+    @EntityGraph(attributePaths = {"product", "location"})
+    Slice<Stock> findSliceBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"product", "location"})
+    @Query("select s from Stock s where s.id in " + FILTERED_IDS)
+    Slice<Stock> findSliceFiltered(Pageable pageRequest, @Param("filter") String filter);
+
+    @Query("select count(s) from Stock s where s.id in " + FILTERED_IDS)
+    long countFiltered(@Param("filter") String filter);
+
+    @EntityGraph(attributePaths = {"product", "location"})
+    Window<Stock> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Override
+    @EntityGraph(attributePaths = {"product", "location"})
+    <S extends Stock, R> R findBy(Specification<Stock> spec, Function<FetchableFluentQuery<S>, R> queryFunction);
+
+    /**
+     * Window of the stocks matched by {@link #FILTERED_IDS}. String-based queries cannot be scrolled, so the same
+     * union of ids is built with the criteria API and read through {@link #findBy(Specification, Function)}.
+     */
+    default Window<Stock> findWindowFiltered(String filter, ScrollPosition position, Sort sort, Limit limit) {
+        return findBy(filteredIds(filter), query -> query.sortBy(sort).limit(limit.max()).scroll(position));
+    }
+
+    private static Specification<Stock> filteredIds(String filter) {
+        return (root, query, builder) -> {
+            String pattern = "%" + filter + "%";
+            Subquery<Long> bySku = query.subquery(Long.class);
+            Root<Stock> s1 = bySku.from(Stock.class);
+            bySku.select(s1.get("id")).where(builder.like(s1.get("product").get("sku"), pattern));
+            Subquery<Long> byLocation = query.subquery(Long.class);
+            Root<Stock> s2 = byLocation.from(Stock.class);
+            byLocation.select(s2.get("id")).where(builder.like(s2.get("location").get("name"), pattern));
+            return root.get("id").in(((HibernateCriteriaBuilder) builder).union(bySku, byLocation));
+        };
+    }
+
+    /**
+     * Stocks changed at or after :since (all when null) in id order, read through a server-side cursor. Rows are
+     * DTOs rather than entities, so nothing accumulates in the persistence context while the stream is consumed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.example.wms.model.dto.response.StockExportResp(
+                s.id, p.sku, l.name, s.quantity, s.status, s.createdAt, s.updatedAt)
+            from Stock s
+                     join s.product p
+                     join s.location l
+            where :since is null or s.updatedAt >= :since
+            order by s.id
+            """)
+    Stream<StockExportResp> streamForExport(@Param("since") Instant since);
 }
@@ -0,0 +1,153 @@
+package com.example.wms.model.db.repository;
+
+import com.example.wms.model.db.entity.StockReservation;
+import com.example.wms.model.db.projection.ReservationRequest;
+import com.example.wms.model.db.projection.StockQuantity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    /**
+     * Subtracts the holds deleted by a preceding {@code released} CTE from their allocation totals and returns the
+     * number of holds released. The totals are locked in (product_id, location_id) order first, the same order in
+     * which reserving locks them.
+     */
+    String RELEASE_ALLOCATIONS = """
+            , totals as (select product_id, location_id, sum(quantity) as quantity
+                         from released
+                         group by product_id, location_id),
+              locked as (select a.product_id, a.location_id
+                         from stock_allocations a
+                                  join totals t on t.product_id = a.product_id and t.location_id = a.location_id
+                         order by a.product_id, a.location_id
+                         for update of a),
+              updated as (update stock_allocations a
+                          set reserved = a.reserved - t.quantity
+                          from totals t
+                                   join locked l on l.product_id = t.product_id and l.location_id = t.location_id
+                          where a.product_id = t.product_id and a.location_id = t.location_id)
+            select cast(count(*) as integer) from released
+            """;
+
+    /**
+     * Quantities per (product, departure location) of the given details that are neither executed nor held yet.
+     */
+    @Query(value = """
+            select d.product_id as productId, p.sku as productSku, d.from_location_id as locationId,
+                   l.name as locationName, cast(sum(d.quantity) as integer) as quantity
+            from operation_details d
+                     join products p on p.id = d.product_id
+                     join locations l on l.id = d.from_location_id
+            where d.id = any(cast(:detailIds as bigint[]))
+              and d.executed_at is null
+              and not exists (select 1 from stock_reservations r where r.operation_detail_id = d.id)
+            group by d.product_id, p.sku, d.from_location_id, l.name
+            order by d.product_id, d.from_location_id
+            """, nativeQuery = true)
+    List<ReservationRequest> findUnreservedQuantities(@Param("detailIds") Long[] detailIds);
+
+    @Modifying
+    @Query(value = """
+            insert into stock_allocations (product_id, location_id)
+            select * from unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[]))
+            on conflict do nothing
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_allocations"))
+    int insertMissingAllocations(@Param("productIds") Long[] productIds, @Param("locationIds") Long[] locationIds);
+
+    /**
+     * Locks the allocation totals of the keys in (product_id, location_id) order and share-locks their stock rows,
+     * returning the quantity not held yet. Keys without stock are absent from the result.
+     */
+    @Query(value = """
+            select a.product_id as productId, a.location_id as locationId,
+                   greatest(s.quantity - a.reserved, 0) as quantity
+            from stock_allocations a
+                     join unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[])) as k(product_id, location_id)
+                          on a.product_id = k.product_id and a.location_id = k.location_id
+                     join stocks s on s.product_id = a.product_id and s.location_id = a.location_id
+            order by a.product_id, a.location_id
+            for update of a for share of s
+            """, nativeQuery = true)
+    List<StockQuantity> lockUnreserved(@Param("productIds") Long[] productIds, @Param("locationIds") Long[] locationIds);
+
+    /**
+     * Quantities held per (productIds[i], locationIds[i]) key, without locking. Keys without holds are absent.
+     */
+    @Query(value = """
+            select a.product_id as productId, a.location_id as locationId, a.reserved as quantity
+            from stock_allocations a
+                     join unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[])) as k(product_id, location_id)
+                          on a.product_id = k.product_id and a.location_id = k.location_id
+            where a.reserved > 0
+            """, nativeQuery = true)
+    List<StockQuantity> findReserved(@Param("productIds") Long[] productIds, @Param("locationIds") Long[] locationIds);
+
+    @Modifying
+    @Query(value = """
+            update stock_allocations a
+            set reserved = a.reserved + k.quantity
+            from unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[]), cast(:quantities as integer[]))
+                     as k(product_id, location_id, quantity)
+            where a.product_id = k.product_id and a.location_id = k.location_id
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_allocations"))
+    int addReserved(@Param("productIds") Long[] productIds, @Param("locationIds") Long[] locationIds,
+                    @Param("quantities") Integer[] quantities);
+
+    @Modifying
+    @Query(value = """
+            insert into stock_reservations (operation_detail_id, operation_id, product_id, location_id, quantity, expires_at)
+            select d.id, d.operation_id, d.product_id, d.from_location_id, d.quantity, :expiresAt
+            from operation_details d
+            where d.id = any(cast(:detailIds as bigint[]))
+              and d.from_location_id is not null
+              and d.executed_at is null
+              and not exists (select 1 from stock_reservations r where r.operation_detail_id = d.id)
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_reservations"))
+    int insertHolds(@Param("detailIds") Long[] detailIds, @Param("expiresAt") Instant expiresAt);
+
+    @Query(value = """
+            with released as (delete from stock_reservations
+                              where operation_detail_id = any(cast(:detailIds as bigint[]))
+                              returning product_id, location_id, quantity)
+            """ + RELEASE_ALLOCATIONS, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_reservations"))
+    int releaseDetails(@Param("detailIds") Long[] detailIds);
+
+    @Query(value = """
+            with released as (delete from stock_reservations
+                              where operation_id = :operationId
+                              returning product_id, location_id, quantity)
+            """ + RELEASE_ALLOCATIONS, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_reservations"))
+    int releaseOperation(@Param("operationId") Long operationId);
+
+    /**
+     * Releases at most {@code batchSize} expired holds, skipping holds locked by transactions that are releasing
+     * them already.
+     */
+    @Query(value = """
+            with released as (delete from stock_reservations
+                              where operation_detail_id in (select operation_detail_id
+                                                            from stock_reservations
+                                                            where expires_at < :now
+                                                            limit :batchSize
+                                                            for update skip locked)
+                              returning product_id, location_id, quantity)
+            """ + RELEASE_ALLOCATIONS, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_reservations"))
+    int releaseExpired(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
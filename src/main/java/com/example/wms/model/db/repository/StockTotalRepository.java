@@ -0,0 +1,120 @@
+package com.example.wms.model.db.repository;
+
+import com.example.wms.model.db.entity.StockTotal;
+import com.example.wms.model.db.projection.StockTotalView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockTotalRepository extends JpaRepository<StockTotal, StockTotal.Key> {
+
+    String VIEW = """
+            select t.product_id as productId, p.sku as productSku, t.warehouse_id as warehouseId,
+                   w.name as warehouseName, t.on_hand as onHand, t.unavailable as unavailable
+            from stock_totals t
+                     join products p on p.id = t.product_id
+                     join warehouses w on w.id = t.warehouse_id
+            """;
+
+    /**
+     * Adds deltas[i] of the (productIds[i], locationIds[i]) stock row to the totals of its warehouse, counting it as
+     * unavailable when the row is UNAVAILABLE. Must run after the stock rows are written and before emptied rows
+     * are deleted. Rows are written in (product_id, warehouse_id) order, after the stock rows they follow.
+     */
+    @Modifying
+    @Query(value = """
+            insert into stock_totals as t (product_id, warehouse_id, on_hand, unavailable)
+            select k.product_id, l.warehouse_id, sum(k.delta),
+                   sum(case when s.status = 'UNAVAILABLE' then k.delta else 0 end)
+            from unnest(cast(:productIds as bigint[]), cast(:locationIds as bigint[]), cast(:deltas as integer[]))
+                     as k(product_id, location_id, delta)
+                     join locations l on l.id = k.location_id
+                     left join stocks s on s.product_id = k.product_id and s.location_id = k.location_id
+            group by k.product_id, l.warehouse_id
+            order by k.product_id, l.warehouse_id
+            on conflict (product_id, warehouse_id) do update
+            set on_hand = t.on_hand + excluded.on_hand,
+                unavailable = t.unavailable + excluded.unavailable
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_totals"))
+    int addQuantities(@Param("productIds") Long[] productIds, @Param("locationIds") Long[] locationIds,
+                      @Param("deltas") Integer[] deltas);
+
+    /**
+     * Adds explicit deltas for one stock row, for changes made through the entity whose status changes too.
+     */
+    @Modifying
+    @Query(value = """
+            insert into stock_totals as t (product_id, warehouse_id, on_hand, unavailable)
+            select :productId, l.warehouse_id, :onHand, :unavailable
+            from locations l
+            where l.id = :locationId
+            on conflict (product_id, warehouse_id) do update
+            set on_hand = t.on_hand + excluded.on_hand,
+                unavailable = t.unavailable + excluded.unavailable
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_totals"))
+    int add(@Param("productId") Long productId, @Param("locationId") Long locationId,
+            @Param("onHand") long onHand, @Param("unavailable") long unavailable);
+
+    @Query(value = VIEW + """
+            where t.product_id = :productId
+              and (t.on_hand <> 0 or t.unavailable <> 0)
+            order by t.warehouse_id
+            """, nativeQuery = true)
+    List<StockTotalView> findByProductId(@Param("productId") Long productId);
+
+    @Query(value = VIEW + """
+            where t.warehouse_id = :warehouseId
+              and (t.on_hand <> 0 or t.unavailable <> 0)
+            order by t.product_id
+            """, nativeQuery = true)
+    Slice<StockTotalView> findByWarehouseId(@Param("warehouseId") Long warehouseId, Pageable pageable);
+
+    /**
+     * Takes the verification lock for the current transaction; false when another instance is verifying.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(hashtext('stock_totals'))", nativeQuery = true)
+    boolean tryLockVerification();
+
+    /**
+     * Compares the totals with the sums of the stock rows and adds the difference to every total that drifted.
+     * Differences are added rather than assigned, so a stock write that commits while this runs keeps its own
+     * increment. Returns the number of totals repaired.
+     */
+    @Query(value = """
+            with actual as (select s.product_id, l.warehouse_id, sum(s.quantity) as on_hand,
+                                   sum(case when s.status = 'UNAVAILABLE' then s.quantity else 0 end) as unavailable
+                            from stocks s
+                                     join locations l on l.id = s.location_id
+                            group by s.product_id, l.warehouse_id),
+                 drift as (select coalesce(a.product_id, t.product_id) as product_id,
+                                  coalesce(a.warehouse_id, t.warehouse_id) as warehouse_id,
+                                  coalesce(a.on_hand, 0) - coalesce(t.on_hand, 0) as on_hand,
+                                  coalesce(a.unavailable, 0) - coalesce(t.unavailable, 0) as unavailable
+                           from actual a
+                                    full join stock_totals t on t.product_id = a.product_id and t.warehouse_id = a.warehouse_id),
+                 repaired as (insert into stock_totals as t (product_id, warehouse_id, on_hand, unavailable)
+                              select product_id, warehouse_id, on_hand, unavailable
+                              from drift
+                              where on_hand <> 0 or unavailable <> 0
+                              order by product_id, warehouse_id
+                              on conflict (product_id, warehouse_id) do update
+                              set on_hand = t.on_hand + excluded.on_hand,
+                                  unavailable = t.unavailable + excluded.unavailable
+                              returning 1)
+            select cast(count(*) as integer) from repaired
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_totals"))
+    int repairDrift();
+}
@@ -1,13 +1,16 @@
 package com.example.wms.model.db.repository;
 
 import com.example.wms.model.db.entity.User;
+import com.example.wms.model.db.projection.UserRef;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,10 +18,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    @EntityGraph(attributePaths = {"role"})
     Page<User> findAllByIsActiveTrue(Pageable pageable);
 
     Optional<User> findByIdAndIsActiveTrue(Long id);
 
+    List<UserRef> findAllByRoleId(Long roleId);
+
+    @EntityGraph(attributePaths = {"role"})
     @Query("select u from User u where u.role.name like %:filter%")
     Page<User> findAllFiltered(Pageable pageRequest, @Param("filter") String filter);
 }
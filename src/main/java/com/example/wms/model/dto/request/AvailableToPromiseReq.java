@@ -0,0 +1,31 @@
+package com.example.wms.model.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+@Getter
+@Setter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AvailableToPromiseReq {
+    public static final int MAX_SKUS = 1000;
+
+    @NotEmpty
+    @Size(max = MAX_SKUS)
+    @Schema(description = "Артикулы товаров")
+    private List<String> skus;
+
+    @Schema(description = "id склада; если не указан, расчет по всем складам")
+    private Long warehouseId;
+}
@@ -0,0 +1,33 @@
+package com.example.wms.model.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+@Getter
+@Setter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OperationDetailBulkReq {
+    public static final int MAX_DETAILS = 10000;
+
+    @NotNull
+    @Schema(description = "id операции")
+    private Long operationId;
+
+    @NotEmpty
+    @Size(max = MAX_DETAILS)
+    @Schema(description = "Строки деталей операции; id операции в строках можно не указывать")
+    private List<OperationDetailInfoReq> details;
+}
@@ -0,0 +1,26 @@
+package com.example.wms.model.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@Setter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TokenReq {
+    @NotEmpty
+    @Schema(description = "Логин")
+    private String username;
+
+    @NotEmpty
+    @Schema(description = "Пароль")
+    private String password;
+}
@@ -0,0 +1,44 @@
+package com.example.wms.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailableToPromiseResp {
+    @Schema(description = "id товара")
+    private Long productId;
+
+    @Schema(description = "Артикул товара")
+    private String productSku;
+
+    @Schema(description = "id склада")
+    private Long warehouseId;
+
+    @Schema(description = "Наименование склада")
+    private String warehouseName;
+
+    @Schema(description = "Доступный запас на складе")
+    private Integer onHand;
+
+    @Schema(description = "Ожидается по невыполненным приемкам")
+    private Integer inbound;
+
+    @Schema(description = "Требуется по невыполненным отгрузкам")
+    private Integer outbound;
+
+    @Schema(description = "Доступно к обещанию")
+    private Integer available;
+}
@@ -0,0 +1,24 @@
+package com.example.wms.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OperationDetailBulkResp {
+    @Schema(description = "id операции")
+    private Long operationId;
+
+    @Schema(description = "Количество созданных деталей")
+    private Integer created;
+}
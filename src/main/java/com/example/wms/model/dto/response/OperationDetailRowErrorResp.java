@@ -0,0 +1,27 @@
+package com.example.wms.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OperationDetailRowErrorResp {
+    @Schema(description = "Номер строки в запросе, начиная с 0")
+    private Integer row;
+
+    @Schema(description = "Поле строки")
+    private String field;
+
+    @Schema(description = "Описание ошибки")
+    private String message;
+}
@@ -0,0 +1,45 @@
+package com.example.wms.model.dto.response;
+
+import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+
+
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OperationExportResp {
+    @Schema(description = "id")
+    private Long id;
+
+    @Schema(description = "Тип операции")
+    private OperationType operationType;
+
+    @Schema(description = "Статус операции")
+    private OperationStatus operationStatus;
+
+    @Schema(description = "Имя пользователя")
+    private String username;
+
+    @Schema(description = "Номер документа")
+    private String documentNumber;
+
+    @Schema(description = "Дата создания")
+    private Instant createdAt;
+
+    @Schema(description = "Дата изменения")
+    private Instant updatedAt;
+}
@@ -0,0 +1,66 @@
+package com.example.wms.model.dto.response;
+
+import com.example.wms.model.enums.OperationJobStatus;
+import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OperationJobResp {
+    @Schema(description = "id задания")
+    private UUID jobId;
+
+    @Schema(description = "id операции")
+    private Long operationId;
+
+    @Schema(description = "Вид проведения")
+    private OperationType executionType;
+
+    @Schema(description = "Статус задания")
+    private OperationJobStatus status;
+
+    @Schema(description = "Количество строк к проведению")
+    private Integer totalLines;
+
+    @Schema(description = "Количество обработанных строк")
+    private Integer processedLines;
+
+    @Schema(description = "Количество строк, проведенных с ошибкой")
+    private Integer failedLines;
+
+    @Schema(description = "Ошибки по строкам")
+    private List<OperationLineFailureResp> failures;
+
+    @Schema(description = "Статус операции после завершения задания")
+    private OperationStatus operationStatus;
+
+    @Schema(description = "Сообщение")
+    private String message;
+
+    @Schema(description = "Время постановки в очередь")
+    private Instant createdAt;
+
+    @Schema(description = "Время начала выполнения")
+    private Instant startedAt;
+
+    @Schema(description = "Время завершения")
+    private Instant finishedAt;
+}
@@ -0,0 +1,29 @@
+package com.example.wms.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OperationLineFailureResp {
+    @Schema(description = "id детали операции")
+    private Long detailId;
+
+    @Schema(description = "Описание ошибки")
+    private String message;
+
+    @Schema(description = "Нехватка товара, если строка не проведена из-за нее")
+    private StockShortageResp shortage;
+}
@@ -0,0 +1,44 @@
+package com.example.wms.model.dto.response;
+
+import com.example.wms.model.enums.StockStatus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+
+
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockExportResp {
+    @Schema(description = "id")
+    private Long id;
+
+    @Schema(description = "Артикул товара")
+    private String productSku;
+
+    @Schema(description = "Наименование локации")
+    private String locationName;
+
+    @Schema(description = "Количество")
+    private Integer quantity;
+
+    @Schema(description = "Статус запаса")
+    private StockStatus status;
+
+    @Schema(description = "Дата создания")
+    private Instant createdAt;
+
+    @Schema(description = "Дата изменения")
+    private Instant updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.example.wms.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+
+
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockQuantityResp {
+    @Schema(description = "id товара")
+    private Long productId;
+
+    @Schema(description = "id локации")
+    private Long locationId;
+
+    @Schema(description = "Количество")
+    private Integer quantity;
+
+    @Schema(description = "Момент времени, на который рассчитано количество")
+    private Instant at;
+}
@@ -0,0 +1,38 @@
+package com.example.wms.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockShortageResp {
+    @Schema(description = "id товара")
+    private Long productId;
+
+    @Schema(description = "Артикул товара")
+    private String productSku;
+
+    @Schema(description = "id локации")
+    private Long locationId;
+
+    @Schema(description = "Наименование локации")
+    private String locationName;
+
+    @Schema(description = "Запрошенное количество")
+    private Integer requested;
+
+    @Schema(description = "Доступное количество")
+    private Integer available;
+}
@@ -0,0 +1,38 @@
+package com.example.wms.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockTotalResp {
+    @Schema(description = "id товара")
+    private Long productId;
+
+    @Schema(description = "Артикул товара")
+    private String productSku;
+
+    @Schema(description = "id склада")
+    private Long warehouseId;
+
+    @Schema(description = "Наименование склада")
+    private String warehouseName;
+
+    @Schema(description = "Общее количество на складе")
+    private Long onHand;
+
+    @Schema(description = "Количество в недоступных запасах")
+    private Long unavailable;
+}
@@ -0,0 +1,8 @@
+package com.example.wms.model.enums;
+
+public enum OperationJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+}
@@ -0,0 +1,35 @@
+package com.example.wms.model.enums;
+
+import lombok.Getter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The only status changes an operation may go through. Services apply them as a compare-and-set on the status
+ * column, so two concurrent requests can never both leave the same status.
+ */
+@Getter
+public enum OperationTransition {
+    START("start", EnumSet.of(OperationStatus.CREATED), OperationStatus.IN_PROGRESS),
+    EXECUTE("execute", EnumSet.of(OperationStatus.IN_PROGRESS), OperationStatus.COMPLETED),
+    CANCEL("cancel", EnumSet.of(OperationStatus.CREATED, OperationStatus.IN_PROGRESS), OperationStatus.CANCELLED);
+
+    private final String action;
+    private final Set<OperationStatus> from;
+    private final OperationStatus to;
+
+    OperationTransition(String action, Set<OperationStatus> from, OperationStatus to) {
+        this.action = action;
+        this.from = from;
+        this.to = to;
+    }
+
+    public boolean isAllowedFrom(OperationStatus status) {
+        return from.contains(status);
+    }
+
+    public String rejection(OperationStatus status) {
+        return String.format("Cannot %s an operation in '%s' status", action, status);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.wms.model.enums;
+
+public enum TotalMode {
+    EXACT,
+    APPROXIMATE,
+    NONE;
+
+    public static TotalMode of(Boolean withTotal, Boolean approximateTotal) {
+        if (Boolean.FALSE.equals(withTotal)) {
+            return NONE;
+        }
+        return Boolean.TRUE.equals(approximateTotal) ? APPROXIMATE : EXACT;
+    }
+}
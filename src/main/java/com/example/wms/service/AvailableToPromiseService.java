@@ -0,0 +1,36 @@
+package com.example.wms.service;
+
+import com.example.wms.model.dto.request.AvailableToPromiseReq;
+import com.example.wms.model.dto.response.AvailableToPromiseResp;
+import com.example.wms.model.enums.OperationType;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AvailableToPromiseService {
+
+    /**
+     * Available-to-promise per requested SKU and warehouse. SKUs that are unknown or have neither stock nor pending
+     * quantities are omitted.
+     */
+    @Transactional(readOnly = true)
+    List<AvailableToPromiseResp> getAvailableToPromise(AvailableToPromiseReq req);
+
+    /**
+     * Counts new or changed details of an operation as pending, one detail per array index. Receiving details count
+     * at the destination warehouse, shipping details at the departure warehouse; transfers do not count.
+     */
+    @Transactional
+    void addPending(OperationType operationType, Long[] productIds, Long[] fromLocationIds, Long[] toLocationIds,
+                    Integer[] quantities);
+
+    /**
+     * Stops counting the details as pending; called before they are executed, changed or deleted.
+     */
+    @Transactional
+    void removePending(Collection<Long> detailIds);
+
+    @Transactional
+    void removePendingOperation(Long operationId);
+}
@@ -2,7 +2,8 @@ package com.example.wms.service;
 
 import com.example.wms.model.dto.request.DocumentInfoReq;
 import com.example.wms.model.dto.response.DocumentInfoResp;
-import org.springframework.data.domain.Page;
+import com.example.wms.model.enums.TotalMode;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,7 +16,7 @@ public interface DocumentService {
     DocumentInfoResp getDocument(Long id);
 
     @Transactional(readOnly = true)
-    Page<DocumentInfoResp> getAllDocuments(Integer page, Integer perPage, String sort, Sort.Direction order, String filter);
+    Slice<DocumentInfoResp> getAllDocuments(Integer page, Integer perPage, String sort, Sort.Direction order, String filter, TotalMode total);
 
     @Transactional
     DocumentInfoResp updateDocument(Long id, DocumentInfoReq req);
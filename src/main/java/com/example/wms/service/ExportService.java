@@ -0,0 +1,24 @@
+package com.example.wms.service;
+
+import com.example.wms.model.enums.ExportFormat;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * Writes every row changed at or after {@code since} (all rows when null) to {@code out}, one row at a time, and
+ * returns the number of rows written. {@code out} is flushed but left open.
+ */
+public interface ExportService {
+
+    @Transactional(readOnly = true)
+    long exportStocks(ExportFormat format, Instant since, OutputStream out) throws IOException;
+
+    @Transactional(readOnly = true)
+    long exportOperations(ExportFormat format, Instant since, OutputStream out) throws IOException;
+
+    @Transactional(readOnly = true)
+    long exportInventories(ExportFormat format, Instant since, OutputStream out) throws IOException;
+}
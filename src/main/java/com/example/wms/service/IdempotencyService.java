@@ -0,0 +1,14 @@
+package com.example.wms.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Runs {@code action} once per {@code key}. A retry with the same key and request is answered with the stored
+     * response; a key reused for another request is rejected. Without a key the action simply runs.
+     */
+    <T> T execute(String key, String request, Object body, Class<T> responseType, Supplier<T> action);
+
+    int purgeExpired();
+}
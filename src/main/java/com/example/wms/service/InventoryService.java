@@ -1,7 +1,9 @@
 package com.example.wms.service;
 
+import com.example.wms.model.dto.response.CursorPageResp;
 import com.example.wms.model.dto.response.InventorInfoResp;
-import org.springframework.data.domain.Page;
+import com.example.wms.model.enums.TotalMode;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,5 +12,8 @@ public interface InventoryService {
     InventorInfoResp getInventory(Long id);
 
     @Transactional(readOnly = true)
-    Page<InventorInfoResp> getAllInventories(Integer page, Integer perPage, String sort, Sort.Direction order, Long stockId);
+    Slice<InventorInfoResp> getAllInventories(Integer page, Integer perPage, String sort, Sort.Direction order, Long stockId, TotalMode total);
+
+    @Transactional(readOnly = true)
+    CursorPageResp<InventorInfoResp> scrollInventories(String after, Integer perPage, String sort, Sort.Direction order, Long stockId);
 }
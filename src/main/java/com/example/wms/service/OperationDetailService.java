@@ -1,9 +1,13 @@
 package com.example.wms.service;
 
 import com.example.wms.model.db.entity.OperationDetail;
+import com.example.wms.model.dto.request.OperationDetailBulkReq;
 import com.example.wms.model.dto.request.OperationDetailInfoReq;
+import com.example.wms.model.dto.response.CursorPageResp;
+import com.example.wms.model.dto.response.OperationDetailBulkResp;
 import com.example.wms.model.dto.response.OperationDetailInfoResp;
-import org.springframework.data.domain.Page;
+import com.example.wms.model.enums.TotalMode;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,6 +17,9 @@ public interface OperationDetailService {
     @Transactional
     OperationDetailInfoResp createOperationDetail(OperationDetailInfoReq req);
 
+    @Transactional
+    OperationDetailBulkResp createOperationDetails(OperationDetailBulkReq req);
+
     @Transactional
     OperationDetailInfoResp getDetail(Long detailId);
 
@@ -22,7 +29,10 @@ public interface OperationDetailService {
     @Transactional
     OperationDetailInfoResp updateOperationDetail(Long id, OperationDetailInfoReq req);
 
-    Page<OperationDetailInfoResp> getAllOperationDetails(Integer page, Integer perPage, String sort, Sort.Direction order, Long filter);
+    Slice<OperationDetailInfoResp> getAllOperationDetails(Integer page, Integer perPage, String sort, Sort.Direction order, Long filter, TotalMode total);
+
+    @Transactional(readOnly = true)
+    CursorPageResp<OperationDetailInfoResp> scrollOperationDetails(String after, Integer perPage, String sort, Sort.Direction order, Long filter);
 
     OperationDetailInfoResp getOperationDetailInfoResp(OperationDetail detail);
 }
@@ -0,0 +1,13 @@
+package com.example.wms.service;
+
+import com.example.wms.model.dto.response.OperationJobResp;
+import com.example.wms.model.enums.OperationType;
+
+import java.util.UUID;
+
+public interface OperationJobService {
+
+    OperationJobResp submit(Long operationId, OperationType executionType);
+
+    OperationJobResp getJob(UUID jobId);
+}
@@ -2,9 +2,11 @@ package com.example.wms.service;
 
 
 import com.example.wms.model.dto.request.OperationInfoReq;
+import com.example.wms.model.dto.response.CursorPageResp;
 import com.example.wms.model.dto.response.OperationInfoResp;
 import com.example.wms.model.enums.OperationType;
-import org.springframework.data.domain.Page;
+import com.example.wms.model.enums.TotalMode;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,7 +31,10 @@ public interface OperationService {
     OperationInfoResp getOperation(Long id);
 
     @Transactional(readOnly = true)
-    Page<OperationInfoResp> getAllOperations(Integer page, Integer perPage, String sort, Sort.Direction order,  OperationType filter);
+    Slice<OperationInfoResp> getAllOperations(Integer page, Integer perPage, String sort, Sort.Direction order,  OperationType filter, TotalMode total);
+
+    @Transactional(readOnly = true)
+    CursorPageResp<OperationInfoResp> scrollOperations(String after, Integer perPage, String sort, Sort.Direction order, OperationType filter);
 
     @Transactional
     void cancelOperation(Long id);
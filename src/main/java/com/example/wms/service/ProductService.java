@@ -2,7 +2,8 @@ package com.example.wms.service;
 
 import com.example.wms.model.dto.request.ProductInfoReq;
 import com.example.wms.model.dto.response.ProductInfoResp;
-import org.springframework.data.domain.Page;
+import com.example.wms.model.enums.TotalMode;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,7 +14,7 @@ public interface ProductService {
     ProductInfoResp getProduct(Long id);
 
     @Transactional(readOnly = true)
-    Page<ProductInfoResp> getAllProducts(Integer page, Integer perPage, String sort, Sort.Direction order, String filter);
+    Slice<ProductInfoResp> getAllProducts(Integer page, Integer perPage, String sort, Sort.Direction order, String filter, TotalMode total);
 
     ProductInfoResp updateProduct(Long id, ProductInfoReq req);
 
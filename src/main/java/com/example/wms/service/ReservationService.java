@@ -0,0 +1,23 @@
+package com.example.wms.service;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+public interface ReservationService {
+
+    /**
+     * Holds stock for those of the given shipping details that are not held or executed yet. Fails with a
+     * shortage when a (product, location) has less unreserved stock than requested, holding nothing.
+     */
+    @Transactional
+    void reserve(Collection<Long> detailIds);
+
+    @Transactional
+    void releaseDetails(Collection<Long> detailIds);
+
+    @Transactional
+    void releaseOperation(Long operationId);
+
+    int releaseExpired();
+}
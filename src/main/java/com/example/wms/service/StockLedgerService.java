@@ -0,0 +1,18 @@
+package com.example.wms.service;
+
+import com.example.wms.model.dto.response.StockQuantityResp;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface StockLedgerService {
+
+    /**
+     * Quantities at the location as of {@code at}, optionally for one product. Keys with no stock are omitted.
+     */
+    @Transactional(readOnly = true)
+    List<StockQuantityResp> getQuantitiesAt(Long locationId, Long productId, Instant at);
+
+    int takeSnapshot();
+}
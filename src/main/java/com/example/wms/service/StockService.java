@@ -2,24 +2,38 @@ package com.example.wms.service;
 
 
 import com.example.wms.model.db.entity.Location;
+import com.example.wms.model.db.entity.OperationDetail;
 import com.example.wms.model.db.entity.Product;
 import com.example.wms.model.db.entity.Stock;
+import com.example.wms.model.dto.response.CursorPageResp;
 import com.example.wms.model.dto.response.StockInfoResp;
-import org.springframework.data.domain.Page;
+import com.example.wms.model.enums.TotalMode;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 public interface StockService {
 
     @Transactional
     Stock increaseStock(Product product, Location location, Integer quantity);
 
+    @Transactional
+    void increaseStocks(List<OperationDetail> details);
+
     @Transactional
     void decreaseStock(Product product, Location location, Integer quantity);
 
+    @Transactional
+    void decreaseStocks(List<OperationDetail> details);
+
     @Transactional
     void transferStock(Product product, Integer quantity, Location fromLocation, Location toLocation);
 
+    @Transactional
+    void transferStocks(List<OperationDetail> details);
+
     @Transactional
     void stockInventory(Long stockId, Integer actualQuantity);
 
@@ -30,7 +44,10 @@ public interface StockService {
     StockInfoResp getStockByProductAndLocation(Long productId, Long locationId);
 
     @Transactional(readOnly = true)
-    Page<StockInfoResp> getAllStocks(Integer page, Integer perPage, String sort, Sort.Direction order, String filter);
+    Slice<StockInfoResp> getAllStocks(Integer page, Integer perPage, String sort, Sort.Direction order, String filter, TotalMode total);
+
+    @Transactional(readOnly = true)
+    CursorPageResp<StockInfoResp> scrollStocks(String after, Integer perPage, String sort, Sort.Direction order, String filter);
 
 
 }
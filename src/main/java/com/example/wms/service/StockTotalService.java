@@ -0,0 +1,21 @@
+package com.example.wms.service;
+
+import com.example.wms.model.dto.response.StockTotalResp;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface StockTotalService {
+
+    @Transactional(readOnly = true)
+    List<StockTotalResp> getProductTotals(Long productId);
+
+    @Transactional(readOnly = true)
+    Slice<StockTotalResp> getWarehouseTotals(Long warehouseId, Integer page, Integer perPage);
+
+    /**
+     * Checks the totals against the stock rows and repairs the ones that drifted; returns how many were repaired.
+     */
+    int verify();
+}
@@ -0,0 +1,14 @@
+package com.example.wms.service;
+
+import com.example.wms.model.dto.request.TokenReq;
+import com.example.wms.model.dto.response.TokenResp;
+import org.springframework.security.core.Authentication;
+
+
+public interface TokenService {
+    TokenResp issueToken(TokenReq req);
+
+    Authentication authenticate(String token);
+
+    void revoke(Long... userIds);
+}
@@ -0,0 +1,14 @@
+package com.example.wms.service;
+
+import java.util.function.LongSupplier;
+
+public interface TotalCountService {
+
+    /**
+     * Filter key of listings that hide soft-deleted rows. The planner estimate counts those rows too, so such
+     * listings must use the cached exact count. A user filter never contains a NUL character, so keys cannot clash.
+     */
+    String ACTIVE_ROWS = "\u0000active";
+
+    long approximateTotal(String table, String filter, LongSupplier exactCount);
+}
@@ -0,0 +1,122 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.utils.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Successful username/password authentications, kept for a short TTL. Entries are keyed by an HMAC of the
+ * credentials under a per-process random key, so passwords themselves are never kept.
+ */
+@Slf4j
+@Component
+public class AuthenticationCache {
+    static final int MAX_CACHED_AUTHENTICATIONS = 10_000;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final long ttlNanos;
+    private final SecretKeySpec key;
+    private final Map<String, CachedAuthentication> authentications = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AuthenticationCache(@Value("${app.security.auth-cache-ttl:60s}") Duration ttl) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.ttlNanos = ttl.toNanos();
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    /**
+     * Returns a fresh authenticated token for {@code request} when the same credentials were verified within the TTL.
+     */
+    public Authentication get(Authentication request) {
+        CachedAuthentication cached = authentications.get(cacheKey(request));
+        if (cached == null || System.nanoTime() - cached.loadedAt() >= ttlNanos) {
+            return null;
+        }
+
+        UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                cached.authentication().getPrincipal(), null, cached.authentication().getAuthorities());
+        result.setDetails(request.getDetails());
+        return result;
+    }
+
+    /**
+     * Eviction counter to read before verifying credentials and to pass to {@link #put}.
+     */
+    public long generation() {
+        return evictions.get();
+    }
+
+    /**
+     * Remembers {@code result} unless an eviction happened since {@code generation} was read,
+     * in which case the result may already be stale.
+     */
+    public void put(Authentication request, Authentication result, long generation) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        prune(now);
+        String cacheKey = cacheKey(request);
+        authentications.put(cacheKey, new CachedAuthentication(request.getName(), result, now));
+        if (evictions.get() != generation) {
+            authentications.remove(cacheKey);
+        }
+    }
+
+    /**
+     * Drops the cached authentications of {@code usernames}; call whenever a user's password, role or status changes.
+     * Inside a transaction the entries are dropped again after commit, since requests may have re-cached the old state.
+     */
+    public void evict(String... usernames) {
+        Set<String> evicted = Set.of(usernames);
+        TransactionUtils.runNowAndAfterCommit(() -> {
+            evictions.incrementAndGet();
+            authentications.values().removeIf(cached -> evicted.contains(cached.username()));
+        });
+    }
+
+    private void prune(long now) {
+        if (authentications.size() < MAX_CACHED_AUTHENTICATIONS) {
+            return;
+        }
+        authentications.values().removeIf(cached -> now - cached.loadedAt() >= ttlNanos);
+        if (authentications.size() >= MAX_CACHED_AUTHENTICATIONS) {
+            log.debug("Authentication cache is full, dropping {} entries", authentications.size());
+            authentications.clear();
+        }
+    }
+
+    private String cacheKey(Authentication request) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(request.getName().getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            byte[] password = request.getCredentials().toString().getBytes(StandardCharsets.UTF_8);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC is not available", e);
+        }
+    }
+
+    private record CachedAuthentication(String username, Authentication authentication, long loadedAt) {
+    }
+}
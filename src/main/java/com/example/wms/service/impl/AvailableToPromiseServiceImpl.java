@@ -0,0 +1,77 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.StockMapper;
+import com.example.wms.model.db.repository.StockPendingTotalRepository;
+import com.example.wms.model.dto.request.AvailableToPromiseReq;
+import com.example.wms.model.dto.response.AvailableToPromiseResp;
+import com.example.wms.model.enums.OperationType;
+import com.example.wms.service.AvailableToPromiseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pending quantities are kept per (product, warehouse) in stock_pending_totals and changed by the operation services
+ * whenever a receiving or shipping detail is added, changed, deleted, executed or cancelled, and available stock per
+ * (product, warehouse) is read from stock_totals, so a query reads two total rows per product and warehouse.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailableToPromiseServiceImpl implements AvailableToPromiseService {
+    private final StockPendingTotalRepository stockPendingTotalRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailableToPromiseResp> getAvailableToPromise(AvailableToPromiseReq req) {
+        List<String> skus = req.getSkus();
+        if (skus == null || skus.isEmpty()) {
+            throw new CommonBackendException("At least one SKU is required", HttpStatus.BAD_REQUEST);
+        }
+        if (skus.size() > AvailableToPromiseReq.MAX_SKUS) {
+            throw new CommonBackendException(String.format("At most %s SKUs can be requested at once", AvailableToPromiseReq.MAX_SKUS),
+                    HttpStatus.BAD_REQUEST);
+        }
+
+        String[] skuArray = skus.stream().filter(StringUtils::hasText).distinct().toArray(String[]::new);
+        return stockPendingTotalRepository.findAvailableToPromise(skuArray, req.getWarehouseId()).stream()
+                .map(StockMapper::toAvailableToPromiseResp)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void addPending(OperationType operationType, Long[] productIds, Long[] fromLocationIds, Long[] toLocationIds,
+                           Integer[] quantities) {
+        Integer[] none = new Integer[quantities.length];
+        Arrays.fill(none, 0);
+        switch (operationType) {
+            case RECEIVING -> stockPendingTotalRepository.addPending(productIds, toLocationIds, quantities, none);
+            case SHIPPING -> stockPendingTotalRepository.addPending(productIds, fromLocationIds, none, quantities);
+            case TRANSFER -> {
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public void removePending(Collection<Long> detailIds) {
+        Long[] ids = detailIds.stream().filter(Objects::nonNull).toArray(Long[]::new);
+        if (ids.length > 0) {
+            stockPendingTotalRepository.removeDetails(ids);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void removePendingOperation(Long operationId) {
+        stockPendingTotalRepository.removeOperation(operationId);
+    }
+}
@@ -1,13 +1,13 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.CategoryMapper;
 import com.example.wms.model.db.entity.Category;
 import com.example.wms.model.db.repository.CategoryRepository;
 import com.example.wms.model.dto.request.CategoryInfoReq;
 import com.example.wms.model.dto.response.CategoryInfoResp;
 import com.example.wms.service.CategoryService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -26,7 +26,6 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
-    private final ObjectMapper objectMapper;
 
 
     @Override
@@ -36,12 +35,12 @@ public class CategoryServiceImpl implements CategoryService {
             throw new CommonBackendException("Category with name already exists", HttpStatus.CONFLICT);
         }
 
-        Category category = objectMapper.convertValue(req, Category.class);
+        Category category = CategoryMapper.toEntity(req);
         category.setIsActive(true);
 
         Category savedCategory = categoryRepository.save(category);
 
-        return objectMapper.convertValue(savedCategory, CategoryInfoResp.class);
+        return CategoryMapper.toInfoResp(savedCategory);
     }
 
     @Override
@@ -52,7 +51,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        return objectMapper.convertValue(category, CategoryInfoResp.class);
+        return CategoryMapper.toInfoResp(category);
     }
 
     @Override
@@ -64,7 +63,7 @@ public class CategoryServiceImpl implements CategoryService {
         Page<Category> categories = categoryRepository.findAllByIsActiveTrue(pageRequest);
 
         List<CategoryInfoResp> content = categories.getContent().stream()
-                .map(category -> objectMapper.convertValue(category, CategoryInfoResp.class))
+                .map(CategoryMapper::toInfoResp)
                 .collect(Collectors.toList());
 
         return new PageImpl<>(content, pageRequest, categories.getTotalElements());
@@ -82,7 +81,7 @@ public class CategoryServiceImpl implements CategoryService {
         category.setDescription(req.getDescription() != null ? req.getDescription() : category.getDescription());
 
         Category updatedCategory = categoryRepository.save(category);
-        return objectMapper.convertValue(updatedCategory, CategoryInfoResp.class);
+        return CategoryMapper.toInfoResp(updatedCategory);
     }
 
     @Override
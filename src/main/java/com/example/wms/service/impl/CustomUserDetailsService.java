@@ -22,6 +22,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         return new org.springframework.security.core.userdetails.User(user.getUsername(), user.getPasswordHash(),
+                !Boolean.FALSE.equals(user.getIsActive()), true, true, true,
                 Collections.singletonList(new SimpleGrantedAuthority(user.getRole().getName())));
     }
 }
\ No newline at end of file
@@ -2,20 +2,21 @@ package com.example.wms.service.impl;
 
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.DocumentMapper;
 import com.example.wms.model.db.entity.Document;
 import com.example.wms.model.db.entity.Partner;
 import com.example.wms.model.db.repository.DocumentRepository;
 import com.example.wms.model.db.repository.PartnerRepository;
 import com.example.wms.model.dto.request.DocumentInfoReq;
 import com.example.wms.model.dto.response.DocumentInfoResp;
+import com.example.wms.model.enums.TotalMode;
 import com.example.wms.service.DocumentService;
+import com.example.wms.service.TotalCountService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -30,8 +31,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DocumentServiceImpl implements DocumentService {
     private final DocumentRepository documentRepository;
-    private final ObjectMapper objectMapper;
     private final PartnerRepository partnerRepository;
+    private final TotalCountService totalCountService;
 
     @Override
     @Transactional
@@ -57,9 +58,7 @@ public class DocumentServiceImpl implements DocumentService {
         document.setIsActive(true);
         Document savedDocument = documentRepository.save(document);
 
-        DocumentInfoResp resp = objectMapper.convertValue(savedDocument, DocumentInfoResp.class);
-        resp.setPartnerName(savedDocument.getPartner().getName());
-        return resp;
+        return DocumentMapper.toInfoResp(savedDocument);
     }
 
     @Override
@@ -70,34 +69,32 @@ public class DocumentServiceImpl implements DocumentService {
         Document document = documentRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        DocumentInfoResp resp = objectMapper.convertValue(document, DocumentInfoResp.class);
-        resp.setPartnerName(document.getPartner().getName());
-        return resp;
+        return DocumentMapper.toInfoResp(document);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<DocumentInfoResp> getAllDocuments(Integer page, Integer perPage, String sort, Sort.Direction order, String filter) {
-
+    public Slice<DocumentInfoResp> getAllDocuments(Integer page, Integer perPage, String sort, Sort.Direction order, String filter, TotalMode total) {
         Pageable pageRequest = PaginationUtils.getPageRequest(page, perPage, sort, order);
 
-        Page<Document> documents;
-
+        Slice<Document> documents;
         if (StringUtils.hasText(filter)) {
-            documents = documentRepository.findAllFiltered(pageRequest, filter);
+            documents = total == TotalMode.EXACT
+                    ? documentRepository.findAllFiltered(pageRequest, filter)
+                    : documentRepository.findSliceFiltered(pageRequest, filter);
         } else {
-            documents = documentRepository.findAllByIsActiveTrue(pageRequest);
+            documents = total == TotalMode.EXACT
+                    ? documentRepository.findAllByIsActiveTrue(pageRequest)
+                    : documentRepository.findSliceByIsActiveTrue(pageRequest);
         }
 
         List<DocumentInfoResp> content = documents.getContent().stream()
-                .map(document -> {
-                    DocumentInfoResp resp = objectMapper.convertValue(document, DocumentInfoResp.class);
-                    resp.setPartnerName(document.getPartner().getName());
-                    return resp;
-                })
+                .map(DocumentMapper::toInfoResp)
                 .collect(Collectors.toList());
 
-        return new PageImpl<>(content, pageRequest, documents.getTotalElements());
+        return PaginationUtils.getSlice(content, pageRequest, documents, total, () -> StringUtils.hasText(filter)
+                ? totalCountService.approximateTotal("documents", filter, () -> documentRepository.countFiltered(filter))
+                : totalCountService.approximateTotal("documents", TotalCountService.ACTIVE_ROWS, documentRepository::countByIsActiveTrue));
     }
 
     @Override
@@ -113,9 +110,7 @@ public class DocumentServiceImpl implements DocumentService {
         document.setNotes(req.getNotes() != null ? req.getNotes() : document.getNotes());
 
         Document updatedDocument = documentRepository.save(document);
-        DocumentInfoResp resp = objectMapper.convertValue(updatedDocument, DocumentInfoResp.class);
-        resp.setPartnerName(updatedDocument.getPartner().getName());
-        return resp;
+        return DocumentMapper.toInfoResp(updatedDocument);
     }
 
     @Override
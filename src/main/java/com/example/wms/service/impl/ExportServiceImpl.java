@@ -0,0 +1,151 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.model.db.repository.InventoryRepository;
+import com.example.wms.model.db.repository.OperationRepository;
+import com.example.wms.model.db.repository.StockRepository;
+import com.example.wms.model.dto.response.InventoryExportResp;
+import com.example.wms.model.dto.response.OperationExportResp;
+import com.example.wms.model.dto.response.StockExportResp;
+import com.example.wms.model.enums.ExportFormat;
+import com.example.wms.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Rows are read through a forward-only cursor of JPQL constructor results and written as soon as they are read,
+ * so memory does not grow with the number of rows.
+ */
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+    private static final List<String> STOCK_COLUMNS = List.of(
+            "id", "productSku", "locationName", "quantity", "status", "createdAt", "updatedAt");
+    private static final List<String> OPERATION_COLUMNS = List.of(
+            "id", "operationType", "operationStatus", "username", "documentNumber", "createdAt", "updatedAt");
+    private static final List<String> INVENTORY_COLUMNS = List.of(
+            "id", "stockId", "productSku", "locationName", "actualQuantity", "inventoryDate");
+
+    private final StockRepository stockRepository;
+    private final OperationRepository operationRepository;
+    private final InventoryRepository inventoryRepository;
+    private final ObjectWriter rowWriter;
+    private final ObjectMapper objectMapper;
+
+    public ExportServiceImpl(StockRepository stockRepository,
+                             OperationRepository operationRepository,
+                             InventoryRepository inventoryRepository,
+                             ObjectMapper objectMapper) {
+        this.stockRepository = stockRepository;
+        this.operationRepository = operationRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportStocks(ExportFormat format, Instant since, OutputStream out) throws IOException {
+        try (Stream<StockExportResp> rows = stockRepository.streamForExport(since)) {
+            long written = write(rows, format, out, STOCK_COLUMNS, row -> new Object[]{
+                    row.getId(), row.getProductSku(), row.getLocationName(), row.getQuantity(), row.getStatus(),
+                    row.getCreatedAt(), row.getUpdatedAt()});
+            log.info("Exported {} stocks as {}", written, format);
+            return written;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportOperations(ExportFormat format, Instant since, OutputStream out) throws IOException {
+        try (Stream<OperationExportResp> rows = operationRepository.streamForExport(since)) {
+            long written = write(rows, format, out, OPERATION_COLUMNS, row -> new Object[]{
+                    row.getId(), row.getOperationType(), row.getOperationStatus(), row.getUsername(),
+                    row.getDocumentNumber(), row.getCreatedAt(), row.getUpdatedAt()});
+            log.info("Exported {} operations as {}", written, format);
+            return written;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportInventories(ExportFormat format, Instant since, OutputStream out) throws IOException {
+        try (Stream<InventoryExportResp> rows = inventoryRepository.streamForExport(since)) {
+            long written = write(rows, format, out, INVENTORY_COLUMNS, row -> new Object[]{
+                    row.getId(), row.getStockId(), row.getProductSku(), row.getLocationName(), row.getActualQuantity(),
+                    row.getInventoryDate()});
+            log.info("Exported {} inventories as {}", written, format);
+            return written;
+        }
+    }
+
+    private <T> long write(Stream<T> rows, ExportFormat format, OutputStream out, List<String> columns,
+                           Function<T, Object[]> values) throws IOException {
+        return switch (format) {
+            case NDJSON -> writeNdjson(rows.iterator(), out);
+            case CSV -> writeCsv(rows.iterator(), out, columns, values);
+        };
+    }
+
+    private <T> long writeNdjson(Iterator<T> rows, OutputStream out) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                rowWriter.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private <T> long writeCsv(Iterator<T> rows, OutputStream out, List<String> columns,
+                              Function<T, Object[]> values) throws IOException {
+        long written = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", columns));
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            Object[] row = values.apply(rows.next());
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvValue(row[i]));
+            }
+            writer.write("\r\n");
+            written++;
+        }
+        writer.flush();
+        return written;
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.model.db.entity.IdempotencyKey;
+import com.example.wms.model.db.repository.IdempotencyKeyRepository;
+import com.example.wms.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * The key is claimed in its own transaction before the action runs, so a concurrent retry sees it and gets 409
+ * instead of executing twice. The response is stored in the action's transaction, so a key never points to a
+ * response that was rolled back. A failed action releases the key and the client may retry.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepository idempotencyKeyRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${app.idempotency.purge-batch-size:1000}") int purgeBatchSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Override
+    public <T> T execute(String key, String request, Object body, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new CommonBackendException(String.format("Idempotency-Key must be 1 to %s characters long", MAX_KEY_LENGTH), HttpStatus.BAD_REQUEST);
+        }
+
+        String requestHash = hash(currentUsername(), request, body);
+        Instant now = Instant.now();
+        Integer reserved = transactionTemplate.execute(status ->
+                idempotencyKeyRepository.reserve(key, requestHash, now, now.plus(ttl)));
+
+        if (reserved == null || reserved == 0) {
+            return replay(key, requestHash, responseType);
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                T response = action.get();
+                idempotencyKeyRepository.complete(key, toJson(response));
+                return response;
+            });
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.release(key));
+            throw e;
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:10m}", initialDelayString = "${app.idempotency.purge-interval:10m}")
+    public int purgeExpired() {
+        Instant now = Instant.now();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteExpired(now, purgeBatchSize));
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+        return purged;
+    }
+
+    private <T> T replay(String key, String requestHash, Class<T> responseType) {
+        IdempotencyKey stored = idempotencyKeyRepository.findById(key)
+                .orElseThrow(() -> new CommonBackendException("A request with this Idempotency-Key is still being processed", HttpStatus.CONFLICT));
+
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new CommonBackendException("Idempotency-Key was already used for a different request", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        if (stored.getResponse() == null) {
+            throw new CommonBackendException("A request with this Idempotency-Key is still being processed", HttpStatus.CONFLICT);
+        }
+
+        log.info("Replaying stored response for Idempotency-Key: {}", key);
+        try {
+            return objectMapper.readValue(stored.getResponse(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for Idempotency-Key " + key + " is not readable", e);
+        }
+    }
+
+    private String hash(String username, String request, Object body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((username + '\n' + request + '\n' + toJson(body)).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+}
@@ -1,18 +1,23 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.InventoryMapper;
 import com.example.wms.model.db.entity.Inventory;
 import com.example.wms.model.db.repository.InventoryRepository;
+import com.example.wms.model.dto.response.CursorPageResp;
 import com.example.wms.model.dto.response.InventorInfoResp;
+import com.example.wms.model.enums.TotalMode;
 import com.example.wms.service.InventoryService;
+import com.example.wms.service.TotalCountService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,7 +30,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class InventorServiceImpl implements InventoryService {
     private final InventoryRepository inventoryRepository;
-    private final ObjectMapper objectMapper;
+    private final TotalCountService totalCountService;
 
     @Override
     @Transactional(readOnly = true)
@@ -37,31 +42,52 @@ public class InventorServiceImpl implements InventoryService {
 
 
 
-        InventorInfoResp resp = objectMapper.convertValue(inventory, InventorInfoResp.class);
-        resp.setStockId(inventory.getStock().getId());
-        return resp;
+        return InventoryMapper.toInfoResp(inventory);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<InventorInfoResp> getAllInventories(Integer page, Integer perPage, String sort, Sort.Direction order, Long filter) {
-
+    public Slice<InventorInfoResp> getAllInventories(Integer page, Integer perPage, String sort, Sort.Direction order, Long filter, TotalMode total) {
         Pageable pageRequest = PaginationUtils.getPageRequest(page, perPage, sort, order);
 
-        Page<Inventory> inventories;
-
+        Slice<Inventory> inventories;
         if (filter != null) {
-            inventories = inventoryRepository.findAllFiltered(filter, pageRequest);
+            inventories = total == TotalMode.EXACT
+                    ? inventoryRepository.findAllFiltered(filter, pageRequest)
+                    : inventoryRepository.findSliceByStockId(filter, pageRequest);
+        } else {
+            inventories = total == TotalMode.EXACT
+                    ? inventoryRepository.findAll(pageRequest)
+                    : inventoryRepository.findSliceBy(pageRequest);
+        }
+
+        List<InventorInfoResp> content = inventories.getContent().stream()
+                .map(InventoryMapper::toInfoResp)
+                .collect(Collectors.toList());
+
+        return PaginationUtils.getSlice(content, pageRequest, inventories, total, () -> filter != null
+                ? totalCountService.approximateTotal("inventories", filter.toString(), () -> inventoryRepository.countByStockId(filter))
+                : totalCountService.approximateTotal("inventories", null, inventoryRepository::count));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResp<InventorInfoResp> scrollInventories(String after, Integer perPage, String sort, Sort.Direction order, Long stockId) {
+        Sort sortBy = PaginationUtils.getSort(sort, order);
+        ScrollPosition position = PaginationUtils.getScrollPosition(after, sortBy, Inventory.class);
+        Limit limit = PaginationUtils.getLimit(perPage);
+
+        Window<Inventory> inventories;
+        if (stockId != null) {
+            inventories = inventoryRepository.findByStockId(stockId, position, sortBy, limit);
         } else {
-            inventories = inventoryRepository.findAll(pageRequest);
+            inventories = inventoryRepository.findAllBy(position, sortBy, limit);
         }
 
         List<InventorInfoResp> content = inventories.getContent().stream()
-                .map(inventory -> {
-                    InventorInfoResp resp = objectMapper.convertValue(inventory, InventorInfoResp.class);
-                    resp.setStockId(inventory.getStock().getId());
-                    return resp;})
+                .map(InventoryMapper::toInfoResp)
                 .collect(Collectors.toList());
-        return new PageImpl<>(content, pageRequest, inventories.getTotalElements());
+
+        return new CursorPageResp<>(content, PaginationUtils.getNextCursor(inventories));
     }
 }
@@ -1,6 +1,7 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.LocationMapper;
 import com.example.wms.model.db.entity.Location;
 import com.example.wms.model.db.entity.Warehouse;
 import com.example.wms.model.db.repository.LocationRepository;
@@ -10,7 +11,6 @@ import com.example.wms.model.dto.response.LocationInfoResp;
 import com.example.wms.model.enums.LocationType;
 import com.example.wms.service.LocationService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -31,7 +31,7 @@ import java.util.stream.Collectors;
 public class LocationServiceImpl implements LocationService {
     private final LocationRepository locationRepository;
     private final WarehouseRepository warehouseRepository;
-    private final ObjectMapper objectMapper;
+    private final ReferenceResolver referenceResolver;
 
     @Override
     @Transactional
@@ -57,9 +57,7 @@ public class LocationServiceImpl implements LocationService {
         }
         location.setIsActive(true);
         Location savedLocation = locationRepository.save(location);
-        LocationInfoResp resp = objectMapper.convertValue(savedLocation, LocationInfoResp.class);
-        resp.setWarehouseName(savedLocation.getWarehouse().getName());
-        return resp;
+        return LocationMapper.toInfoResp(savedLocation);
     }
 
     @Override
@@ -70,9 +68,7 @@ public class LocationServiceImpl implements LocationService {
         Location location = locationRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        LocationInfoResp resp = objectMapper.convertValue(location, LocationInfoResp.class);
-        resp.setWarehouseName(location.getWarehouse().getName());
-        return resp;
+        return LocationMapper.toInfoResp(location);
     }
 
     @Override
@@ -90,11 +86,8 @@ public class LocationServiceImpl implements LocationService {
         }
 
         List<LocationInfoResp> content = locations.getContent().stream()
-                .map(location -> {
-                    LocationInfoResp resp = objectMapper.convertValue(location, LocationInfoResp.class);
-                    resp.setWarehouseName(location.getWarehouse().getName());
-                    return resp;
-                }).collect(Collectors.toList());
+                .map(LocationMapper::toInfoResp)
+                .collect(Collectors.toList());
 
         return new PageImpl<>(content, pageRequest, locations.getTotalElements());
     }
@@ -106,6 +99,7 @@ public class LocationServiceImpl implements LocationService {
 
         Location location = locationRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
+        referenceResolver.evictLocationNames(location.getName(), req.getName());
 
         if (req.getWarehouseId() != null) {
             Warehouse warehouse = warehouseRepository.findByIdAndIsActiveTrue(req.getWarehouseId())
@@ -121,9 +115,7 @@ public class LocationServiceImpl implements LocationService {
         location.setDescription(req.getDescription() != null ? req.getDescription() : location.getDescription());
 
         Location updatedLocation = locationRepository.save(location);
-        LocationInfoResp resp = objectMapper.convertValue(updatedLocation, LocationInfoResp.class);
-        resp.setWarehouseName(updatedLocation.getWarehouse().getName());
-        return resp;
+        return LocationMapper.toInfoResp(updatedLocation);
     }
 
     @Override
@@ -136,6 +128,7 @@ public class LocationServiceImpl implements LocationService {
 
         location.setIsActive(false);
         locationRepository.save(location);
+        referenceResolver.evictLocationNames(location.getName());
     }
 
 }
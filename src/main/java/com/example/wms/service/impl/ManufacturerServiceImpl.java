@@ -1,13 +1,13 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.ManufacturerMapper;
 import com.example.wms.model.db.entity.Manufacturer;
 import com.example.wms.model.db.repository.ManufacturerRepository;
 import com.example.wms.model.dto.request.ManufacturerInfoReq;
 import com.example.wms.model.dto.response.ManufacturerInfoResp;
 import com.example.wms.service.ManufacturerService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -26,7 +26,6 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ManufacturerServiceImpl implements ManufacturerService {
     private final ManufacturerRepository manufacturerRepository;
-    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional
@@ -35,11 +34,11 @@ public class ManufacturerServiceImpl implements ManufacturerService {
             throw new CommonBackendException("Manufacturer with name already exists", HttpStatus.CONFLICT);
         }
 
-        Manufacturer manufacturer = objectMapper.convertValue(req, Manufacturer.class);
+        Manufacturer manufacturer = ManufacturerMapper.toEntity(req);
         manufacturer.setIsActive(true);
 
         Manufacturer savedManufacturer = manufacturerRepository.save(manufacturer);
-        return objectMapper.convertValue(savedManufacturer, ManufacturerInfoResp.class);
+        return ManufacturerMapper.toInfoResp(savedManufacturer);
     }
 
     @Override
@@ -50,7 +49,7 @@ public class ManufacturerServiceImpl implements ManufacturerService {
         Manufacturer manufacturer = manufacturerRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        return objectMapper.convertValue(manufacturer, ManufacturerInfoResp.class);
+        return ManufacturerMapper.toInfoResp(manufacturer);
     }
 
     @Override
@@ -62,7 +61,7 @@ public class ManufacturerServiceImpl implements ManufacturerService {
         Page<Manufacturer> manufacturers = manufacturerRepository.findAllByIsActiveTrue(pageRequest);
 
         List<ManufacturerInfoResp> content = manufacturers.getContent().stream()
-                .map(manufacturer -> objectMapper.convertValue(manufacturer, ManufacturerInfoResp.class))
+                .map(ManufacturerMapper::toInfoResp)
                 .collect(Collectors.toList());
 
         return new PageImpl<>(content, pageRequest, manufacturers.getTotalElements());
@@ -82,7 +81,7 @@ public class ManufacturerServiceImpl implements ManufacturerService {
         manufacturer.setPhone(req.getPhone() != null ? req.getPhone() : manufacturer.getPhone());
 
         Manufacturer updatedManufacturer = manufacturerRepository.save(manufacturer);
-        return objectMapper.convertValue(updatedManufacturer, ManufacturerInfoResp.class);
+        return ManufacturerMapper.toInfoResp(updatedManufacturer);
     }
 
     @Override
@@ -1,26 +1,43 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.exception.OperationDetailBulkException;
+import com.example.wms.mapper.OperationDetailMapper;
 import com.example.wms.model.db.entity.*;
+import com.example.wms.model.db.projection.LocationRef;
+import com.example.wms.model.db.projection.ProductRef;
 import com.example.wms.model.db.repository.*;
+import com.example.wms.model.dto.request.OperationDetailBulkReq;
 import com.example.wms.model.dto.request.OperationDetailInfoReq;
+import com.example.wms.model.dto.response.CursorPageResp;
+import com.example.wms.model.dto.response.OperationDetailBulkResp;
 import com.example.wms.model.dto.response.OperationDetailInfoResp;
+import com.example.wms.model.dto.response.OperationDetailRowErrorResp;
 import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationType;
+import com.example.wms.model.enums.TotalMode;
+import com.example.wms.service.AvailableToPromiseService;
 import com.example.wms.service.OperationDetailService;
+import com.example.wms.service.ReservationService;
+import com.example.wms.service.TotalCountService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,22 +45,25 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OperationDetailServiceImpl implements OperationDetailService {
     private final OperationDetailRepository operationDetailRepository;
-    private final ObjectMapper objectMapper;
     private final LocationRepository locationRepository;
     private final ProductRepository productRepository;
     private final OperationRepository operationRepository;
+    private final TotalCountService totalCountService;
+    private final ReferenceResolver referenceResolver;
+    private final ReservationService reservationService;
+    private final AvailableToPromiseService availableToPromiseService;
 
     @Override
     @Transactional
     public OperationDetailInfoResp createOperationDetail(OperationDetailInfoReq req) {
-        Product product = productRepository.findBySkuAndIsActiveTrue(req.getSku())
-                .orElseThrow(() -> new CommonBackendException("Product not found", HttpStatus.NOT_FOUND));
+        Product product = productRepository.getReferenceById(referenceResolver.activeProductId(req.getSku())
+                .orElseThrow(() -> new CommonBackendException("Product not found", HttpStatus.NOT_FOUND)));
 
-        Location fromLocation = locationRepository.findByNameAndIsActiveTrue(req.getFromLocationName())
-                .orElseThrow(() -> new CommonBackendException("Departure location not found", HttpStatus.NOT_FOUND));
+        Location fromLocation = locationRepository.getReferenceById(referenceResolver.activeLocationId(req.getFromLocationName())
+                .orElseThrow(() -> new CommonBackendException("Departure location not found", HttpStatus.NOT_FOUND)));
 
-        Location toLocation = locationRepository.findByNameAndIsActiveTrue(req.getToLocationName())
-                .orElseThrow(() -> new CommonBackendException("Destination location not found", HttpStatus.NOT_FOUND));
+        Location toLocation = locationRepository.getReferenceById(referenceResolver.activeLocationId(req.getToLocationName())
+                .orElseThrow(() -> new CommonBackendException("Destination location not found", HttpStatus.NOT_FOUND)));
 
         Operation operation = operationRepository.findById(req.getOperationId())
                 .orElseThrow(() -> new CommonBackendException("Operation not found", HttpStatus.NOT_FOUND));
@@ -60,27 +80,137 @@ public class OperationDetailServiceImpl implements OperationDetailService {
         operationDetail.setOperation(operation);
 
         OperationDetail savedOperationDetail = operationDetailRepository.save(operationDetail);
+        addPending(operation, savedOperationDetail);
+        reserveIfShipping(operation, List.of(savedOperationDetail));
 
         return getOperationDetailInfoResp(savedOperationDetail);
     }
 
+    @Override
+    @Transactional
+    public OperationDetailBulkResp createOperationDetails(OperationDetailBulkReq req) {
+        Operation operation = operationRepository.findById(req.getOperationId())
+                .orElseThrow(() -> new CommonBackendException("Operation not found", HttpStatus.NOT_FOUND));
+
+        if (operation.getOperationStatus() != OperationStatus.CREATED) {
+            throw new CommonBackendException("Cannot add details to an operation that is not in 'CREATED' status", HttpStatus.FORBIDDEN);
+        }
+
+        List<OperationDetailInfoReq> details = req.getDetails();
+        Set<String> skus = new HashSet<>();
+        Set<String> locationNames = new HashSet<>();
+        for (OperationDetailInfoReq detail : details) {
+            if (detail != null) {
+                addIfPresent(skus, detail.getSku());
+                addIfPresent(locationNames, detail.getFromLocationName());
+                addIfPresent(locationNames, detail.getToLocationName());
+            }
+        }
+
+        Map<String, Long> productIds = skus.isEmpty() ? Map.of() : productRepository.findActiveRefsBySkuIn(skus).stream()
+                .collect(Collectors.toMap(ProductRef::getSku, ProductRef::getId));
+        Map<String, Long> locationIds = locationNames.isEmpty() ? Map.of() : locationRepository.findRefsByNameInAndIsActiveTrue(locationNames).stream()
+                .collect(Collectors.toMap(LocationRef::getName, LocationRef::getId));
+
+        int size = details.size();
+        Long[] productIdArray = new Long[size];
+        Long[] fromLocationIdArray = new Long[size];
+        Long[] toLocationIdArray = new Long[size];
+        Integer[] quantityArray = new Integer[size];
+        List<OperationDetailRowErrorResp> errors = new ArrayList<>();
+        int invalidRows = 0;
+        for (int row = 0; row < size; row++) {
+            OperationDetailInfoReq detail = details.get(row);
+            int errorCount = errors.size();
+            if (detail == null) {
+                errors.add(rowError(row, null, "must not be null"));
+            } else {
+                if (detail.getOperationId() != null && !detail.getOperationId().equals(operation.getId())) {
+                    errors.add(rowError(row, "operationId", "Detail belongs to another operation"));
+                }
+                productIdArray[row] = resolve(errors, row, "sku", detail.getSku(), productIds, "Product not found");
+                fromLocationIdArray[row] = resolve(errors, row, "fromLocationName", detail.getFromLocationName(), locationIds,
+                        "Departure location not found");
+                toLocationIdArray[row] = resolve(errors, row, "toLocationName", detail.getToLocationName(), locationIds,
+                        "Destination location not found");
+                if (detail.getQuantity() == null) {
+                    errors.add(rowError(row, "quantity", "must not be null"));
+                }
+                quantityArray[row] = detail.getQuantity();
+            }
+            if (errors.size() > errorCount) {
+                invalidRows++;
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new OperationDetailBulkException(String.format("%s of %s operation details are invalid", invalidRows, size), errors);
+        }
+
+        List<OperationDetail> operationDetails = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            OperationDetail operationDetail = new OperationDetail();
+            operationDetail.setQuantity(quantityArray[row]);
+            operationDetail.setProduct(productRepository.getReferenceById(productIdArray[row]));
+            operationDetail.setFromLocation(locationRepository.getReferenceById(fromLocationIdArray[row]));
+            operationDetail.setToLocation(locationRepository.getReferenceById(toLocationIdArray[row]));
+            operationDetail.setOperation(operation);
+            operationDetails.add(operationDetail);
+        }
+        List<OperationDetail> created = operationDetailRepository.saveAll(operationDetails);
+        log.info("Created {} details of operation {}", created.size(), operation.getId());
+        availableToPromiseService.addPending(operation.getOperationType(), productIdArray, fromLocationIdArray, toLocationIdArray, quantityArray);
+        reserveIfShipping(operation, created);
+
+        return OperationDetailBulkResp.builder()
+                .operationId(operation.getId())
+                .created(created.size())
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public Page<OperationDetailInfoResp> getAllOperationDetails(Integer page, Integer perPage, String sort, Sort.Direction order, Long filter) {
+    public Slice<OperationDetailInfoResp> getAllOperationDetails(Integer page, Integer perPage, String sort, Sort.Direction order, Long filter, TotalMode total) {
         Pageable pageRequest = PaginationUtils.getPageRequest(page, perPage, sort, order);
 
-        Page<OperationDetail> operationDetails;
+        Slice<OperationDetail> operationDetails;
+        if (filter != null) {
+            operationDetails = total == TotalMode.EXACT
+                    ? operationDetailRepository.findByOperationId(filter, pageRequest)
+                    : operationDetailRepository.findSliceByOperationId(filter, pageRequest);
+        } else {
+            operationDetails = total == TotalMode.EXACT
+                    ? operationDetailRepository.findAll(pageRequest)
+                    : operationDetailRepository.findSliceBy(pageRequest);
+        }
+
+        List<OperationDetailInfoResp> content = operationDetails.getContent().stream()
+                .map(this::getOperationDetailInfoResp)
+                .collect(Collectors.toList());
+
+        return PaginationUtils.getSlice(content, pageRequest, operationDetails, total, () -> filter != null
+                ? totalCountService.approximateTotal("operation_details", filter.toString(), () -> operationDetailRepository.countByOperationId(filter))
+                : totalCountService.approximateTotal("operation_details", null, operationDetailRepository::count));
+    }
 
-        if (filter != null && StringUtils.hasText(String.valueOf(filter))) {
-            operationDetails = operationDetailRepository.findByOperationId(filter, pageRequest);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResp<OperationDetailInfoResp> scrollOperationDetails(String after, Integer perPage, String sort, Sort.Direction order, Long filter) {
+        Sort sortBy = PaginationUtils.getSort(sort, order);
+        ScrollPosition position = PaginationUtils.getScrollPosition(after, sortBy, OperationDetail.class);
+        Limit limit = PaginationUtils.getLimit(perPage);
+
+        Window<OperationDetail> operationDetails;
+        if (filter != null) {
+            operationDetails = operationDetailRepository.findByOperationId(filter, position, sortBy, limit);
         } else {
-            operationDetails = operationDetailRepository.findAll(pageRequest);
+            operationDetails = operationDetailRepository.findAllBy(position, sortBy, limit);
         }
 
         List<OperationDetailInfoResp> content = operationDetails.getContent().stream()
-                .map(this::getOperationDetailInfoResp).collect(Collectors.toList());
+                .map(this::getOperationDetailInfoResp)
+                .collect(Collectors.toList());
 
-        return new PageImpl<>(content, pageRequest, operationDetails.getTotalElements());
+        return new CursorPageResp<>(content, PaginationUtils.getNextCursor(operationDetails));
     }
 
 
@@ -108,9 +238,15 @@ public class OperationDetailServiceImpl implements OperationDetailService {
                     HttpStatus.FORBIDDEN);
         }
 
+        Operation operation = operationDetail.getOperation();
+        availableToPromiseService.removePending(List.of(id));
+        if (operation.getOperationType() == OperationType.SHIPPING) {
+            reservationService.releaseDetails(List.of(id));
+        }
+
         if (req.getSku() != null) {
-            Product product = productRepository.findBySkuAndIsActiveTrue(req.getSku())
-                    .orElseThrow(() -> new CommonBackendException("Product not found", HttpStatus.NOT_FOUND));
+            Product product = productRepository.getReferenceById(referenceResolver.activeProductId(req.getSku())
+                    .orElseThrow(() -> new CommonBackendException("Product not found", HttpStatus.NOT_FOUND)));
             operationDetail.setProduct(product);
         }
 
@@ -119,18 +255,20 @@ public class OperationDetailServiceImpl implements OperationDetailService {
         }
 
         if (req.getFromLocationName() != null) {
-            Location fromLocation = locationRepository.findByNameAndIsActiveTrue(req.getFromLocationName())
-                    .orElseThrow(() -> new CommonBackendException("From location not found", HttpStatus.NOT_FOUND));
+            Location fromLocation = locationRepository.getReferenceById(referenceResolver.activeLocationId(req.getFromLocationName())
+                    .orElseThrow(() -> new CommonBackendException("From location not found", HttpStatus.NOT_FOUND)));
             operationDetail.setFromLocation(fromLocation);
         }
 
         if (req.getToLocationName() != null) {
-            Location toLocation = locationRepository.findByNameAndIsActiveTrue(req.getToLocationName())
-                    .orElseThrow(() -> new CommonBackendException("Destination location not found", HttpStatus.NOT_FOUND));
+            Location toLocation = locationRepository.getReferenceById(referenceResolver.activeLocationId(req.getToLocationName())
+                    .orElseThrow(() -> new CommonBackendException("Destination location not found", HttpStatus.NOT_FOUND)));
             operationDetail.setToLocation(toLocation);
         }
 
         OperationDetail updatedOperationDetail = operationDetailRepository.save(operationDetail);
+        addPending(operation, updatedOperationDetail);
+        reserveIfShipping(operation, List.of(updatedOperationDetail));
         return getOperationDetailInfoResp(updatedOperationDetail);
     }
 
@@ -145,17 +283,62 @@ public class OperationDetailServiceImpl implements OperationDetailService {
             throw new CommonBackendException("Cannot delete details from an operation that is not in 'CREATED' status", HttpStatus.FORBIDDEN);
         }
 
+        availableToPromiseService.removePending(List.of(detailId));
+        if (operation.getOperationType() == OperationType.SHIPPING) {
+            reservationService.releaseDetails(List.of(detailId));
+        }
         operationDetailRepository.delete(detail);
     }
 
     @Override
     public OperationDetailInfoResp getOperationDetailInfoResp(OperationDetail detail) {
-        OperationDetailInfoResp resp = objectMapper.convertValue(detail, OperationDetailInfoResp.class);
-        resp.setOperationId(detail.getOperation().getId());
-        resp.setFromLocationName(detail.getFromLocation().getName());
-        resp.setToLocationName(detail.getToLocation().getName());
-        resp.setSku(detail.getProduct().getSku());
-        return resp;
+        return OperationDetailMapper.toInfoResp(detail);
+    }
+
+    private void addPending(Operation operation, OperationDetail detail) {
+        availableToPromiseService.addPending(operation.getOperationType(),
+                new Long[]{detail.getProduct().getId()},
+                new Long[]{detail.getFromLocation().getId()},
+                new Long[]{detail.getToLocation().getId()},
+                new Integer[]{detail.getQuantity()});
+    }
+
+    /**
+     * Details of a shipping operation hold their stock from the moment they are added, see {@link ReservationService}.
+     * Only the details just written are reserved; a detail whose hold expired is not held again behind its back.
+     */
+    private void reserveIfShipping(Operation operation, List<OperationDetail> details) {
+        if (operation.getOperationType() == OperationType.SHIPPING) {
+            operationDetailRepository.flush();
+            reservationService.reserve(details.stream().map(OperationDetail::getId).toList());
+        }
+    }
+
+    private static void addIfPresent(Set<String> keys, String key) {
+        if (key != null && !key.isEmpty()) {
+            keys.add(key);
+        }
+    }
+
+    private static Long resolve(List<OperationDetailRowErrorResp> errors, int row, String field, String key,
+                                Map<String, Long> ids, String notFoundMessage) {
+        if (key == null || key.isEmpty()) {
+            errors.add(rowError(row, field, "must not be empty"));
+            return null;
+        }
+        Long id = ids.get(key);
+        if (id == null) {
+            errors.add(rowError(row, field, notFoundMessage));
+        }
+        return id;
+    }
+
+    private static OperationDetailRowErrorResp rowError(int row, String field, String message) {
+        return OperationDetailRowErrorResp.builder()
+                .row(row)
+                .field(field)
+                .message(message)
+                .build();
     }
 
 }
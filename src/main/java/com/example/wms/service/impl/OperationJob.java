@@ -0,0 +1,83 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.model.dto.response.OperationJobResp;
+import com.example.wms.model.dto.response.OperationLineFailureResp;
+import com.example.wms.model.enums.OperationJobStatus;
+import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationType;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of one background execution. Written by the executor thread and read by status requests.
+ */
+@Getter
+class OperationJob {
+    private final UUID id = UUID.randomUUID();
+    private final Long operationId;
+    private final OperationType executionType;
+    private final Instant createdAt;
+    private final List<OperationLineFailureResp> failures = new ArrayList<>();
+    private volatile OperationJobStatus status = OperationJobStatus.QUEUED;
+    private volatile int totalLines;
+    private volatile int processedLines;
+    private volatile OperationStatus operationStatus;
+    private volatile String message;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    OperationJob(Long operationId, OperationType executionType, Instant createdAt) {
+        this.operationId = operationId;
+        this.executionType = executionType;
+        this.createdAt = createdAt;
+    }
+
+    void start(int totalLines, Instant startedAt) {
+        this.totalLines = totalLines;
+        this.startedAt = startedAt;
+        this.status = OperationJobStatus.RUNNING;
+    }
+
+    void processed(int lines) {
+        processedLines += lines;
+    }
+
+    synchronized void failed(OperationLineFailureResp failure) {
+        failures.add(failure);
+        processedLines++;
+    }
+
+    void finish(OperationJobStatus status, OperationStatus operationStatus, String message, Instant finishedAt) {
+        this.operationStatus = operationStatus;
+        this.message = message;
+        this.finishedAt = finishedAt;
+        this.status = status;
+    }
+
+    boolean finishedBefore(Instant instant) {
+        Instant finished = finishedAt;
+        return finished != null && finished.isBefore(instant);
+    }
+
+    synchronized OperationJobResp toResp() {
+        return OperationJobResp.builder()
+                .jobId(id)
+                .operationId(operationId)
+                .executionType(executionType)
+                .status(status)
+                .totalLines(totalLines)
+                .processedLines(processedLines)
+                .failedLines(failures.size())
+                .failures(List.copyOf(failures))
+                .operationStatus(operationStatus)
+                .message(message)
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.exception.StockShortageException;
+import com.example.wms.model.db.entity.Operation;
+import com.example.wms.model.db.entity.OperationDetail;
+import com.example.wms.model.db.repository.OperationDetailRepository;
+import com.example.wms.model.db.repository.OperationRepository;
+import com.example.wms.model.dto.response.OperationJobResp;
+import com.example.wms.model.dto.response.OperationLineFailureResp;
+import com.example.wms.model.enums.OperationJobStatus;
+import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationTransition;
+import com.example.wms.model.enums.OperationType;
+import com.example.wms.service.AvailableToPromiseService;
+import com.example.wms.service.OperationJobService;
+import com.example.wms.service.StockService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Executes operations in the background in chunks of {@code app.operations.async.chunk-size} lines, one transaction
+ * per chunk. A chunk that fails is retried line by line, so that every failing line is reported and the others are
+ * applied. The operation is completed only when every line succeeded; otherwise it stays IN_PROGRESS and a later
+ * execution picks up the lines that are not executed yet. Job state is kept in memory for {@code job-ttl}
+ * after the job finishes.
+ */
+@Slf4j
+@Service
+public class OperationJobServiceImpl implements OperationJobService {
+    private final OperationRepository operationRepository;
+    private final OperationDetailRepository operationDetailRepository;
+    private final StockService stockService;
+    private final AvailableToPromiseService availableToPromiseService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor executor;
+    private final int chunkSize;
+    private final Duration jobTtl;
+    private final Clock clock;
+    private final Map<UUID, OperationJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, OperationJob> activeJobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public OperationJobServiceImpl(OperationRepository operationRepository,
+                                   OperationDetailRepository operationDetailRepository,
+                                   StockService stockService,
+                                   AvailableToPromiseService availableToPromiseService,
+                                   TransactionTemplate transactionTemplate,
+                                   @Qualifier("operationJobExecutor") TaskExecutor executor,
+                                   @Value("${app.operations.async.chunk-size:1000}") int chunkSize,
+                                   @Value("${app.operations.async.job-ttl:1h}") Duration jobTtl) {
+        this(operationRepository, operationDetailRepository, stockService, availableToPromiseService, transactionTemplate,
+                executor, chunkSize, jobTtl, Clock.systemUTC());
+    }
+
+    OperationJobServiceImpl(OperationRepository operationRepository,
+                            OperationDetailRepository operationDetailRepository,
+                            StockService stockService,
+                            AvailableToPromiseService availableToPromiseService,
+                            TransactionTemplate transactionTemplate,
+                            TaskExecutor executor,
+                            int chunkSize,
+                            Duration jobTtl,
+                            Clock clock) {
+        this.operationRepository = operationRepository;
+        this.operationDetailRepository = operationDetailRepository;
+        this.stockService = stockService;
+        this.availableToPromiseService = availableToPromiseService;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.jobTtl = jobTtl;
+        this.clock = clock;
+    }
+
+    @Override
+    public OperationJobResp submit(Long operationId, OperationType executionType) {
+        Operation operation = operationRepository.findById(operationId)
+                .orElseThrow(() -> new CommonBackendException(String.format("Operation with id: %s not found", operationId), HttpStatus.NOT_FOUND));
+
+        if (!OperationTransition.EXECUTE.isAllowedFrom(operation.getOperationStatus())) {
+            throw new CommonBackendException(OperationTransition.EXECUTE.rejection(operation.getOperationStatus()), HttpStatus.CONFLICT);
+        }
+
+        if (operationDetailRepository.countByOperationId(operationId) == 0) {
+            throw new CommonBackendException("There are no details for the operation.", HttpStatus.BAD_REQUEST);
+        }
+
+        jobs.values().removeIf(job -> job.finishedBefore(clock.instant().minus(jobTtl)));
+
+        OperationJob job = new OperationJob(operationId, executionType, clock.instant());
+        OperationJob active = activeJobs.putIfAbsent(operationId, job);
+        if (active != null) {
+            throw new CommonBackendException(String.format("Operation is already being executed by job %s", active.getId()), HttpStatus.CONFLICT);
+        }
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            activeJobs.remove(operationId, job);
+            throw new CommonBackendException("Too many operations are being executed, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        log.info("Queued {} of operation ID: {} as job {}", executionType, operationId, job.getId());
+
+        return job.toResp();
+    }
+
+    @Override
+    public OperationJobResp getJob(UUID jobId) {
+        OperationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new CommonBackendException(String.format("Job with id: %s not found", jobId), HttpStatus.NOT_FOUND);
+        }
+        return job.toResp();
+    }
+
+    void run(OperationJob job) {
+        Long operationId = job.getOperationId();
+        try {
+            List<Long> pending = operationDetailRepository.findPendingIdsByOperationId(operationId);
+            job.start(pending.size(), clock.instant());
+            log.info("Starting {} of operation ID: {}, {} lines", job.getExecutionType(), operationId, pending.size());
+
+            for (int from = 0; from < pending.size(); from += chunkSize) {
+                if (!executeChunk(job, pending.subList(from, Math.min(from + chunkSize, pending.size())))) {
+                    job.finish(OperationJobStatus.FAILED, currentStatus(operationId),
+                            "The operation left the 'IN_PROGRESS' status during execution", clock.instant());
+                    return;
+                }
+            }
+
+            OperationStatus operationStatus = job.getFailures().isEmpty() ? complete(operationId) : currentStatus(operationId);
+            if (operationStatus == OperationStatus.COMPLETED) {
+                job.finish(OperationJobStatus.COMPLETED, operationStatus, null, clock.instant());
+            } else {
+                job.finish(OperationJobStatus.FAILED, operationStatus, String.format(
+                        "%s of %s lines failed; the remaining lines can be executed again", job.getFailures().size(), pending.size()),
+                        clock.instant());
+            }
+            log.info("Finished job {} of operation ID: {} with {} failed lines", job.getId(), operationId, job.getFailures().size());
+        } catch (RuntimeException e) {
+            log.error("Job {} of operation ID: {} failed", job.getId(), operationId, e);
+            job.finish(OperationJobStatus.FAILED, null, e.getMessage(), clock.instant());
+        } finally {
+            activeJobs.remove(operationId, job);
+        }
+    }
+
+    /**
+     * Returns false when the operation is no longer IN_PROGRESS, in which case nothing is applied.
+     */
+    private boolean executeChunk(OperationJob job, List<Long> detailIds) {
+        try {
+            boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> executeLines(job, detailIds)));
+            if (applied) {
+                job.processed(detailIds.size());
+            }
+            return applied;
+        } catch (CommonBackendException e) {
+            if (detailIds.size() > 1) {
+                for (Long detailId : detailIds) {
+                    if (!executeChunk(job, List.of(detailId))) {
+                        return false;
+                    }
+                }
+            } else {
+                job.failed(lineFailure(detailIds.get(0), e));
+            }
+            return true;
+        }
+    }
+
+    private boolean executeLines(OperationJob job, List<Long> detailIds) {
+        Operation operation = operationRepository.findByIdForUpdate(job.getOperationId()).orElse(null);
+        if (operation == null || !OperationTransition.EXECUTE.isAllowedFrom(operation.getOperationStatus())) {
+            return false;
+        }
+
+        List<OperationDetail> details = operationDetailRepository.findByIdInAndExecutedAtIsNullOrderById(detailIds);
+        if (!details.isEmpty()) {
+            switch (job.getExecutionType()) {
+                case RECEIVING -> stockService.increaseStocks(details);
+                case SHIPPING -> stockService.decreaseStocks(details);
+                case TRANSFER -> stockService.transferStocks(details);
+            }
+            List<Long> ids = details.stream().map(OperationDetail::getId).toList();
+            availableToPromiseService.removePending(ids);
+            operationDetailRepository.markExecuted(ids.toArray(Long[]::new));
+        }
+        return true;
+    }
+
+    private OperationStatus complete(Long operationId) {
+        return transactionTemplate.execute(status -> {
+            Operation operation = operationRepository.findByIdForUpdate(operationId)
+                    .orElseThrow(() -> new CommonBackendException(String.format("Operation with id: %s not found", operationId), HttpStatus.NOT_FOUND));
+            if (OperationTransition.EXECUTE.isAllowedFrom(operation.getOperationStatus())) {
+                operation.setOperationStatus(OperationTransition.EXECUTE.getTo());
+                operationRepository.save(operation);
+            }
+            return operation.getOperationStatus();
+        });
+    }
+
+    private OperationStatus currentStatus(Long operationId) {
+        return operationRepository.findById(operationId).map(Operation::getOperationStatus).orElse(null);
+    }
+
+    private static OperationLineFailureResp lineFailure(Long detailId, CommonBackendException e) {
+        return OperationLineFailureResp.builder()
+                .detailId(detailId)
+                .message(e.getMessage())
+                .shortage(e instanceof StockShortageException shortage && !shortage.getShortages().isEmpty()
+                        ? shortage.getShortages().get(0)
+                        : null)
+                .build();
+    }
+}
@@ -1,28 +1,39 @@
 package com.example.wms.service.impl;
 
+import com.example.wms.aspect.OptimisticRetry;
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.exception.StockShortageException;
+import com.example.wms.mapper.OperationMapper;
 import com.example.wms.model.db.entity.*;
 import com.example.wms.model.db.repository.*;
 import com.example.wms.model.dto.request.OperationInfoReq;
+import com.example.wms.model.dto.response.CursorPageResp;
 import com.example.wms.model.dto.response.OperationInfoResp;
 import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationTransition;
 import com.example.wms.model.enums.OperationType;
+import com.example.wms.model.enums.TotalMode;
+import com.example.wms.service.AvailableToPromiseService;
 import com.example.wms.service.OperationService;
+import com.example.wms.service.ReservationService;
 import com.example.wms.service.StockService;
+import com.example.wms.service.TotalCountService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 
@@ -33,8 +44,11 @@ public class OperationServiceImpl implements OperationService {
     private final OperationRepository operationRepository;
     private final UserRepository userRepository;
     private final DocumentRepository documentRepository;
-    private final ObjectMapper objectMapper;
+    private final OperationDetailRepository operationDetailRepository;
     private final StockService stockService;
+    private final TotalCountService totalCountService;
+    private final ReservationService reservationService;
+    private final AvailableToPromiseService availableToPromiseService;
 
     @Override
     @Transactional
@@ -59,30 +73,19 @@ public class OperationServiceImpl implements OperationService {
     @Override
     @Transactional
     public void startOperation(Long id) {
-        final String errMsg = String.format("Operation with id: %s not found", id);
-
-        Operation operation = operationRepository.findById(id)
-                .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
-
-        if (operation.getOperationStatus() != OperationStatus.CREATED) {
-            throw new CommonBackendException("Cannot start an operation that is not in 'CREATED' status", HttpStatus.FORBIDDEN);
-        }
-
-        operation.setOperationStatus(OperationStatus.IN_PROGRESS);
-        operationRepository.save(operation);
+        applyTransition(id, OperationTransition.START);
     }
 
     @Override
+    @OptimisticRetry
     @Transactional
     public OperationInfoResp receivingOperation(Long id) {
         final String errMsg = String.format("Operation  with id: %s not found", id);
 
-        Operation operation = operationRepository.findById(id)
+        Operation operation = operationRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        if (operation.getOperationStatus() != OperationStatus.IN_PROGRESS) {
-            throw new CommonBackendException("The operation must be in the 'IN_PROGRESS' status", HttpStatus.FORBIDDEN);
-        }
+        checkTransition(operation, OperationTransition.EXECUTE);
         log.info("Starting receiving for operation ID: {}", id);
 
         List<OperationDetail> details = operation.getOperationDetails();
@@ -92,13 +95,8 @@ public class OperationServiceImpl implements OperationService {
         }
 
         try {
-            for (OperationDetail detail : details) {
-                Product product = detail.getProduct();
-                Integer quantity = detail.getQuantity();
-                Location toLocation = detail.getToLocation();
-                stockService.increaseStock(product, toLocation, quantity);
-            }
-            operation.setOperationStatus(OperationStatus.COMPLETED);
+            executePending(details, stockService::increaseStocks);
+            operation.setOperationStatus(OperationTransition.EXECUTE.getTo());
             operationRepository.save(operation);
         } catch (CommonBackendException e) {
             throw new CommonBackendException("Error during receiving for operation ID: " + id + ": " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -107,16 +105,15 @@ public class OperationServiceImpl implements OperationService {
     }
 
     @Override
+    @OptimisticRetry
     @Transactional
     public OperationInfoResp shippingOperation(Long id) {
         final String errMsg = String.format("Operation  with id: %s not found", id);
 
-        Operation operation = operationRepository.findById(id)
+        Operation operation = operationRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        if (operation.getOperationStatus() != OperationStatus.IN_PROGRESS) {
-            throw new CommonBackendException("The operation must be in the 'IN_PROGRESS' status", HttpStatus.FORBIDDEN);
-        }
+        checkTransition(operation, OperationTransition.EXECUTE);
         log.info("Starting shipping for operation ID: {}", id);
 
         List<OperationDetail> details = operation.getOperationDetails();
@@ -126,14 +123,11 @@ public class OperationServiceImpl implements OperationService {
         }
 
         try {
-            for (OperationDetail detail : details) {
-                Product product = detail.getProduct();
-                Integer quantity = detail.getQuantity();
-                Location fromLocation = detail.getFromLocation();
-                stockService.decreaseStock(product, fromLocation, quantity);
-            }
-            operation.setOperationStatus(OperationStatus.COMPLETED);
+            executePending(details, stockService::decreaseStocks);
+            operation.setOperationStatus(OperationTransition.EXECUTE.getTo());
             operationRepository.save(operation);
+        } catch (StockShortageException e) {
+            throw new StockShortageException("Error during shipping for operation ID: " + id + ": " + e.getMessage(), e.getShortages());
         } catch (CommonBackendException e) {
             throw new CommonBackendException("Error during shipping for operation ID: " + id + ": " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -141,16 +135,15 @@ public class OperationServiceImpl implements OperationService {
     }
 
     @Override
+    @OptimisticRetry
     @Transactional
     public OperationInfoResp transferOperation(Long id) {
         final String errMsg = String.format("Operation with id: %s not found", id);
 
-        Operation operation = operationRepository.findById(id)
+        Operation operation = operationRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        if (operation.getOperationStatus() != OperationStatus.IN_PROGRESS) {
-            throw new CommonBackendException("The operation must be in the 'IN_PROGRESS' status", HttpStatus.FORBIDDEN);
-        }
+        checkTransition(operation, OperationTransition.EXECUTE);
 
         log.info("Starting transfer for operation ID: {}", id);
 
@@ -161,16 +154,11 @@ public class OperationServiceImpl implements OperationService {
         }
 
         try {
-            for (OperationDetail detail : details) {
-                Product product = detail.getProduct();
-                Integer quantity = detail.getQuantity();
-                Location fromLocation = detail.getFromLocation();
-                Location toLocation = detail.getToLocation();
-
-                stockService.transferStock(product, quantity, fromLocation, toLocation);
-            }
-            operation.setOperationStatus(OperationStatus.COMPLETED);
+            executePending(details, stockService::transferStocks);
+            operation.setOperationStatus(OperationTransition.EXECUTE.getTo());
             operationRepository.save(operation);
+        } catch (StockShortageException e) {
+            throw new StockShortageException("Error during stock transfer for operation ID: " + id + ": " + e.getMessage(), e.getShortages());
         } catch (CommonBackendException e) {
             throw new CommonBackendException("Error during stock transfer for operation ID: " + id + ": " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -191,49 +179,98 @@ public class OperationServiceImpl implements OperationService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<OperationInfoResp> getAllOperations(Integer page, Integer perPage, String sort, Sort.Direction order, OperationType filter) {
+    public Slice<OperationInfoResp> getAllOperations(Integer page, Integer perPage, String sort, Sort.Direction order, OperationType filter, TotalMode total) {
         Pageable pageRequest = PaginationUtils.getPageRequest(page, perPage, sort, order);
 
-        Page<Operation> operations;
+        Slice<Operation> operations;
+        if (filter != null) {
+            operations = total == TotalMode.EXACT
+                    ? operationRepository.findAllFiltered(filter, pageRequest)
+                    : operationRepository.findSliceByOperationType(filter, pageRequest);
+        } else {
+            operations = total == TotalMode.EXACT
+                    ? operationRepository.findAll(pageRequest)
+                    : operationRepository.findSliceBy(pageRequest);
+        }
 
-        if (filter != null && StringUtils.hasText(String.valueOf(filter))) {
-            operations = operationRepository.findAllFiltered(filter, pageRequest);
+        List<OperationInfoResp> content = operations.getContent().stream()
+                .map(this::getOperationInfoResp)
+                .collect(Collectors.toList());
+
+        return PaginationUtils.getSlice(content, pageRequest, operations, total, () -> filter != null
+                ? totalCountService.approximateTotal("operations", filter.name(), () -> operationRepository.countByOperationType(filter))
+                : totalCountService.approximateTotal("operations", null, operationRepository::count));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResp<OperationInfoResp> scrollOperations(String after, Integer perPage, String sort, Sort.Direction order, OperationType filter) {
+        Sort sortBy = PaginationUtils.getSort(sort, order);
+        ScrollPosition position = PaginationUtils.getScrollPosition(after, sortBy, Operation.class);
+        Limit limit = PaginationUtils.getLimit(perPage);
+
+        Window<Operation> operations;
+        if (filter != null) {
+            operations = operationRepository.findByOperationType(filter, position, sortBy, limit);
         } else {
-            operations = operationRepository.findAll(pageRequest);
+            operations = operationRepository.findAllBy(position, sortBy, limit);
         }
 
         List<OperationInfoResp> content = operations.getContent().stream()
-                .map(this::getOperationInfoResp).collect(Collectors.toList());
+                .map(this::getOperationInfoResp)
+                .collect(Collectors.toList());
 
-        return new PageImpl<>(content, pageRequest, operations.getTotalElements());
+        return new CursorPageResp<>(content, PaginationUtils.getNextCursor(operations));
     }
 
     @Override
     @Transactional
     public void cancelOperation(Long id) {
-        final String errMsg = String.format("Operation with id: %s not found", id);
-
-        Operation operation = operationRepository.findById(id)
-                .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
+        applyTransition(id, OperationTransition.CANCEL);
+        reservationService.releaseOperation(id);
+        availableToPromiseService.removePendingOperation(id);
+    }
 
-        if (operation.getOperationStatus() == OperationStatus.COMPLETED) {
-            throw new CommonBackendException("Cannot cancel a completed operation", HttpStatus.FORBIDDEN);
+    /**
+     * Compare-and-set of the status column, for transitions that do not lock the operation row.
+     */
+    private void applyTransition(Long id, OperationTransition transition) {
+        if (operationRepository.updateStatus(id, transition.getFrom(), transition.getTo(), Instant.now()) == 0) {
+            OperationStatus current = operationRepository.findStatusById(id)
+                    .orElseThrow(() -> new CommonBackendException(String.format("Operation with id: %s not found", id), HttpStatus.NOT_FOUND));
+            throw new CommonBackendException(transition.rejection(current), HttpStatus.CONFLICT);
         }
+    }
 
-        if (operation.getOperationStatus() == OperationStatus.CANCELLED) {
-            throw new CommonBackendException("Operation is already cancelled", HttpStatus.FORBIDDEN);
+    /**
+     * Check for transitions made while the operation row is locked, where no other request can change the status
+     * until the transaction ends.
+     */
+    private void checkTransition(Operation operation, OperationTransition transition) {
+        if (!transition.isAllowedFrom(operation.getOperationStatus())) {
+            throw new CommonBackendException(transition.rejection(operation.getOperationStatus()), HttpStatus.CONFLICT);
         }
+    }
 
-        operation.setOperationStatus(OperationStatus.CANCELLED);
-        operationRepository.save(operation);
+    /**
+     * Applies the stock changes of the details not executed yet and marks them executed, so that an operation
+     * whose execution stopped halfway never applies a line twice.
+     */
+    private void executePending(List<OperationDetail> details, Consumer<List<OperationDetail>> stockChange) {
+        List<OperationDetail> pending = details.stream()
+                .filter(detail -> detail.getExecutedAt() == null)
+                .toList();
+        if (!pending.isEmpty()) {
+            stockChange.accept(pending);
+            List<Long> ids = pending.stream().map(OperationDetail::getId).toList();
+            availableToPromiseService.removePending(ids);
+            operationDetailRepository.markExecuted(ids.toArray(Long[]::new));
+        }
     }
 
     private OperationInfoResp getOperationInfoResp(Operation operation) {
 
-        OperationInfoResp resp = objectMapper.convertValue(operation, OperationInfoResp.class);
-        resp.setDocumentNumber(operation.getDocument().getNumber());
-        resp.setUsername(operation.getUser().getUsername());
-        return resp;
+        return OperationMapper.toInfoResp(operation);
     }
 
 }
@@ -1,6 +1,7 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.PartnerMapper;
 import com.example.wms.model.db.entity.Partner;
 import com.example.wms.model.db.repository.PartnerRepository;
 import com.example.wms.model.dto.request.PartnerInfoReq;
@@ -8,7 +9,6 @@ import com.example.wms.model.dto.response.PartnerInfoResp;
 import com.example.wms.model.enums.PartnerType;
 import com.example.wms.service.PartnerService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -28,7 +28,6 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PartnerServiceImpl implements PartnerService {
     private final PartnerRepository partnerRepository;
-    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional
@@ -37,12 +36,12 @@ public class PartnerServiceImpl implements PartnerService {
             throw new CommonBackendException("Partner with name already exists", HttpStatus.CONFLICT);
         }
 
-        Partner partner = objectMapper.convertValue(req, Partner.class);
+        Partner partner = PartnerMapper.toEntity(req);
         partner.setIsActive(true);
 
         Partner savedPartner = partnerRepository.save(partner);
 
-        return objectMapper.convertValue(savedPartner, PartnerInfoResp.class);
+        return PartnerMapper.toInfoResp(savedPartner);
     }
 
     @Override
@@ -53,7 +52,7 @@ public class PartnerServiceImpl implements PartnerService {
         Partner partner = partnerRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        return objectMapper.convertValue(partner, PartnerInfoResp.class);
+        return PartnerMapper.toInfoResp(partner);
     }
 
     @Override
@@ -71,7 +70,7 @@ public class PartnerServiceImpl implements PartnerService {
 
 
         List<PartnerInfoResp> content = partners.getContent().stream()
-                .map(partner -> objectMapper.convertValue(partner, PartnerInfoResp.class))
+                .map(PartnerMapper::toInfoResp)
                 .collect(Collectors.toList());
 
         return new PageImpl<>(content, pageRequest, partners.getTotalElements());
@@ -92,7 +91,7 @@ public class PartnerServiceImpl implements PartnerService {
         partner.setPhone(req.getPhone() != null ? req.getPhone() : partner.getPhone());
 
         Partner updatedPartner = partnerRepository.save(partner);
-        return objectMapper.convertValue(updatedPartner, PartnerInfoResp.class);
+        return PartnerMapper.toInfoResp(updatedPartner);
     }
 
     @Override
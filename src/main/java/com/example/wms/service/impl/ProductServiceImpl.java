@@ -1,6 +1,7 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.ProductMapper;
 import com.example.wms.model.db.entity.Category;
 import com.example.wms.model.db.entity.Manufacturer;
 import com.example.wms.model.db.entity.Product;
@@ -9,14 +10,14 @@ import com.example.wms.model.db.repository.ManufacturerRepository;
 import com.example.wms.model.db.repository.ProductRepository;
 import com.example.wms.model.dto.request.ProductInfoReq;
 import com.example.wms.model.dto.response.ProductInfoResp;
+import com.example.wms.model.enums.TotalMode;
 import com.example.wms.service.ProductService;
+import com.example.wms.service.TotalCountService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -32,9 +33,10 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
-    private final ObjectMapper objectMapper;
     private final CategoryRepository categoryRepository;
     private final ManufacturerRepository manufacturerRepository;
+    private final TotalCountService totalCountService;
+    private final ReferenceResolver referenceResolver;
 
     @Override
     @Transactional
@@ -71,10 +73,7 @@ public class ProductServiceImpl implements ProductService {
 
         Product savedProduct = productRepository.save(product);
 
-        ProductInfoResp resp = objectMapper.convertValue(savedProduct, ProductInfoResp.class);
-        resp.setManufacturerName(savedProduct.getManufacturer().getName());
-        resp.setCategoryName(savedProduct.getCategory().getName());
-        return resp;
+        return ProductMapper.toInfoResp(savedProduct);
     }
 
     @Override
@@ -85,34 +84,32 @@ public class ProductServiceImpl implements ProductService {
         Product product = productRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        ProductInfoResp resp = objectMapper.convertValue(product, ProductInfoResp.class);
-        resp.setManufacturerName(product.getManufacturer().getName());
-        resp.setCategoryName(product.getCategory().getName());
-        return resp;
+        return ProductMapper.toInfoResp(product);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<ProductInfoResp> getAllProducts(Integer page, Integer perPage, String sort, Sort.Direction order, String filter) {
-
+    public Slice<ProductInfoResp> getAllProducts(Integer page, Integer perPage, String sort, Sort.Direction order, String filter, TotalMode total) {
         Pageable pageRequest = PaginationUtils.getPageRequest(page, perPage, sort, order);
-        Page<Product> products;
 
-        if(StringUtils.hasText(filter)) {
-            products = productRepository.findAllFiltered(pageRequest, filter);
+        Slice<Product> products;
+        if (StringUtils.hasText(filter)) {
+            products = total == TotalMode.EXACT
+                    ? productRepository.findAllFiltered(pageRequest, filter)
+                    : productRepository.findSliceFiltered(pageRequest, filter);
         } else {
-            products = productRepository.findAllByIsActiveTrue(pageRequest);
+            products = total == TotalMode.EXACT
+                    ? productRepository.findAllByIsActiveTrue(pageRequest)
+                    : productRepository.findSliceByIsActiveTrue(pageRequest);
         }
 
         List<ProductInfoResp> content = products.getContent().stream()
-                .map(product -> {
-                    ProductInfoResp resp = objectMapper.convertValue(product, ProductInfoResp.class);
-                    resp.setManufacturerName(product.getManufacturer().getName());
-                    resp.setCategoryName(product.getCategory().getName());
-                    return resp;
-                }).collect(Collectors.toList());
-
-        return new PageImpl<>(content, pageRequest, products.getTotalElements());
+                .map(ProductMapper::toInfoResp)
+                .collect(Collectors.toList());
+
+        return PaginationUtils.getSlice(content, pageRequest, products, total, () -> StringUtils.hasText(filter)
+                ? totalCountService.approximateTotal("products", filter, () -> productRepository.countFiltered(filter))
+                : totalCountService.approximateTotal("products", TotalCountService.ACTIVE_ROWS, productRepository::countByIsActiveTrue));
     }
 
     @Override
@@ -122,6 +119,7 @@ public class ProductServiceImpl implements ProductService {
 
         Product product = productRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
+        referenceResolver.evictSkus(product.getSku(), req.getSku());
 
         product.setSku(req.getSku() != null ? req.getSku() : product.getSku());
         product.setName(req.getName() != null ? req.getName() : product.getName());
@@ -144,10 +142,7 @@ public class ProductServiceImpl implements ProductService {
         }
 
         Product updatedProduct = productRepository.save(product);
-        ProductInfoResp resp = objectMapper.convertValue(updatedProduct, ProductInfoResp.class);
-        resp.setManufacturerName(updatedProduct.getManufacturer().getName());
-        resp.setCategoryName(updatedProduct.getCategory().getName());
-        return resp;
+        return ProductMapper.toInfoResp(updatedProduct);
 
     }
 
@@ -160,6 +155,7 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
         product.setIsActive(false);
         productRepository.save(product);
+        referenceResolver.evictSkus(product.getSku());
     }
 
 }
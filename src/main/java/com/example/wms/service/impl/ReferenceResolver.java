@@ -0,0 +1,87 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.model.db.projection.LocationRef;
+import com.example.wms.model.db.repository.LocationRepository;
+import com.example.wms.model.db.repository.ProductRepository;
+import com.example.wms.utils.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Resolves the SKUs and location names typed on scanners to ids, keeping the answers for a short TTL so that line
+ * entry does not query products and locations for every line. Unknown keys are not cached. Product and location
+ * writes must evict the keys they touch.
+ */
+@Component
+public class ReferenceResolver {
+    static final String PRODUCT_IDS = "product-ids-by-sku";
+    static final String LOCATION_IDS = "location-ids-by-name";
+
+    private final ProductRepository productRepository;
+    private final LocationRepository locationRepository;
+    private final Cache<String, Long> productIds;
+    private final Cache<String, LocationRef> locations;
+
+    public ReferenceResolver(ProductRepository productRepository,
+                             LocationRepository locationRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.cache.resolver.max-size:100000}") long maxSize,
+                             @Value("${app.cache.resolver.ttl:5m}") Duration ttl) {
+        this.productRepository = productRepository;
+        this.locationRepository = locationRepository;
+        this.productIds = monitor(meterRegistry, PRODUCT_IDS,
+                Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build());
+        this.locations = monitor(meterRegistry, LOCATION_IDS,
+                Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build());
+    }
+
+    public Optional<Long> activeProductId(String sku) {
+        return Optional.ofNullable(productIds.get(sku, key -> productRepository.findActiveIdBySku(key).orElse(null)));
+    }
+
+    public Optional<Long> activeLocationId(String name) {
+        LocationRef location = locations.get(name, key -> locationRepository.findRefByName(key).orElse(null));
+        return location != null && Boolean.TRUE.equals(location.getIsActive())
+                ? Optional.of(location.getId())
+                : Optional.empty();
+    }
+
+    /**
+     * Forgets the given SKUs now and, inside a transaction, again after commit.
+     */
+    public void evictSkus(String... skus) {
+        TransactionUtils.runNowAndAfterCommit(() -> evict(productIds, skus));
+    }
+
+    /**
+     * Forgets the given location names now and, inside a transaction, again after commit.
+     */
+    public void evictLocationNames(String... names) {
+        TransactionUtils.runNowAndAfterCommit(() -> evict(locations, names));
+    }
+
+    private static void evict(Cache<String, ?> cache, String... keys) {
+        for (String key : keys) {
+            if (key != null) {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    private static <V> Cache<String, V> monitor(MeterRegistry meterRegistry, String name, Cache<String, V> cache) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .description("The share of lookups answered from the cache")
+                .register(meterRegistry);
+        return cache;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.StockShortageException;
+import com.example.wms.model.db.projection.ReservationRequest;
+import com.example.wms.model.db.projection.StockQuantity;
+import com.example.wms.model.db.repository.StockReservationRepository;
+import com.example.wms.model.dto.response.StockShortageResp;
+import com.example.wms.service.ReservationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Holds are rows per operation detail; the total per (product, location) is kept in stock_allocations and changed
+ * in the same statement that adds or removes holds. Available-to-ship of a key is its quantity minus that total.
+ * Expired holds keep counting until {@link #releaseExpired()} removes them, at most
+ * {@code app.reservations.purge-interval} after they expire.
+ */
+@Slf4j
+@Service
+public class ReservationServiceImpl implements ReservationService {
+    private final StockReservationRepository stockReservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+
+    public ReservationServiceImpl(StockReservationRepository stockReservationRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${app.reservations.ttl:30m}") Duration ttl,
+                                  @Value("${app.reservations.purge-batch-size:1000}") int purgeBatchSize) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Override
+    @Transactional
+    public void reserve(Collection<Long> detailIds) {
+        Long[] ids = detailIds.stream().filter(Objects::nonNull).toArray(Long[]::new);
+        if (ids.length == 0) {
+            return;
+        }
+
+        List<ReservationRequest> requests = stockReservationRepository.findUnreservedQuantities(ids);
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        Long[] productIds = requests.stream().map(ReservationRequest::getProductId).toArray(Long[]::new);
+        Long[] locationIds = requests.stream().map(ReservationRequest::getLocationId).toArray(Long[]::new);
+        stockReservationRepository.insertMissingAllocations(productIds, locationIds);
+
+        Map<StockKey, Integer> unreserved = new HashMap<>();
+        for (StockQuantity row : stockReservationRepository.lockUnreserved(productIds, locationIds)) {
+            unreserved.put(new StockKey(row.getProductId(), row.getLocationId()), row.getQuantity());
+        }
+
+        List<StockShortageResp> shortages = new ArrayList<>();
+        for (ReservationRequest request : requests) {
+            int available = unreserved.getOrDefault(new StockKey(request.getProductId(), request.getLocationId()), 0);
+            if (available < request.getQuantity()) {
+                shortages.add(StockShortageResp.builder()
+                        .productId(request.getProductId())
+                        .productSku(request.getProductSku())
+                        .locationId(request.getLocationId())
+                        .locationName(request.getLocationName())
+                        .requested(request.getQuantity())
+                        .available(available)
+                        .build());
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new StockShortageException(String.format("Insufficient unreserved stock for %s of %s product/location keys",
+                    shortages.size(), requests.size()), shortages);
+        }
+
+        stockReservationRepository.addReserved(productIds, locationIds,
+                requests.stream().map(ReservationRequest::getQuantity).toArray(Integer[]::new));
+        int held = stockReservationRepository.insertHolds(ids, Instant.now().plus(ttl));
+        log.info("Reserved stock for {} details over {} product/location keys", held, requests.size());
+    }
+
+    @Override
+    @Transactional
+    public void releaseDetails(Collection<Long> detailIds) {
+        Long[] ids = detailIds.stream().filter(Objects::nonNull).toArray(Long[]::new);
+        if (ids.length > 0) {
+            stockReservationRepository.releaseDetails(ids);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void releaseOperation(Long operationId) {
+        int released = stockReservationRepository.releaseOperation(operationId);
+        if (released > 0) {
+            log.info("Released {} stock holds of operation {}", released, operationId);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.reservations.purge-interval:1m}", initialDelayString = "${app.reservations.purge-interval:1m}")
+    public int releaseExpired() {
+        Instant now = Instant.now();
+        int released = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> stockReservationRepository.releaseExpired(now, purgeBatchSize));
+            released += batch;
+        } while (batch == purgeBatchSize);
+
+        if (released > 0) {
+            log.info("Released {} expired stock holds", released);
+        }
+        return released;
+    }
+
+    private record StockKey(Long productId, Long locationId) {
+    }
+}
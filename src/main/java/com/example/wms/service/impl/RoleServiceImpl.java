@@ -1,13 +1,16 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.RoleMapper;
 import com.example.wms.model.db.entity.Role;
+import com.example.wms.model.db.projection.UserRef;
 import com.example.wms.model.db.repository.RoleRepository;
+import com.example.wms.model.db.repository.UserRepository;
 import com.example.wms.model.dto.request.RoleInfoReq;
 import com.example.wms.model.dto.response.RoleInfoResp;
 import com.example.wms.service.RoleService;
+import com.example.wms.service.TokenService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -26,7 +29,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class RoleServiceImpl implements RoleService {
     private final RoleRepository roleRepository;
-    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final AuthenticationCache authenticationCache;
+    private final TokenService tokenService;
 
     @Override
     @Transactional
@@ -35,12 +40,12 @@ public class RoleServiceImpl implements RoleService {
             throw new CommonBackendException("Role with name already exists", HttpStatus.CONFLICT);
         }
 
-        Role role = objectMapper.convertValue(req, Role.class);
+        Role role = RoleMapper.toEntity(req);
         role.setIsActive(true);
 
         Role savedRole = roleRepository.save(role);
 
-        return objectMapper.convertValue(savedRole, RoleInfoResp.class);
+        return RoleMapper.toInfoResp(savedRole);
     }
 
     @Override
@@ -51,7 +56,7 @@ public class RoleServiceImpl implements RoleService {
         Role role = roleRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        return objectMapper.convertValue(role, RoleInfoResp.class);
+        return RoleMapper.toInfoResp(role);
     }
 
     @Override
@@ -62,7 +67,7 @@ public class RoleServiceImpl implements RoleService {
         Page<Role> roles = roleRepository.findAllByIsActiveTrue(pageRequest);
 
         List<RoleInfoResp> content = roles.getContent().stream()
-                .map(role -> objectMapper.convertValue(role, RoleInfoResp.class))
+                .map(RoleMapper::toInfoResp)
                 .collect(Collectors.toList());
 
         return new PageImpl<>(content, pageRequest, roles.getTotalElements());
@@ -76,11 +81,15 @@ public class RoleServiceImpl implements RoleService {
         Role role = roleRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
+        boolean renamed = req.getName() != null && !req.getName().equals(role.getName());
         role.setName(req.getName() != null ? req.getName() : role.getName());
         role.setDescription(req.getDescription() != null ? req.getDescription() : role.getDescription());
 
         Role updatedRole = roleRepository.save(role);
-        return objectMapper.convertValue(updatedRole, RoleInfoResp.class);
+        if (renamed) {
+            revokeHolders(updatedRole);
+        }
+        return RoleMapper.toInfoResp(updatedRole);
     }
 
     @Override
@@ -93,6 +102,19 @@ public class RoleServiceImpl implements RoleService {
 
         role.setIsActive(false);
         roleRepository.save(role);
+        revokeHolders(role);
+    }
+
+    /**
+     * Tokens and cached authentications carry the role name, so the users holding {@code role} have to log in again.
+     */
+    private void revokeHolders(Role role) {
+        List<UserRef> holders = userRepository.findAllByRoleId(role.getId());
+        if (holders.isEmpty()) {
+            return;
+        }
+        authenticationCache.evict(holders.stream().map(UserRef::getUsername).toArray(String[]::new));
+        tokenService.revoke(holders.stream().map(UserRef::getId).toArray(Long[]::new));
     }
 
 }
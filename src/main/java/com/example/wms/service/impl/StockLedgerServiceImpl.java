@@ -0,0 +1,90 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.StockMapper;
+import com.example.wms.model.db.repository.LocationRepository;
+import com.example.wms.model.db.repository.StockLedgerRepository;
+import com.example.wms.model.dto.response.StockQuantityResp;
+import com.example.wms.service.StockLedgerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Ledger rows carry the start time of the transaction that wrote them, so a row can become visible after a snapshot
+ * that covers its timestamp. Snapshots are therefore taken {@code app.stock-ledger.snapshot-lag} behind the clock,
+ * which must exceed the longest stock-writing transaction.
+ */
+@Slf4j
+@Service
+public class StockLedgerServiceImpl implements StockLedgerService {
+    private final StockLedgerRepository stockLedgerRepository;
+    private final LocationRepository locationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration snapshotLag;
+    private final Clock clock;
+
+    @Autowired
+    public StockLedgerServiceImpl(StockLedgerRepository stockLedgerRepository,
+                                  LocationRepository locationRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${app.stock-ledger.snapshot-lag:5m}") Duration snapshotLag) {
+        this(stockLedgerRepository, locationRepository, transactionTemplate, snapshotLag, Clock.systemUTC());
+    }
+
+    StockLedgerServiceImpl(StockLedgerRepository stockLedgerRepository,
+                           LocationRepository locationRepository,
+                           TransactionTemplate transactionTemplate,
+                           Duration snapshotLag,
+                           Clock clock) {
+        this.stockLedgerRepository = stockLedgerRepository;
+        this.locationRepository = locationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotLag = snapshotLag;
+        this.clock = clock;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockQuantityResp> getQuantitiesAt(Long locationId, Long productId, Instant at) {
+        if (at == null) {
+            throw new CommonBackendException("The point in time is required", HttpStatus.BAD_REQUEST);
+        }
+        if (!locationRepository.existsById(locationId)) {
+            throw new CommonBackendException("Location not found", HttpStatus.NOT_FOUND);
+        }
+
+        return stockLedgerRepository.findQuantitiesAt(locationId, productId, at).stream()
+                .map(row -> StockMapper.toQuantityResp(row, at))
+                .toList();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.stock-ledger.snapshot-interval:1h}", initialDelayString = "${app.stock-ledger.snapshot-interval:1h}")
+    public int takeSnapshot() {
+        Instant takenAt = clock.instant().minus(snapshotLag);
+        Integer written = transactionTemplate.execute(status -> {
+            if (!stockLedgerRepository.tryLockSnapshots()) {
+                return 0;
+            }
+            int rows = stockLedgerRepository.insertSnapshots(takenAt);
+            stockLedgerRepository.insertSnapshotRun(takenAt);
+            return rows;
+        });
+
+        if (written != null && written > 0) {
+            log.info("Took stock snapshot at {} for {} product/location keys", takenAt, written);
+        }
+        return written == null ? 0 : written;
+    }
+}
@@ -1,26 +1,35 @@
 package com.example.wms.service.impl;
 
+import com.example.wms.aspect.OptimisticRetry;
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.exception.StockShortageException;
+import com.example.wms.mapper.StockMapper;
 import com.example.wms.model.db.entity.*;
+import com.example.wms.model.db.projection.StockQuantity;
 import com.example.wms.model.db.repository.*;
+import com.example.wms.model.dto.response.CursorPageResp;
 import com.example.wms.model.dto.response.StockInfoResp;
+import com.example.wms.model.dto.response.StockShortageResp;
 import com.example.wms.model.enums.StockStatus;
+import com.example.wms.model.enums.TotalMode;
+import com.example.wms.service.ReservationService;
 import com.example.wms.service.StockService;
+import com.example.wms.service.TotalCountService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,7 +40,11 @@ public class StockServiceImpl implements StockService {
     private final ProductRepository productRepository;
     private final LocationRepository locationRepository;
     private final InventoryRepository inventoryRepository;
-    private final ObjectMapper objectMapper;
+    private final TotalCountService totalCountService;
+    private final StockLedgerRepository stockLedgerRepository;
+    private final StockTotalRepository stockTotalRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final ReservationService reservationService;
 
     @Override
     @Transactional
@@ -40,21 +53,42 @@ public class StockServiceImpl implements StockService {
             throw new CommonBackendException("Invalid input parameters for increaseStock", HttpStatus.BAD_REQUEST);
         }
 
-        Optional<Stock> existingStock = stockRepository.findByProductAndLocation(product, location);
+        Stock stock = stockRepository.upsertQuantity(product.getId(), location.getId(), quantity);
+        stockTotalRepository.addQuantities(new Long[]{product.getId()}, new Long[]{location.getId()}, new Integer[]{quantity});
+        appendLedger(null, product.getId(), location.getId(), quantity);
+        log.info("Increased stock for product {} at location {} by {}", product.getId(), location.getId(), quantity);
+        return stock;
+    }
 
-        Stock stock;
-        if (existingStock.isPresent()) {
-            stock = existingStock.get();
-            stock.setQuantity(stock.getQuantity() + quantity);
-        } else {
-            stock = new Stock();
-            stock.setProduct(product);
-            stock.setLocation(location);
-            stock.setStatus(StockStatus.AVAILABLE);
-            stock.setQuantity(quantity);
+    @Override
+    @Transactional
+    public void increaseStocks(List<OperationDetail> details) {
+        Map<StockKey, Integer> quantities = new TreeMap<>(StockKey.ORDER);
+        Map<LedgerKey, Integer> ledger = new LinkedHashMap<>();
+        for (OperationDetail detail : details) {
+            Product product = detail.getProduct();
+            Location location = detail.getToLocation();
+            Integer quantity = detail.getQuantity();
+
+            if (product == null || location == null || quantity == null || quantity <= 0) {
+                throw new CommonBackendException("Invalid input parameters for increaseStock", HttpStatus.BAD_REQUEST);
+            }
+
+            quantities.merge(new StockKey(product.getId(), location.getId()), quantity, Integer::sum);
+            ledger.merge(new LedgerKey(operationId(detail), product.getId(), location.getId()), quantity, Integer::sum);
+        }
+        if (quantities.isEmpty()) {
+            return;
         }
 
-        return stockRepository.save(stock);
+        List<StockKey> keys = new ArrayList<>(quantities.keySet());
+        Long[] productIds = StockKey.productIds(keys);
+        Long[] locationIds = StockKey.locationIds(keys);
+        Integer[] deltas = quantities.values().toArray(Integer[]::new);
+        stockRepository.upsertQuantities(productIds, locationIds, deltas);
+        stockTotalRepository.addQuantities(productIds, locationIds, deltas);
+        appendLedger(ledger);
+        log.info("Increased stock for {} lines over {} product/location keys", details.size(), keys.size());
     }
 
     @Override
@@ -64,35 +98,94 @@ public class StockServiceImpl implements StockService {
             throw new CommonBackendException("Invalid input parameters for decreaseStock", HttpStatus.BAD_REQUEST);
         }
 
-        Optional<Stock> existingStock = stockRepository.findByProductAndLocation(product, location);
+        StockKey key = new StockKey(product.getId(), location.getId());
+        Integer available = lockAvailable(List.of(key)).get(key);
+        if (available == null) {
+            final String errMsg = String.format("Stock not found for product with id: %s and location with id: %s", product.getId(), location.getId());
+            throw new CommonBackendException(errMsg, HttpStatus.NOT_FOUND);
+        }
+        if (available < quantity) {
+            throw new StockShortageException("Insufficient stock for 1 of 1 product/location keys",
+                    List.of(shortage(key, product.getSku(), location.getName(), quantity, available)));
+        }
 
-        if (existingStock.isPresent()) {
-            Stock stock = existingStock.get();
+        Optional<Integer> remaining = stockRepository.decreaseQuantity(product.getId(), location.getId(), quantity);
+        if (remaining.isEmpty()) {
+            throw new CommonBackendException("Insufficient stock to decrease", HttpStatus.BAD_REQUEST);
+        }
 
-            int newQuantity = stock.getQuantity() - quantity;
+        stockTotalRepository.addQuantities(new Long[]{product.getId()}, new Long[]{location.getId()}, new Integer[]{-quantity});
+        appendLedger(null, product.getId(), location.getId(), -quantity);
+        if (remaining.get() == 0) {
+            stockRepository.deleteIfEmpty(product.getId(), location.getId());
+            log.info("Stock for product {} at location {} has been deleted due to quantity reaching zero", product.getId(), location.getId());
+        } else {
+            log.info("Decreased stock for product {} at location {} by {}", product.getId(), location.getId(), quantity);
+        }
+    }
 
-            if (newQuantity < 0) {
-                throw new CommonBackendException("Insufficient stock to decrease", HttpStatus.BAD_REQUEST);
+    @Override
+    @Transactional
+    public void decreaseStocks(List<OperationDetail> details) {
+        Map<StockKey, Integer> quantities = new TreeMap<>(StockKey.ORDER);
+        Map<StockKey, OperationDetail> lines = new HashMap<>();
+        Map<LedgerKey, Integer> ledger = new LinkedHashMap<>();
+        for (OperationDetail detail : details) {
+            Product product = detail.getProduct();
+            Location location = detail.getFromLocation();
+            Integer quantity = detail.getQuantity();
+
+            if (product == null || location == null || quantity == null || quantity <= 0) {
+                throw new CommonBackendException("Invalid input parameters for decreaseStock", HttpStatus.BAD_REQUEST);
             }
 
-            if (newQuantity == 0) {
-                stockRepository.delete(stock);
-                log.info("Stock for product {} at location {} has been deleted due to quantity reaching zero", product.getId(), location.getId());
-            } else {
-                stock.setQuantity(newQuantity);
-                stockRepository.save(stock);
-                log.info("Decreased stock for product {} at location {} by {}", product.getId(), location.getId(), quantity);
+            StockKey key = new StockKey(product.getId(), location.getId());
+            quantities.merge(key, quantity, Integer::sum);
+            lines.putIfAbsent(key, detail);
+            ledger.merge(new LedgerKey(operationId(detail), product.getId(), location.getId()), -quantity, Integer::sum);
+        }
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        List<StockKey> keys = new ArrayList<>(quantities.keySet());
+        Long[] productIds = StockKey.productIds(keys);
+        Long[] locationIds = StockKey.locationIds(keys);
+
+        reservationService.releaseDetails(details.stream().map(OperationDetail::getId).toList());
+        Map<StockKey, Integer> available = lockAvailable(keys);
+
+        List<StockShortageResp> shortages = new ArrayList<>();
+        List<StockKey> emptied = new ArrayList<>();
+        for (Map.Entry<StockKey, Integer> entry : quantities.entrySet()) {
+            StockKey key = entry.getKey();
+            int onHand = available.getOrDefault(key, 0);
+            if (onHand < entry.getValue()) {
+                OperationDetail line = lines.get(key);
+                shortages.add(shortage(key, line.getProduct().getSku(), line.getFromLocation().getName(), entry.getValue(), onHand));
+            } else if (onHand == entry.getValue()) {
+                emptied.add(key);
             }
-        } else {
-            final String errMsg = String.format("Stock not found for product with id: %s and location with id: %s", product.getId(), location.getId());
-            throw new CommonBackendException(errMsg, HttpStatus.NOT_FOUND);
         }
+        if (!shortages.isEmpty()) {
+            throw new StockShortageException(String.format("Insufficient stock for %s of %s product/location keys",
+                    shortages.size(), keys.size()), shortages);
+        }
+
+        stockRepository.decreaseQuantities(productIds, locationIds, quantities.values().toArray(Integer[]::new));
+        stockTotalRepository.addQuantities(productIds, locationIds,
+                quantities.values().stream().map(quantity -> -quantity).toArray(Integer[]::new));
+        if (!emptied.isEmpty()) {
+            stockRepository.deleteAllIfEmpty(StockKey.productIds(emptied), StockKey.locationIds(emptied));
+        }
+        appendLedger(ledger);
+        log.info("Decreased stock for {} lines over {} product/location keys", details.size(), keys.size());
     }
 
     @Override
     @Transactional
     public void transferStock(Product product, Integer quantity, Location fromLocation, Location toLocation) {
-        if (product == null || quantity == null || fromLocation == null || toLocation == null) {
+        if (product == null || quantity == null || quantity <= 0 || fromLocation == null || toLocation == null) {
             throw new CommonBackendException("Invalid input parameters for transferStock", HttpStatus.BAD_REQUEST);
         }
 
@@ -100,12 +193,36 @@ public class StockServiceImpl implements StockService {
             throw new CommonBackendException("Source and destination locations cannot be the same", HttpStatus.BAD_REQUEST);
         }
 
-        decreaseStock(product, fromLocation, quantity);
-        increaseStock(product, toLocation, quantity);
+        moveStock(List.of(new StockMovement(null, product.getId(), fromLocation.getId(), toLocation.getId(), quantity)));
     }
 
     @Override
     @Transactional
+    public void transferStocks(List<OperationDetail> details) {
+        List<StockMovement> movements = new ArrayList<>(details.size());
+        for (OperationDetail detail : details) {
+            Product product = detail.getProduct();
+            Integer quantity = detail.getQuantity();
+            Location fromLocation = detail.getFromLocation();
+            Location toLocation = detail.getToLocation();
+
+            if (product == null || quantity == null || quantity <= 0 || fromLocation == null || toLocation == null) {
+                throw new CommonBackendException("Invalid input parameters for transferStock", HttpStatus.BAD_REQUEST);
+            }
+
+            if (fromLocation.equals(toLocation)) {
+                throw new CommonBackendException("Source and destination locations cannot be the same", HttpStatus.BAD_REQUEST);
+            }
+
+            movements.add(new StockMovement(operationId(detail), product.getId(), fromLocation.getId(), toLocation.getId(), quantity));
+        }
+
+        moveStock(movements);
+    }
+
+    @Override
+    @OptimisticRetry
+    @Transactional
     public void stockInventory(Long stockId, Integer actualQuantity) {
         Stock stock = stockRepository.findByIdAndStatus(stockId, StockStatus.AVAILABLE)
                 .orElseThrow(() -> new CommonBackendException("Stock not found", HttpStatus.NOT_FOUND));
@@ -113,6 +230,7 @@ public class StockServiceImpl implements StockService {
         if (!stock.getQuantity().equals(actualQuantity)) {
             stock.setStatus(StockStatus.UNAVAILABLE);
             stockRepository.save(stock);
+            stockTotalRepository.add(stock.getProduct().getId(), stock.getLocation().getId(), 0, stock.getQuantity());
             log.info("Сток для продукта {} в локации {} переведен в статус UNAVAILABLE до проведения корректировки.",
                     stock.getProduct().getId(), stock.getLocation().getId());
         } else {
@@ -127,11 +245,25 @@ public class StockServiceImpl implements StockService {
     }
 
     @Override
+    @OptimisticRetry
     @Transactional
     public StockInfoResp updateQuantity(Long stockId, Integer quantity) {
         Stock stock = stockRepository.findByIdAndStatus(stockId, StockStatus.UNAVAILABLE)
                 .orElseThrow(() -> new CommonBackendException("Stock not found", HttpStatus.NOT_FOUND));
 
+        if (quantity == null || quantity < 0) {
+            throw new CommonBackendException("Invalid input parameters for updateQuantity", HttpStatus.BAD_REQUEST);
+        }
+
+        int reserved = lockReserved(stock.getProduct().getId(), stock.getLocation().getId());
+        if (quantity < reserved) {
+            final String errMsg = String.format("Quantity %s is below the %s units held for shipping", quantity, reserved);
+            throw new CommonBackendException(errMsg, HttpStatus.CONFLICT);
+        }
+
+        appendLedger(null, stock.getProduct().getId(), stock.getLocation().getId(), quantity - stock.getQuantity());
+        stockTotalRepository.add(stock.getProduct().getId(), stock.getLocation().getId(),
+                quantity - stock.getQuantity(), -stock.getQuantity());
         stock.setQuantity(quantity);
         stock.setStatus(StockStatus.AVAILABLE);
 
@@ -156,28 +288,239 @@ public class StockServiceImpl implements StockService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<StockInfoResp> getAllStocks(Integer page, Integer perPage, String sort, Sort.Direction order, String filter) {
+    public Slice<StockInfoResp> getAllStocks(Integer page, Integer perPage, String sort, Sort.Direction order, String filter, TotalMode total) {
         Pageable pageRequest = PaginationUtils.getPageRequest(page, perPage, sort, order);
 
-        Page<Stock> stocks;
+        Slice<Stock> stocks;
         if (StringUtils.hasText(filter)) {
-            stocks = stockRepository.findAllFiltered(pageRequest, filter);
+            stocks = total == TotalMode.EXACT
+                    ? stockRepository.findAllFiltered(pageRequest, filter)
+                    : stockRepository.findSliceFiltered(pageRequest, filter);
         } else {
-            stocks = stockRepository.findAll(pageRequest);
+            stocks = total == TotalMode.EXACT
+                    ? stockRepository.findAll(pageRequest)
+                    : stockRepository.findSliceBy(pageRequest);
         }
 
         List<StockInfoResp> content = stocks.getContent().stream()
-                .map((this::getStockInfoResp))
+                .map(this::getStockInfoResp)
                 .collect(Collectors.toList());
 
-        return new PageImpl<>(content, pageRequest, stocks.getTotalElements());
+        return PaginationUtils.getSlice(content, pageRequest, stocks, total, () -> StringUtils.hasText(filter)
+                ? totalCountService.approximateTotal("stocks", filter, () -> stockRepository.countFiltered(filter))
+                : totalCountService.approximateTotal("stocks", null, stockRepository::count));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResp<StockInfoResp> scrollStocks(String after, Integer perPage, String sort, Sort.Direction order, String filter) {
+        Sort sortBy = PaginationUtils.getSort(sort, order);
+        ScrollPosition position = PaginationUtils.getScrollPosition(after, sortBy, Stock.class);
+        Limit limit = PaginationUtils.getLimit(perPage);
+
+        Window<Stock> stocks;
+        if (StringUtils.hasText(filter)) {
+            stocks = stockRepository.findWindowFiltered(filter, position, sortBy, limit);
+        } else {
+            stocks = stockRepository.findAllBy(position, sortBy, limit);
+        }
+
+        List<StockInfoResp> content = stocks.getContent().stream()
+                .map(this::getStockInfoResp)
+                .collect(Collectors.toList());
+
+        return new CursorPageResp<>(content, PaginationUtils.getNextCursor(stocks));
+    }
+
+    /**
+     * Applies all movements as net deltas per (product, location). Destination rows are created up front and every
+     * touched row is locked in one query in (product_id, location_id) order before anything is written. Stock held
+     * for shipping cannot be moved out.
+     */
+    private void moveStock(List<StockMovement> movements) {
+        Map<StockKey, Integer> deltas = new TreeMap<>(StockKey.ORDER);
+        for (StockMovement movement : movements) {
+            deltas.merge(new StockKey(movement.productId(), movement.fromLocationId()), -movement.quantity(), Integer::sum);
+            deltas.merge(new StockKey(movement.productId(), movement.toLocationId()), movement.quantity(), Integer::sum);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<StockKey> destinations = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!destinations.isEmpty()) {
+            stockRepository.insertMissing(StockKey.productIds(destinations), StockKey.locationIds(destinations));
+        }
+
+        List<StockKey> keys = new ArrayList<>(deltas.keySet());
+        Map<StockKey, Stock> locked = new HashMap<>();
+        for (Stock stock : stockRepository.findAllForUpdate(StockKey.productIds(keys), StockKey.locationIds(keys))) {
+            locked.put(new StockKey(stock.getProduct().getId(), stock.getLocation().getId()), stock);
+        }
+
+        List<StockKey> sources = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() < 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<StockKey, Integer> available = new HashMap<>();
+        for (StockKey key : sources) {
+            Stock stock = locked.get(key);
+            if (stock == null) {
+                final String errMsg = String.format("Stock not found for product with id: %s and location with id: %s", key.productId(), key.locationId());
+                throw new CommonBackendException(errMsg, HttpStatus.NOT_FOUND);
+            }
+            available.put(key, stock.getQuantity());
+        }
+        if (!sources.isEmpty()) {
+            subtractReserved(available, StockKey.productIds(sources), StockKey.locationIds(sources));
+        }
+
+        List<StockShortageResp> shortages = new ArrayList<>();
+        for (StockKey key : sources) {
+            int requested = -deltas.get(key);
+            if (available.get(key) < requested) {
+                Stock stock = locked.get(key);
+                shortages.add(shortage(key, stock.getProduct().getSku(), stock.getLocation().getName(), requested, available.get(key)));
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new StockShortageException(String.format("Insufficient stock for %s of %s product/location keys",
+                    shortages.size(), sources.size()), shortages);
+        }
+
+        List<StockKey> emptied = new ArrayList<>();
+        for (Map.Entry<StockKey, Integer> entry : deltas.entrySet()) {
+            StockKey key = entry.getKey();
+            Stock stock = locked.get(key);
+            if (stock == null) {
+                final String errMsg = String.format("Stock not found for product with id: %s and location with id: %s", key.productId(), key.locationId());
+                throw new CommonBackendException(errMsg, HttpStatus.NOT_FOUND);
+            }
+
+            int newQuantity = stock.getQuantity() + entry.getValue();
+            stock.setQuantity(newQuantity);
+            if (newQuantity == 0) {
+                emptied.add(key);
+            }
+        }
+        stockRepository.flush();
+        stockTotalRepository.addQuantities(StockKey.productIds(keys), StockKey.locationIds(keys),
+                deltas.values().toArray(Integer[]::new));
+
+        for (StockKey key : emptied) {
+            stockRepository.deleteIfEmpty(key.productId(), key.locationId());
+        }
+
+        Map<LedgerKey, Integer> ledger = new LinkedHashMap<>();
+        for (StockMovement movement : movements) {
+            ledger.merge(new LedgerKey(movement.operationId(), movement.productId(), movement.fromLocationId()), -movement.quantity(), Integer::sum);
+            ledger.merge(new LedgerKey(movement.operationId(), movement.productId(), movement.toLocationId()), movement.quantity(), Integer::sum);
+        }
+        appendLedger(ledger);
+        log.info("Moved stock over {} product/location keys", deltas.size());
+    }
+
+    /**
+     * Locks the stock rows of the keys in (product_id, location_id) order and returns the quantity that may leave
+     * each of them. Keys without a row are absent from the result.
+     */
+    private Map<StockKey, Integer> lockAvailable(List<StockKey> keys) {
+        Long[] productIds = StockKey.productIds(keys);
+        Long[] locationIds = StockKey.locationIds(keys);
+        Map<StockKey, Integer> available = new HashMap<>();
+        for (StockQuantity row : stockRepository.lockQuantities(productIds, locationIds)) {
+            available.put(new StockKey(row.getProductId(), row.getLocationId()), row.getQuantity());
+        }
+        subtractReserved(available, productIds, locationIds);
+        return available;
+    }
+
+    /**
+     * Subtracts the stock held for shipping from the quantities of stock rows this transaction has locked. Holds
+     * are read in a statement of their own after the rows are locked: reserving share-locks the stock row, so
+     * every hold on these rows has committed by then and no new one can be taken until this transaction ends.
+     */
+    private void subtractReserved(Map<StockKey, Integer> quantities, Long[] productIds, Long[] locationIds) {
+        for (StockQuantity row : stockReservationRepository.findReserved(productIds, locationIds)) {
+            quantities.computeIfPresent(new StockKey(row.getProductId(), row.getLocationId()),
+                    (key, quantity) -> Math.max(quantity - row.getQuantity(), 0));
+        }
+    }
+
+    /**
+     * Locks the stock row of the key and returns the stock held for shipping from it, see {@link #subtractReserved}.
+     */
+    private int lockReserved(Long productId, Long locationId) {
+        Long[] productIds = {productId};
+        Long[] locationIds = {locationId};
+        stockRepository.lockQuantities(productIds, locationIds);
+        return stockReservationRepository.findReserved(productIds, locationIds).stream()
+                .mapToInt(StockQuantity::getQuantity)
+                .sum();
+    }
+
+    private static StockShortageResp shortage(StockKey key, String productSku, String locationName, int requested, int available) {
+        return StockShortageResp.builder()
+                .productId(key.productId())
+                .productSku(productSku)
+                .locationId(key.locationId())
+                .locationName(locationName)
+                .requested(requested)
+                .available(available)
+                .build();
+    }
+
+    /**
+     * Appends one ledger row per (operation, product, location) with the net change; zero changes are dropped.
+     */
+    private void appendLedger(Map<LedgerKey, Integer> deltas) {
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<LedgerKey> keys = new ArrayList<>(deltas.keySet());
+        stockLedgerRepository.append(keys.stream().map(LedgerKey::operationId).toArray(Long[]::new),
+                keys.stream().map(LedgerKey::productId).toArray(Long[]::new),
+                keys.stream().map(LedgerKey::locationId).toArray(Long[]::new),
+                deltas.values().toArray(Integer[]::new));
+    }
+
+    private void appendLedger(Long operationId, Long productId, Long locationId, int delta) {
+        Map<LedgerKey, Integer> deltas = new LinkedHashMap<>();
+        deltas.put(new LedgerKey(operationId, productId, locationId), delta);
+        appendLedger(deltas);
+    }
+
+    private static Long operationId(OperationDetail detail) {
+        return detail.getOperation() != null ? detail.getOperation().getId() : null;
+    }
+
+    private record LedgerKey(Long operationId, Long productId, Long locationId) {
+    }
+
+    private record StockMovement(Long operationId, Long productId, Long fromLocationId, Long toLocationId, Integer quantity) {
+    }
+
+    private record StockKey(Long productId, Long locationId) {
+        static final Comparator<StockKey> ORDER = Comparator.comparing(StockKey::productId)
+                .thenComparing(StockKey::locationId);
+
+        static Long[] productIds(List<StockKey> keys) {
+            return keys.stream().map(StockKey::productId).toArray(Long[]::new);
+        }
+
+        static Long[] locationIds(List<StockKey> keys) {
+            return keys.stream().map(StockKey::locationId).toArray(Long[]::new);
+        }
     }
 
     private StockInfoResp getStockInfoResp(Stock stock) {
-        StockInfoResp resp = objectMapper.convertValue(stock, StockInfoResp.class);
-        resp.setProductSku(stock.getProduct().getSku());
-        resp.setLocationName(stock.getLocation().getName());
-        return resp;
+        return StockMapper.toInfoResp(stock);
     }
 }
 
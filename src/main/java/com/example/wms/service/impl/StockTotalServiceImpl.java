@@ -0,0 +1,71 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.StockMapper;
+import com.example.wms.model.db.repository.ProductRepository;
+import com.example.wms.model.db.repository.StockTotalRepository;
+import com.example.wms.model.db.repository.WarehouseRepository;
+import com.example.wms.model.dto.response.StockTotalResp;
+import com.example.wms.service.StockTotalService;
+import com.example.wms.utils.PaginationUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Totals are changed by {@link StockServiceImpl} in the same transaction as the stock rows. Drift can only come from
+ * writes that bypass it, such as manual SQL; {@link #verify()} finds and repairs it every
+ * {@code app.stock-totals.verify-interval}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockTotalServiceImpl implements StockTotalService {
+    private final StockTotalRepository stockTotalRepository;
+    private final ProductRepository productRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockTotalResp> getProductTotals(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new CommonBackendException("Product not found", HttpStatus.NOT_FOUND);
+        }
+
+        return stockTotalRepository.findByProductId(productId).stream()
+                .map(StockMapper::toTotalResp)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<StockTotalResp> getWarehouseTotals(Long warehouseId, Integer page, Integer perPage) {
+        if (!warehouseRepository.existsById(warehouseId)) {
+            throw new CommonBackendException("Warehouse not found", HttpStatus.NOT_FOUND);
+        }
+
+        Pageable pageRequest = PaginationUtils.getPageRequest(page, perPage, null, null);
+        return stockTotalRepository.findByWarehouseId(warehouseId, pageRequest).map(StockMapper::toTotalResp);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.stock-totals.verify-interval:1h}", initialDelayString = "${app.stock-totals.verify-interval:1h}")
+    public int verify() {
+        Integer repaired = transactionTemplate.execute(status ->
+                stockTotalRepository.tryLockVerification() ? stockTotalRepository.repairDrift() : 0);
+
+        if (repaired != null && repaired > 0) {
+            log.warn("Repaired {} stock totals that drifted from the stock rows", repaired);
+        }
+        return repaired == null ? 0 : repaired;
+    }
+}
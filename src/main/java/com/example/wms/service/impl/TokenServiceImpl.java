@@ -0,0 +1,189 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.model.db.entity.User;
+import com.example.wms.model.db.repository.UserRepository;
+import com.example.wms.model.dto.request.TokenReq;
+import com.example.wms.model.dto.response.TokenResp;
+import com.example.wms.service.TokenService;
+import com.example.wms.utils.TransactionUtils;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies short-lived HMAC-signed bearer tokens carrying user id and role, so token requests are
+ * authorized without a user lookup or a BCrypt check. Tokens of deactivated users are rejected through an
+ * in-memory deny list that only has to remember revocations for one token TTL.
+ */
+@Slf4j
+@Service
+public class TokenServiceImpl implements TokenService {
+    static final String TOKEN_TYPE = "Bearer";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final ObjectMapper CLAIMS_MAPPER = new ObjectMapper();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final AuthenticationManager authenticationManager;
+    private final UserRepository userRepository;
+    private final Duration ttl;
+    private final SecretKeySpec key;
+    private final Clock clock;
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenServiceImpl(AuthenticationManager authenticationManager,
+                            UserRepository userRepository,
+                            @Value("${app.security.token.ttl:30m}") Duration ttl,
+                            @Value("${app.security.token.secret:}") String secret) {
+        this(authenticationManager, userRepository, ttl, secret, Clock.systemUTC());
+    }
+
+    TokenServiceImpl(AuthenticationManager authenticationManager, UserRepository userRepository, Duration ttl,
+                     String secret, Clock clock) {
+        this.authenticationManager = authenticationManager;
+        this.userRepository = userRepository;
+        this.ttl = ttl;
+        this.key = new SecretKeySpec(secretBytes(secret), HMAC_ALGORITHM);
+        this.clock = clock;
+    }
+
+    @Override
+    public TokenResp issueToken(TokenReq req) {
+        final String errMsg = "Invalid username or password";
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(req.getUsername(), req.getPassword()));
+        } catch (AuthenticationException e) {
+            throw new CommonBackendException(errMsg, HttpStatus.UNAUTHORIZED);
+        }
+
+        User user = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.UNAUTHORIZED));
+
+        long issuedAt = clock.millis();
+        long expiresAt = issuedAt + ttl.toMillis();
+        TokenClaims claims = new TokenClaims(user.getId(), user.getUsername(), user.getRole().getName(), issuedAt, expiresAt);
+        String payload;
+        try {
+            payload = ENCODER.encodeToString(CLAIMS_MAPPER.writeValueAsBytes(claims));
+        } catch (IOException e) {
+            throw new IllegalStateException("Token claims cannot be serialized", e);
+        }
+
+        return TokenResp.builder()
+                .token(payload + "." + ENCODER.encodeToString(sign(payload)))
+                .tokenType(TOKEN_TYPE)
+                .expiresAt(Instant.ofEpochMilli(expiresAt))
+                .build();
+    }
+
+    @Override
+    public Authentication authenticate(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            throw new BadCredentialsException("Malformed token");
+        }
+
+        String payload = token.substring(0, separator);
+        TokenClaims claims;
+        try {
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                throw new BadCredentialsException("Invalid token signature");
+            }
+            claims = CLAIMS_MAPPER.readValue(DECODER.decode(payload), TokenClaims.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadCredentialsException("Malformed token");
+        }
+
+        if (claims.expiresAt() <= clock.millis()) {
+            throw new CredentialsExpiredException("Token expired");
+        }
+        Long revokedAt = revokedUsers.get(claims.userId());
+        if (revokedAt != null && claims.issuedAt() <= revokedAt) {
+            throw new BadCredentialsException("Token revoked");
+        }
+
+        return UsernamePasswordAuthenticationToken.authenticated(claims.username(), null,
+                List.of(new SimpleGrantedAuthority(claims.role())));
+    }
+
+    /**
+     * Rejects every token of {@code userIds} issued up to now; inside a transaction the cut-off moves again after
+     * commit, since a login may have read the old state in between.
+     */
+    @Override
+    public void revoke(Long... userIds) {
+        TransactionUtils.runNowAndAfterCommit(() -> {
+            long now = clock.millis();
+            revokedUsers.values().removeIf(revokedAt -> now - revokedAt > ttl.toMillis());
+            for (Long userId : userIds) {
+                revokedUsers.put(userId, now);
+            }
+        });
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC is not available", e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (!StringUtils.hasText(secret)) {
+            log.warn("app.security.token.secret is not set, issued tokens will not survive a restart");
+            byte[] random = new byte[MIN_SECRET_LENGTH];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("app.security.token.secret must be at least " + MIN_SECRET_LENGTH + " bytes");
+        }
+        return bytes;
+    }
+
+    private record TokenClaims(@JsonProperty("uid") Long userId,
+                               @JsonProperty("sub") String username,
+                               @JsonProperty("role") String role,
+                               @JsonProperty("iat") long issuedAt,
+                               @JsonProperty("exp") long expiresAt) {
+    }
+}
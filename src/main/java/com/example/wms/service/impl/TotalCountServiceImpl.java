@@ -0,0 +1,67 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.service.TotalCountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Service
+public class TotalCountServiceImpl implements TotalCountService {
+    static final int MAX_CACHED_COUNTS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlNanos;
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public TotalCountServiceImpl(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.pagination.count-cache-ttl:30s}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns a total that may be stale or estimated. Unfiltered listings read the planner estimate of
+     * {@code table} from pg_class; filtered listings, listings of {@link #ACTIVE_ROWS} and tables that were never
+     * analyzed fall back to {@code exactCount}, cached per (table, filter) for the configured TTL.
+     * {@code table} must be a trusted table name, never user input.
+     */
+    @Override
+    public long approximateTotal(String table, String filter, LongSupplier exactCount) {
+        if (filter == null) {
+            List<Long> estimate = jdbcTemplate.queryForList(
+                    "select reltuples::bigint from pg_class where oid = to_regclass(?)", Long.class, table);
+            if (!estimate.isEmpty() && estimate.get(0) != null && estimate.get(0) >= 0) {
+                return estimate.get(0);
+            }
+        }
+
+        String key = table + '\u0000' + (filter == null ? "" : filter);
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(key);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached.value();
+        }
+
+        long value = exactCount.getAsLong();
+        if (counts.size() >= MAX_CACHED_COUNTS) {
+            counts.values().removeIf(count -> now - count.loadedAt() >= ttlNanos);
+            if (counts.size() >= MAX_CACHED_COUNTS) {
+                log.debug("Count cache is full, dropping {} entries", counts.size());
+                counts.clear();
+            }
+        }
+        counts.put(key, new CachedCount(value, now));
+        return value;
+    }
+
+    private record CachedCount(long value, long loadedAt) {
+    }
+}
@@ -1,15 +1,16 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.UserMapper;
 import com.example.wms.model.db.entity.Role;
 import com.example.wms.model.db.entity.User;
 import com.example.wms.model.db.repository.RoleRepository;
 import com.example.wms.model.db.repository.UserRepository;
 import com.example.wms.model.dto.request.UserInfoReq;
 import com.example.wms.model.dto.response.UserInfoResp;
+import com.example.wms.service.TokenService;
 import com.example.wms.service.UserService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -30,10 +31,11 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
-    private final ObjectMapper objectMapper;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthenticationCache authenticationCache;
+    private final TokenService tokenService;
 
     @Override
     @Transactional
@@ -60,9 +62,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User savedUser = userRepository.save(user);
-        UserInfoResp resp = objectMapper.convertValue(savedUser, UserInfoResp.class);
-        resp.setRoleName(savedUser.getRole().getName());
-        return resp;
+        return UserMapper.toInfoResp(savedUser);
     }
 
     @Override
@@ -73,9 +73,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        UserInfoResp resp = objectMapper.convertValue(user, UserInfoResp.class);
-        resp.setRoleName(user.getRole().getName());
-        return resp;
+        return UserMapper.toInfoResp(user);
     }
 
     @Override
@@ -91,11 +89,8 @@ public class UserServiceImpl implements UserService {
         }
 
         List<UserInfoResp> content = users.getContent().stream()
-                .map(user -> {
-                    UserInfoResp resp = objectMapper.convertValue(user, UserInfoResp.class);
-                    resp.setRoleName(user.getRole().getName());
-                    return resp;
-                }).collect(Collectors.toList());
+                .map(UserMapper::toInfoResp)
+                .collect(Collectors.toList());
 
         return new PageImpl<>(content, pageRequest, users.getTotalElements());
     }
@@ -107,6 +102,8 @@ public class UserServiceImpl implements UserService {
 
         User user = userRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errUserMsg, HttpStatus.NOT_FOUND));
+        authenticationCache.evict(user.getUsername());
+        tokenService.revoke(user.getId());
 
         user.setUsername(req.getUsername() != null ? req.getUsername() : user.getUsername());
         user.setPasswordHash(req.getPassword() != null ? req.getPassword() : user.getPasswordHash());
@@ -122,9 +119,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
-        UserInfoResp resp = objectMapper.convertValue(updatedUser, UserInfoResp.class);
-        resp.setRoleName(user.getRole().getName());
-        return resp;
+        return UserMapper.toInfoResp(updatedUser);
     }
 
     @Override
@@ -136,6 +131,8 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
         user.setIsActive(false);
         userRepository.save(user);
+        authenticationCache.evict(user.getUsername());
+        tokenService.revoke(user.getId());
     }
 
 }
\ No newline at end of file
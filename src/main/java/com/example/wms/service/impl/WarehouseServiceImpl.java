@@ -1,13 +1,13 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.mapper.WarehouseMapper;
 import com.example.wms.model.db.entity.Warehouse;
 import com.example.wms.model.db.repository.WarehouseRepository;
 import com.example.wms.model.dto.request.WarehouseInfoReq;
 import com.example.wms.model.dto.response.WarehouseInfoResp;
 import com.example.wms.service.WarehouseService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -26,7 +26,6 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class WarehouseServiceImpl implements WarehouseService {
     private final WarehouseRepository warehouseRepository;
-    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional
@@ -35,11 +34,11 @@ public class WarehouseServiceImpl implements WarehouseService {
             throw new CommonBackendException("Warehouse with name already exists", HttpStatus.CONFLICT);
         }
 
-        Warehouse warehouse = objectMapper.convertValue(req, Warehouse.class);
+        Warehouse warehouse = WarehouseMapper.toEntity(req);
         warehouse.setIsActive(true);
 
         Warehouse savedWarehouse = warehouseRepository.save(warehouse);
-        return objectMapper.convertValue(savedWarehouse, WarehouseInfoResp.class);
+        return WarehouseMapper.toInfoResp(savedWarehouse);
     }
 
 
@@ -51,7 +50,7 @@ public class WarehouseServiceImpl implements WarehouseService {
         Warehouse warehouse = warehouseRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new CommonBackendException(errMsg, HttpStatus.NOT_FOUND));
 
-        return objectMapper.convertValue(warehouse, WarehouseInfoResp.class);
+        return WarehouseMapper.toInfoResp(warehouse);
     }
 
     @Override
@@ -63,7 +62,7 @@ public class WarehouseServiceImpl implements WarehouseService {
         Page<Warehouse> warehouses = warehouseRepository.findAllByIsActiveTrue(pageRequest);
 
         List<WarehouseInfoResp> content = warehouses.getContent().stream()
-                .map(warehouse -> objectMapper.convertValue(warehouse, WarehouseInfoResp.class))
+                .map(WarehouseMapper::toInfoResp)
                 .collect(Collectors.toList());
 
         return new PageImpl<>(content, pageRequest, warehouses.getTotalElements());
@@ -82,7 +81,7 @@ public class WarehouseServiceImpl implements WarehouseService {
         warehouse.setCapacity(req.getCapacity() != null ? req.getCapacity() : warehouse.getCapacity());
 
         Warehouse updatedWarehouse = warehouseRepository.save(warehouse);
-        return objectMapper.convertValue(updatedWarehouse, WarehouseInfoResp.class);
+        return WarehouseMapper.toInfoResp(updatedWarehouse);
     }
 
     @Override
@@ -1,14 +1,35 @@
 package com.example.wms.utils;
 
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.model.enums.TotalMode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
 
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class PaginationUtils {
+    private static final ObjectMapper CURSOR_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
     public static Pageable getPageRequest(Integer page, Integer perPage, String sort, Sort.Direction order) {
         if (page == null) {
             page = 0;
@@ -19,12 +40,97 @@ public class PaginationUtils {
             perPage = 10;
         }
 
+        return PageRequest.of(page, perPage, getSort(sort, order));
+    }
+
+    public static Sort getSort(String sort, Sort.Direction order) {
         if (order == null || sort == null) {
-            return PageRequest.of(page, perPage);
+            return Sort.unsorted();
         } else if (order.equals(Sort.Direction.DESC)) {
-            return PageRequest.of(page, perPage, Sort.by(Sort.Direction.DESC, sort));
+            return Sort.by(Sort.Direction.DESC, sort);
         } else {
-            return PageRequest.of(page, perPage, Sort.by(Sort.Direction.ASC, sort));
+            return Sort.by(Sort.Direction.ASC, sort);
+        }
+    }
+
+    /**
+     * Wraps mapped {@code content} of {@code slice}. An exact page keeps its count, {@link TotalMode#NONE} stays
+     * a plain slice and {@link TotalMode#APPROXIMATE} attaches {@code approximateTotal}, raised where needed so
+     * that the page never reports fewer elements than the slice has already seen.
+     */
+    public static <T> Slice<T> getSlice(List<T> content, Pageable pageRequest, Slice<?> slice, TotalMode total,
+                                        LongSupplier approximateTotal) {
+        if (slice instanceof Page<?> page) {
+            return new PageImpl<>(content, pageRequest, page.getTotalElements());
+        }
+        if (total != TotalMode.APPROXIMATE) {
+            return new SliceImpl<>(content, pageRequest, slice.hasNext());
+        }
+
+        long seen = pageRequest.getOffset() + content.size() + (slice.hasNext() ? 1 : 0);
+        return new PageImpl<>(content, pageRequest, Math.max(approximateTotal.getAsLong(), seen));
+    }
+
+    public static Limit getLimit(Integer perPage) {
+        return Limit.of(perPage == null ? 10 : perPage);
+    }
+
+    /**
+     * Decodes an {@code after} token produced by {@link #getNextCursor(Window)} back into a keyset position.
+     * Key values are converted to the types of the matching {@code entityType} fields, and the token must carry
+     * every property of {@code sort}, so a cursor taken under a different ordering is rejected.
+     */
+    public static ScrollPosition getScrollPosition(String after, Sort sort, Class<?> entityType) {
+        if (!StringUtils.hasText(after)) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(after);
+            Map<String, Object> raw = CURSOR_MAPPER.readValue(json, new TypeReference<LinkedHashMap<String, Object>>() {
+            });
+            for (Map.Entry<String, Object> entry : raw.entrySet()) {
+                keys.put(entry.getKey(), CURSOR_MAPPER.convertValue(entry.getValue(), getPropertyType(entityType, entry.getKey())));
+            }
+        } catch (Exception e) {
+            throw new CommonBackendException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+
+        for (Sort.Order order : sort) {
+            if (!keys.containsKey(order.getProperty())) {
+                throw new CommonBackendException("Cursor does not match the requested sort", HttpStatus.BAD_REQUEST);
+            }
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Returns an opaque token pointing after the last element of {@code window}, or {@code null} on the last window.
+     */
+    public static String getNextCursor(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        try {
+            byte[] json = CURSOR_MAPPER.writeValueAsBytes(position.getKeys());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new CommonBackendException("Unable to encode cursor", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private static Class<?> getPropertyType(Class<?> entityType, String path) {
+        Class<?> type = entityType;
+        for (String name : StringUtils.tokenizeToStringArray(path, ".")) {
+            Field field = ReflectionUtils.findField(type, name);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown property: " + path);
+            }
+            type = field.getType();
         }
+        return type;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+-- Sequence increments must equal the allocation size Hibernate reserves per call (app.id.allocation-size).
+-- Flyway re-runs this script whenever the placeholder value changes. stocks_seq and stock_ledger_seq are only used by
+-- native inserts, one nextval per row, and keep increment 1.
+alter sequence categories_seq increment by ${id_allocation_size};
+alter sequence documents_seq increment by ${id_allocation_size};
+alter sequence inventories_seq increment by ${id_allocation_size};
+alter sequence locations_seq increment by ${id_allocation_size};
+alter sequence manufacturers_seq increment by ${id_allocation_size};
+alter sequence operation_details_seq increment by ${id_allocation_size};
+alter sequence operations_seq increment by ${id_allocation_size};
+alter sequence partners_seq increment by ${id_allocation_size};
+alter sequence products_seq increment by ${id_allocation_size};
+alter sequence roles_seq increment by ${id_allocation_size};
+alter sequence users_seq increment by ${id_allocation_size};
+alter sequence warehouses_seq increment by ${id_allocation_size};
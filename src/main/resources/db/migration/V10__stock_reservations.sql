@@ -0,0 +1,24 @@
+-- Soft allocation of stock to shipping operations. Each detail of a shipping operation holds its quantity at the
+-- departure location until it is executed, deleted, its operation is cancelled, or the hold expires.
+create table stock_reservations
+(
+    operation_detail_id bigint                      primary key references operation_details (id),
+    operation_id        bigint                      not null,
+    product_id          bigint                      not null,
+    location_id         bigint                      not null,
+    quantity            integer                     not null,
+    expires_at          timestamp(6) with time zone not null
+);
+
+create index ix_stock_reservations_operation_id on stock_reservations (operation_id);
+create index ix_stock_reservations_expires_at on stock_reservations (expires_at);
+
+-- Running total of the holds per (product, location). Reserving checks and bumps this one row with the stock row
+-- only share-locked, so holds do not queue behind stock writes and checking a key never sums its holds.
+create table stock_allocations
+(
+    product_id  bigint            not null,
+    location_id bigint            not null,
+    reserved    integer default 0 not null check (reserved >= 0),
+    primary key (product_id, location_id)
+);
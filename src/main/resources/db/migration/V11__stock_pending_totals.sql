@@ -0,0 +1,25 @@
+-- Quantities of details not executed yet, per (product, warehouse): inbound from receiving operations at the
+-- destination warehouse and outbound from shipping operations at the departure warehouse. The operation services
+-- change these totals in the same transaction that adds, removes, executes or cancels the details, so that
+-- available-to-promise never scans operation details.
+create table stock_pending_totals
+(
+    product_id   bigint            not null,
+    warehouse_id bigint            not null,
+    inbound      integer default 0 not null,
+    outbound     integer default 0 not null,
+    primary key (product_id, warehouse_id)
+);
+
+insert into stock_pending_totals (product_id, warehouse_id, inbound, outbound)
+select d.product_id,
+       l.warehouse_id,
+       sum(case when o.type = 'RECEIVING' then d.quantity else 0 end),
+       sum(case when o.type = 'SHIPPING' then d.quantity else 0 end)
+from operation_details d
+         join operations o on o.id = d.operation_id
+         join locations l on l.id = case when o.type = 'RECEIVING' then d.to_location_id else d.from_location_id end
+where o.type in ('RECEIVING', 'SHIPPING')
+  and o.status in ('CREATED', 'IN_PROGRESS')
+  and d.executed_at is null
+group by d.product_id, l.warehouse_id;
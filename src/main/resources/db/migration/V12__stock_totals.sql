@@ -0,0 +1,22 @@
+-- Stock per (product, warehouse): the sum of stocks.quantity over the warehouse's locations, and the part of it in
+-- UNAVAILABLE stock rows. Changed by every stock write in the same transaction and checked against the stock rows
+-- by a background job.
+create table stock_totals
+(
+    product_id   bigint           not null,
+    warehouse_id bigint           not null,
+    on_hand      bigint default 0 not null,
+    unavailable  bigint default 0 not null,
+    primary key (product_id, warehouse_id)
+);
+
+create index ix_stock_totals_warehouse_id on stock_totals (warehouse_id);
+
+insert into stock_totals (product_id, warehouse_id, on_hand, unavailable)
+select s.product_id,
+       l.warehouse_id,
+       sum(s.quantity),
+       sum(case when s.status = 'UNAVAILABLE' then s.quantity else 0 end)
+from stocks s
+         join locations l on l.id = s.location_id
+group by s.product_id, l.warehouse_id;
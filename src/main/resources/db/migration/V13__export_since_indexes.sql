@@ -0,0 +1,8 @@
+-- Exports filtered by "since" read only the rows changed after that point. Rows written before updated_at was kept
+-- on insert count as changed when they were created.
+update stocks set updated_at = created_at where updated_at is null;
+update operations set updated_at = created_at where updated_at is null;
+
+create index ix_stocks_updated_at on stocks (updated_at);
+create index ix_operations_updated_at on operations (updated_at);
+create index ix_inventories_inventory_date on inventories (inventory_date);
@@ -0,0 +1,3 @@
+-- Ledger rows are only inserted by native statements that take one nextval per row, so the sequence is not pooled.
+-- Databases migrated while the repeatable increments script still covered it have it at the pooled size.
+alter sequence stock_ledger_seq increment by 1;
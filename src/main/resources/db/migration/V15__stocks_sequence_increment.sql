@@ -0,0 +1,2 @@
+-- Stock rows are only inserted by native upserts that take one nextval per proposed row, so the sequence is not pooled.
+alter sequence stocks_seq increment by 1;
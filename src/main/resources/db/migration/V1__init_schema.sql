@@ -0,0 +1,147 @@
+create table roles
+(
+    id          bigint generated by default as identity primary key,
+    name        varchar(100)                not null unique,
+    description varchar(500),
+    created_at  timestamp(6) with time zone not null,
+    updated_at  timestamp(6) with time zone,
+    is_active   boolean default true        not null
+);
+
+create table users
+(
+    id            bigint generated by default as identity primary key,
+    username      varchar(100)                not null unique,
+    password_hash varchar(255)                not null,
+    first_name    varchar(100),
+    last_name     varchar(100),
+    middle_name   varchar(100),
+    is_active     boolean default true        not null,
+    created_at    timestamp(6) with time zone not null,
+    updated_at    timestamp(6) with time zone,
+    role_id       bigint                      not null references roles
+);
+
+create table categories
+(
+    id          bigint generated by default as identity primary key,
+    name        varchar(100)                not null unique,
+    description varchar(500),
+    created_at  timestamp(6) with time zone not null,
+    updated_at  timestamp(6) with time zone,
+    is_active   boolean default true        not null
+);
+
+create table manufacturers
+(
+    id         bigint generated by default as identity primary key,
+    name       varchar(255)                not null unique,
+    address    varchar(255)                not null,
+    email      varchar(255)                not null,
+    phone      varchar(255)                not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone,
+    is_active  boolean default true        not null
+);
+
+create table partners
+(
+    id         bigint generated by default as identity primary key,
+    name       varchar(255)                not null unique,
+    type       varchar(50)                 not null check (type in ('SUPPLIER', 'CUSTOMER')),
+    address    varchar(255)                not null,
+    email      varchar(255)                not null,
+    phone      varchar(255)                not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone,
+    is_active  boolean default true        not null
+);
+
+create table warehouses
+(
+    id        bigint generated by default as identity primary key,
+    name      varchar(100)         not null unique,
+    address   varchar(500)         not null,
+    capacity  numeric(10, 2)       not null,
+    is_active boolean default true not null
+);
+
+create table locations
+(
+    id           bigint generated by default as identity primary key,
+    name         varchar(100)                not null unique,
+    type         varchar(50)                 not null check (type in ('RECEIVING', 'STORAGE', 'DISPATCH')),
+    max_capacity bigint,
+    dimensions   varchar(100),
+    description  varchar(500),
+    created_at   timestamp(6) with time zone not null,
+    updated_at   timestamp(6) with time zone,
+    is_active    boolean default true        not null,
+    warehouse_id bigint                      not null references warehouses
+);
+
+create table products
+(
+    id              bigint generated by default as identity primary key,
+    sku             varchar(100)                not null unique,
+    name            varchar(255)                not null,
+    description     varchar(1000),
+    weight          numeric(10, 2),
+    dimensions      varchar(100),
+    created_at      timestamp(6) with time zone not null,
+    updated_at      timestamp(6) with time zone,
+    is_active       boolean default true        not null,
+    category_id     bigint                      not null references categories,
+    manufacturer_id bigint                      not null references manufacturers
+);
+
+create table stocks
+(
+    id          bigint generated by default as identity primary key,
+    quantity    integer                     not null,
+    status      varchar(50)                 not null check (status in ('AVAILABLE', 'UNAVAILABLE')),
+    created_at  timestamp(6) with time zone not null,
+    updated_at  timestamp(6) with time zone,
+    location_id bigint                      not null references locations,
+    product_id  bigint                      not null references products
+);
+
+create table inventories
+(
+    id              bigint generated by default as identity primary key,
+    actual_quantity integer                     not null,
+    inventory_date  timestamp(6) with time zone not null,
+    stock_id        bigint                      not null references stocks
+);
+
+create table documents
+(
+    id         bigint generated by default as identity primary key,
+    number     varchar(100)                not null unique,
+    date       date                        not null,
+    notes      varchar(500),
+    created_at timestamp(6) with time zone not null,
+    is_active  boolean default true        not null,
+    partner_id bigint references partners
+);
+
+create table operations
+(
+    id          bigint generated by default as identity primary key,
+    type        varchar(50)                 not null check (type in ('RECEIVING', 'SHIPPING', 'TRANSFER')),
+    status      varchar(50)                 not null check (status in ('CREATED', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED')),
+    created_at  timestamp(6) with time zone not null,
+    updated_at  timestamp(6) with time zone,
+    user_id     bigint                      not null references users,
+    document_id bigint                      not null references documents
+);
+
+create table operation_details
+(
+    id               bigint generated by default as identity primary key,
+    quantity         integer not null,
+    from_location_id bigint references locations,
+    to_location_id   bigint references locations,
+    operation_id     bigint  not null references operations,
+    product_id       bigint  not null references products
+);
@@ -0,0 +1,30 @@
+-- Fold duplicate (product_id, location_id) rows into the oldest one so the unique key can be created.
+update stocks s
+set quantity = d.total
+from (select min(id) as keep_id, sum(quantity) as total
+      from stocks
+      group by product_id, location_id
+      having count(*) > 1) d
+where s.id = d.keep_id;
+
+update inventories i
+set stock_id = k.keep_id
+from stocks s
+         join (select product_id, location_id, min(id) as keep_id
+               from stocks
+               group by product_id, location_id) k
+              on k.product_id = s.product_id and k.location_id = s.location_id
+where i.stock_id = s.id
+  and s.id <> k.keep_id;
+
+delete
+from stocks s
+    using (select product_id, location_id, min(id) as keep_id
+           from stocks
+           group by product_id, location_id) k
+where k.product_id = s.product_id
+  and k.location_id = s.location_id
+  and s.id <> k.keep_id;
+
+alter table stocks
+    add constraint uk_stocks_product_location unique (product_id, location_id);
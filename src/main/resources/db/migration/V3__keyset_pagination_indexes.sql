@@ -0,0 +1,5 @@
+-- Keyset pagination seeks on (filter column, sort key, id); cover the default orderings of the scroll endpoints.
+create index ix_stocks_status_id on stocks (status, id);
+create index ix_operations_type_id on operations (type, id);
+create index ix_operation_details_operation_id_id on operation_details (operation_id, id);
+create index ix_inventories_stock_id_id on inventories (stock_id, id);
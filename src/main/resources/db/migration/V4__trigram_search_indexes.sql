@@ -0,0 +1,14 @@
+-- Substring filters (like '%x%') find matching parents through trigram indexes
+-- and reach the filtered rows through b-tree indexes on their foreign keys.
+create extension if not exists pg_trgm;
+
+create index ix_products_sku_trgm on products using gin (sku gin_trgm_ops);
+create index ix_locations_name_trgm on locations using gin (name gin_trgm_ops);
+create index ix_categories_name_trgm on categories using gin (name gin_trgm_ops);
+create index ix_manufacturers_name_trgm on manufacturers using gin (name gin_trgm_ops);
+create index ix_partners_name_trgm on partners using gin (name gin_trgm_ops);
+
+create index ix_stocks_location_id on stocks (location_id);
+create index ix_products_category_id on products (category_id);
+create index ix_products_manufacturer_id on products (manufacturer_id);
+create index ix_documents_partner_id on documents (partner_id);
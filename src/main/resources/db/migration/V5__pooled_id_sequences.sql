@@ -0,0 +1,20 @@
+-- Replaces identity columns with standalone sequences that Hibernate can allocate ids from in blocks.
+-- Each sequence continues after the highest id already issued, so existing ids are kept and never reused.
+-- Column defaults still draw from the sequence for native inserts. Increments are set by R__id_sequence_increments.sql.
+do
+$$
+    declare
+        t       text;
+        next_id bigint;
+    begin
+        foreach t in array array ['categories', 'documents', 'inventories', 'locations', 'manufacturers',
+            'operation_details', 'operations', 'partners', 'products', 'roles', 'stocks', 'users', 'warehouses']
+            loop
+                execute format('select greatest(coalesce(max(id), 0), (select last_value from %s)) + 1 from %I',
+                               pg_get_serial_sequence(t, 'id'), t) into next_id;
+                execute format('alter table %I alter column id drop identity', t);
+                execute format('create sequence %I start with %s owned by %I.id', t || '_seq', next_id, t);
+                execute format('alter table %I alter column id set default nextval(%L)', t, t || '_seq');
+            end loop;
+    end
+$$;
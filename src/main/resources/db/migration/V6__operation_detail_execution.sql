@@ -0,0 +1,3 @@
+-- Marks the details whose stock changes are applied, so that an execution interrupted halfway
+-- resumes with the remaining lines instead of applying the finished ones twice.
+alter table operation_details add column executed_at timestamp(6) with time zone;
@@ -0,0 +1,12 @@
+-- Responses of retried POST requests, keyed by the client's Idempotency-Key header. A row without a response
+-- belongs to a request that is still executing.
+create table idempotency_keys
+(
+    idempotency_key varchar(255)                primary key,
+    request_hash    varchar(64)                 not null,
+    response        text,
+    created_at      timestamp(6) with time zone not null,
+    expires_at      timestamp(6) with time zone not null
+);
+
+create index ix_idempotency_keys_expires_at on idempotency_keys (expires_at);
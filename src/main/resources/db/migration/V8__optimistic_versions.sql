@@ -0,0 +1,3 @@
+-- Optimistic lock versions. Native statements that write these tables must increment the version as well.
+alter table stocks add column version bigint default 0 not null;
+alter table operations add column version bigint default 0 not null;
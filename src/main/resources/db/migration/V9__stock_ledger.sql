@@ -0,0 +1,40 @@
+-- Append-only record of every stock quantity change. Rows are never updated or deleted, and product, location and
+-- operation ids are kept without foreign keys so that history outlives the rows it refers to.
+create sequence stock_ledger_seq;
+
+create table stock_ledger
+(
+    id           bigint                      default nextval('stock_ledger_seq') primary key,
+    operation_id bigint,
+    product_id   bigint                      not null,
+    location_id  bigint                      not null,
+    delta        integer                     not null,
+    created_at   timestamp(6) with time zone default now() not null
+);
+
+alter sequence stock_ledger_seq owned by stock_ledger.id;
+
+create index ix_stock_ledger_location_product_created_at on stock_ledger (location_id, product_id, created_at);
+create index ix_stock_ledger_created_at on stock_ledger using brin (created_at);
+
+-- Quantity of a (product, location) as of taken_at. A snapshot run writes rows only for the keys that changed since
+-- the previous run, so the latest row at or before a run is the quantity at that run.
+create table stock_snapshots
+(
+    location_id bigint                      not null,
+    product_id  bigint                      not null,
+    taken_at    timestamp(6) with time zone not null,
+    quantity    integer                     not null,
+    primary key (location_id, product_id, taken_at)
+);
+
+create table stock_snapshot_runs
+(
+    taken_at timestamp(6) with time zone primary key
+);
+
+-- Opening balance, so that replaying the ledger reproduces the quantities already on hand.
+insert into stock_ledger (product_id, location_id, delta)
+select product_id, location_id, quantity
+from stocks
+where quantity <> 0;
@@ -0,0 +1,222 @@
+package com.example.wms;
+
+import com.example.wms.model.db.entity.*;
+import com.example.wms.model.db.repository.*;
+import com.example.wms.model.enums.LocationType;
+import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationType;
+import com.example.wms.model.enums.PartnerType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Reference rows for tests that run against the database. Every name ends with a suffix unique to the test, and
+ * {@link #cleanUp()} deletes the rows created since the previous call together with the stock, operation and
+ * bookkeeping rows that refer to them. Add it with {@code @Import(TestData.class)}.
+ */
+@TestComponent
+public class TestData {
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ManufacturerRepository manufacturerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PartnerRepository partnerRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String suffix = UUID.randomUUID().toString();
+    private Category category;
+    private Manufacturer manufacturer;
+    private Role role;
+    private Partner partner;
+    private final List<Warehouse> warehouses = new ArrayList<>();
+    private final List<Location> locations = new ArrayList<>();
+    private final List<Product> products = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+    private final List<Document> documents = new ArrayList<>();
+
+    public String suffix() {
+        return suffix;
+    }
+
+    public Warehouse createWarehouse() {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName("wh-" + warehouses.size() + "-" + suffix);
+        warehouse.setAddress("address");
+        warehouse.setCapacity(BigDecimal.TEN);
+        warehouse.setIsActive(true);
+        warehouses.add(warehouseRepository.save(warehouse));
+        return warehouse;
+    }
+
+    public Location createLocation(Warehouse warehouse, String name) {
+        Location location = new Location();
+        location.setName(name + "-" + suffix);
+        location.setLocationType(LocationType.STORAGE);
+        location.setWarehouse(warehouse);
+        location.setIsActive(true);
+        locations.add(locationRepository.save(location));
+        return location;
+    }
+
+    public Product createProduct(String sku) {
+        if (category == null) {
+            category = new Category();
+            category.setName("cat-" + suffix);
+            category.setIsActive(true);
+            categoryRepository.save(category);
+
+            manufacturer = new Manufacturer();
+            manufacturer.setName("man-" + suffix);
+            manufacturer.setAddress("address");
+            manufacturer.setEmail("man@example.com");
+            manufacturer.setPhone("+70000000000");
+            manufacturer.setIsActive(true);
+            manufacturerRepository.save(manufacturer);
+        }
+
+        Product product = new Product();
+        product.setSku(sku + "-" + suffix);
+        product.setName("product");
+        product.setCategory(category);
+        product.setManufacturer(manufacturer);
+        product.setIsActive(true);
+        products.add(productRepository.save(product));
+        return product;
+    }
+
+    public User createUser(String username) {
+        if (role == null) {
+            role = new Role();
+            role.setName("role-" + suffix);
+            role.setIsActive(true);
+            roleRepository.save(role);
+        }
+
+        User user = new User();
+        user.setUsername(username + "-" + suffix);
+        user.setPasswordHash("hash");
+        user.setRole(role);
+        user.setIsActive(true);
+        users.add(userRepository.save(user));
+        return user;
+    }
+
+    public Document createDocument(String number) {
+        if (partner == null) {
+            partner = new Partner();
+            partner.setName("partner-" + suffix);
+            partner.setPartnerType(PartnerType.SUPPLIER);
+            partner.setAddress("address");
+            partner.setEmail("partner@example.com");
+            partner.setPhone("+70000000000");
+            partner.setIsActive(true);
+            partnerRepository.save(partner);
+        }
+
+        Document document = new Document();
+        document.setNumber(number + "-" + suffix);
+        document.setDate(LocalDate.now());
+        document.setPartner(partner);
+        document.setIsActive(true);
+        documents.add(documentRepository.save(document));
+        return document;
+    }
+
+    public Operation createOperation(OperationType operationType, User user, Document document) {
+        Operation operation = new Operation();
+        operation.setOperationType(operationType);
+        operation.setOperationStatus(OperationStatus.CREATED);
+        operation.setUser(user);
+        operation.setDocument(document);
+        return operationRepository.save(operation);
+    }
+
+    /**
+     * Deletes everything created since the previous call, including operations created through the services for
+     * these users or documents, and starts a new suffix.
+     */
+    public void cleanUp() {
+        Long[] productIds = ids(products.stream().map(Product::getId));
+        Long[] operationIds = jdbcTemplate.queryForList(
+                "select id from operations where user_id = any(?) or document_id = any(?)", Long.class,
+                ids(users.stream().map(User::getId)), ids(documents.stream().map(Document::getId))).toArray(Long[]::new);
+
+        jdbcTemplate.update("delete from stock_reservations where operation_id = any(?) or product_id = any(?)",
+                operationIds, productIds);
+        jdbcTemplate.update("delete from operation_details where operation_id = any(?) or product_id = any(?)",
+                operationIds, productIds);
+        jdbcTemplate.update("delete from operations where id = any(?)", (Object) operationIds);
+        for (String table : List.of("stock_allocations", "stock_pending_totals", "stock_totals", "stock_ledger", "stock_snapshots")) {
+            jdbcTemplate.update("delete from " + table + " where product_id = any(?)", (Object) productIds);
+        }
+        jdbcTemplate.update("delete from inventories where stock_id in (select id from stocks where product_id = any(?))",
+                (Object) productIds);
+        jdbcTemplate.update("delete from stocks where product_id = any(?)", (Object) productIds);
+
+        productRepository.deleteAllById(List.of(productIds));
+        locationRepository.deleteAllById(locations.stream().map(Location::getId).toList());
+        warehouseRepository.deleteAllById(warehouses.stream().map(Warehouse::getId).toList());
+        documentRepository.deleteAllById(documents.stream().map(Document::getId).toList());
+        userRepository.deleteAllById(users.stream().map(User::getId).toList());
+        if (category != null) {
+            categoryRepository.deleteById(category.getId());
+            manufacturerRepository.deleteById(manufacturer.getId());
+        }
+        if (role != null) {
+            roleRepository.deleteById(role.getId());
+        }
+        if (partner != null) {
+            partnerRepository.deleteById(partner.getId());
+        }
+
+        products.clear();
+        locations.clear();
+        warehouses.clear();
+        documents.clear();
+        users.clear();
+        category = null;
+        manufacturer = null;
+        role = null;
+        partner = null;
+        suffix = UUID.randomUUID().toString();
+    }
+
+    private static Long[] ids(Stream<Long> ids) {
+        return ids.toArray(Long[]::new);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.wms.aspect;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.model.db.entity.Stock;
+import com.example.wms.model.db.repository.StockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryAspectTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OptimisticRetryAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new OptimisticRetryAspect(meterRegistry, stockRepository, 3, Duration.ofMillis(1), Duration.ofMillis(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void retriesUntilSuccess() {
+        when(stockRepository.findLocationIdById(5L)).thenReturn(Optional.of(7L));
+        ConflictingService target = new ConflictingService(2);
+        ConflictingService service = proxy(target);
+
+        assertEquals("done", service.update());
+
+        assertEquals(3, target.calls);
+        assertEquals(3, meterRegistry.get("optimistic.lock.attempts").tag("method", "ConflictingService.update").counter().count());
+        assertEquals(2, meterRegistry.get("optimistic.lock.retries").tag("method", "ConflictingService.update").counter().count());
+        assertEquals(2, meterRegistry.get("optimistic.lock.conflicts")
+                .tag("entity", "Stock").tag("location", "7").counter().count());
+    }
+
+    @Test
+    void givesUpWithConflictAfterMaxAttempts() {
+        when(stockRepository.findLocationIdById(5L)).thenReturn(Optional.of(7L));
+        ConflictingService target = new ConflictingService(Integer.MAX_VALUE);
+        ConflictingService service = proxy(target);
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class, service::update);
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(3, target.calls);
+        assertEquals(2, meterRegistry.get("optimistic.lock.retries").counter().count());
+    }
+
+    @Test
+    void doesNotRetryInsideEnclosingTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        ConflictingService target = new ConflictingService(1);
+        ConflictingService service = proxy(target);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, service::update);
+
+        assertEquals(1, target.calls);
+        verifyNoInteractions(stockRepository);
+    }
+
+    @Test
+    void backoffStaysWithinJitterCeiling() {
+        OptimisticRetryAspect slow = new OptimisticRetryAspect(meterRegistry, stockRepository, 3,
+                Duration.ofMillis(10), Duration.ofMillis(50));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(slow.backoffMillis(1) <= 10);
+            assertTrue(slow.backoffMillis(3) <= 40);
+            assertTrue(slow.backoffMillis(10) <= 50);
+        }
+    }
+
+    private ConflictingService proxy(ConflictingService target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    static class ConflictingService {
+        private final int conflicts;
+        int calls;
+
+        ConflictingService() {
+            this(0);
+        }
+
+        ConflictingService(int conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @OptimisticRetry
+        public String update() {
+            if (calls++ < conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Stock.class, 5L);
+            }
+            return "done";
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.wms.benchmark;
+
+import com.example.wms.WarehouseApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Authenticated GET throughput over HTTP basic with the credential cache disabled (TTL 0) and enabled,
+ * and with a signed bearer token.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class AuthenticationBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+    private static final String ROLE = "ROLE_ADMIN";
+
+    @Test
+    void basicVersusCachedVersusTokenAuthentication() throws Exception {
+        double uncached = requestsPerSecond("0s", false);
+        double cached = requestsPerSecond("60s", false);
+        double token = requestsPerSecond("0s", true);
+
+        System.out.printf("%n%-16s %12s %9s%n", "authentication", "requests/s", "speedup");
+        System.out.printf("%-16s %12.0f %8.1fx%n", "basic, no cache", uncached, 1.0);
+        System.out.printf("%-16s %12.0f %8.1fx%n", "basic, cached", cached, cached / uncached);
+        System.out.printf("%-16s %12.0f %8.1fx%n", "bearer token", token, token / uncached);
+    }
+
+    private double requestsPerSecond(String ttl, boolean bearer) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WarehouseApplication.class)
+                .run("--server.port=0", "--spring.devtools.restart.enabled=false", "--app.security.auth-cache-ttl=" + ttl)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            String username = "bench-auth-" + UUID.randomUUID();
+            String password = UUID.randomUUID().toString();
+
+            boolean roleCreated = jdbcTemplate.update("""
+                    insert into roles (name, created_at) values (?, now()) on conflict (name) do nothing
+                    """, ROLE) > 0;
+            jdbcTemplate.update("""
+                    insert into users (username, password_hash, is_active, created_at, role_id)
+                    select ?, ?, true, now(), id from roles where name = ?
+                    """, username, context.getBean(PasswordEncoder.class).encode(password), ROLE);
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                String authorization = bearer
+                        ? "Bearer " + login(port, username, password)
+                        : "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/warehouses/all"))
+                        .header("Authorization", authorization)
+                        .GET()
+                        .build();
+
+                load(request, WARMUP);
+                return load(request, MEASUREMENT) / (MEASUREMENT.toMillis() / 1000.0);
+            } finally {
+                jdbcTemplate.update("delete from users where username = ?", username);
+                if (roleCreated) {
+                    jdbcTemplate.update("delete from roles where name = ?", ROLE);
+                }
+            }
+        }
+    }
+
+    private static String login(int port, String username, String password) throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/token"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                new ObjectMapper().writeValueAsString(Map.of("username", username, "password", password))))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return new ObjectMapper().readTree(response.body()).get("token").asText();
+    }
+
+    private static long load(HttpRequest request, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> workers = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                workers.add(executor.submit(() -> {
+                    long completed = 0;
+                    while (running.get()) {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        assertEquals(200, response.statusCode());
+                        completed++;
+                    }
+                    return completed;
+                }));
+            }
+            Thread.sleep(duration.toMillis());
+            running.set(false);
+
+            long total = 0;
+            for (Future<Long> worker : workers) {
+                total += worker.get();
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.wms.benchmark;
+
+import com.example.wms.TestData;
+import com.example.wms.WarehouseApplication;
+import com.example.wms.model.db.entity.*;
+import com.example.wms.model.db.repository.InventoryRepository;
+import com.example.wms.model.db.repository.OperationDetailRepository;
+import com.example.wms.model.db.repository.StockRepository;
+import com.example.wms.model.enums.OperationType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Insert throughput of operation details and inventory counts saved through JPA, one statement per row
+ * (JDBC batch size 1) vs batched inserts with pooled sequence ids. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BatchInsertBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int ITERATIONS = 3;
+
+    @Test
+    void unbatchedVersusBatchedInserts() {
+        Result unbatched = rowsPerSecond("1");
+        Result batched = rowsPerSecond("50");
+
+        System.out.printf("%n%-20s %18s %18s%n", "batch size", "details rows/s", "inventories rows/s");
+        System.out.printf("%-20s %18.0f %18.0f%n", "1", unbatched.details(), unbatched.inventories());
+        System.out.printf("%-20s %18.0f %18.0f%n", "50", batched.details(), batched.inventories());
+        System.out.printf("%-20s %17.1fx %17.1fx%n", "speedup",
+                batched.details() / unbatched.details(), batched.inventories() / unbatched.inventories());
+    }
+
+    private Result rowsPerSecond(String batchSize) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WarehouseApplication.class)
+                .run("--server.port=0", "--spring.devtools.restart.enabled=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+            OperationDetailRepository operationDetailRepository = context.getBean(OperationDetailRepository.class);
+            InventoryRepository inventoryRepository = context.getBean(InventoryRepository.class);
+            TestData testData = context.getAutowireCapableBeanFactory().createBean(TestData.class);
+            Fixture fixture = Fixture.create(testData, context.getBean(StockRepository.class), jdbcTemplate);
+            try {
+                double details = median(() -> transactionTemplate.executeWithoutResult(status ->
+                        operationDetailRepository.saveAll(fixture.details())), fixture::clear);
+                double inventories = median(() -> transactionTemplate.executeWithoutResult(status ->
+                        inventoryRepository.saveAll(fixture.inventories())), fixture::clear);
+                return new Result(ROWS / details * 1000, ROWS / inventories * 1000);
+            } finally {
+                testData.cleanUp();
+            }
+        }
+    }
+
+    private static double median(Runnable run, Runnable cleanUp) {
+        run.run();
+        cleanUp.run();
+
+        double[] samples = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+            cleanUp.run();
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+
+    private record Result(double details, double inventories) {
+    }
+
+    private record Fixture(JdbcTemplate jdbcTemplate, Operation operation, Product product, Location location, Stock stock) {
+
+        static Fixture create(TestData testData, StockRepository stockRepository, JdbcTemplate jdbcTemplate) {
+            Location location = testData.createLocation(testData.createWarehouse(), "bench-loc");
+            Product product = testData.createProduct("bench-sku");
+            Stock stock = stockRepository.upsertQuantity(product.getId(), location.getId(), 1);
+            Operation operation = testData.createOperation(OperationType.RECEIVING,
+                    testData.createUser("bench-user"), testData.createDocument("bench-doc"));
+            return new Fixture(jdbcTemplate, operation, product, location, stock);
+        }
+
+        List<OperationDetail> details() {
+            List<OperationDetail> details = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                OperationDetail detail = new OperationDetail();
+                detail.setOperation(operation);
+                detail.setProduct(product);
+                detail.setToLocation(location);
+                detail.setQuantity(1);
+                details.add(detail);
+            }
+            return details;
+        }
+
+        List<Inventory> inventories() {
+            List<Inventory> inventories = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                Inventory inventory = new Inventory();
+                inventory.setStock(stock);
+                inventory.setActualQuantity(1);
+                inventories.add(inventory);
+            }
+            return inventories;
+        }
+
+        void clear() {
+            jdbcTemplate.update("delete from operation_details where operation_id = ?", operation.getId());
+            jdbcTemplate.update("delete from inventories where stock_id = ?", stock.getId());
+        }
+    }
+}
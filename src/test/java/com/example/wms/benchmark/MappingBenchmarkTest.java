@@ -0,0 +1,113 @@
+package com.example.wms.benchmark;
+
+import com.example.wms.mapper.LocationMapper;
+import com.example.wms.mapper.StockMapper;
+import com.example.wms.model.db.entity.*;
+import com.example.wms.model.dto.response.LocationInfoResp;
+import com.example.wms.model.dto.response.StockInfoResp;
+import com.example.wms.model.enums.LocationType;
+import com.example.wms.model.enums.StockStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ObjectMapper.convertValue vs handwritten mappers on detached entities.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmarkTest {
+
+    private static final int CHILDREN = 20;
+
+    private ObjectMapper objectMapper;
+    private Stock stock;
+    private Location location;
+
+    @Test
+    void convertValueVersusMapper() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MappingBenchmarkTest.class.getName() + ".*")
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setId(1L);
+        warehouse.setName("warehouse");
+
+        location = new Location();
+        location.setId(1L);
+        location.setName("A-01");
+        location.setLocationType(LocationType.STORAGE);
+        location.setMaxCapacity(100L);
+        location.setWarehouse(warehouse);
+        location.setCreatedAt(Instant.now());
+
+        for (int i = 0; i < CHILDREN; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setSku("SKU-" + i);
+
+            Stock child = new Stock();
+            child.setId((long) i);
+            child.setQuantity(i);
+            child.setStatus(StockStatus.AVAILABLE);
+            child.setProduct(product);
+            child.setLocation(location);
+            child.setCreatedAt(Instant.now());
+            for (int j = 0; j < CHILDREN; j++) {
+                Inventory inventory = new Inventory();
+                inventory.setId((long) j);
+                inventory.setActualQuantity(j);
+                inventory.setInventoryDate(Instant.now());
+                inventory.setStock(child);
+                child.getInventories().add(inventory);
+            }
+            location.getStocks().add(child);
+        }
+        stock = location.getStocks().get(0);
+    }
+
+    @Benchmark
+    public StockInfoResp stockConvertValue() {
+        StockInfoResp resp = objectMapper.convertValue(stock, StockInfoResp.class);
+        resp.setProductSku(stock.getProduct().getSku());
+        resp.setLocationName(stock.getLocation().getName());
+        return resp;
+    }
+
+    @Benchmark
+    public StockInfoResp stockMapper() {
+        return StockMapper.toInfoResp(stock);
+    }
+
+    @Benchmark
+    public LocationInfoResp locationConvertValue() {
+        LocationInfoResp resp = objectMapper.convertValue(location, LocationInfoResp.class);
+        resp.setWarehouseName(location.getWarehouse().getName());
+        return resp;
+    }
+
+    @Benchmark
+    public LocationInfoResp locationMapper() {
+        return LocationMapper.toInfoResp(location);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.wms.benchmark;
+
+import com.example.wms.TestData;
+import com.example.wms.model.db.entity.Location;
+import com.example.wms.model.db.entity.Operation;
+import com.example.wms.model.db.entity.Product;
+import com.example.wms.model.db.entity.Warehouse;
+import com.example.wms.model.dto.request.OperationDetailBulkReq;
+import com.example.wms.model.dto.request.OperationDetailInfoReq;
+import com.example.wms.model.enums.OperationType;
+import com.example.wms.service.OperationDetailService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * One request per detail line vs one bulk request, e.g. loading an ASN. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Import(TestData.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OperationDetailBulkBenchmarkTest {
+
+    private static final int KEYS_PER_SIDE = 100;
+    private static final int[] LINE_COUNTS = {10, 1_000, 5_000};
+    private static final int ITERATIONS = 3;
+
+    @Autowired
+    private OperationDetailService operationDetailService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    private final List<Product> products = new ArrayList<>();
+    private final List<Location> locations = new ArrayList<>();
+    private Operation operation;
+
+    @BeforeAll
+    void setUp() {
+        Warehouse warehouse = testData.createWarehouse();
+        for (int i = 0; i < KEYS_PER_SIDE; i++) {
+            locations.add(testData.createLocation(warehouse, "bench-loc-" + i));
+            products.add(testData.createProduct("bench-sku-" + i));
+        }
+        operation = testData.createOperation(OperationType.RECEIVING,
+                testData.createUser("bench-user"), testData.createDocument("bench-doc"));
+    }
+
+    @AfterAll
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void perLineVersusBulkCreation() {
+        List<OperationDetailInfoReq> warmup = details(LINE_COUNTS[0]);
+        warmup.forEach(operationDetailService::createOperationDetail);
+        operationDetailService.createOperationDetails(new OperationDetailBulkReq(operation.getId(), warmup));
+        clearDetails();
+
+        System.out.printf("%n%-10s %15s %15s %10s%n", "lines", "per-line ms", "bulk ms", "speedup");
+        for (int lines : LINE_COUNTS) {
+            List<OperationDetailInfoReq> details = details(lines);
+
+            double perLine = median(() -> details.forEach(operationDetailService::createOperationDetail));
+            double bulk = median(() -> assertEquals(lines, operationDetailService.createOperationDetails(
+                    new OperationDetailBulkReq(operation.getId(), details)).getCreated()));
+
+            System.out.printf("%-10d %15.1f %15.1f %9.1fx%n", lines, perLine, bulk, perLine / bulk);
+        }
+    }
+
+    private List<OperationDetailInfoReq> details(int lines) {
+        List<OperationDetailInfoReq> details = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            details.add(new OperationDetailInfoReq(operation.getId(),
+                    products.get(i % KEYS_PER_SIDE).getSku(),
+                    1,
+                    locations.get((i / KEYS_PER_SIDE) % KEYS_PER_SIDE).getName(),
+                    locations.get((i / KEYS_PER_SIDE + 1) % KEYS_PER_SIDE).getName()));
+        }
+        return details;
+    }
+
+    private void clearDetails() {
+        jdbcTemplate.update("delete from operation_details where operation_id = ?", operation.getId());
+    }
+
+    private double median(Runnable run) {
+        double[] samples = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+            clearDetails();
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.wms.benchmark;
+
+import com.example.wms.TestData;
+import com.example.wms.model.db.entity.Location;
+import com.example.wms.model.db.entity.OperationDetail;
+import com.example.wms.model.db.entity.Product;
+import com.example.wms.model.db.entity.Warehouse;
+import com.example.wms.service.StockService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-line vs batched receiving. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Import(TestData.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReceivingBenchmarkTest {
+
+    private static final int KEYS_PER_SIDE = 100;
+    private static final int[] LINE_COUNTS = {10, 1_000, 10_000};
+    private static final int ITERATIONS = 3;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    private final List<Product> products = new ArrayList<>();
+    private final List<Location> locations = new ArrayList<>();
+
+    @BeforeAll
+    void setUp() {
+        Warehouse warehouse = testData.createWarehouse();
+        for (int i = 0; i < KEYS_PER_SIDE; i++) {
+            locations.add(testData.createLocation(warehouse, "bench-loc-" + i));
+            products.add(testData.createProduct("bench-sku-" + i));
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void perLineVersusBatchedReceiving() {
+        List<OperationDetail> warmup = details(LINE_COUNTS[0]);
+        stockService.increaseStocks(warmup);
+        warmup.forEach(detail -> stockService.increaseStock(detail.getProduct(), detail.getToLocation(), detail.getQuantity()));
+
+        System.out.printf("%n%-10s %15s %15s %10s%n", "lines", "per-line ms", "batched ms", "speedup");
+        for (int lines : LINE_COUNTS) {
+            List<OperationDetail> details = details(lines);
+
+            double perLine = median(() -> transactionTemplate.executeWithoutResult(status -> {
+                for (OperationDetail detail : details) {
+                    stockService.increaseStock(detail.getProduct(), detail.getToLocation(), detail.getQuantity());
+                }
+            }));
+            double batched = median(() -> stockService.increaseStocks(details));
+
+            System.out.printf("%-10d %15.1f %15.1f %9.1fx%n", lines, perLine, batched, perLine / batched);
+        }
+    }
+
+    private List<OperationDetail> details(int lines) {
+        List<OperationDetail> details = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            OperationDetail detail = new OperationDetail();
+            detail.setProduct(products.get(i % KEYS_PER_SIDE));
+            detail.setToLocation(locations.get((i / KEYS_PER_SIDE) % KEYS_PER_SIDE));
+            detail.setQuantity(1);
+            details.add(detail);
+        }
+        return details;
+    }
+
+    private static double median(Runnable run) {
+        double[] samples = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.wms.benchmark;
+
+import com.example.wms.model.db.entity.Stock;
+import com.example.wms.model.enums.TotalMode;
+import com.example.wms.service.StockService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Stock search over 1M SKUs: the former OR-across-joins filter vs the trigram-backed one.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchBenchmarkTest {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int LOCATIONS = 1_000;
+    private static final int SAMPLES = 30;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String suffix;
+
+    @BeforeAll
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        jdbcTemplate.update("insert into warehouses (name, address, capacity) values (?, 'address', 10)", "search-wh-" + suffix);
+        jdbcTemplate.update("insert into categories (name, created_at) values (?, now())", "search-cat-" + suffix);
+        jdbcTemplate.update("insert into manufacturers (name, address, email, phone, created_at) values (?, 'address', 'bench@example.com', '+70000000000', now())",
+                "search-man-" + suffix);
+        jdbcTemplate.update("""
+                insert into locations (name, type, warehouse_id, created_at)
+                select 'search-loc-' || lpad(g::text, 4, '0') || '-' || ?, 'STORAGE', w.id, now()
+                from generate_series(1, ?) g, warehouses w where w.name = ?
+                """, suffix, LOCATIONS, "search-wh-" + suffix);
+        jdbcTemplate.update("""
+                insert into products (sku, name, created_at, category_id, manufacturer_id)
+                select 'SKU-' || lpad(g::text, 7, '0') || '-' || substr(md5(g::text || ?), 1, 8), 'product', now(), c.id, m.id
+                from generate_series(1, ?) g, categories c, manufacturers m where c.name = ? and m.name = ?
+                """, suffix, PRODUCTS, "search-cat-" + suffix, "search-man-" + suffix);
+        jdbcTemplate.update("""
+                insert into stocks (quantity, status, created_at, product_id, location_id)
+                select 1, 'AVAILABLE', now(), p.id, l.id
+                from products p
+                join locations l on l.name = 'search-loc-' || lpad((p.id % ? + 1)::text, 4, '0') || '-' || ?
+                where p.category_id = (select id from categories where name = ?)
+                """, LOCATIONS, suffix, "search-cat-" + suffix);
+        jdbcTemplate.execute("analyze products");
+        jdbcTemplate.execute("analyze locations");
+        jdbcTemplate.execute("analyze stocks");
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.update("delete from stocks where product_id in (select p.id from products p join categories c on c.id = p.category_id where c.name = ?)",
+                "search-cat-" + suffix);
+        jdbcTemplate.update("delete from products where category_id = (select id from categories where name = ?)", "search-cat-" + suffix);
+        jdbcTemplate.update("delete from locations where name like ?", "search-loc-%-" + suffix);
+        jdbcTemplate.update("delete from categories where name = ?", "search-cat-" + suffix);
+        jdbcTemplate.update("delete from manufacturers where name = ?", "search-man-" + suffix);
+        jdbcTemplate.update("delete from warehouses where name = ?", "search-wh-" + suffix);
+    }
+
+    @Test
+    void orAcrossJoinsVersusTrigramSearch() {
+        Random random = new Random(42);
+        List<String> skuTerms = new ArrayList<>();
+        List<String> locationTerms = new ArrayList<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            String hash = jdbcTemplate.queryForObject("select substr(md5(?::text || ?), 1, 8)", String.class,
+                    random.nextInt(PRODUCTS) + 1, suffix);
+            int start = random.nextInt(4);
+            skuTerms.add(hash.substring(start, start + 5));
+            locationTerms.add("loc-" + String.format("%04d", random.nextInt(LOCATIONS) + 1));
+        }
+
+        Consumer<String> before = term -> transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("select s from Stock s where s.product.sku like :filter or s.location.name like :filter order by s.status", Stock.class)
+                    .setParameter("filter", "%" + term + "%")
+                    .setMaxResults(10)
+                    .getResultList();
+            entityManager.createQuery("select count(s) from Stock s where s.product.sku like :filter or s.location.name like :filter", Long.class)
+                    .setParameter("filter", "%" + term + "%")
+                    .getSingleResult();
+        });
+        Consumer<String> after = term -> stockService.getAllStocks(1, 10, "status", Sort.Direction.ASC, term, TotalMode.EXACT);
+
+        before.accept(skuTerms.get(0));
+        after.accept(skuTerms.get(0));
+
+        System.out.printf("%n%-10s %12s %12s %12s %12s%n", "terms", "before p50", "before p99", "after p50", "after p99");
+        for (List<String> terms : List.of(skuTerms, locationTerms)) {
+            double[] beforeMs = sample(terms, before);
+            double[] afterMs = sample(terms, after);
+            System.out.printf("%-10s %10.1fms %10.1fms %10.1fms %10.1fms%n", terms == skuTerms ? "sku" : "location",
+                    percentile(beforeMs, 50), percentile(beforeMs, 99), percentile(afterMs, 50), percentile(afterMs, 99));
+        }
+    }
+
+    private static double[] sample(List<String> terms, Consumer<String> search) {
+        double[] samples = new double[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            long start = System.nanoTime();
+            search.accept(terms.get(i));
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static double percentile(double[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+}
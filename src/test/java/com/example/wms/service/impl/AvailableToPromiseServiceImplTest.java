@@ -0,0 +1,128 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.model.db.projection.AvailableToPromise;
+import com.example.wms.model.db.repository.StockPendingTotalRepository;
+import com.example.wms.model.dto.request.AvailableToPromiseReq;
+import com.example.wms.model.dto.response.AvailableToPromiseResp;
+import com.example.wms.model.enums.OperationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailableToPromiseServiceImplTest {
+
+    @Mock
+    private StockPendingTotalRepository stockPendingTotalRepository;
+
+    @InjectMocks
+    private AvailableToPromiseServiceImpl availableToPromiseService;
+
+    @Test
+    void getAvailableToPromiseQueriesDistinctSkusOnce() {
+        when(stockPendingTotalRepository.findAvailableToPromise(new String[]{"SKU1", "SKU2"}, 3L))
+                .thenReturn(List.of(row("SKU1", 10, 4, 6)));
+
+        List<AvailableToPromiseResp> result = availableToPromiseService.getAvailableToPromise(
+                new AvailableToPromiseReq(List.of("SKU1", "SKU2", "SKU1"), 3L));
+
+        assertEquals(1, result.size());
+        assertEquals("SKU1", result.get(0).getProductSku());
+        assertEquals(10, result.get(0).getOnHand());
+        assertEquals(8, result.get(0).getAvailable());
+        verify(stockPendingTotalRepository, times(1)).findAvailableToPromise(any(), any());
+    }
+
+    @Test
+    void getAvailableToPromiseRejectsTooManySkus() {
+        List<String> skus = IntStream.rangeClosed(0, AvailableToPromiseReq.MAX_SKUS).mapToObj(i -> "SKU" + i).toList();
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
+                availableToPromiseService.getAvailableToPromise(new AvailableToPromiseReq(skus, null)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(stockPendingTotalRepository);
+    }
+
+    @Test
+    void addPendingCountsReceivingAtDestinationAndShippingAtDeparture() {
+        Long[] productIds = {1L};
+        Long[] fromLocationIds = {10L};
+        Long[] toLocationIds = {20L};
+        Integer[] quantities = {5};
+
+        availableToPromiseService.addPending(OperationType.RECEIVING, productIds, fromLocationIds, toLocationIds, quantities);
+        availableToPromiseService.addPending(OperationType.SHIPPING, productIds, fromLocationIds, toLocationIds, quantities);
+        availableToPromiseService.addPending(OperationType.TRANSFER, productIds, fromLocationIds, toLocationIds, quantities);
+
+        verify(stockPendingTotalRepository).addPending(productIds, toLocationIds, quantities, new Integer[]{0});
+        verify(stockPendingTotalRepository).addPending(productIds, fromLocationIds, new Integer[]{0}, quantities);
+        verifyNoMoreInteractions(stockPendingTotalRepository);
+    }
+
+    @Test
+    void removePendingSkipsUnsavedDetails() {
+        availableToPromiseService.removePending(Arrays.asList(null, 5L));
+        availableToPromiseService.removePending(Collections.singletonList(null));
+
+        verify(stockPendingTotalRepository).removeDetails(new Long[]{5L});
+        verifyNoMoreInteractions(stockPendingTotalRepository);
+    }
+
+    private static AvailableToPromise row(String sku, int onHand, int inbound, int outbound) {
+        return new AvailableToPromise() {
+            @Override
+            public Long getProductId() {
+                return 1L;
+            }
+
+            @Override
+            public String getProductSku() {
+                return sku;
+            }
+
+            @Override
+            public Long getWarehouseId() {
+                return 3L;
+            }
+
+            @Override
+            public String getWarehouseName() {
+                return "Main";
+            }
+
+            @Override
+            public Integer getOnHand() {
+                return onHand;
+            }
+
+            @Override
+            public Integer getInbound() {
+                return inbound;
+            }
+
+            @Override
+            public Integer getOutbound() {
+                return outbound;
+            }
+
+            @Override
+            public Integer getAvailable() {
+                return onHand + inbound - outbound;
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.wms.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private AuthenticationCache cache;
+
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AuthenticationCache(Duration.ofMinutes(1));
+        provider = new CachingAuthenticationProvider(delegate, cache);
+    }
+
+    @Test
+    void repeatedCredentialsSkipDelegate() {
+        when(delegate.authenticate(any())).thenAnswer(invocation -> authenticated(invocation.getArgument(0)));
+
+        Authentication first = provider.authenticate(credentials("picker", "secret"));
+        Authentication second = provider.authenticate(credentials("picker", "secret"));
+
+        verify(delegate, times(1)).authenticate(any());
+        assertTrue(second.isAuthenticated());
+        assertEquals(first.getPrincipal(), second.getPrincipal());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        assertNull(second.getCredentials());
+    }
+
+    @Test
+    void otherPasswordIsVerifiedAgain() {
+        when(delegate.authenticate(any()))
+                .thenAnswer(invocation -> authenticated(invocation.getArgument(0)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        provider.authenticate(credentials("picker", "secret"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("picker", "guess")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void failedAuthenticationIsNotCached() {
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("picker", "guess")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("picker", "guess")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void evictForcesVerificationOfThatUserOnly() {
+        when(delegate.authenticate(any())).thenAnswer(invocation -> authenticated(invocation.getArgument(0)));
+        provider.authenticate(credentials("picker", "secret"));
+        provider.authenticate(credentials("receiver", "secret"));
+
+        cache.evict("picker");
+        provider.authenticate(credentials("picker", "secret"));
+        provider.authenticate(credentials("receiver", "secret"));
+
+        verify(delegate, times(3)).authenticate(any());
+    }
+
+    @Test
+    void evictDuringVerificationDropsResult() {
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            cache.evict("picker");
+            return authenticated(invocation.getArgument(0));
+        });
+
+        provider.authenticate(credentials("picker", "secret"));
+        provider.authenticate(credentials("picker", "secret"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void zeroTtlDisablesCache() {
+        provider = new CachingAuthenticationProvider(delegate, new AuthenticationCache(Duration.ZERO));
+        when(delegate.authenticate(any())).thenAnswer(invocation -> authenticated(invocation.getArgument(0)));
+
+        provider.authenticate(credentials("picker", "secret"));
+        provider.authenticate(credentials("picker", "secret"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void evictSeveralForcesVerificationOfThoseUsersOnly() {
+        when(delegate.authenticate(any())).thenAnswer(invocation -> authenticated(invocation.getArgument(0)));
+        provider.authenticate(credentials("picker", "secret"));
+        provider.authenticate(credentials("receiver", "secret"));
+        provider.authenticate(credentials("auditor", "secret"));
+
+        cache.evict("picker", "receiver");
+        provider.authenticate(credentials("picker", "secret"));
+        provider.authenticate(credentials("receiver", "secret"));
+        provider.authenticate(credentials("auditor", "secret"));
+
+        verify(delegate, times(5)).authenticate(any());
+    }
+
+    private static Authentication credentials(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+
+    private static Authentication authenticated(Authentication request) {
+        return UsernamePasswordAuthenticationToken.authenticated(request.getName(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_PICKER")));
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +48,22 @@ class CustomUserDetailsServiceTest {
         assertEquals("ROLE_ADMIN", userDetails.getAuthorities().iterator().next().getAuthority());
     }
 
+    @Test
+    void loadUserByUsernameDeactivatedUserIsDisabled() {
+        Role role = new Role();
+        role.setName("ROLE_ADMIN");
+
+        User user = new User();
+        user.setUsername("testUser");
+        user.setPasswordHash("hashedPassword");
+        user.setRole(role);
+        user.setIsActive(false);
+
+        when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
+
+        assertFalse(customUserDetailsService.loadUserByUsername(user.getUsername()).isEnabled());
+    }
+
     @Test
     void loadUserByUsernameUserDoesNotExistThrowsUsernameNotFoundException() {
         String username = "nonExistentUser";
@@ -7,29 +7,32 @@ import com.example.wms.model.db.repository.DocumentRepository;
 import com.example.wms.model.db.repository.PartnerRepository;
 import com.example.wms.model.dto.request.DocumentInfoReq;
 import com.example.wms.model.dto.response.DocumentInfoResp;
+import com.example.wms.model.enums.TotalMode;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,14 +47,6 @@ class DocumentServiceImplTest {
     @Mock
     private PartnerRepository partnerRepository;
 
-    @Spy
-    private ObjectMapper objectMapper;
-
-    @BeforeEach
-    public void setUp() {
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    }
 
     @Test
     void createDocument() {
@@ -163,16 +158,14 @@ class DocumentServiceImplTest {
 
         Document document = new Document();
         document.setPartner(partner);
-        DocumentInfoResp documentInfoResp = new DocumentInfoResp();
 
         when(documentRepository.findAllFiltered(pageable, filter)).thenReturn(new PageImpl<>(List.of(document)));
-        when(objectMapper.convertValue(document, DocumentInfoResp.class)).thenReturn(documentInfoResp);
 
-        Page<DocumentInfoResp> result = documentService.getAllDocuments(pageNumber, pageSize, sortField, sortDirection, filter);
+        Slice<DocumentInfoResp> result = documentService.getAllDocuments(pageNumber, pageSize, sortField, sortDirection, filter, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(documentInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals("TestPartner", result.getContent().get(0).getPartnerName());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
     }
 
     @Test
@@ -189,19 +182,36 @@ class DocumentServiceImplTest {
 
         Document document = new Document();
         document.setPartner(partner);
-        DocumentInfoResp documentInfoResp = new DocumentInfoResp();
 
         when(documentRepository.findAllByIsActiveTrue(pageable)).thenReturn(new PageImpl<>(List.of(document)));
-        when(objectMapper.convertValue(document, DocumentInfoResp.class)).thenReturn(documentInfoResp);
 
-        Page<DocumentInfoResp> result = documentService.getAllDocuments(pageNumber, pageSize, sortField, sortDirection, null);
+        Slice<DocumentInfoResp> result = documentService.getAllDocuments(pageNumber, pageSize, sortField, sortDirection, null, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(documentInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals("TestPartner", result.getContent().get(0).getPartnerName());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
     }
 
 
+    @Test
+    void getAllDocumentsApproximateTotalIgnoresInactiveRows() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("documents"))).thenReturn(List.of(10L));
+        documentService = new DocumentServiceImpl(documentRepository, partnerRepository,
+                new TotalCountServiceImpl(jdbcTemplate, Duration.ofMinutes(1)));
+
+        Document document = new Document();
+        document.setPartner(new Partner());
+        Pageable pageable = PaginationUtils.getPageRequest(1, 2, "name", Sort.Direction.ASC);
+        when(documentRepository.findSliceByIsActiveTrue(pageable))
+                .thenReturn(new SliceImpl<>(List.of(document, document), pageable, true));
+        when(documentRepository.countByIsActiveTrue()).thenReturn(4L);
+
+        Slice<DocumentInfoResp> result = documentService.getAllDocuments(1, 2, "name", Sort.Direction.ASC, null, TotalMode.APPROXIMATE);
+
+        assertEquals(4L, assertInstanceOf(Page.class, result).getTotalElements());
+    }
+
     @Test
     void updateDocumentAllValues() {
         Partner partner = new Partner();
@@ -231,7 +241,6 @@ class DocumentServiceImplTest {
         expectedResponse.setNumber(req.getNumber());
         expectedResponse.setDate(req.getDate());
         expectedResponse.setNotes(req.getNotes());
-        when(objectMapper.convertValue(document, DocumentInfoResp.class)).thenReturn(expectedResponse);
 
         DocumentInfoResp resp = documentService.updateDocument(document.getId(), req);
 
@@ -270,7 +279,6 @@ class DocumentServiceImplTest {
         expectedResponse.setNumber(document.getNumber());
         expectedResponse.setDate(document.getDate());
         expectedResponse.setNotes(document.getNotes());
-        when(objectMapper.convertValue(document, DocumentInfoResp.class)).thenReturn(expectedResponse);
 
         DocumentInfoResp resp = documentService.updateDocument(document.getId(), req);
 
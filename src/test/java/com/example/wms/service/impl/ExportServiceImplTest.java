@@ -0,0 +1,110 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.model.db.repository.InventoryRepository;
+import com.example.wms.model.db.repository.OperationRepository;
+import com.example.wms.model.db.repository.StockRepository;
+import com.example.wms.model.dto.response.OperationExportResp;
+import com.example.wms.model.dto.response.StockExportResp;
+import com.example.wms.model.enums.ExportFormat;
+import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationType;
+import com.example.wms.model.enums.StockStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private OperationRepository operationRepository;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportServiceImpl(stockRepository, operationRepository, inventoryRepository, objectMapper);
+    }
+
+    @Test
+    void exportStocksWritesOneJsonObjectPerLineAndClosesCursor() throws Exception {
+        Instant since = Instant.parse("2025-01-01T00:00:00Z");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(stockRepository.streamForExport(since)).thenReturn(Stream.of(
+                stock(1L, "SKU-1", 5), stock(2L, "SKU-2", 7)).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.exportStocks(ExportFormat.NDJSON, since, out);
+
+        assertEquals(2, written);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"productSku\":\"SKU-1\""));
+        assertTrue(lines[1].contains("\"updatedAt\":\"2025-02-01T00:00:00Z\""));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportOperationsWritesCsvWithHeaderAndQuotedValues() throws Exception {
+        when(operationRepository.streamForExport(null)).thenReturn(Stream.of(OperationExportResp.builder()
+                .id(3L)
+                .operationType(OperationType.SHIPPING)
+                .operationStatus(OperationStatus.CREATED)
+                .username("ivanov")
+                .documentNumber("A,\"1\"")
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .build()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.exportOperations(ExportFormat.CSV, null, out);
+
+        assertEquals(1, written);
+        assertEquals("""
+                id,operationType,operationStatus,username,documentNumber,createdAt,updatedAt\r
+                3,SHIPPING,CREATED,ivanov,"A,""1""\",2025-01-01T00:00:00Z,\r
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportInventoriesWritesOnlyHeaderWhenNothingChanged() throws Exception {
+        when(inventoryRepository.streamForExport(null)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.exportInventories(ExportFormat.CSV, null, out));
+        assertEquals("id,stockId,productSku,locationName,actualQuantity,inventoryDate\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static StockExportResp stock(Long id, String sku, int quantity) {
+        return StockExportResp.builder()
+                .id(id)
+                .productSku(sku)
+                .locationName("A-01")
+                .quantity(quantity)
+                .status(StockStatus.AVAILABLE)
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .updatedAt(Instant.parse("2025-02-01T00:00:00Z"))
+                .build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.exception.GlobalExceptionHandler;
+import com.example.wms.model.db.entity.Stock;
+import com.example.wms.model.db.entity.IdempotencyKey;
+import com.example.wms.model.db.repository.IdempotencyKeyRepository;
+import com.example.wms.model.dto.request.OperationInfoReq;
+import com.example.wms.model.dto.response.OperationInfoResp;
+import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepository, transactionTemplate,
+                new ObjectMapper().findAndRegisterModules(), Duration.ofHours(24), 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void executeWithoutKeyRunsAction() {
+        OperationInfoResp response = idempotencyService.execute(null, "POST /operations/receiving/1", null,
+                OperationInfoResp.class, this::complete);
+
+        assertEquals(OperationStatus.COMPLETED, response.getOperationStatus());
+        assertEquals(1, executions.get());
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void executeStoresResponseAndReplaysIt() {
+        when(idempotencyKeyRepository.reserve(eq("key-1"), anyString(), any(), any())).thenReturn(1, 0);
+
+        OperationInfoResp first = idempotencyService.execute("key-1", "POST /operations/receiving/1", null,
+                OperationInfoResp.class, this::complete);
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyKeyRepository).reserve(eq("key-1"), hash.capture(), any(), any());
+        verify(idempotencyKeyRepository).complete(eq("key-1"), json.capture());
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(stored(hash.getValue(), json.getValue())));
+
+        OperationInfoResp replay = idempotencyService.execute("key-1", "POST /operations/receiving/1", null,
+                OperationInfoResp.class, this::complete);
+
+        assertEquals(1, executions.get());
+        assertEquals(first.getId(), replay.getId());
+        assertEquals(first.getOperationStatus(), replay.getOperationStatus());
+    }
+
+    @Test
+    void executeRejectsKeyReusedForAnotherRequest() {
+        when(idempotencyKeyRepository.reserve(eq("key-1"), anyString(), any(), any())).thenReturn(0);
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(stored("other", "{}")));
+
+        OperationInfoReq req = new OperationInfoReq();
+        req.setOperationType(OperationType.SHIPPING);
+        CommonBackendException exception = assertThrows(CommonBackendException.class,
+                () -> idempotencyService.execute("key-1", "POST /operations", req, OperationInfoResp.class, this::complete));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void executeRejectsRetryWhileFirstRequestIsRunning() {
+        when(idempotencyKeyRepository.reserve(eq("key-1"), anyString(), any(), any())).thenReturn(1, 0);
+        idempotencyService.execute("key-1", "POST /operations/receiving/1", null, OperationInfoResp.class, this::complete);
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyKeyRepository).reserve(eq("key-1"), hash.capture(), any(), any());
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(stored(hash.getValue(), null)));
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class,
+                () -> idempotencyService.execute("key-1", "POST /operations/receiving/1", null,
+                        OperationInfoResp.class, this::complete));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void failedActionReleasesKey() {
+        when(idempotencyKeyRepository.reserve(eq("key-1"), anyString(), any(), any())).thenReturn(1);
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class,
+                () -> idempotencyService.execute("key-1", "POST /operations/shipping/1", null, OperationInfoResp.class, () -> {
+                    throw new CommonBackendException("The operation must be in the 'IN_PROGRESS' status", HttpStatus.FORBIDDEN);
+                }));
+
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+        verify(idempotencyKeyRepository).release("key-1");
+        verify(idempotencyKeyRepository, never()).complete(any(), any());
+    }
+
+    @Test
+    void lostOptimisticLockRaceReleasesKeyAndMapsToConflict() throws Exception {
+        when(idempotencyKeyRepository.reserve(eq("key-1"), anyString(), any(), any())).thenReturn(1);
+
+        ObjectOptimisticLockingFailureException exception = assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> idempotencyService.execute("key-1", "POST /operations/receiving/1", null, OperationInfoResp.class, () -> {
+                    throw new ObjectOptimisticLockingFailureException(Stock.class, 1L);
+                }));
+
+        verify(idempotencyKeyRepository).release("key-1");
+        verify(idempotencyKeyRepository, never()).complete(any(), any());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new GlobalExceptionHandler().handleOptimisticLockingFailure(response, exception);
+        assertEquals(HttpStatus.CONFLICT.value(), response.getStatus());
+    }
+
+    @Test
+    void executeRejectsBlankKey() {
+        CommonBackendException exception = assertThrows(CommonBackendException.class,
+                () -> idempotencyService.execute(" ", "POST /operations", null, OperationInfoResp.class, this::complete));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void purgeExpiredDeletesInBatches() {
+        when(idempotencyKeyRepository.deleteExpired(any(), eq(2))).thenReturn(2, 2, 1);
+
+        assertEquals(5, idempotencyService.purgeExpired());
+        verify(idempotencyKeyRepository, times(3)).deleteExpired(any(), eq(2));
+    }
+
+    private OperationInfoResp complete() {
+        executions.incrementAndGet();
+        return OperationInfoResp.builder()
+                .id(1L)
+                .operationStatus(OperationStatus.COMPLETED)
+                .build();
+    }
+
+    private static IdempotencyKey stored(String requestHash, String response) {
+        IdempotencyKey key = new IdempotencyKey();
+        key.setKey("key-1");
+        key.setRequestHash(requestHash);
+        key.setResponse(response);
+        key.setCreatedAt(Instant.now());
+        key.setExpiresAt(Instant.now().plus(Duration.ofHours(24)));
+        return key;
+    }
+}
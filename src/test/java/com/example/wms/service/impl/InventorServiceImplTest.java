@@ -4,25 +4,24 @@ import com.example.wms.exception.CommonBackendException;
 import com.example.wms.model.db.entity.Inventory;
 import com.example.wms.model.db.entity.Stock;
 import com.example.wms.model.db.repository.InventoryRepository;
+import com.example.wms.model.dto.response.CursorPageResp;
 import com.example.wms.model.dto.response.InventorInfoResp;
+import com.example.wms.model.enums.TotalMode;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
@@ -36,8 +35,6 @@ class InventorServiceImplTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
-    @Spy
-    private ObjectMapper objectMapper;
 
 
     @Test
@@ -56,7 +53,6 @@ class InventorServiceImplTest {
         expectedResp.setId(inventory.getId());
         expectedResp.setActualQuantity(inventory.getActualQuantity());
         expectedResp.setStockId(inventory.getStock().getId());
-        when(objectMapper.convertValue(inventory, InventorInfoResp.class)).thenReturn(expectedResp);
 
         InventorInfoResp resp = inventorService.getInventory(inventory.getId());
 
@@ -96,16 +92,15 @@ class InventorServiceImplTest {
         inventory.setId(1L);
         inventory.setStock(stock);
 
-        InventorInfoResp inventorInfoResp = new InventorInfoResp();
 
         when(inventoryRepository.findAllFiltered(filter, pageable)).thenReturn(new PageImpl<>(List.of(inventory)));
-        when(objectMapper.convertValue(inventory, InventorInfoResp.class)).thenReturn(inventorInfoResp);
 
-        Page<InventorInfoResp> result = inventorService.getAllInventories(pageNumber, pageSize, sortField, sortDirection, filter);
+        Slice<InventorInfoResp> result = inventorService.getAllInventories(pageNumber, pageSize, sortField, sortDirection, filter, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(inventorInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals(1L, result.getContent().get(0).getId());
+        assertEquals(1L, result.getContent().get(0).getStockId());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
     }
 
     @Test
@@ -124,15 +119,33 @@ class InventorServiceImplTest {
         inventory.setId(1L);
         inventory.setStock(stock);
 
-        InventorInfoResp inventorInfoResp = new InventorInfoResp();
 
         when(inventoryRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(inventory)));
-        when(objectMapper.convertValue(inventory, InventorInfoResp.class)).thenReturn(inventorInfoResp);
 
-        Page<InventorInfoResp> result = inventorService.getAllInventories(pageNumber, pageSize, sortField, sortDirection, null);
+        Slice<InventorInfoResp> result = inventorService.getAllInventories(pageNumber, pageSize, sortField, sortDirection, null, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(inventorInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals(1L, result.getContent().get(0).getId());
+        assertEquals(1L, result.getContent().get(0).getStockId());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    void scrollInventoriesWithoutFilter() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "inventoryDate");
+        Stock stock = new Stock();
+        stock.setId(1L);
+        Inventory inventory = new Inventory();
+        inventory.setId(1L);
+        inventory.setStock(stock);
+
+        when(inventoryRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(10)))
+                .thenReturn(Window.from(List.of(inventory), i -> ScrollPosition.keyset(), false));
+
+        CursorPageResp<InventorInfoResp> result = inventorService.scrollInventories(null, 10, "inventoryDate", Sort.Direction.DESC, null);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(1L, result.getContent().get(0).getStockId());
+        assertNull(result.getNextCursor());
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.TestData;
+import com.example.wms.model.db.entity.*;
+import com.example.wms.model.db.repository.*;
+import com.example.wms.model.dto.response.CursorPageResp;
+import com.example.wms.model.dto.response.LocationInfoResp;
+import com.example.wms.model.dto.response.OperationDetailInfoResp;
+import com.example.wms.model.dto.response.StockInfoResp;
+import com.example.wms.model.enums.OperationType;
+import com.example.wms.model.enums.TotalMode;
+import com.example.wms.service.*;
+import com.example.wms.utils.PaginationUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every paged listing must cost one data query plus at most one count query, whatever the page contains.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+@Import(TestData.class)
+class ListQueryStatementCountTest {
+
+    private static final int KEYS_PER_SIDE = 2;
+    private static final int INVENTORIES_PER_STOCK = 3;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private OperationDetailService operationDetailService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OperationDetailRepository operationDetailRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    private String suffix;
+    private final List<Product> products = new ArrayList<>();
+    private final List<Location> locations = new ArrayList<>();
+    private final List<Operation> operations = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        suffix = testData.suffix();
+
+        Warehouse warehouse = testData.createWarehouse();
+        for (int i = 0; i < KEYS_PER_SIDE; i++) {
+            locations.add(testData.createLocation(warehouse, "loc-" + i));
+            products.add(testData.createProduct("sku-" + i));
+        }
+
+        for (Product product : products) {
+            for (Location location : locations) {
+                Stock stock = stockRepository.upsertQuantity(product.getId(), location.getId(), 1);
+                for (int i = 0; i < INVENTORIES_PER_STOCK; i++) {
+                    Inventory inventory = new Inventory();
+                    inventory.setActualQuantity(1);
+                    inventory.setStock(stock);
+                    inventoryRepository.save(inventory);
+                }
+            }
+        }
+
+        for (int i = 0; i < KEYS_PER_SIDE; i++) {
+            operations.add(testData.createOperation(OperationType.TRANSFER,
+                    testData.createUser("user-" + i), testData.createDocument("doc-" + i)));
+        }
+
+        for (int i = 0; i < KEYS_PER_SIDE; i++) {
+            OperationDetail detail = new OperationDetail();
+            detail.setOperation(operations.get(0));
+            detail.setProduct(products.get(i));
+            detail.setFromLocation(locations.get(i));
+            detail.setToLocation(locations.get(KEYS_PER_SIDE - 1 - i));
+            detail.setQuantity(1);
+            operationDetailRepository.save(detail);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void getAllStocksDoesNotTouchInventories() {
+        Pageable pageable = PaginationUtils.getPageRequest(1, 10, "id", Sort.Direction.ASC);
+
+        long mapped = countStatements(() -> {
+            List<StockInfoResp> content = stockService.getAllStocks(1, 10, "id", Sort.Direction.ASC, suffix, TotalMode.EXACT).getContent();
+            assertEquals(KEYS_PER_SIDE * KEYS_PER_SIDE, content.size());
+        });
+        long converted = countStatements(() -> transactionTemplate.executeWithoutResult(status ->
+                stockRepository.findAllFiltered(pageable, suffix)
+                        .forEach(stock -> {
+                            StockInfoResp resp = objectMapper.convertValue(stock, StockInfoResp.class);
+                            resp.setProductSku(stock.getProduct().getSku());
+                            resp.setLocationName(stock.getLocation().getName());
+                        })));
+
+        assertTrue(mapped <= 2, "statements: " + mapped);
+        assertTrue(mapped < converted, "mapped: " + mapped + ", converted: " + converted);
+    }
+
+    @Test
+    void getAllLocationsDoesNotTouchStocksOrOperations() {
+        Pageable pageable = PaginationUtils.getPageRequest(1, KEYS_PER_SIDE, "id", Sort.Direction.DESC);
+
+        long mapped = countStatements(() -> {
+            List<LocationInfoResp> content = locationService.getAllLocations(1, KEYS_PER_SIDE, "id", Sort.Direction.DESC, null).getContent();
+            assertEquals(locations.get(KEYS_PER_SIDE - 1).getId(), content.get(0).getId());
+        });
+        long converted = countStatements(() -> transactionTemplate.executeWithoutResult(status ->
+                locationRepository.findAllByIsActiveTrue(pageable)
+                        .forEach(location -> {
+                            LocationInfoResp resp = objectMapper.convertValue(location, LocationInfoResp.class);
+                            resp.setWarehouseName(location.getWarehouse().getName());
+                        })));
+
+        assertTrue(mapped <= 2, "statements: " + mapped);
+        assertTrue(mapped < converted, "mapped: " + mapped + ", converted: " + converted);
+    }
+
+    @Test
+    void getAllProductsFetchesCategoryAndManufacturer() {
+        long statements = countStatements(() -> assertEquals(KEYS_PER_SIDE,
+                productService.getAllProducts(1, 10, "id", Sort.Direction.ASC, suffix, TotalMode.EXACT).getContent().size()));
+        assertTrue(statements <= 2, "statements: " + statements);
+
+        statements = countStatements(() -> productService.getAllProducts(1, 10, "id", Sort.Direction.DESC, null, TotalMode.EXACT));
+        assertTrue(statements <= 2, "statements: " + statements);
+    }
+
+    @Test
+    void getAllDocumentsFetchesPartner() {
+        long statements = countStatements(() -> assertEquals(KEYS_PER_SIDE,
+                documentService.getAllDocuments(1, 10, "id", Sort.Direction.ASC, suffix, TotalMode.EXACT).getContent().size()));
+        assertTrue(statements <= 2, "statements: " + statements);
+
+        statements = countStatements(() -> documentService.getAllDocuments(1, 10, "id", Sort.Direction.DESC, null, TotalMode.EXACT));
+        assertTrue(statements <= 2, "statements: " + statements);
+    }
+
+    @Test
+    void getAllOperationsFetchesUserAndDocument() {
+        long statements = countStatements(() -> assertEquals(operations.get(KEYS_PER_SIDE - 1).getId(),
+                operationService.getAllOperations(1, 10, "id", Sort.Direction.DESC, OperationType.TRANSFER, TotalMode.EXACT).getContent().get(0).getId()));
+        assertTrue(statements <= 2, "statements: " + statements);
+
+        statements = countStatements(() -> operationService.getAllOperations(1, 10, "id", Sort.Direction.DESC, null, TotalMode.EXACT));
+        assertTrue(statements <= 2, "statements: " + statements);
+    }
+
+    @Test
+    void getAllOperationDetailsFetchesProductLocationsAndOperation() {
+        long statements = countStatements(() -> assertEquals(KEYS_PER_SIDE,
+                operationDetailService.getAllOperationDetails(1, 10, "id", Sort.Direction.ASC, operations.get(0).getId(), TotalMode.EXACT).getContent().size()));
+        assertTrue(statements <= 2, "statements: " + statements);
+
+        statements = countStatements(() -> operationDetailService.getAllOperationDetails(1, 10, "id", Sort.Direction.DESC, null, TotalMode.EXACT));
+        assertTrue(statements <= 2, "statements: " + statements);
+    }
+
+    @Test
+    void getAllUsersFetchesRole() {
+        long statements = countStatements(() -> assertEquals(KEYS_PER_SIDE,
+                userService.getAllUsers(1, 10, "id", Sort.Direction.ASC, suffix).getContent().size()));
+        assertTrue(statements <= 2, "statements: " + statements);
+    }
+
+    @Test
+    void stockFilterMatchesSkuOrLocationNameOnce() {
+        assertEquals(KEYS_PER_SIDE, stockRepository.findAllFiltered(PageRequest.of(0, 10), "sku-0-" + suffix).getTotalElements());
+
+        assertEquals(KEYS_PER_SIDE, stockRepository.countFiltered("loc-1-" + suffix));
+        assertEquals(KEYS_PER_SIDE * KEYS_PER_SIDE, stockRepository.countFiltered("-" + suffix));
+        assertEquals(KEYS_PER_SIDE, productRepository.countFiltered("cat-" + suffix));
+    }
+
+    @Test
+    void getAllStocksWithoutTotalIssuesNoCountQuery() {
+        AtomicReference<Slice<StockInfoResp>> first = new AtomicReference<>();
+        long statements = countStatements(() -> first.set(stockService.getAllStocks(1, 3, "id", Sort.Direction.ASC, suffix, TotalMode.NONE)));
+        assertEquals(1, statements);
+        assertFalse(first.get() instanceof Page);
+        assertEquals(3, first.get().getNumberOfElements());
+        assertTrue(first.get().hasNext());
+
+        AtomicReference<Slice<StockInfoResp>> last = new AtomicReference<>();
+        statements = countStatements(() -> last.set(stockService.getAllStocks(2, 3, "id", Sort.Direction.ASC, suffix, TotalMode.NONE)));
+        assertEquals(1, statements);
+        assertEquals(KEYS_PER_SIDE * KEYS_PER_SIDE - 3, last.get().getNumberOfElements());
+        assertFalse(last.get().hasNext());
+    }
+
+    @Test
+    void getAllStocksApproximateTotalCountsFilterOnce() {
+        long statements = countStatements(() -> assertEquals(KEYS_PER_SIDE * KEYS_PER_SIDE, ((Page<StockInfoResp>)
+                stockService.getAllStocks(1, 3, "id", Sort.Direction.ASC, suffix, TotalMode.APPROXIMATE)).getTotalElements()));
+        assertEquals(2, statements);
+
+        statements = countStatements(() -> assertEquals(KEYS_PER_SIDE * KEYS_PER_SIDE, ((Page<StockInfoResp>)
+                stockService.getAllStocks(2, 3, "id", Sort.Direction.ASC, suffix, TotalMode.APPROXIMATE)).getTotalElements()));
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void scrollStocksVisitsEveryRowOnceWithoutCountQuery() {
+        Set<Long> seen = new HashSet<>();
+        String after = null;
+        int windows = 0;
+        do {
+            AtomicReference<CursorPageResp<StockInfoResp>> window = new AtomicReference<>();
+            String cursor = after;
+            long statements = countStatements(() -> window.set(stockService.scrollStocks(cursor, 3, "status", Sort.Direction.ASC, suffix)));
+            assertEquals(1, statements);
+
+            window.get().getContent().forEach(stock -> assertTrue(seen.add(stock.getId())));
+            after = window.get().getNextCursor();
+            windows++;
+        } while (after != null);
+
+        assertEquals(KEYS_PER_SIDE * KEYS_PER_SIDE, seen.size());
+        assertEquals(2, windows);
+    }
+
+    @Test
+    void scrollOperationDetailsFollowsCursorAcrossWindows() {
+        CursorPageResp<OperationDetailInfoResp> first = operationDetailService.scrollOperationDetails(
+                null, 1, "id", Sort.Direction.DESC, operations.get(0).getId());
+        assertNotNull(first.getNextCursor());
+
+        long statements = countStatements(() -> {
+            CursorPageResp<OperationDetailInfoResp> second = operationDetailService.scrollOperationDetails(
+                    first.getNextCursor(), 1, "id", Sort.Direction.DESC, operations.get(0).getId());
+            assertTrue(second.getContent().get(0).getId() < first.getContent().get(0).getId());
+            assertNull(second.getNextCursor());
+        });
+        assertEquals(1, statements);
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
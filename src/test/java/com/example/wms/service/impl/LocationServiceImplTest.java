@@ -9,12 +9,10 @@ import com.example.wms.model.dto.request.LocationInfoReq;
 import com.example.wms.model.dto.response.LocationInfoResp;
 import com.example.wms.model.enums.LocationType;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -43,8 +41,9 @@ class LocationServiceImplTest {
     @Mock
     private WarehouseRepository warehouseRepository;
 
-    @Spy
-    private ObjectMapper objectMapper;
+    @Mock
+    private ReferenceResolver referenceResolver;
+
 
     @Test
     void createLocation() {
@@ -166,15 +165,13 @@ class LocationServiceImplTest {
 
         Location location = new Location();
         location.setWarehouse(warehouse);
-        LocationInfoResp locationInfoResp = new LocationInfoResp();
 
         when(locationRepository.findAllFiltered(LocationType.valueOf(filter), pageable)).thenReturn(new PageImpl<>(List.of(location)));
-        when(objectMapper.convertValue(location, LocationInfoResp.class)).thenReturn(locationInfoResp);
 
         Page<LocationInfoResp> result = locationService.getAllLocations(pageNumber, pageSize, sortField, sortDirection, LocationType.valueOf(filter));
 
         assertEquals(1, result.getContent().size());
-        assertEquals(locationInfoResp, result.getContent().get(0));
+        assertEquals(warehouse.getName(), result.getContent().get(0).getWarehouseName());
         assertEquals(1, result.getTotalElements());
     }
 
@@ -192,15 +189,13 @@ class LocationServiceImplTest {
 
         Location location = new Location();
         location.setWarehouse(warehouse);
-        LocationInfoResp locationInfoResp = new LocationInfoResp();
 
         when(locationRepository.findAllByIsActiveTrue(pageable)).thenReturn(new PageImpl<>(List.of(location)));
-        when(objectMapper.convertValue(location, LocationInfoResp.class)).thenReturn(locationInfoResp);
 
         Page<LocationInfoResp> result = locationService.getAllLocations(pageNumber, pageSize, sortField, sortDirection, null);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(locationInfoResp, result.getContent().get(0));
+        assertEquals(warehouse.getName(), result.getContent().get(0).getWarehouseName());
         assertEquals(1, result.getTotalElements());
     }
 
@@ -256,6 +251,7 @@ class LocationServiceImplTest {
         assertEquals(expectedResponse.getDimensions(), resp.getDimensions());
         assertEquals(expectedResponse.getDescription(), resp.getDescription());
         assertEquals(expectedResponse.getWarehouseName(), resp.getWarehouseName());
+        verify(referenceResolver).evictLocationNames("TestName", "NewName");
     }
 
     @Test
@@ -396,6 +392,7 @@ class LocationServiceImplTest {
 
         locationService.deleteLocation(location.getId());
         verify(locationRepository, times(1)).save(any(Location.class));
+        verify(referenceResolver).evictLocationNames(location.getName());
         assertEquals(false, location.getIsActive());
     }
 
@@ -1,33 +1,42 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.exception.OperationDetailBulkException;
 import com.example.wms.model.db.entity.Location;
 import com.example.wms.model.db.entity.Operation;
 import com.example.wms.model.db.entity.OperationDetail;
 import com.example.wms.model.db.entity.Product;
+import com.example.wms.model.db.projection.LocationRef;
+import com.example.wms.model.db.projection.ProductRef;
 import com.example.wms.model.db.repository.LocationRepository;
 import com.example.wms.model.db.repository.OperationDetailRepository;
 import com.example.wms.model.db.repository.OperationRepository;
 import com.example.wms.model.db.repository.ProductRepository;
+import com.example.wms.model.dto.request.OperationDetailBulkReq;
 import com.example.wms.model.dto.request.OperationDetailInfoReq;
+import com.example.wms.model.dto.response.CursorPageResp;
+import com.example.wms.model.dto.response.OperationDetailBulkResp;
 import com.example.wms.model.dto.response.OperationDetailInfoResp;
 import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationType;
+import com.example.wms.model.enums.TotalMode;
+import com.example.wms.service.AvailableToPromiseService;
+import com.example.wms.service.ReservationService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -52,8 +61,15 @@ class OperationDetailServiceImplTest {
     @Mock
     private OperationRepository operationRepository;
 
-    @Spy
-    private ObjectMapper objectMapper;
+    @Mock
+    private ReferenceResolver referenceResolver;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private AvailableToPromiseService availableToPromiseService;
+
 
     @Test
     void createOperationDetailSuccess() {
@@ -83,9 +99,12 @@ class OperationDetailServiceImplTest {
         operation.setId(1L);
         operation.setOperationStatus(OperationStatus.CREATED);
 
-        when(productRepository.findBySkuAndIsActiveTrue(req.getSku())).thenReturn(Optional.of(product));
-        when(locationRepository.findByNameAndIsActiveTrue(req.getFromLocationName())).thenReturn(Optional.of(fromLocation));
-        when(locationRepository.findByNameAndIsActiveTrue(req.getToLocationName())).thenReturn(Optional.of(toLocation));
+        when(referenceResolver.activeProductId(req.getSku())).thenReturn(Optional.of(1L));
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
+        when(referenceResolver.activeLocationId(req.getFromLocationName())).thenReturn(Optional.of(1L));
+        when(locationRepository.getReferenceById(1L)).thenReturn(fromLocation);
+        when(referenceResolver.activeLocationId(req.getToLocationName())).thenReturn(Optional.of(2L));
+        when(locationRepository.getReferenceById(2L)).thenReturn(toLocation);
         when(operationRepository.findById(req.getOperationId())).thenReturn(Optional.of(operation));
 
         OperationDetail operationDetail = new OperationDetail();
@@ -104,6 +123,47 @@ class OperationDetailServiceImplTest {
         assertEquals(req.getQuantity(), response.getQuantity());
         assertEquals(req.getFromLocationName(), response.getFromLocationName());
         assertEquals(req.getToLocationName(), response.getToLocationName());
+        verifyNoInteractions(reservationService);
+        verify(availableToPromiseService).addPending(null, new Long[]{1L}, new Long[]{1L}, new Long[]{2L}, new Integer[]{10});
+    }
+
+    @Test
+    void createShippingDetailReservesOnlyThatDetail() {
+        OperationDetailInfoReq req = new OperationDetailInfoReq(1L, "SKU123", 10, "Location A", "Location B");
+
+        Product product = new Product();
+        product.setId(1L);
+        product.setSku("SKU123");
+        Location fromLocation = new Location();
+        fromLocation.setId(1L);
+        fromLocation.setName("Location A");
+        Location toLocation = new Location();
+        toLocation.setId(2L);
+        toLocation.setName("Location B");
+
+        Operation operation = new Operation();
+        operation.setId(1L);
+        operation.setOperationType(OperationType.SHIPPING);
+        operation.setOperationStatus(OperationStatus.CREATED);
+
+        when(referenceResolver.activeProductId("SKU123")).thenReturn(Optional.of(1L));
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
+        when(referenceResolver.activeLocationId("Location A")).thenReturn(Optional.of(1L));
+        when(locationRepository.getReferenceById(1L)).thenReturn(fromLocation);
+        when(referenceResolver.activeLocationId("Location B")).thenReturn(Optional.of(2L));
+        when(locationRepository.getReferenceById(2L)).thenReturn(toLocation);
+        when(operationRepository.findById(1L)).thenReturn(Optional.of(operation));
+        when(operationDetailRepository.save(any(OperationDetail.class))).thenAnswer(invocation -> {
+            OperationDetail detail = invocation.getArgument(0);
+            detail.setId(42L);
+            return detail;
+        });
+
+        operationDetailService.createOperationDetail(req);
+
+        InOrder order = inOrder(operationDetailRepository, reservationService);
+        order.verify(operationDetailRepository).flush();
+        order.verify(reservationService).reserve(List.of(42L));
     }
 
     @Test
@@ -115,7 +175,7 @@ class OperationDetailServiceImplTest {
         req.setFromLocationName("Location A");
         req.setToLocationName("Location B");
 
-        when(productRepository.findBySkuAndIsActiveTrue(req.getSku())).thenReturn(Optional.empty());
+        when(referenceResolver.activeProductId(req.getSku())).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationDetailService.createOperationDetail(req));
@@ -138,8 +198,9 @@ class OperationDetailServiceImplTest {
         product.setSku("SKU123");
         product.setIsActive(true);
 
-        when(productRepository.findBySkuAndIsActiveTrue(req.getSku())).thenReturn(Optional.of(product));
-        when(locationRepository.findByNameAndIsActiveTrue(req.getFromLocationName())).thenReturn(Optional.empty());
+        when(referenceResolver.activeProductId(req.getSku())).thenReturn(Optional.of(1L));
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
+        when(referenceResolver.activeLocationId(req.getFromLocationName())).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationDetailService.createOperationDetail(req));
@@ -168,9 +229,11 @@ class OperationDetailServiceImplTest {
         fromLocation.setName("Location A");
         fromLocation.setIsActive(true);
 
-        when(productRepository.findBySkuAndIsActiveTrue(req.getSku())).thenReturn(Optional.of(product));
-        when(locationRepository.findByNameAndIsActiveTrue(req.getFromLocationName())).thenReturn(Optional.of(fromLocation));
-        when(locationRepository.findByNameAndIsActiveTrue(req.getToLocationName())).thenReturn(Optional.empty());
+        when(referenceResolver.activeProductId(req.getSku())).thenReturn(Optional.of(1L));
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
+        when(referenceResolver.activeLocationId(req.getFromLocationName())).thenReturn(Optional.of(1L));
+        when(locationRepository.getReferenceById(1L)).thenReturn(fromLocation);
+        when(referenceResolver.activeLocationId(req.getToLocationName())).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationDetailService.createOperationDetail(req));
@@ -202,9 +265,12 @@ class OperationDetailServiceImplTest {
         toLocation.setName("Location B");
         toLocation.setIsActive(true);
 
-        when(productRepository.findBySkuAndIsActiveTrue(req.getSku())).thenReturn(Optional.of(product));
-        when(locationRepository.findByNameAndIsActiveTrue(req.getFromLocationName())).thenReturn(Optional.of(fromLocation));
-        when(locationRepository.findByNameAndIsActiveTrue(req.getToLocationName())).thenReturn(Optional.of(toLocation));
+        when(referenceResolver.activeProductId(req.getSku())).thenReturn(Optional.of(1L));
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
+        when(referenceResolver.activeLocationId(req.getFromLocationName())).thenReturn(Optional.of(1L));
+        when(locationRepository.getReferenceById(1L)).thenReturn(fromLocation);
+        when(referenceResolver.activeLocationId(req.getToLocationName())).thenReturn(Optional.of(2L));
+        when(locationRepository.getReferenceById(2L)).thenReturn(toLocation);
         when(operationRepository.findById(req.getOperationId())).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
@@ -241,9 +307,12 @@ class OperationDetailServiceImplTest {
             operation.setId(1L);
         operation.setOperationStatus(OperationStatus.IN_PROGRESS);
 
-        when(productRepository.findBySkuAndIsActiveTrue(req.getSku())).thenReturn(Optional.of(product));
-        when(locationRepository.findByNameAndIsActiveTrue(req.getFromLocationName())).thenReturn(Optional.of(fromLocation));
-        when(locationRepository.findByNameAndIsActiveTrue(req.getToLocationName())).thenReturn(Optional.of(toLocation));
+        when(referenceResolver.activeProductId(req.getSku())).thenReturn(Optional.of(1L));
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
+        when(referenceResolver.activeLocationId(req.getFromLocationName())).thenReturn(Optional.of(1L));
+        when(locationRepository.getReferenceById(1L)).thenReturn(fromLocation);
+        when(referenceResolver.activeLocationId(req.getToLocationName())).thenReturn(Optional.of(2L));
+        when(locationRepository.getReferenceById(2L)).thenReturn(toLocation);
         when(operationRepository.findById(req.getOperationId())).thenReturn(Optional.of(operation));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () -> operationDetailService.createOperationDetail(req));
@@ -252,6 +321,120 @@ class OperationDetailServiceImplTest {
         assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
     }
 
+    @Test
+    void createOperationDetailsSuccess() {
+        Operation operation = new Operation();
+        operation.setId(1L);
+        operation.setOperationStatus(OperationStatus.CREATED);
+
+        OperationDetailBulkReq req = new OperationDetailBulkReq(1L, List.of(
+                bulkLine(null, "SKU1", 5, "Location A", "Location B"),
+                bulkLine(1L, "SKU2", 7, "Location B", "Location A"),
+                bulkLine(null, "SKU1", 3, "Location A", "Location B")));
+
+        List<ProductRef> products = List.of(productRef(10L, "SKU1"), productRef(20L, "SKU2"));
+        List<LocationRef> locations = List.of(locationRef(100L, "Location A"), locationRef(200L, "Location B"));
+
+        when(operationRepository.findById(1L)).thenReturn(Optional.of(operation));
+        when(productRepository.findActiveRefsBySkuIn(Set.of("SKU1", "SKU2"))).thenReturn(products);
+        when(locationRepository.findRefsByNameInAndIsActiveTrue(Set.of("Location A", "Location B"))).thenReturn(locations);
+        List<OperationDetail> saved = stubSaveAll(1L);
+
+        OperationDetailBulkResp resp = operationDetailService.createOperationDetails(req);
+
+        assertEquals(1L, resp.getOperationId());
+        assertEquals(3, resp.getCreated());
+        verify(operationDetailRepository).saveAll(anyList());
+        assertEquals(List.of(5, 7, 3), saved.stream().map(OperationDetail::getQuantity).toList());
+        assertEquals(List.of(1L, 2L, 3L), saved.stream().map(OperationDetail::getId).toList());
+        saved.forEach(detail -> assertSame(operation, detail.getOperation()));
+        verify(productRepository, times(2)).getReferenceById(10L);
+        verify(productRepository).getReferenceById(20L);
+        verify(availableToPromiseService).addPending(null,
+                new Long[]{10L, 20L, 10L},
+                new Long[]{100L, 200L, 100L},
+                new Long[]{200L, 100L, 200L},
+                new Integer[]{5, 7, 3});
+        verifyNoInteractions(referenceResolver);
+        verifyNoInteractions(reservationService);
+    }
+
+    @Test
+    void createOperationDetailsReservesStockForShipping() {
+        Operation operation = new Operation();
+        operation.setId(1L);
+        operation.setOperationType(OperationType.SHIPPING);
+        operation.setOperationStatus(OperationStatus.CREATED);
+
+        OperationDetailBulkReq req = new OperationDetailBulkReq(1L, List.of(
+                bulkLine(null, "SKU1", 5, "Location A", "Location B")));
+
+        List<ProductRef> products = List.of(productRef(10L, "SKU1"));
+        List<LocationRef> locations = List.of(locationRef(100L, "Location A"), locationRef(200L, "Location B"));
+
+        when(operationRepository.findById(1L)).thenReturn(Optional.of(operation));
+        when(productRepository.findActiveRefsBySkuIn(Set.of("SKU1"))).thenReturn(products);
+        when(locationRepository.findRefsByNameInAndIsActiveTrue(Set.of("Location A", "Location B"))).thenReturn(locations);
+        stubSaveAll(42L);
+
+        operationDetailService.createOperationDetails(req);
+
+        InOrder order = inOrder(operationDetailRepository, reservationService);
+        order.verify(operationDetailRepository).saveAll(anyList());
+        order.verify(reservationService).reserve(List.of(42L));
+        verify(availableToPromiseService).addPending(OperationType.SHIPPING, new Long[]{10L}, new Long[]{100L}, new Long[]{200L}, new Integer[]{5});
+    }
+
+    @Test
+    void createOperationDetailsReportsEveryInvalidRow() {
+        Operation operation = new Operation();
+        operation.setId(1L);
+        operation.setOperationStatus(OperationStatus.CREATED);
+
+        OperationDetailBulkReq req = new OperationDetailBulkReq(1L, List.of(
+                bulkLine(null, "SKU1", 5, "Location A", "Location B"),
+                bulkLine(2L, "MISSING", null, "Location A", "Location B"),
+                bulkLine(null, "SKU1", 5, "", "Nowhere")));
+
+        List<ProductRef> products = List.of(productRef(10L, "SKU1"));
+        List<LocationRef> locations = List.of(locationRef(100L, "Location A"), locationRef(200L, "Location B"));
+
+        when(operationRepository.findById(1L)).thenReturn(Optional.of(operation));
+        when(productRepository.findActiveRefsBySkuIn(any())).thenReturn(products);
+        when(locationRepository.findRefsByNameInAndIsActiveTrue(any())).thenReturn(locations);
+
+        OperationDetailBulkException exception = assertThrows(OperationDetailBulkException.class, () ->
+                operationDetailService.createOperationDetails(req));
+
+        assertEquals("2 of 3 operation details are invalid", exception.getMessage());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+        assertEquals(List.of("1:operationId:Detail belongs to another operation",
+                        "1:sku:Product not found",
+                        "1:quantity:must not be null",
+                        "2:fromLocationName:must not be empty",
+                        "2:toLocationName:Destination location not found"),
+                exception.getErrors().stream().map(e -> e.getRow() + ":" + e.getField() + ":" + e.getMessage()).toList());
+        verify(operationDetailRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createOperationDetailsOperationStatusNotCreated() {
+        Operation operation = new Operation();
+        operation.setId(1L);
+        operation.setOperationStatus(OperationStatus.COMPLETED);
+
+        OperationDetailBulkReq req = new OperationDetailBulkReq(1L, List.of(
+                bulkLine(null, "SKU1", 5, "Location A", "Location B")));
+
+        when(operationRepository.findById(1L)).thenReturn(Optional.of(operation));
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
+                operationDetailService.createOperationDetails(req));
+
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+        verifyNoInteractions(productRepository, locationRepository, operationDetailRepository);
+    }
+
     @Test
     void getAllOperationDetailsWithFilter() {
         int pageNumber = 0;
@@ -282,16 +465,17 @@ class OperationDetailServiceImplTest {
         operationDetail.setProduct(product);
         operationDetail.setFromLocation(fromLocation);
         operationDetail.setToLocation(toLocation);
-        OperationDetailInfoResp operationDetailInfoResp = new OperationDetailInfoResp();
 
         when(operationDetailRepository.findByOperationId(filter,pageable)).thenReturn(new PageImpl<>(List.of(operationDetail)));
-        when(objectMapper.convertValue(operationDetail, OperationDetailInfoResp.class)).thenReturn(operationDetailInfoResp);
 
-        Page<OperationDetailInfoResp> result = operationDetailService.getAllOperationDetails(pageNumber, pageSize, sortField, sortDirection, filter);
+        Slice<OperationDetailInfoResp> result = operationDetailService.getAllOperationDetails(pageNumber, pageSize, sortField, sortDirection, filter, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(operationDetailInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals(1L, result.getContent().get(0).getOperationId());
+        assertEquals("SKU123", result.getContent().get(0).getSku());
+        assertEquals("Location A", result.getContent().get(0).getFromLocationName());
+        assertEquals("Location B", result.getContent().get(0).getToLocationName());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
     }
 
     @Test
@@ -323,16 +507,17 @@ class OperationDetailServiceImplTest {
         operationDetail.setProduct(product);
         operationDetail.setFromLocation(fromLocation);
         operationDetail.setToLocation(toLocation);
-        OperationDetailInfoResp operationDetailInfoResp = new OperationDetailInfoResp();
 
         when(operationDetailRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(operationDetail)));
-        when(objectMapper.convertValue(operationDetail, OperationDetailInfoResp.class)).thenReturn(operationDetailInfoResp);
 
-        Page<OperationDetailInfoResp> result = operationDetailService.getAllOperationDetails(pageNumber, pageSize, sortField, sortDirection, null);
+        Slice<OperationDetailInfoResp> result = operationDetailService.getAllOperationDetails(pageNumber, pageSize, sortField, sortDirection, null, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(operationDetailInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals(1L, result.getContent().get(0).getOperationId());
+        assertEquals("SKU123", result.getContent().get(0).getSku());
+        assertEquals("Location A", result.getContent().get(0).getFromLocationName());
+        assertEquals("Location B", result.getContent().get(0).getToLocationName());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
     }
 
     @Test
@@ -418,11 +603,13 @@ class OperationDetailServiceImplTest {
         OperationDetailInfoResp operationDetailInfoResp = new OperationDetailInfoResp();
 
         when(operationDetailRepository.findById(detailId)).thenReturn(Optional.of(existingDetail));
-        when(productRepository.findBySkuAndIsActiveTrue("SKU123")).thenReturn(Optional.of(product));
-        when(locationRepository.findByNameAndIsActiveTrue("Location A")).thenReturn(Optional.of(fromLocation));
-        when(locationRepository.findByNameAndIsActiveTrue("Location B")).thenReturn(Optional.of(toLocation));
+        when(referenceResolver.activeProductId("SKU123")).thenReturn(Optional.of(1L));
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
+        when(referenceResolver.activeLocationId("Location A")).thenReturn(Optional.of(1L));
+        when(locationRepository.getReferenceById(1L)).thenReturn(fromLocation);
+        when(referenceResolver.activeLocationId("Location B")).thenReturn(Optional.of(2L));
+        when(locationRepository.getReferenceById(2L)).thenReturn(toLocation);
         when(operationDetailRepository.save(existingDetail)).thenReturn(existingDetail);
-        when(objectMapper.convertValue(existingDetail, OperationDetailInfoResp.class)).thenReturn(operationDetailInfoResp);
 
         OperationDetailInfoResp result = operationDetailService.updateOperationDetail(detailId, req);
 
@@ -481,7 +668,7 @@ class OperationDetailServiceImplTest {
         existingDetail.setOperation(operation);
 
         when(operationDetailRepository.findById(detailId)).thenReturn(Optional.of(existingDetail));
-        when(productRepository.findBySkuAndIsActiveTrue(req.getSku())).thenReturn(Optional.empty());
+        when(referenceResolver.activeProductId(req.getSku())).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationDetailService.updateOperationDetail(detailId, req));
@@ -505,7 +692,7 @@ class OperationDetailServiceImplTest {
 
         when(operationDetailRepository.findById(detailId)).thenReturn(Optional.of(existingDetail));
 
-        when(locationRepository.findByNameAndIsActiveTrue("Location A")).thenReturn(Optional.empty());
+        when(referenceResolver.activeLocationId("Location A")).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationDetailService.updateOperationDetail(detailId, req));
@@ -528,7 +715,7 @@ class OperationDetailServiceImplTest {
         existingDetail.setOperation(operation);
 
         when(operationDetailRepository.findById(detailId)).thenReturn(Optional.of(existingDetail));
-        when(locationRepository.findByNameAndIsActiveTrue("Location B")).thenReturn(Optional.empty());
+        when(referenceResolver.activeLocationId("Location B")).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationDetailService.updateOperationDetail(detailId, req));
@@ -553,6 +740,26 @@ class OperationDetailServiceImplTest {
         verify(operationDetailRepository, times(1)).delete(operationDetail);
     }
 
+    @Test
+    void deleteShippingDetailReleasesItsHoldFirst() {
+        OperationDetail operationDetail = new OperationDetail();
+        operationDetail.setId(1L);
+
+        Operation operation = new Operation();
+        operation.setOperationType(OperationType.SHIPPING);
+        operation.setOperationStatus(OperationStatus.CREATED);
+        operationDetail.setOperation(operation);
+
+        when(operationDetailRepository.findById(1L)).thenReturn(Optional.of(operationDetail));
+
+        operationDetailService.deleteOperationDetail(1L);
+
+        InOrder order = inOrder(availableToPromiseService, reservationService, operationDetailRepository);
+        order.verify(availableToPromiseService).removePending(List.of(1L));
+        order.verify(reservationService).releaseDetails(List.of(1L));
+        order.verify(operationDetailRepository).delete(operationDetail);
+    }
+
     @Test
     void deleteOperationDetailOperationNotInCreatedStatus() {
         Long detailId = 1L;
@@ -611,7 +818,6 @@ class OperationDetailServiceImplTest {
         expectedResp.setToLocationName("Location B");
         expectedResp.setSku("SKU123");
 
-        when(objectMapper.convertValue(detail, OperationDetailInfoResp.class)).thenReturn(expectedResp);
 
         OperationDetailInfoResp result = operationDetailService.getOperationDetailInfoResp(detail);
 
@@ -621,4 +827,73 @@ class OperationDetailServiceImplTest {
         assertEquals(expectedResp.getToLocationName(), result.getToLocationName());
         assertEquals(expectedResp.getSku(), result.getSku());
     }
-}
\ No newline at end of file
+
+    @Test
+    void scrollOperationDetailsWithFilter() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "id");
+        Operation operation = new Operation();
+        operation.setId(1L);
+        Product product = new Product();
+        product.setSku("SKU123");
+        Location fromLocation = new Location();
+        fromLocation.setName("Location A");
+        Location toLocation = new Location();
+        toLocation.setName("Location B");
+
+        List<OperationDetail> details = new ArrayList<>();
+        for (long id = 1; id <= 2; id++) {
+            OperationDetail detail = new OperationDetail();
+            detail.setId(id);
+            detail.setOperation(operation);
+            detail.setProduct(product);
+            detail.setFromLocation(fromLocation);
+            detail.setToLocation(toLocation);
+            details.add(detail);
+        }
+
+        when(operationDetailRepository.findByOperationId(1L, ScrollPosition.keyset(), sort, Limit.of(2)))
+                .thenReturn(Window.from(details, i -> ScrollPosition.forward(Map.of("id", details.get(i).getId())), true));
+
+        CursorPageResp<OperationDetailInfoResp> result = operationDetailService.scrollOperationDetails(null, 2, "id", Sort.Direction.ASC, 1L);
+
+        assertEquals(2, result.getContent().size());
+        assertEquals("SKU123", result.getContent().get(1).getSku());
+        assertNotNull(result.getNextCursor());
+    }
+
+    private static OperationDetailInfoReq bulkLine(Long operationId, String sku, Integer quantity, String from, String to) {
+        return new OperationDetailInfoReq(operationId, sku, quantity, from, to);
+    }
+
+    private static ProductRef productRef(Long id, String sku) {
+        ProductRef ref = mock(ProductRef.class);
+        when(ref.getId()).thenReturn(id);
+        when(ref.getSku()).thenReturn(sku);
+        return ref;
+    }
+
+    private static LocationRef locationRef(Long id, String name) {
+        LocationRef ref = mock(LocationRef.class);
+        when(ref.getId()).thenReturn(id);
+        when(ref.getName()).thenReturn(name);
+        return ref;
+    }
+
+    /**
+     * Makes saveAll assign consecutive ids from {@code firstId}, as the pooled sequence does, and returns the list
+     * the saved details are collected in.
+     */
+    private List<OperationDetail> stubSaveAll(long firstId) {
+        List<OperationDetail> saved = new ArrayList<>();
+        when(operationDetailRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<OperationDetail> details = invocation.getArgument(0);
+            long id = firstId;
+            for (OperationDetail detail : details) {
+                detail.setId(id++);
+            }
+            saved.addAll(details);
+            return details;
+        });
+        return saved;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.exception.StockShortageException;
+import com.example.wms.model.db.entity.Operation;
+import com.example.wms.model.db.entity.OperationDetail;
+import com.example.wms.model.db.repository.OperationDetailRepository;
+import com.example.wms.model.db.repository.OperationRepository;
+import com.example.wms.model.dto.response.OperationJobResp;
+import com.example.wms.model.dto.response.StockShortageResp;
+import com.example.wms.model.enums.OperationJobStatus;
+import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationType;
+import com.example.wms.service.AvailableToPromiseService;
+import com.example.wms.service.StockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OperationJobServiceImplTest {
+
+    @Mock
+    private OperationRepository operationRepository;
+
+    @Mock
+    private OperationDetailRepository operationDetailRepository;
+
+    @Mock
+    private StockService stockService;
+
+    @Mock
+    private AvailableToPromiseService availableToPromiseService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private Operation operation;
+
+    private List<OperationDetail> details;
+
+    @BeforeEach
+    void setUp() {
+        operation = new Operation();
+        operation.setId(1L);
+        operation.setOperationStatus(OperationStatus.IN_PROGRESS);
+
+        details = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            OperationDetail detail = new OperationDetail();
+            detail.setId(id);
+            detail.setQuantity(10);
+            details.add(detail);
+        }
+    }
+
+    @Test
+    void submitExecutesAllChunksAndCompletesOperation() {
+        stubExecution();
+
+        service(Runnable::run).submit(1L, OperationType.RECEIVING);
+
+        verify(stockService).increaseStocks(details.subList(0, 2));
+        verify(stockService).increaseStocks(details.subList(2, 3));
+        verify(operationDetailRepository).markExecuted(new Long[]{1L, 2L});
+        verify(operationDetailRepository).markExecuted(new Long[]{3L});
+        verify(availableToPromiseService).removePending(List.of(1L, 2L));
+        verify(availableToPromiseService).removePending(List.of(3L));
+        verify(operationRepository).save(operation);
+        assertEquals(OperationStatus.COMPLETED, operation.getOperationStatus());
+    }
+
+    @Test
+    void getJobReportsCompletedJob() {
+        stubExecution();
+        OperationJobServiceImpl service = service(queued::add);
+
+        OperationJobResp queuedResp = service.submit(1L, OperationType.RECEIVING);
+        queued.forEach(Runnable::run);
+        OperationJobResp resp = service.getJob(queuedResp.getJobId());
+
+        assertEquals(OperationJobStatus.QUEUED, queuedResp.getStatus());
+        assertEquals(OperationJobStatus.COMPLETED, resp.getStatus());
+        assertEquals(OperationStatus.COMPLETED, resp.getOperationStatus());
+        assertEquals(3, resp.getTotalLines());
+        assertEquals(3, resp.getProcessedLines());
+        assertEquals(0, resp.getFailedLines());
+        assertNotNull(resp.getFinishedAt());
+    }
+
+    @Test
+    void failedChunkIsRetriedLineByLine() {
+        stubExecution();
+        StockShortageResp shortage = StockShortageResp.builder().build();
+        doAnswer(invocation -> {
+            List<OperationDetail> lines = invocation.getArgument(0);
+            if (lines.contains(details.get(1))) {
+                throw new StockShortageException("Not enough stock", List.of(shortage));
+            }
+            return null;
+        }).when(stockService).decreaseStocks(any());
+        OperationJobServiceImpl service = service(queued::add);
+
+        UUID jobId = service.submit(1L, OperationType.SHIPPING).getJobId();
+        queued.forEach(Runnable::run);
+        OperationJobResp resp = service.getJob(jobId);
+
+        assertEquals(OperationJobStatus.FAILED, resp.getStatus());
+        assertEquals(OperationStatus.IN_PROGRESS, resp.getOperationStatus());
+        assertEquals(3, resp.getProcessedLines());
+        assertEquals(1, resp.getFailedLines());
+        assertEquals(2L, resp.getFailures().get(0).getDetailId());
+        assertSame(shortage, resp.getFailures().get(0).getShortage());
+        verify(operationDetailRepository).markExecuted(new Long[]{1L});
+        verify(operationDetailRepository).markExecuted(new Long[]{3L});
+        verify(operationRepository, never()).save(any());
+    }
+
+    @Test
+    void jobStopsWhenOperationLeavesInProgress() {
+        stubExecution();
+        OperationJobServiceImpl service = service(queued::add);
+
+        UUID jobId = service.submit(1L, OperationType.TRANSFER).getJobId();
+        operation.setOperationStatus(OperationStatus.CANCELLED);
+        queued.forEach(Runnable::run);
+        OperationJobResp resp = service.getJob(jobId);
+
+        assertEquals(OperationJobStatus.FAILED, resp.getStatus());
+        assertEquals(OperationStatus.CANCELLED, resp.getOperationStatus());
+        verifyNoInteractions(stockService);
+    }
+
+    @Test
+    void submitRejectsSecondJobForSameOperation() {
+        when(operationRepository.findById(1L)).thenReturn(Optional.of(operation));
+        when(operationDetailRepository.countByOperationId(1L)).thenReturn(3L);
+        OperationJobServiceImpl service = service(queued::add);
+        service.submit(1L, OperationType.RECEIVING);
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class,
+                () -> service.submit(1L, OperationType.RECEIVING));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    void submitRejectedWhenExecutorIsFull() {
+        when(operationRepository.findById(1L)).thenReturn(Optional.of(operation));
+        when(operationDetailRepository.countByOperationId(1L)).thenReturn(3L);
+        OperationJobServiceImpl service = service(task -> {
+            throw new TaskRejectedException("full");
+        });
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class,
+                () -> service.submit(1L, OperationType.RECEIVING));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+    }
+
+    @Test
+    void submitOperationNotInProgress() {
+        operation.setOperationStatus(OperationStatus.CREATED);
+        when(operationRepository.findById(1L)).thenReturn(Optional.of(operation));
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class,
+                () -> service(queued::add).submit(1L, OperationType.RECEIVING));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals("Cannot execute an operation in 'CREATED' status", exception.getMessage());
+        assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    void getJobNotFound() {
+        CommonBackendException exception = assertThrows(CommonBackendException.class,
+                () -> service(queued::add).getJob(UUID.randomUUID()));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    private OperationJobServiceImpl service(TaskExecutor executor) {
+        return new OperationJobServiceImpl(operationRepository, operationDetailRepository, stockService,
+                availableToPromiseService, transactionTemplate, executor, 2, Duration.ofHours(1), Clock.systemUTC());
+    }
+
+    private void stubExecution() {
+        when(operationRepository.findById(1L)).thenReturn(Optional.of(operation));
+        when(operationDetailRepository.countByOperationId(1L)).thenReturn(3L);
+        when(operationDetailRepository.findPendingIdsByOperationId(1L)).thenReturn(List.of(1L, 2L, 3L));
+        lenient().when(operationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(operation));
+        lenient().when(operationDetailRepository.findByIdInAndExecutedAtIsNullOrderById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return details.stream().filter(detail -> ids.contains(detail.getId())).toList();
+        });
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
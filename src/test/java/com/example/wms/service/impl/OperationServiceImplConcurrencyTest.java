@@ -0,0 +1,245 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.TestData;
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.model.db.entity.*;
+import com.example.wms.model.db.repository.*;
+import com.example.wms.exception.StockShortageException;
+import com.example.wms.model.dto.request.OperationDetailInfoReq;
+import com.example.wms.model.dto.request.OperationInfoReq;
+import com.example.wms.model.enums.OperationStatus;
+import com.example.wms.model.enums.OperationType;
+import com.example.wms.service.OperationDetailService;
+import com.example.wms.service.OperationService;
+import com.example.wms.service.StockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Import(TestData.class)
+class OperationServiceImplConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private OperationDetailService operationDetailService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private OperationDetailRepository operationDetailRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    private Product product;
+    private Location location;
+    private User user;
+    private Document document;
+
+    @BeforeEach
+    void setUp() {
+        location = testData.createLocation(testData.createWarehouse(), "loc");
+        product = testData.createProduct("sku");
+        user = testData.createUser("user");
+        document = testData.createDocument("doc");
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void concurrentStartSucceedsOnce() throws Exception {
+        Long operationId = createReceiving();
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        runConcurrently(THREADS, i -> {
+            try {
+                operationService.startOperation(operationId);
+                started.incrementAndGet();
+            } catch (CommonBackendException e) {
+                assertEquals(HttpStatus.CONFLICT, e.getStatus());
+                conflicts.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, started.get());
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(OperationStatus.IN_PROGRESS, operationRepository.findStatusById(operationId).orElseThrow());
+    }
+
+    @Test
+    void cancelRacingExecutionNeverBothSucceed() throws Exception {
+        int completed = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            Long operationId = createReceiving();
+            operationService.startOperation(operationId);
+            AtomicInteger succeeded = new AtomicInteger();
+
+            runConcurrently(2, i -> {
+                try {
+                    if (i == 0) {
+                        operationService.receivingOperation(operationId);
+                    } else {
+                        operationService.cancelOperation(operationId);
+                    }
+                    succeeded.incrementAndGet();
+                } catch (CommonBackendException e) {
+                    assertEquals(HttpStatus.CONFLICT, e.getStatus());
+                }
+            });
+
+            assertEquals(1, succeeded.get());
+            if (operationRepository.findStatusById(operationId).orElseThrow() == OperationStatus.COMPLETED) {
+                completed++;
+            }
+        }
+
+        assertEquals(completed, stockRepository.findByProductAndLocation(product, location).map(Stock::getQuantity).orElse(0));
+    }
+
+    @Test
+    void concurrentShippingOrdersNeverReserveMoreThanOnHand() throws Exception {
+        int onHand = 5;
+        stockService.increaseStock(product, location, onHand);
+        List<Long> shippings = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            shippings.add(createOperation(OperationType.SHIPPING));
+        }
+        List<Long> reserved = new CopyOnWriteArrayList<>();
+        AtomicInteger shortages = new AtomicInteger();
+
+        runConcurrently(THREADS, i -> {
+            try {
+                addShippingLine(shippings.get(i));
+                reserved.add(shippings.get(i));
+            } catch (StockShortageException e) {
+                shortages.incrementAndGet();
+            }
+        });
+
+        assertEquals(onHand, reserved.size());
+        assertEquals(THREADS - onHand, shortages.get());
+        assertEquals(onHand, reservedQuantity());
+
+        operationService.cancelOperation(reserved.get(0));
+        assertEquals(onHand - 1, reservedQuantity());
+
+        operationService.startOperation(reserved.get(1));
+        operationService.shippingOperation(reserved.get(1));
+        assertEquals(onHand - 2, reservedQuantity());
+        assertEquals(onHand - 1, stockRepository.findByProductAndLocation(product, location).orElseThrow().getQuantity());
+
+        Long late = createOperation(OperationType.SHIPPING);
+        addShippingLine(late);
+        assertEquals(onHand - 1, reservedQuantity());
+        assertThrows(StockShortageException.class, () -> addShippingLine(createOperation(OperationType.SHIPPING)));
+    }
+
+    @Test
+    void stockHeldForShippingCannotBeTransferredOrDecreased() {
+        Location other = testData.createLocation(location.getWarehouse(), "loc-b");
+        stockService.increaseStock(product, location, 2);
+        addShippingLine(createOperation(OperationType.SHIPPING));
+
+        assertThrows(StockShortageException.class, () -> stockService.transferStock(product, 2, location, other));
+        assertEquals(2, stockRepository.findByProductAndLocation(product, location).orElseThrow().getQuantity());
+
+        Long transfer = createOperation(OperationType.TRANSFER);
+        operationDetailService.createOperationDetail(new OperationDetailInfoReq(
+                transfer, product.getSku(), 2, location.getName(), other.getName()));
+        operationService.startOperation(transfer);
+        StockShortageException shortage = assertThrows(StockShortageException.class, () -> operationService.transferOperation(transfer));
+        assertEquals(HttpStatus.CONFLICT, shortage.getStatus());
+        assertEquals(1, shortage.getShortages().get(0).getAvailable());
+        assertEquals(OperationStatus.IN_PROGRESS, operationRepository.findStatusById(transfer).orElseThrow());
+        operationService.cancelOperation(transfer);
+
+        stockService.transferStock(product, 1, location, other);
+        assertEquals(1, stockRepository.findByProductAndLocation(product, other).orElseThrow().getQuantity());
+        assertThrows(StockShortageException.class, () -> stockService.decreaseStock(product, location, 1));
+        assertEquals(1, reservedQuantity());
+    }
+
+    private void addShippingLine(Long operationId) {
+        operationDetailService.createOperationDetail(new OperationDetailInfoReq(
+                operationId, product.getSku(), 1, location.getName(), location.getName()));
+    }
+
+    private int reservedQuantity() {
+        return jdbcTemplate.queryForObject("select reserved from stock_allocations where product_id = ? and location_id = ?",
+                Integer.class, product.getId(), location.getId());
+    }
+
+    private Long createOperation(OperationType operationType) {
+        return operationService.createOperation(new OperationInfoReq(operationType, user.getId(), document.getId())).getId();
+    }
+
+    private Long createReceiving() {
+        Long operationId = createOperation(OperationType.RECEIVING);
+
+        OperationDetail detail = new OperationDetail();
+        detail.setOperation(operationRepository.getReferenceById(operationId));
+        detail.setProduct(product);
+        detail.setToLocation(location);
+        detail.setQuantity(1);
+        operationDetailRepository.save(detail);
+        return operationId;
+    }
+
+    private static void runConcurrently(int threads, Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(index);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+    }
+
+    private interface Task {
+        void run(int index);
+    }
+}
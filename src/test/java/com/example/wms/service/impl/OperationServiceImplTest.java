@@ -1,37 +1,42 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.exception.StockShortageException;
 import com.example.wms.model.db.entity.*;
 import com.example.wms.model.db.repository.DocumentRepository;
+import com.example.wms.model.db.repository.OperationDetailRepository;
 import com.example.wms.model.db.repository.OperationRepository;
 import com.example.wms.model.db.repository.UserRepository;
 import com.example.wms.model.dto.request.OperationInfoReq;
+import com.example.wms.model.dto.response.CursorPageResp;
 import com.example.wms.model.dto.response.OperationInfoResp;
+import com.example.wms.model.dto.response.StockShortageResp;
 import com.example.wms.model.enums.OperationStatus;
 import com.example.wms.model.enums.OperationType;
+import com.example.wms.model.enums.TotalMode;
+import com.example.wms.service.AvailableToPromiseService;
+import com.example.wms.service.ReservationService;
 import com.example.wms.service.StockService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 
+import java.time.Instant;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -50,11 +55,18 @@ class OperationServiceImplTest {
     @Mock
     private DocumentRepository documentRepository;
 
+    @Mock
+    private OperationDetailRepository operationDetailRepository;
+
     @Mock
     private StockService stockService;
 
-    @Spy
-    private ObjectMapper objectMapper;
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private AvailableToPromiseService availableToPromiseService;
+
 
     @Test
     void createOperationSuccess() {
@@ -125,16 +137,12 @@ class OperationServiceImplTest {
     @Test
     void startOperationSuccess() {
         Long operationId = 1L;
-        Operation operation = new Operation();
-        operation.setId(operationId);
-        operation.setOperationStatus(OperationStatus.CREATED);
-
-        when(operationRepository.findById(operationId)).thenReturn(Optional.of(operation));
+        when(operationRepository.updateStatus(eq(operationId), eq(EnumSet.of(OperationStatus.CREATED)),
+                eq(OperationStatus.IN_PROGRESS), any())).thenReturn(1);
 
         operationService.startOperation(operationId);
 
-        assertEquals(OperationStatus.IN_PROGRESS, operation.getOperationStatus());
-        verify(operationRepository).save(operation);
+        verify(operationRepository, never()).findStatusById(any());
     }
 
     @Test
@@ -142,7 +150,8 @@ class OperationServiceImplTest {
         Long operationId = 1L;
         String expectedErrorMessage = String.format("Operation with id: %s not found", operationId);
 
-        when(operationRepository.findById(operationId)).thenReturn(Optional.empty());
+        when(operationRepository.updateStatus(eq(operationId), any(), any(), any())).thenReturn(0);
+        when(operationRepository.findStatusById(operationId)).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.startOperation(operationId));
@@ -154,16 +163,14 @@ class OperationServiceImplTest {
     @Test
     void startOperationOperationNotInCreatedStatus() {
         Long operationId = 1L;
-        Operation operation = new Operation();
-        operation.setId(operationId);
-        operation.setOperationStatus(OperationStatus.IN_PROGRESS);
-        when(operationRepository.findById(operationId)).thenReturn(Optional.of(operation));
+        when(operationRepository.updateStatus(eq(operationId), any(), any(), any())).thenReturn(0);
+        when(operationRepository.findStatusById(operationId)).thenReturn(Optional.of(OperationStatus.IN_PROGRESS));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.startOperation(operationId));
 
-        assertEquals("Cannot start an operation that is not in 'CREATED' status", exception.getMessage());
-        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+        assertEquals("Cannot start an operation in 'IN_PROGRESS' status", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
     }
 
     @Test
@@ -195,21 +202,55 @@ class OperationServiceImplTest {
         detail.setToLocation(location);
         operation.setOperationDetails(List.of(detail));
 
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
 
         OperationInfoResp response = operationService.receivingOperation(operation.getId());
 
         assertEquals(OperationStatus.COMPLETED, response.getOperationStatus());
-        verify(stockService).increaseStock(detail.getProduct(), detail.getToLocation(), detail.getQuantity());
+        verify(stockService).increaseStocks(operation.getOperationDetails());
         verify(operationRepository).save(operation);
     }
 
+    @Test
+    void receivingOperationSkipsExecutedLines() {
+        User user = new User();
+        user.setId(1L);
+
+        Document document = new Document();
+        document.setId(2L);
+
+        Operation operation = new Operation();
+        operation.setId(1L);
+        operation.setUser(user);
+        operation.setDocument(document);
+        operation.setOperationStatus(OperationStatus.IN_PROGRESS);
+
+        OperationDetail executed = new OperationDetail();
+        executed.setId(1L);
+        executed.setQuantity(10);
+        executed.setExecutedAt(Instant.now());
+
+        OperationDetail pending = new OperationDetail();
+        pending.setId(2L);
+        pending.setQuantity(5);
+        operation.setOperationDetails(List.of(executed, pending));
+
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
+
+        OperationInfoResp response = operationService.receivingOperation(operation.getId());
+
+        assertEquals(OperationStatus.COMPLETED, response.getOperationStatus());
+        verify(stockService).increaseStocks(List.of(pending));
+        verify(operationDetailRepository).markExecuted(new Long[]{2L});
+        verify(availableToPromiseService).removePending(List.of(2L));
+    }
+
     @Test
     void receivingOperationOperationNotFound() {
         Long operationId = 1L;
         String expectedErrorMessage = String.format("Operation  with id: %s not found", operationId);
 
-        when(operationRepository.findById(operationId)).thenReturn(Optional.empty());
+        when(operationRepository.findByIdForUpdate(operationId)).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.receivingOperation(operationId));
@@ -223,12 +264,12 @@ class OperationServiceImplTest {
         operation.setId(1L);
         operation.setOperationStatus(OperationStatus.CREATED);
 
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.receivingOperation(operation.getId()));
-        assertEquals("The operation must be in the 'IN_PROGRESS' status", exception.getMessage());
-        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+        assertEquals("Cannot execute an operation in 'CREATED' status", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
     }
 
     @Test
@@ -238,7 +279,7 @@ class OperationServiceImplTest {
         operation.setOperationStatus(OperationStatus.IN_PROGRESS);
         operation.setOperationDetails(Collections.emptyList());
 
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.receivingOperation(operation.getId()));
@@ -264,9 +305,9 @@ class OperationServiceImplTest {
         detail.setToLocation(location);
         operation.setOperationDetails(List.of(detail));
 
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
         doThrow(new CommonBackendException("Stock error", HttpStatus.INTERNAL_SERVER_ERROR))
-                .when(stockService).increaseStock(any(), any(), any());
+                .when(stockService).increaseStocks(any());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.receivingOperation(operation.getId()));
@@ -283,7 +324,7 @@ class OperationServiceImplTest {
         operation.setOperationStatus(OperationStatus.IN_PROGRESS);
         operation.setOperationDetails(null);
 
-        when(operationRepository.findById(operationId)).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operationId)).thenReturn(Optional.of(operation));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.receivingOperation(operationId));
@@ -320,12 +361,12 @@ class OperationServiceImplTest {
         detail.setFromLocation(location);
         operation.setOperationDetails(List.of(detail));
 
-        when(operationRepository.findById(operationId)).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operationId)).thenReturn(Optional.of(operation));
 
         OperationInfoResp response = operationService.shippingOperation(operationId);
 
         assertEquals(OperationStatus.COMPLETED, response.getOperationStatus());
-        verify(stockService).decreaseStock(detail.getProduct(), detail.getFromLocation(), detail.getQuantity());
+        verify(stockService).decreaseStocks(operation.getOperationDetails());
         verify(operationRepository).save(operation);
     }
 
@@ -334,7 +375,7 @@ class OperationServiceImplTest {
         Long operationId = 1L;
         String expectedErrorMessage = String.format("Operation  with id: %s not found", operationId);
 
-        when(operationRepository.findById(operationId)).thenReturn(Optional.empty());
+        when(operationRepository.findByIdForUpdate(operationId)).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.shippingOperation(operationId));
@@ -350,13 +391,13 @@ class OperationServiceImplTest {
         operation.setId(1L);
         operation.setOperationStatus(OperationStatus.CREATED);
 
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.shippingOperation(operation.getId()));
 
-        assertEquals("The operation must be in the 'IN_PROGRESS' status", exception.getMessage());
-        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+        assertEquals("Cannot execute an operation in 'CREATED' status", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
     }
 
     @Test
@@ -366,7 +407,7 @@ class OperationServiceImplTest {
         operation.setOperationStatus(OperationStatus.IN_PROGRESS);
         operation.setOperationDetails(Collections.emptyList());
 
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.shippingOperation(operation.getId()));
@@ -382,7 +423,7 @@ class OperationServiceImplTest {
         operation.setOperationStatus(OperationStatus.IN_PROGRESS);
         operation.setOperationDetails(null);
 
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.shippingOperation(operation.getId()));
@@ -409,9 +450,9 @@ class OperationServiceImplTest {
         detail.setFromLocation(location);
         operation.setOperationDetails(List.of(detail));
 
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
         doThrow(new CommonBackendException("Stock error", HttpStatus.INTERNAL_SERVER_ERROR))
-                .when(stockService).decreaseStock(any(), any(), any());
+                .when(stockService).decreaseStocks(any());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.shippingOperation(operation.getId()));
@@ -420,6 +461,32 @@ class OperationServiceImplTest {
         verify(operationRepository, never()).save(any(Operation.class));
     }
 
+    @Test
+    void shippingOperationReportsEveryShortage() {
+        Operation operation = new Operation();
+        operation.setId(1L);
+        operation.setOperationStatus(OperationStatus.IN_PROGRESS);
+
+        OperationDetail detail = new OperationDetail();
+        detail.setQuantity(10);
+        operation.setOperationDetails(List.of(detail, detail));
+
+        List<StockShortageResp> shortages = List.of(
+                StockShortageResp.builder().productId(1L).locationId(1L).requested(10).available(3).build(),
+                StockShortageResp.builder().productId(2L).locationId(1L).requested(10).available(0).build());
+
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
+        doThrow(new StockShortageException("Insufficient stock for 2 of 2 product/location keys", shortages))
+                .when(stockService).decreaseStocks(any());
+
+        StockShortageException exception = assertThrows(StockShortageException.class, () ->
+                operationService.shippingOperation(operation.getId()));
+        assertEquals("Error during shipping for operation ID: 1: Insufficient stock for 2 of 2 product/location keys", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(shortages, exception.getShortages());
+        verify(operationRepository, never()).save(any(Operation.class));
+    }
+
     @Test
     void transferOperationSuccess() {
         User user = new User();
@@ -453,12 +520,12 @@ class OperationServiceImplTest {
         detail.setToLocation(location2);
         operation.setOperationDetails(List.of(detail));
 
-        when(operationRepository.findById(operationId)).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operationId)).thenReturn(Optional.of(operation));
 
         OperationInfoResp response = operationService.transferOperation(operationId);
 
         assertEquals(OperationStatus.COMPLETED, response.getOperationStatus());
-        verify(stockService).transferStock(detail.getProduct(), detail.getQuantity(), detail.getFromLocation(), detail.getToLocation());
+        verify(stockService).transferStocks(operation.getOperationDetails());
         verify(operationRepository).save(operation);
     }
 
@@ -467,7 +534,7 @@ class OperationServiceImplTest {
         Long operationId = 1L;
         String expectedErrorMessage = String.format("Operation with id: %s not found", operationId);
 
-        when(operationRepository.findById(operationId)).thenReturn(Optional.empty());
+        when(operationRepository.findByIdForUpdate(operationId)).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.transferOperation(operationId));
@@ -482,13 +549,13 @@ class OperationServiceImplTest {
         operation.setId(1L);
         operation.setOperationStatus(OperationStatus.CREATED);
 
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.transferOperation(operation.getId()));
 
-        assertEquals("The operation must be in the 'IN_PROGRESS' status", exception.getMessage());
-        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+        assertEquals("Cannot execute an operation in 'CREATED' status", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
     }
 
     @Test
@@ -498,7 +565,7 @@ class OperationServiceImplTest {
         operation.setOperationStatus(OperationStatus.IN_PROGRESS);
         operation.setOperationDetails(Collections.emptyList());
 
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.transferOperation(operation.getId()));
@@ -514,7 +581,7 @@ class OperationServiceImplTest {
         operation.setOperationStatus(OperationStatus.IN_PROGRESS);
         operation.setOperationDetails(null);
 
-        when(operationRepository.findById(operationId)).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operationId)).thenReturn(Optional.of(operation));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.transferOperation(operationId));
@@ -522,6 +589,28 @@ class OperationServiceImplTest {
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
     }
 
+    @Test
+    void transferOperationReportsStockHeldForShipping() {
+        Operation operation = new Operation();
+        operation.setId(1L);
+        operation.setOperationStatus(OperationStatus.IN_PROGRESS);
+        operation.setOperationDetails(List.of(new OperationDetail()));
+
+        List<StockShortageResp> shortages = List.of(
+                StockShortageResp.builder().productId(1L).locationId(1L).requested(10).available(4).build());
+
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
+        doThrow(new StockShortageException("Insufficient stock for 1 of 1 product/location keys", shortages))
+                .when(stockService).transferStocks(any());
+
+        StockShortageException exception = assertThrows(StockShortageException.class, () ->
+                operationService.transferOperation(operation.getId()));
+        assertEquals("Error during stock transfer for operation ID: 1: Insufficient stock for 1 of 1 product/location keys", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(shortages, exception.getShortages());
+        verify(operationRepository, never()).save(any(Operation.class));
+    }
+
     @Test
     void transferOperationErrorDuringStockTransfer() {
         Operation operation = new Operation();
@@ -544,9 +633,9 @@ class OperationServiceImplTest {
         detail.setToLocation(location2);
         operation.setOperationDetails(List.of(detail));
 
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.findByIdForUpdate(operation.getId())).thenReturn(Optional.of(operation));
         doThrow(new CommonBackendException("Stock transfer error", HttpStatus.INTERNAL_SERVER_ERROR))
-                .when(stockService).transferStock(any(), any(), any(), any());
+                .when(stockService).transferStocks(any());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.transferOperation(operation.getId()));
@@ -616,16 +705,15 @@ class OperationServiceImplTest {
         Operation operation = new Operation();
         operation.setUser(user);
         operation.setDocument(document);
-        OperationInfoResp operationInfoResp = new OperationInfoResp();
 
         when(operationRepository.findAllFiltered(filter, pageable)).thenReturn(new PageImpl<>(List.of(operation)));
-        when(objectMapper.convertValue(operation, OperationInfoResp.class)).thenReturn(operationInfoResp);
 
-        Page<OperationInfoResp> result = operationService.getAllOperations(pageNumber, pageSize, sortField, sortDirection, filter);
+        Slice<OperationInfoResp> result = operationService.getAllOperations(pageNumber, pageSize, sortField, sortDirection, filter, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(operationInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals(user.getUsername(), result.getContent().get(0).getUsername());
+        assertEquals(document.getNumber(), result.getContent().get(0).getDocumentNumber());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
     }
 
     @Test
@@ -648,23 +736,23 @@ class OperationServiceImplTest {
         Operation operation = new Operation();
         operation.setUser(user);
         operation.setDocument(document);
-        OperationInfoResp operationInfoResp = new OperationInfoResp();
 
         when(operationRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(operation)));
-        when(objectMapper.convertValue(operation, OperationInfoResp.class)).thenReturn(operationInfoResp);
 
-        Page<OperationInfoResp> result = operationService.getAllOperations(pageNumber, pageSize, sortField, sortDirection, null);
+        Slice<OperationInfoResp> result = operationService.getAllOperations(pageNumber, pageSize, sortField, sortDirection, null, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(operationInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals(user.getUsername(), result.getContent().get(0).getUsername());
+        assertEquals(document.getNumber(), result.getContent().get(0).getDocumentNumber());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
     }
 
 
     @Test
     void cancelOperationOperationNotFound() {
         Long operationId = 1L;
-        when(operationRepository.findById(operationId)).thenReturn(Optional.empty());
+        when(operationRepository.updateStatus(eq(operationId), any(), any(), any())).thenReturn(0);
+        when(operationRepository.findStatusById(operationId)).thenReturn(Optional.empty());
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 operationService.cancelOperation(operationId));
@@ -674,41 +762,59 @@ class OperationServiceImplTest {
 
     @Test
     void cancelOperationOperationCompleted() {
-        Operation operation = new Operation();
-        operation.setId(1L);
-        operation.setOperationStatus(OperationStatus.COMPLETED);
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.updateStatus(eq(1L), any(), any(), any())).thenReturn(0);
+        when(operationRepository.findStatusById(1L)).thenReturn(Optional.of(OperationStatus.COMPLETED));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
-                operationService.cancelOperation(operation.getId()));
-        assertEquals("Cannot cancel a completed operation", exception.getMessage());
-        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+                operationService.cancelOperation(1L));
+        assertEquals("Cannot cancel an operation in 'COMPLETED' status", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        verifyNoInteractions(reservationService);
     }
 
     @Test
     void cancelOperationOperationCancelled() {
-        Operation operation = new Operation();
-        operation.setId(1L);
-        operation.setOperationStatus(OperationStatus.CANCELLED);
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        when(operationRepository.updateStatus(eq(1L), any(), any(), any())).thenReturn(0);
+        when(operationRepository.findStatusById(1L)).thenReturn(Optional.of(OperationStatus.CANCELLED));
 
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
-                operationService.cancelOperation(operation.getId()));
+                operationService.cancelOperation(1L));
 
-        assertEquals("Operation is already cancelled", exception.getMessage());
-        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+        assertEquals("Cannot cancel an operation in 'CANCELLED' status", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
     }
 
     @Test
     void cancelOperationSuccess() {
+        when(operationRepository.updateStatus(eq(1L), eq(EnumSet.of(OperationStatus.CREATED, OperationStatus.IN_PROGRESS)),
+                eq(OperationStatus.CANCELLED), any())).thenReturn(1);
+
+        operationService.cancelOperation(1L);
+
+        verify(operationRepository, never()).findStatusById(any());
+        verify(reservationService).releaseOperation(1L);
+        verify(availableToPromiseService).removePendingOperation(1L);
+    }
+
+    @Test
+    void scrollOperationsWithFilter() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "id");
+        User user = new User();
+        user.setUsername("user");
+        Document document = new Document();
+        document.setNumber("DOC-1");
         Operation operation = new Operation();
         operation.setId(1L);
-        operation.setOperationStatus(OperationStatus.CREATED);
-        when(operationRepository.findById(operation.getId())).thenReturn(Optional.of(operation));
+        operation.setUser(user);
+        operation.setDocument(document);
 
-        operationService.cancelOperation(operation.getId());
+        when(operationRepository.findByOperationType(OperationType.RECEIVING, ScrollPosition.keyset(), sort, Limit.of(10)))
+                .thenReturn(Window.from(List.of(operation), i -> ScrollPosition.forward(Map.of("id", 1L)), false));
 
-        assertEquals(OperationStatus.CANCELLED, operation.getOperationStatus());
-        verify(operationRepository).save(operation);
+        CursorPageResp<OperationInfoResp> result = operationService.scrollOperations(null, 10, "id", Sort.Direction.ASC, OperationType.RECEIVING);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals("DOC-1", result.getContent().get(0).getDocumentNumber());
+        assertNull(result.getNextCursor());
     }
-}
\ No newline at end of file
+}
@@ -9,27 +9,33 @@ import com.example.wms.model.db.repository.ManufacturerRepository;
 import com.example.wms.model.db.repository.ProductRepository;
 import com.example.wms.model.dto.request.ProductInfoReq;
 import com.example.wms.model.dto.response.ProductInfoResp;
+import com.example.wms.model.enums.TotalMode;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,8 +53,9 @@ class ProductServiceImplTest {
     @Mock
     private ManufacturerRepository manufacturerRepository;
 
-    @Spy
-    private ObjectMapper objectMapper;
+    @Mock
+    private ReferenceResolver referenceResolver;
+
 
     @Test
     void createProduct() {
@@ -219,17 +226,16 @@ class ProductServiceImplTest {
         product.setCategory(category);
         product.setManufacturer(manufacturer);
 
-        ProductInfoResp productInfoResp = new ProductInfoResp();
 
         when(productRepository.findAllFiltered(pageable, filter)).thenReturn(new PageImpl<>(List.of(product)));
 
-        when(objectMapper.convertValue(product, ProductInfoResp.class)).thenReturn(productInfoResp);
 
-        Page<ProductInfoResp> result = productService.getAllProducts(pageNumber, pageSize, sortField, sortDirection, filter);
+        Slice<ProductInfoResp> result = productService.getAllProducts(pageNumber, pageSize, sortField, sortDirection, filter, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(productInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals("TestCategory", result.getContent().get(0).getCategoryName());
+        assertEquals("TestManufacturer", result.getContent().get(0).getManufacturerName());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
     }
 
     @Test
@@ -252,17 +258,36 @@ class ProductServiceImplTest {
         product.setManufacturer(manufacturer);
         product.setIsActive(true);
 
-        ProductInfoResp productInfoResp = new ProductInfoResp();
 
         when(productRepository.findAllByIsActiveTrue(pageable)).thenReturn(new PageImpl<>(List.of(product)));
 
-        when(objectMapper.convertValue(product, ProductInfoResp.class)).thenReturn(productInfoResp);
 
-        Page<ProductInfoResp> result = productService.getAllProducts(pageNumber, pageSize, sortField, sortDirection, null);
+        Slice<ProductInfoResp> result = productService.getAllProducts(pageNumber, pageSize, sortField, sortDirection, null, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(productInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals("TestCategory", result.getContent().get(0).getCategoryName());
+        assertEquals("TestManufacturer", result.getContent().get(0).getManufacturerName());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
+    }
+
+    @Test
+    void getAllProductsApproximateTotalIgnoresInactiveRows() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("products"))).thenReturn(List.of(10L));
+        productService = new ProductServiceImpl(productRepository, categoryRepository, manufacturerRepository,
+                new TotalCountServiceImpl(jdbcTemplate, Duration.ofMinutes(1)), referenceResolver);
+
+        Product product = new Product();
+        product.setCategory(new Category());
+        product.setManufacturer(new Manufacturer());
+        Pageable pageable = PaginationUtils.getPageRequest(1, 2, "name", Sort.Direction.ASC);
+        when(productRepository.findSliceByIsActiveTrue(pageable))
+                .thenReturn(new SliceImpl<>(List.of(product, product), pageable, true));
+        when(productRepository.countByIsActiveTrue()).thenReturn(4L);
+
+        Slice<ProductInfoResp> result = productService.getAllProducts(1, 2, "name", Sort.Direction.ASC, null, TotalMode.APPROXIMATE);
+
+        assertEquals(4L, assertInstanceOf(Page.class, result).getTotalElements());
     }
 
     @Test
@@ -330,6 +355,7 @@ class ProductServiceImplTest {
         assertEquals(expectedResponse.getDimensions(), resp.getDimensions());
         assertEquals(expectedResponse.getCategoryName(), resp.getCategoryName());
         assertEquals(expectedResponse.getManufacturerName(), resp.getManufacturerName());
+        verify(referenceResolver).evictSkus("oldSku", "newSku");
     }
 
     @Test
@@ -476,6 +502,7 @@ class ProductServiceImplTest {
         productService.deleteProduct(product.getId());
 
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(referenceResolver).evictSkus(product.getSku());
 
         assertEquals(false, product.getIsActive());
     }
@@ -0,0 +1,158 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.TestData;
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.model.db.entity.*;
+import com.example.wms.model.db.repository.*;
+import com.example.wms.model.dto.request.LocationInfoReq;
+import com.example.wms.model.dto.request.OperationDetailInfoReq;
+import com.example.wms.model.enums.OperationType;
+import com.example.wms.service.LocationService;
+import com.example.wms.service.OperationDetailService;
+import com.example.wms.service.ProductService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reference entities and their natural-key lookups are served from the second-level cache until a service writes them.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.wms.service.impl.ReferenceDataCacheTest$RecordingStatementInspector")
+@Import(TestData.class)
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private OperationDetailService operationDetailService;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    private String suffix;
+    private Product product;
+    private Operation operation;
+    private final List<Location> locations = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        suffix = testData.suffix();
+
+        Warehouse warehouse = testData.createWarehouse();
+        for (int i = 0; i < 2; i++) {
+            locations.add(testData.createLocation(warehouse, "loc-" + i));
+        }
+        product = testData.createProduct("sku");
+        operation = testData.createOperation(OperationType.TRANSFER, testData.createUser("user"), testData.createDocument("doc"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void repeatedCreateOperationDetailSkipsLocationAndProductSelects() {
+        operationDetailService.createOperationDetail(detailReq(locations.get(0).getName()));
+
+        RecordingStatementInspector.STATEMENTS.clear();
+        for (int i = 0; i < 3; i++) {
+            operationDetailService.createOperationDetail(detailReq(locations.get(0).getName()));
+        }
+
+        List<String> statements = new ArrayList<>(RecordingStatementInspector.STATEMENTS);
+        assertEquals(3, statements.stream().filter(sql -> sql.startsWith("insert into operation_details")).count(), statements::toString);
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains(" from locations ") || sql.contains(" from products ")),
+                statements::toString);
+    }
+
+    @Test
+    void nativeStockWritesKeepReferenceEntitiesCached() {
+        operationDetailService.createOperationDetail(detailReq(locations.get(0).getName()));
+        transactionTemplate.executeWithoutResult(status -> stockRepository.upsertQuantities(
+                new Long[]{product.getId()}, new Long[]{locations.get(0).getId()}, new Integer[]{1}));
+
+        RecordingStatementInspector.STATEMENTS.clear();
+        operationDetailService.createOperationDetail(detailReq(locations.get(0).getName()));
+
+        List<String> statements = new ArrayList<>(RecordingStatementInspector.STATEMENTS);
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains(" from locations ") || sql.contains(" from products ")),
+                statements::toString);
+    }
+
+    @Test
+    void locationWritesInvalidateCachedLookups() {
+        Location location = locations.get(0);
+        operationDetailService.createOperationDetail(detailReq(location.getName()));
+
+        LocationInfoReq rename = new LocationInfoReq();
+        rename.setName("renamed-" + suffix);
+        locationService.updateLocation(location.getId(), rename);
+
+        assertNotFound(() -> operationDetailService.createOperationDetail(detailReq(location.getName())));
+        assertEquals("renamed-" + suffix,
+                operationDetailService.createOperationDetail(detailReq("renamed-" + suffix)).getFromLocationName());
+
+        locationService.deleteLocation(location.getId());
+
+        assertNotFound(() -> operationDetailService.createOperationDetail(detailReq("renamed-" + suffix)));
+    }
+
+    @Test
+    void productDeactivationInvalidatesCachedLookup() {
+        operationDetailService.createOperationDetail(detailReq(locations.get(0).getName()));
+
+        productService.deleteProduct(product.getId());
+
+        assertNotFound(() -> operationDetailService.createOperationDetail(detailReq(locations.get(0).getName())));
+    }
+
+    private OperationDetailInfoReq detailReq(String fromLocationName) {
+        OperationDetailInfoReq req = new OperationDetailInfoReq();
+        req.setOperationId(operation.getId());
+        req.setSku(product.getSku());
+        req.setQuantity(1);
+        req.setFromLocationName(fromLocationName);
+        req.setToLocationName(locations.get(1).getName());
+        return req;
+    }
+
+    private static void assertNotFound(Runnable call) {
+        CommonBackendException e = assertThrows(CommonBackendException.class, call::run);
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatus());
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.replaceAll("\\s+", " "));
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.model.db.projection.LocationRef;
+import com.example.wms.model.db.repository.LocationRepository;
+import com.example.wms.model.db.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceResolverTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReferenceResolver referenceResolver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        referenceResolver = new ReferenceResolver(productRepository, locationRepository, meterRegistry,
+                100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void activeProductIdCachesHits() {
+        when(productRepository.findActiveIdBySku("SKU123")).thenReturn(Optional.of(1L));
+
+        assertEquals(Optional.of(1L), referenceResolver.activeProductId("SKU123"));
+        assertEquals(Optional.of(1L), referenceResolver.activeProductId("SKU123"));
+
+        verify(productRepository, times(1)).findActiveIdBySku("SKU123");
+    }
+
+    @Test
+    void activeProductIdDoesNotCacheMisses() {
+        when(productRepository.findActiveIdBySku("SKU123")).thenReturn(Optional.empty(), Optional.of(1L));
+
+        assertEquals(Optional.empty(), referenceResolver.activeProductId("SKU123"));
+        assertEquals(Optional.of(1L), referenceResolver.activeProductId("SKU123"));
+    }
+
+    @Test
+    void activeLocationIdSkipsInactiveLocation() {
+        when(locationRepository.findRefByName("Location A")).thenReturn(Optional.of(locationRef(1L, "Location A", false)));
+
+        assertEquals(Optional.empty(), referenceResolver.activeLocationId("Location A"));
+        assertEquals(Optional.empty(), referenceResolver.activeLocationId("Location A"));
+
+        verify(locationRepository, times(1)).findRefByName("Location A");
+    }
+
+    @Test
+    void evictForcesReload() {
+        when(productRepository.findActiveIdBySku("SKU123")).thenReturn(Optional.of(1L), Optional.empty());
+        when(locationRepository.findRefByName("Location A")).thenReturn(
+                Optional.of(locationRef(1L, "Location A", true)), Optional.of(locationRef(1L, "Location A", false)));
+        referenceResolver.activeProductId("SKU123");
+        referenceResolver.activeLocationId("Location A");
+
+        referenceResolver.evictSkus("SKU123", null);
+        referenceResolver.evictLocationNames("Location A");
+
+        assertEquals(Optional.empty(), referenceResolver.activeProductId("SKU123"));
+        assertEquals(Optional.empty(), referenceResolver.activeLocationId("Location A"));
+    }
+
+    @Test
+    void hitRatioIsPublished() {
+        when(productRepository.findActiveIdBySku("SKU123")).thenReturn(Optional.of(1L));
+        for (int i = 0; i < 4; i++) {
+            referenceResolver.activeProductId("SKU123");
+        }
+
+        assertEquals(0.75, meterRegistry.get("cache.hit.ratio").tag("cache", ReferenceResolver.PRODUCT_IDS).gauge().value());
+        assertEquals(3, meterRegistry.get("cache.gets").tag("cache", ReferenceResolver.PRODUCT_IDS).tag("result", "hit")
+                .functionCounter().count());
+        assertNotNull(meterRegistry.find("cache.hit.ratio").tag("cache", ReferenceResolver.LOCATION_IDS).gauge());
+    }
+
+    private static LocationRef locationRef(Long id, String name, Boolean isActive) {
+        return new LocationRef() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Boolean getIsActive() {
+                return isActive;
+            }
+        };
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.StockShortageException;
+import com.example.wms.model.db.projection.ReservationRequest;
+import com.example.wms.model.db.projection.StockQuantity;
+import com.example.wms.model.db.repository.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceImplTest {
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ReservationServiceImpl reservationService;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = new ReservationServiceImpl(stockReservationRepository, transactionTemplate,
+                Duration.ofMinutes(30), 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void reserveHoldsEveryKeyWhenUnreservedStockSuffices() {
+        when(stockReservationRepository.findUnreservedQuantities(new Long[]{7L, 8L})).thenReturn(List.of(
+                request(1L, 10L, 4), request(2L, 10L, 6)));
+        when(stockReservationRepository.lockUnreserved(new Long[]{1L, 2L}, new Long[]{10L, 10L}))
+                .thenReturn(List.of(quantity(1L, 10L, 4), quantity(2L, 10L, 9)));
+
+        reservationService.reserve(List.of(7L, 8L));
+
+        verify(stockReservationRepository).insertMissingAllocations(new Long[]{1L, 2L}, new Long[]{10L, 10L});
+        verify(stockReservationRepository).addReserved(new Long[]{1L, 2L}, new Long[]{10L, 10L}, new Integer[]{4, 6});
+        verify(stockReservationRepository).insertHolds(eq(new Long[]{7L, 8L}), any());
+    }
+
+    @Test
+    void reserveReportsEveryShortageAndHoldsNothing() {
+        when(stockReservationRepository.findUnreservedQuantities(new Long[]{7L})).thenReturn(List.of(
+                request(1L, 10L, 5), request(2L, 10L, 6), request(3L, 10L, 1)));
+        when(stockReservationRepository.lockUnreserved(any(), any()))
+                .thenReturn(List.of(quantity(1L, 10L, 4), quantity(3L, 10L, 1)));
+
+        StockShortageException exception = assertThrows(StockShortageException.class, () -> reservationService.reserve(List.of(7L)));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals("Insufficient unreserved stock for 2 of 3 product/location keys", exception.getMessage());
+        assertEquals(4, exception.getShortages().get(0).getAvailable());
+        assertEquals("SKU-2", exception.getShortages().get(1).getProductSku());
+        assertEquals(0, exception.getShortages().get(1).getAvailable());
+        verify(stockReservationRepository, never()).addReserved(any(), any(), any());
+        verify(stockReservationRepository, never()).insertHolds(any(), any());
+    }
+
+    @Test
+    void reserveWithoutUnreservedDetailsDoesNothing() {
+        when(stockReservationRepository.findUnreservedQuantities(new Long[]{7L})).thenReturn(List.of());
+
+        reservationService.reserve(List.of(7L));
+
+        verifyNoMoreInteractions(stockReservationRepository);
+    }
+
+    @Test
+    void reserveWithoutDetailsDoesNothing() {
+        reservationService.reserve(Arrays.asList(null, null));
+
+        verifyNoInteractions(stockReservationRepository);
+    }
+
+    @Test
+    void releaseDetailsSkipsUnsavedDetails() {
+        reservationService.releaseDetails(Arrays.asList(null, 5L));
+        reservationService.releaseDetails(Collections.singletonList(null));
+
+        verify(stockReservationRepository).releaseDetails(new Long[]{5L});
+        verifyNoMoreInteractions(stockReservationRepository);
+    }
+
+    @Test
+    void releaseExpiredRunsInBatches() {
+        when(stockReservationRepository.releaseExpired(any(), eq(2))).thenReturn(2, 2, 1);
+
+        assertEquals(5, reservationService.releaseExpired());
+        verify(stockReservationRepository, times(3)).releaseExpired(any(), eq(2));
+    }
+
+    private static ReservationRequest request(Long productId, Long locationId, Integer quantity) {
+        return new ReservationRequest() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public String getProductSku() {
+                return "SKU-" + productId;
+            }
+
+            @Override
+            public Long getLocationId() {
+                return locationId;
+            }
+
+            @Override
+            public String getLocationName() {
+                return "A-" + locationId;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+        };
+    }
+
+    private static StockQuantity quantity(Long productId, Long locationId, Integer quantity) {
+        return new StockQuantity() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Long getLocationId() {
+                return locationId;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
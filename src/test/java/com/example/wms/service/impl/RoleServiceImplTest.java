@@ -2,16 +2,17 @@ package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
 import com.example.wms.model.db.entity.Role;
+import com.example.wms.model.db.projection.UserRef;
 import com.example.wms.model.db.repository.RoleRepository;
+import com.example.wms.model.db.repository.UserRepository;
 import com.example.wms.model.dto.request.RoleInfoReq;
 import com.example.wms.model.dto.response.RoleInfoResp;
+import com.example.wms.service.TokenService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -36,8 +37,15 @@ class RoleServiceImplTest {
     @Mock
     private RoleRepository roleRepository;
 
-    @Spy
-    private ObjectMapper objectMapper;
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuthenticationCache authenticationCache;
+
+    @Mock
+    private TokenService tokenService;
+
 
     @Test
     void createRole() {
@@ -105,15 +113,13 @@ class RoleServiceImplTest {
         Pageable pageable = PaginationUtils.getPageRequest(pageNumber, pageSize, sortField, sortDirection);
 
         Role role = new Role();
-        RoleInfoResp roleInfoResp = new RoleInfoResp();
 
         when(roleRepository.findAllByIsActiveTrue(pageable)).thenReturn(new PageImpl<>(List.of(role)));
-        when(objectMapper.convertValue(role, RoleInfoResp.class)).thenReturn(roleInfoResp);
 
         Page<RoleInfoResp> result = roleService.getAllRoles(pageNumber, pageSize, sortField, sortDirection);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(roleInfoResp, result.getContent().get(0));
+        assertEquals(role.getName(), result.getContent().get(0).getName());
         assertEquals(1, result.getTotalElements());
     }
 
@@ -132,18 +138,42 @@ class RoleServiceImplTest {
         when(roleRepository.findByIdAndIsActiveTrue(role.getId())).thenReturn(Optional.of(role));
 
         when(roleRepository.save(any(Role.class))).thenReturn(role);
+        List<UserRef> holders = List.of(userRef(10L, "picker"), userRef(11L, "packer"));
+        when(userRepository.findAllByRoleId(role.getId())).thenReturn(holders);
 
         RoleInfoResp expectedResponse = new RoleInfoResp();
         expectedResponse.setId(role.getId());
         expectedResponse.setName(req.getName());
         expectedResponse.setDescription(req.getDescription());
-        when(objectMapper.convertValue(role, RoleInfoResp.class)).thenReturn(expectedResponse);
 
         RoleInfoResp resp = roleService.updateRole(role.getId(), req);
 
         assertEquals(expectedResponse.getId(), resp.getId());
         assertEquals(expectedResponse.getName(), resp.getName());
         assertEquals(expectedResponse.getDescription(), resp.getDescription());
+        verify(authenticationCache).evict("picker", "packer");
+        verify(tokenService).revoke(10L, 11L);
+    }
+
+    @Test
+    void updateRoleDescriptionKeepsTokens() {
+        Role role = new Role();
+        role.setId(1L);
+        role.setName("TestName");
+        role.setDescription("TestDescription");
+        role.setIsActive(true);
+
+        RoleInfoReq req = new RoleInfoReq();
+        req.setName("TestName");
+        req.setDescription("NewDescription");
+
+        when(roleRepository.findByIdAndIsActiveTrue(role.getId())).thenReturn(Optional.of(role));
+        when(roleRepository.save(any(Role.class))).thenReturn(role);
+
+        RoleInfoResp resp = roleService.updateRole(role.getId(), req);
+
+        assertEquals("NewDescription", resp.getDescription());
+        verifyNoInteractions(userRepository, authenticationCache, tokenService);
     }
 
     @Test
@@ -166,13 +196,13 @@ class RoleServiceImplTest {
         expectedResponse.setId(role.getId());
         expectedResponse.setName(role.getName());
         expectedResponse.setDescription(role.getDescription());
-        when(objectMapper.convertValue(role, RoleInfoResp.class)).thenReturn(expectedResponse);
 
         RoleInfoResp resp = roleService.updateRole(role.getId(), req);
 
         assertEquals(expectedResponse.getId(), resp.getId());
         assertEquals(expectedResponse.getName(), resp.getName());
         assertEquals(expectedResponse.getDescription(), resp.getDescription());
+        verifyNoInteractions(userRepository, authenticationCache, tokenService);
     }
 
     @Test
@@ -186,10 +216,27 @@ class RoleServiceImplTest {
         Role role = new Role();
         role.setId(1L);
         when(roleRepository.findByIdAndIsActiveTrue(role.getId())).thenReturn(Optional.of(role));
+        List<UserRef> holders = List.of(userRef(10L, "picker"));
+        when(userRepository.findAllByRoleId(role.getId())).thenReturn(holders);
 
         roleService.deleteRole(role.getId());
         verify(roleRepository, times(1)).save(any(Role.class));
+        verify(authenticationCache).evict("picker");
+        verify(tokenService).revoke(10L);
+        assertEquals(false, role.getIsActive());
+    }
+
+    @Test
+    void deleteRoleWithoutHolders() {
+        Role role = new Role();
+        role.setId(1L);
+        when(roleRepository.findByIdAndIsActiveTrue(role.getId())).thenReturn(Optional.of(role));
+        when(userRepository.findAllByRoleId(role.getId())).thenReturn(List.of());
+
+        roleService.deleteRole(role.getId());
+
         assertEquals(false, role.getIsActive());
+        verifyNoInteractions(authenticationCache, tokenService);
     }
 
     @Test
@@ -202,4 +249,11 @@ class RoleServiceImplTest {
         when(roleRepository.findByIdAndIsActiveTrue(roleId)).thenReturn(Optional.empty());
         assertThrows(CommonBackendException.class, () -> roleService.getRole(roleId));
     }
+
+    private static UserRef userRef(Long id, String username) {
+        UserRef ref = mock(UserRef.class);
+        when(ref.getId()).thenReturn(id);
+        when(ref.getUsername()).thenReturn(username);
+        return ref;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.model.db.repository.LocationRepository;
+import com.example.wms.model.db.repository.StockLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T06:00:00Z");
+
+    @Mock
+    private StockLedgerRepository stockLedgerRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private StockLedgerServiceImpl stockLedgerService;
+
+    @BeforeEach
+    void setUp() {
+        stockLedgerService = new StockLedgerServiceImpl(stockLedgerRepository, locationRepository, transactionTemplate,
+                Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void takeSnapshotLagsBehindClock() {
+        Instant takenAt = NOW.minus(Duration.ofMinutes(5));
+        when(stockLedgerRepository.tryLockSnapshots()).thenReturn(true);
+        when(stockLedgerRepository.insertSnapshots(takenAt)).thenReturn(3);
+
+        assertEquals(3, stockLedgerService.takeSnapshot());
+        verify(stockLedgerRepository).insertSnapshotRun(takenAt);
+    }
+
+    @Test
+    void takeSnapshotSkippedWhileAnotherInstanceHoldsLock() {
+        when(stockLedgerRepository.tryLockSnapshots()).thenReturn(false);
+
+        assertEquals(0, stockLedgerService.takeSnapshot());
+        verify(stockLedgerRepository, never()).insertSnapshots(any());
+        verify(stockLedgerRepository, never()).insertSnapshotRun(any());
+    }
+
+    @Test
+    void getQuantitiesAtLocationNotFound() {
+        when(locationRepository.existsById(1L)).thenReturn(false);
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class,
+                () -> stockLedgerService.getQuantitiesAt(1L, null, NOW));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verifyNoInteractions(stockLedgerRepository);
+    }
+}
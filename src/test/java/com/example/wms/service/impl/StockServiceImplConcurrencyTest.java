@@ -0,0 +1,280 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.TestData;
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.exception.StockShortageException;
+import com.example.wms.model.db.entity.*;
+import com.example.wms.model.db.repository.*;
+import com.example.wms.model.dto.response.StockQuantityResp;
+import com.example.wms.service.StockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestData.class)
+class StockServiceImplConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int INCREMENTS_PER_THREAD = 50;
+    private static final int TRANSFER_ROUNDS = 20;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private StockLedgerRepository stockLedgerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    private Product product;
+    private Product otherProduct;
+    private Location location;
+    private Location otherLocation;
+
+    @BeforeEach
+    void setUp() {
+        Warehouse warehouse = testData.createWarehouse();
+        location = testData.createLocation(warehouse, "loc-a");
+        otherLocation = testData.createLocation(warehouse, "loc-b");
+        product = testData.createProduct("sku-a");
+        otherProduct = testData.createProduct("sku-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.cleanUp();
+    }
+
+    @Test
+    void concurrentIncreaseStockKeepsExactQuantity() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < INCREMENTS_PER_THREAD; j++) {
+                    stockService.increaseStock(product, location, 1);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        Stock stock = stockRepository.findByProductAndLocation(product, location).orElseThrow();
+        assertEquals(THREADS * INCREMENTS_PER_THREAD, stock.getQuantity());
+        assertEquals(THREADS * INCREMENTS_PER_THREAD, jdbcTemplate.queryForObject(
+                "select sum(delta) from stock_ledger where product_id = ? and location_id = ?",
+                Integer.class, product.getId(), location.getId()));
+        assertEquals(THREADS * INCREMENTS_PER_THREAD, jdbcTemplate.queryForObject(
+                "select on_hand from stock_totals where product_id = ? and warehouse_id = ?",
+                Integer.class, product.getId(), location.getWarehouse().getId()));
+    }
+
+    @Test
+    void concurrentDecreaseStockNeverOversells() throws Exception {
+        int available = THREADS * INCREMENTS_PER_THREAD / 2;
+        stockService.increaseStock(product, location, available);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger shipped = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < INCREMENTS_PER_THREAD; j++) {
+                    try {
+                        stockService.decreaseStock(product, location, 1);
+                        shipped.incrementAndGet();
+                    } catch (CommonBackendException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(available, shipped.get());
+        assertEquals(THREADS * INCREMENTS_PER_THREAD - available, rejected.get());
+        assertTrue(stockRepository.findByProductAndLocation(product, location).isEmpty());
+    }
+
+    @Test
+    void opposingTransfersDoNotDeadlockOrLoseUpdates() throws Exception {
+        int initial = THREADS * INCREMENTS_PER_THREAD;
+        for (Product p : List.of(product, otherProduct)) {
+            for (Location l : List.of(location, otherLocation)) {
+                stockService.increaseStock(p, l, initial);
+            }
+        }
+
+        List<OperationDetail> forward = List.of(
+                detail(product, location, otherLocation),
+                detail(otherProduct, location, otherLocation));
+        List<OperationDetail> backward = List.of(
+                detail(otherProduct, otherLocation, location),
+                detail(product, otherLocation, location));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            List<OperationDetail> details = i % 2 == 0 ? forward : backward;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < TRANSFER_ROUNDS; j++) {
+                    stockService.transferStocks(details);
+                    stockService.transferStock(product, 1, otherLocation, location);
+                    stockService.transferStock(product, 1, location, otherLocation);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        for (Product p : List.of(product, otherProduct)) {
+            for (Location l : List.of(location, otherLocation)) {
+                assertEquals(initial, stockRepository.findByProductAndLocation(p, l).orElseThrow().getQuantity());
+            }
+        }
+    }
+
+    @Test
+    void batchDecreaseReportsAllShortagesThenShipsAtomically() {
+        stockService.increaseStock(product, location, 5);
+        stockService.increaseStock(otherProduct, location, 2);
+
+        List<OperationDetail> shortOrder = List.of(
+                detail(product, location, null, 6),
+                detail(otherProduct, location, null, 3),
+                detail(product, otherLocation, null, 1));
+
+        StockShortageException exception = assertThrows(StockShortageException.class, () ->
+                stockService.decreaseStocks(shortOrder));
+        assertEquals(3, exception.getShortages().size());
+        assertEquals(5, stockRepository.findByProductAndLocation(product, location).orElseThrow().getQuantity());
+        assertEquals(2, stockRepository.findByProductAndLocation(otherProduct, location).orElseThrow().getQuantity());
+
+        stockService.decreaseStocks(List.of(
+                detail(product, location, null, 4),
+                detail(otherProduct, location, null, 2)));
+        assertEquals(1, stockRepository.findByProductAndLocation(product, location).orElseThrow().getQuantity());
+        assertTrue(stockRepository.findByProductAndLocation(otherProduct, location).isEmpty());
+    }
+
+    @Test
+    void nativeWritesIncrementStockVersion() {
+        Stock created = stockService.increaseStock(product, location, 5);
+        stockService.increaseStock(product, location, 5);
+        stockService.decreaseStocks(List.of(detail(product, location, null, 2)));
+
+        Stock stock = stockRepository.findByProductAndLocation(product, location).orElseThrow();
+        assertEquals(0L, created.getVersion());
+        assertEquals(2L, stock.getVersion());
+        assertEquals(8, stock.getQuantity());
+    }
+
+    @Test
+    void staleStockWriteIsRejected() {
+        stockService.increaseStock(product, location, 5);
+        Stock stale = stockRepository.findByProductAndLocation(product, location).orElseThrow();
+
+        stockService.increaseStock(product, location, 3);
+        stale.setQuantity(0);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> stockRepository.save(stale));
+        assertEquals(8, stockRepository.findByProductAndLocation(product, location).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void ledgerReplaysQuantitiesAtPointsInTime() {
+        StockLedgerServiceImpl stockLedgerService = new StockLedgerServiceImpl(stockLedgerRepository, locationRepository,
+                transactionTemplate, Duration.ZERO);
+
+        Instant beforeReceiving = Instant.now();
+        stockService.increaseStock(product, location, 5);
+        Instant afterReceiving = Instant.now();
+        stockLedgerService.takeSnapshot();
+        stockService.transferStock(product, 2, location, otherLocation);
+        Instant afterTransfer = Instant.now();
+        stockService.decreaseStocks(List.of(detail(product, location, null, 3)));
+        Instant afterShipping = Instant.now();
+
+        assertEquals(List.of(), quantities(stockLedgerService, location, beforeReceiving));
+        assertEquals(List.of(5), quantities(stockLedgerService, location, afterReceiving));
+        assertEquals(List.of(3), quantities(stockLedgerService, location, afterTransfer));
+        assertEquals(List.of(), quantities(stockLedgerService, location, afterShipping));
+        assertEquals(List.of(2), quantities(stockLedgerService, otherLocation, afterShipping));
+    }
+
+    private List<Integer> quantities(StockLedgerServiceImpl stockLedgerService, Location at, Instant instant) {
+        return stockLedgerService.getQuantitiesAt(at.getId(), product.getId(), instant).stream()
+                .map(StockQuantityResp::getQuantity)
+                .toList();
+    }
+
+    private static OperationDetail detail(Product product, Location fromLocation, Location toLocation) {
+        return detail(product, fromLocation, toLocation, 1);
+    }
+
+    private static OperationDetail detail(Product product, Location fromLocation, Location toLocation, int quantity) {
+        OperationDetail detail = new OperationDetail();
+        detail.setProduct(product);
+        detail.setFromLocation(fromLocation);
+        detail.setToLocation(toLocation);
+        detail.setQuantity(quantity);
+        return detail;
+    }
+}
@@ -1,35 +1,42 @@
 package com.example.wms.service.impl;
 
 import com.example.wms.exception.CommonBackendException;
+import com.example.wms.exception.StockShortageException;
 import com.example.wms.model.db.entity.Inventory;
 import com.example.wms.model.db.entity.Location;
+import com.example.wms.model.db.entity.Operation;
+import com.example.wms.model.db.entity.OperationDetail;
 import com.example.wms.model.db.entity.Product;
 import com.example.wms.model.db.entity.Stock;
+import com.example.wms.model.db.projection.StockQuantity;
 import com.example.wms.model.db.repository.InventoryRepository;
 import com.example.wms.model.db.repository.LocationRepository;
 import com.example.wms.model.db.repository.ProductRepository;
+import com.example.wms.model.db.repository.StockLedgerRepository;
 import com.example.wms.model.db.repository.StockRepository;
+import com.example.wms.model.db.repository.StockReservationRepository;
+import com.example.wms.model.db.repository.StockTotalRepository;
+import com.example.wms.model.dto.response.CursorPageResp;
 import com.example.wms.model.dto.response.StockInfoResp;
 import com.example.wms.model.enums.StockStatus;
+import com.example.wms.model.enums.TotalMode;
+import com.example.wms.service.ReservationService;
+import com.example.wms.service.TotalCountService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -51,49 +58,108 @@ class StockServiceImplTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
-    @Spy
-    private ObjectMapper objectMapper;
+    @Mock
+    private TotalCountService totalCountService;
+
+    @Mock
+    private StockLedgerRepository stockLedgerRepository;
+
+    @Mock
+    private StockTotalRepository stockTotalRepository;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
 
     @Test
     void increaseStockWithExistingStock() {
         Product product = new Product();
+        product.setId(1L);
         Location location = new Location();
+        location.setId(2L);
         Integer quantity = 10;
 
-        Stock existingStock = new Stock();
-        existingStock.setQuantity(5);
+        Stock upsertedStock = new Stock();
+        upsertedStock.setQuantity(15);
 
-        when(stockRepository.findByProductAndLocation(product, location)).thenReturn(Optional.of(existingStock));
-        when(stockRepository.save(any(Stock.class))).thenReturn(existingStock);
+        when(stockRepository.upsertQuantity(1L, 2L, quantity)).thenReturn(upsertedStock);
 
         Stock result = stockService.increaseStock(product, location, quantity);
 
         assertEquals(15, result.getQuantity());
-        verify(stockRepository).findByProductAndLocation(product, location);
-        verify(stockRepository).save(existingStock);
+        verify(stockRepository).upsertQuantity(1L, 2L, quantity);
+        verify(stockRepository, never()).findByProductAndLocation(any(), any());
+        verify(stockRepository, never()).save(any(Stock.class));
     }
 
     @Test
     void increaseStockWithNewStock() {
         Product product = new Product();
+        product.setId(1L);
         Location location = new Location();
+        location.setId(2L);
         Integer quantity = 10;
 
-        when(stockRepository.findByProductAndLocation(product, location)).thenReturn(Optional.empty());
         Stock newStock = new Stock();
         newStock.setProduct(product);
         newStock.setLocation(location);
         newStock.setStatus(StockStatus.AVAILABLE);
         newStock.setQuantity(quantity);
 
-        when(stockRepository.save(any(Stock.class))).thenReturn(newStock);
+        when(stockRepository.upsertQuantity(1L, 2L, quantity)).thenReturn(newStock);
 
         Stock result = stockService.increaseStock(product, location, quantity);
 
         assertEquals(newStock.getQuantity(), result.getQuantity());
         assertEquals(newStock.getStatus(), result.getStatus());
-        verify(stockRepository).findByProductAndLocation(product, location);
-        verify(stockRepository).save(any(Stock.class));
+        verify(stockRepository).upsertQuantity(1L, 2L, quantity);
+    }
+
+    @Test
+    void increaseStocksMergesDuplicateLinesIntoOneUpsert() {
+        Product product1 = new Product();
+        product1.setId(1L);
+        Product product2 = new Product();
+        product2.setId(2L);
+        Location locationA = new Location();
+        locationA.setId(10L);
+        Location locationB = new Location();
+        locationB.setId(20L);
+
+        List<OperationDetail> details = List.of(
+                detail(product2, null, locationA, 4),
+                detail(product1, null, locationB, 3),
+                detail(product2, null, locationA, 6),
+                detail(product1, null, locationA, 1));
+
+        stockService.increaseStocks(details);
+
+        verify(stockRepository).upsertQuantities(new Long[]{1L, 1L, 2L}, new Long[]{10L, 20L, 10L}, new Integer[]{1, 3, 10});
+        verifyNoMoreInteractions(stockRepository);
+        verify(stockLedgerRepository).append(new Long[]{null, null, null}, new Long[]{2L, 1L, 1L},
+                new Long[]{10L, 20L, 10L}, new Integer[]{10, 3, 1});
+    }
+
+    @Test
+    void increaseStocksWithInvalidLine() {
+        Product product = new Product();
+        product.setId(1L);
+        Location location = new Location();
+        location.setId(10L);
+
+        List<OperationDetail> details = List.of(
+                detail(product, null, location, 4),
+                detail(product, null, location, 0));
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
+                stockService.increaseStocks(details));
+
+        assertEquals("Invalid input parameters for increaseStock", exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(stockRepository);
     }
 
     @Test
@@ -151,20 +217,95 @@ class StockServiceImplTest {
     @Test
     void decreaseStockWithExistingStock() {
         Product product = new Product();
+        product.setId(1L);
         Location location = new Location();
+        location.setId(2L);
         Integer quantity = 5;
 
-        Stock existingStock = new Stock();
-        existingStock.setQuantity(10);
-
-        when(stockRepository.findByProductAndLocation(product, location)).thenReturn(Optional.of(existingStock));
-        when(stockRepository.save(any(Stock.class))).thenReturn(existingStock);
+        when(stockRepository.lockQuantities(new Long[]{1L}, new Long[]{2L})).thenReturn(List.of(quantity(1L, 2L, 10)));
+        when(stockRepository.decreaseQuantity(1L, 2L, quantity)).thenReturn(Optional.of(5));
 
         stockService.decreaseStock(product, location, quantity);
 
-        assertEquals(5, existingStock.getQuantity());
-        verify(stockRepository).findByProductAndLocation(product, location);
-        verify(stockRepository).save(existingStock);
+        verify(stockRepository).decreaseQuantity(1L, 2L, quantity);
+        verify(stockRepository, never()).findByProductAndLocation(any(), any());
+        verify(stockRepository, never()).deleteIfEmpty(any(), any());
+    }
+
+    @Test
+    void decreaseStocksLocksChecksAndDecrementsInOneSetBasedPass() {
+        Product product1 = new Product();
+        product1.setId(1L);
+        Product product2 = new Product();
+        product2.setId(2L);
+        Location location = new Location();
+        location.setId(10L);
+
+        Operation operation = new Operation();
+        operation.setId(7L);
+
+        List<OperationDetail> details = List.of(
+                detail(product2, location, null, 4),
+                detail(product1, location, null, 3),
+                detail(product2, location, null, 6));
+        long detailId = 1;
+        for (OperationDetail detail : details) {
+            detail.setId(detailId++);
+            detail.setOperation(operation);
+        }
+
+        when(stockRepository.lockQuantities(new Long[]{1L, 2L}, new Long[]{10L, 10L}))
+                .thenReturn(List.of(quantity(1L, 10L, 5), quantity(2L, 10L, 10)));
+
+        stockService.decreaseStocks(details);
+
+        verify(stockRepository).decreaseQuantities(new Long[]{1L, 2L}, new Long[]{10L, 10L}, new Integer[]{3, 10});
+        verify(stockRepository).deleteAllIfEmpty(new Long[]{2L}, new Long[]{10L});
+        InOrder totals = inOrder(stockTotalRepository, stockRepository);
+        totals.verify(stockTotalRepository).addQuantities(new Long[]{1L, 2L}, new Long[]{10L, 10L}, new Integer[]{-3, -10});
+        totals.verify(stockRepository).deleteAllIfEmpty(any(), any());
+        verify(stockLedgerRepository).append(new Long[]{7L, 7L}, new Long[]{2L, 1L}, new Long[]{10L, 10L}, new Integer[]{-10, -3});
+        InOrder order = inOrder(reservationService, stockRepository);
+        order.verify(reservationService).releaseDetails(List.of(1L, 2L, 3L));
+        order.verify(stockRepository).lockQuantities(any(), any());
+    }
+
+    @Test
+    void decreaseStocksReportsEveryShortageAndWritesNothing() {
+        Product product1 = new Product();
+        product1.setId(1L);
+        product1.setSku("SKU-1");
+        Product product2 = new Product();
+        product2.setId(2L);
+        product2.setSku("SKU-2");
+        Product product3 = new Product();
+        product3.setId(3L);
+        Location location = new Location();
+        location.setId(10L);
+        location.setName("A-12");
+
+        List<OperationDetail> details = List.of(
+                detail(product1, location, null, 4),
+                detail(product2, location, null, 6),
+                detail(product3, location, null, 1));
+
+        when(stockRepository.lockQuantities(new Long[]{1L, 2L, 3L}, new Long[]{10L, 10L, 10L}))
+                .thenReturn(List.of(quantity(1L, 10L, 3), quantity(3L, 10L, 1)));
+
+        StockShortageException exception = assertThrows(StockShortageException.class, () ->
+                stockService.decreaseStocks(details));
+
+        assertEquals("Insufficient stock for 2 of 3 product/location keys", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(2, exception.getShortages().size());
+        assertEquals("SKU-1", exception.getShortages().get(0).getProductSku());
+        assertEquals("A-12", exception.getShortages().get(0).getLocationName());
+        assertEquals(4, exception.getShortages().get(0).getRequested());
+        assertEquals(3, exception.getShortages().get(0).getAvailable());
+        assertEquals("SKU-2", exception.getShortages().get(1).getProductSku());
+        assertEquals(0, exception.getShortages().get(1).getAvailable());
+        verify(stockRepository, never()).decreaseQuantities(any(), any(), any());
+        verifyNoInteractions(stockLedgerRepository);
     }
 
     @Test
@@ -183,36 +324,59 @@ class StockServiceImplTest {
     @Test
     void decreaseStockWithZeroQuantity() {
         Product product = new Product();
+        product.setId(1L);
         Location location = new Location();
+        location.setId(2L);
         Integer quantity = 10;
 
-        Stock existingStock = new Stock();
-        existingStock.setQuantity(10);
-
-        when(stockRepository.findByProductAndLocation(product, location)).thenReturn(Optional.of(existingStock));
+        when(stockRepository.lockQuantities(new Long[]{1L}, new Long[]{2L})).thenReturn(List.of(quantity(1L, 2L, 10)));
+        when(stockRepository.decreaseQuantity(1L, 2L, quantity)).thenReturn(Optional.of(0));
 
         stockService.decreaseStock(product, location, quantity);
 
-        verify(stockRepository).delete(existingStock);
+        verify(stockRepository).deleteIfEmpty(1L, 2L);
         verify(stockRepository, never()).save(any(Stock.class));
     }
 
     @Test
     void decreaseStockWithInsufficientQuantity() {
         Product product = new Product();
+        product.setId(1L);
+        product.setSku("SKU-1");
         Location location = new Location();
+        location.setId(2L);
         Integer quantity = 15;
 
-        Stock existingStock = new Stock();
-        existingStock.setQuantity(10);
-
-        when(stockRepository.findByProductAndLocation(product, location)).thenReturn(Optional.of(existingStock));
+        when(stockRepository.lockQuantities(new Long[]{1L}, new Long[]{2L})).thenReturn(List.of(quantity(1L, 2L, 10)));
 
-        CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
+        StockShortageException exception = assertThrows(StockShortageException.class, () ->
                 stockService.decreaseStock(product, location, quantity));
 
-        assertEquals("Insufficient stock to decrease", exception.getMessage());
-        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Insufficient stock for 1 of 1 product/location keys", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(15, exception.getShortages().get(0).getRequested());
+        assertEquals(10, exception.getShortages().get(0).getAvailable());
+        verify(stockRepository, never()).decreaseQuantity(any(), any(), any());
+    }
+
+    @Test
+    void decreaseStockCannotTakeStockHeldForShipping() {
+        Product product = new Product();
+        product.setId(1L);
+        Location location = new Location();
+        location.setId(2L);
+
+        when(stockRepository.lockQuantities(new Long[]{1L}, new Long[]{2L})).thenReturn(List.of(quantity(1L, 2L, 10)));
+        when(stockReservationRepository.findReserved(new Long[]{1L}, new Long[]{2L})).thenReturn(List.of(quantity(1L, 2L, 8)));
+
+        StockShortageException exception = assertThrows(StockShortageException.class, () ->
+                stockService.decreaseStock(product, location, 5));
+
+        assertEquals(2, exception.getShortages().get(0).getAvailable());
+        verify(stockRepository, never()).decreaseQuantity(any(), any(), any());
+        InOrder order = inOrder(stockRepository, stockReservationRepository);
+        order.verify(stockRepository).lockQuantities(any(), any());
+        order.verify(stockReservationRepository).findReserved(any(), any());
     }
 
     @Test
@@ -260,8 +424,6 @@ class StockServiceImplTest {
         Location location = new Location();
         Integer quantity = 5;
 
-        when(stockRepository.findByProductAndLocation(product, location)).thenReturn(Optional.empty());
-
         CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
                 stockService.decreaseStock(product, location, quantity));
 
@@ -272,27 +434,25 @@ class StockServiceImplTest {
     @Test
     void transferStockSuccessfully() {
         Product product = new Product();
+        product.setId(1L);
         Location fromLocation = new Location();
+        fromLocation.setId(2L);
         Location toLocation = new Location();
+        toLocation.setId(3L);
         Integer quantity = 5;
 
-        Stock fromStock = new Stock();
-        fromStock.setQuantity(10);
+        Stock fromStock = stock(product, fromLocation, 10);
+        Stock toStock = stock(product, toLocation, 0);
 
-        Stock toStock = new Stock();
-        toStock.setQuantity(10);
-
-        when(stockRepository.findByProductAndLocation(product, fromLocation)).thenReturn(Optional.of(fromStock));
-        when(stockRepository.findByProductAndLocation(product, toLocation)).thenReturn(Optional.of(toStock));
-        when(stockRepository.save(any(Stock.class))).thenReturn(fromStock);
+        when(stockRepository.findAllForUpdate(new Long[]{1L, 1L}, new Long[]{2L, 3L}))
+                .thenReturn(List.of(fromStock, toStock));
 
         stockService.transferStock(product, quantity, fromLocation, toLocation);
 
         assertEquals(5, fromStock.getQuantity());
-        assertEquals(15, toStock.getQuantity());
-        verify(stockRepository).findByProductAndLocation(product, fromLocation);
-        verify(stockRepository).findByProductAndLocation(product, toLocation);
-        verify(stockRepository, times(2)).save(any(Stock.class));
+        assertEquals(5, toStock.getQuantity());
+        verify(stockRepository).insertMissing(new Long[]{1L}, new Long[]{3L});
+        verify(stockRepository, never()).deleteIfEmpty(any(), any());
     }
 
     @Test
@@ -311,20 +471,114 @@ class StockServiceImplTest {
     @Test
     void transferStockWithInsufficientQuantity() {
         Product product = new Product();
+        product.setId(1L);
         Location fromLocation = new Location();
+        fromLocation.setId(2L);
         Location toLocation = new Location();
+        toLocation.setId(3L);
         Integer quantity = 15;
 
-        Stock fromStock = new Stock();
-        fromStock.setQuantity(10);
+        Stock fromStock = stock(product, fromLocation, 10);
+        Stock toStock = stock(product, toLocation, 0);
 
-        when(stockRepository.findByProductAndLocation(product, fromLocation)).thenReturn(Optional.of(fromStock));
+        when(stockRepository.findAllForUpdate(new Long[]{1L, 1L}, new Long[]{2L, 3L}))
+                .thenReturn(List.of(fromStock, toStock));
 
-        CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
+        StockShortageException exception = assertThrows(StockShortageException.class, () ->
                 stockService.transferStock(product, quantity, fromLocation, toLocation));
 
-        assertEquals("Insufficient stock to decrease", exception.getMessage());
-        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Insufficient stock for 1 of 1 product/location keys", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(10, exception.getShortages().get(0).getAvailable());
+        assertEquals(10, fromStock.getQuantity());
+        verify(stockRepository, never()).flush();
+    }
+
+    @Test
+    void transferStockCannotMoveStockHeldForShipping() {
+        Product product = new Product();
+        product.setId(1L);
+        product.setSku("SKU-1");
+        Location fromLocation = new Location();
+        fromLocation.setId(2L);
+        fromLocation.setName("A-12");
+        Location toLocation = new Location();
+        toLocation.setId(3L);
+
+        Stock fromStock = stock(product, fromLocation, 10);
+        Stock toStock = stock(product, toLocation, 0);
+
+        when(stockRepository.findAllForUpdate(new Long[]{1L, 1L}, new Long[]{2L, 3L}))
+                .thenReturn(List.of(fromStock, toStock));
+        when(stockReservationRepository.findReserved(new Long[]{1L}, new Long[]{2L}))
+                .thenReturn(List.of(quantity(1L, 2L, 6)));
+
+        StockShortageException exception = assertThrows(StockShortageException.class, () ->
+                stockService.transferStock(product, 5, fromLocation, toLocation));
+
+        assertEquals("SKU-1", exception.getShortages().get(0).getProductSku());
+        assertEquals("A-12", exception.getShortages().get(0).getLocationName());
+        assertEquals(5, exception.getShortages().get(0).getRequested());
+        assertEquals(4, exception.getShortages().get(0).getAvailable());
+        assertEquals(10, fromStock.getQuantity());
+        assertEquals(0, toStock.getQuantity());
+        verify(stockRepository, never()).flush();
+    }
+
+    @Test
+    void transferStockWithSourceStockNotFound() {
+        Product product = new Product();
+        product.setId(1L);
+        Location fromLocation = new Location();
+        fromLocation.setId(2L);
+        Location toLocation = new Location();
+        toLocation.setId(3L);
+
+        when(stockRepository.findAllForUpdate(new Long[]{1L, 1L}, new Long[]{2L, 3L}))
+                .thenReturn(List.of(stock(product, toLocation, 0)));
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
+                stockService.transferStock(product, 5, fromLocation, toLocation));
+
+        assertEquals("Stock not found for product with id: 1 and location with id: 2", exception.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void transferStocksLocksKeysInCanonicalOrderAndNetsDeltas() {
+        Product product1 = new Product();
+        product1.setId(1L);
+        Product product2 = new Product();
+        product2.setId(2L);
+        Location locationA = new Location();
+        locationA.setId(10L);
+        Location locationB = new Location();
+        locationB.setId(20L);
+
+        List<OperationDetail> details = List.of(
+                detail(product2, locationB, locationA, 4),
+                detail(product1, locationA, locationB, 3),
+                detail(product1, locationB, locationA, 1));
+
+        Stock p1a = stock(product1, locationA, 3);
+        Stock p1b = stock(product1, locationB, 0);
+        Stock p2a = stock(product2, locationA, 7);
+        Stock p2b = stock(product2, locationB, 4);
+
+        when(stockRepository.findAllForUpdate(new Long[]{1L, 1L, 2L, 2L}, new Long[]{10L, 20L, 10L, 20L}))
+                .thenReturn(List.of(p1a, p1b, p2a, p2b));
+
+        stockService.transferStocks(details);
+
+        assertEquals(1, p1a.getQuantity());
+        assertEquals(2, p1b.getQuantity());
+        assertEquals(11, p2a.getQuantity());
+        assertEquals(0, p2b.getQuantity());
+        verify(stockRepository).insertMissing(new Long[]{1L, 2L}, new Long[]{20L, 10L});
+        verify(stockRepository).flush();
+        verify(stockRepository).deleteIfEmpty(2L, 20L);
+        verify(stockLedgerRepository).append(new Long[]{null, null, null, null}, new Long[]{2L, 2L, 1L, 1L},
+                new Long[]{20L, 10L, 10L, 20L}, new Integer[]{-4, 4, -2, 2});
     }
 
     @Test
@@ -485,16 +739,15 @@ class StockServiceImplTest {
         Stock stock = new Stock();
         stock.setProduct(product);
         stock.setLocation(location);
-        StockInfoResp stockInfoResp = new StockInfoResp();
 
         when(stockRepository.findAllFiltered(pageable, filter)).thenReturn(new PageImpl<>(List.of(stock)));
-        when(objectMapper.convertValue(stock, StockInfoResp.class)).thenReturn(stockInfoResp);
 
-        Page<StockInfoResp> result = stockService.getAllStocks(pageNumber, pageSize, sortField, sortDirection, filter);
+        Slice<StockInfoResp> result = stockService.getAllStocks(pageNumber, pageSize, sortField, sortDirection, filter, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(stockInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals(product.getSku(), result.getContent().get(0).getProductSku());
+        assertEquals(location.getName(), result.getContent().get(0).getLocationName());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
         verify(stockRepository).findAllFiltered(pageable, filter);
     }
 
@@ -513,19 +766,102 @@ class StockServiceImplTest {
         Stock stock = new Stock();
         stock.setProduct(product);
         stock.setLocation(location);
-        StockInfoResp stockInfoResp = new StockInfoResp();
 
         when(stockRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(stock)));
-        when(objectMapper.convertValue(stock, StockInfoResp.class)).thenReturn(stockInfoResp);
 
-        Page<StockInfoResp> result = stockService.getAllStocks(pageNumber, pageSize, sortField, sortDirection, null);
+        Slice<StockInfoResp> result = stockService.getAllStocks(pageNumber, pageSize, sortField, sortDirection, null, TotalMode.EXACT);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(stockInfoResp, result.getContent().get(0));
-        assertEquals(1, result.getTotalElements());
+        assertEquals(product.getSku(), result.getContent().get(0).getProductSku());
+        assertEquals(location.getName(), result.getContent().get(0).getLocationName());
+        assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements());
         verify(stockRepository).findAll(pageable);
     }
 
+    @Test
+    void getAllStocksWithoutTotalSkipsCount() {
+        Pageable pageable = PaginationUtils.getPageRequest(1, 2, "status", Sort.Direction.ASC);
+        when(stockRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(stock(1L), stock(2L)), pageable, true));
+
+        Slice<StockInfoResp> result = stockService.getAllStocks(1, 2, "status", Sort.Direction.ASC, null, TotalMode.NONE);
+
+        assertFalse(result instanceof Page);
+        assertEquals(List.of(1L, 2L), result.getContent().stream().map(StockInfoResp::getId).toList());
+        assertTrue(result.hasNext());
+        verify(stockRepository, never()).findAll(any(Pageable.class));
+        verifyNoInteractions(totalCountService);
+    }
+
+    @Test
+    void getAllStocksApproximateTotalIsCachedPerFilter() {
+        Pageable pageable = PaginationUtils.getPageRequest(1, 2, "status", Sort.Direction.ASC);
+        when(stockRepository.findSliceFiltered(pageable, "sku")).thenReturn(new SliceImpl<>(List.of(stock(1L)), pageable, false));
+        when(totalCountService.approximateTotal(eq("stocks"), eq("sku"), any())).thenReturn(40L);
+
+        Slice<StockInfoResp> result = stockService.getAllStocks(1, 2, "status", Sort.Direction.ASC, "sku", TotalMode.APPROXIMATE);
+
+        assertEquals(40L, assertInstanceOf(Page.class, result).getTotalElements());
+        verify(stockRepository, never()).findAllFiltered(any(), any());
+    }
+
+    @Test
+    void getAllStocksApproximateTotalNeverBelowSeenRows() {
+        Pageable pageable = PaginationUtils.getPageRequest(3, 2, "status", Sort.Direction.ASC);
+        when(stockRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(stock(5L), stock(6L)), pageable, true));
+        when(totalCountService.approximateTotal(eq("stocks"), isNull(), any())).thenReturn(3L);
+
+        Page<?> result = assertInstanceOf(Page.class,
+                stockService.getAllStocks(3, 2, "status", Sort.Direction.ASC, null, TotalMode.APPROXIMATE));
+
+        assertEquals(7L, result.getTotalElements());
+        assertTrue(result.hasNext());
+    }
+
+    @Test
+    void scrollStocksRoundTripsCursor() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "status");
+        List<Stock> stocks = List.of(stock(1L), stock(2L));
+        when(stockRepository.findWindowFiltered("sku", ScrollPosition.keyset(), sort, Limit.of(2)))
+                .thenReturn(Window.from(stocks, i -> ScrollPosition.forward(Map.of("status", StockStatus.AVAILABLE, "id", stocks.get(i).getId())), true));
+
+        CursorPageResp<StockInfoResp> first = stockService.scrollStocks(null, 2, "status", Sort.Direction.ASC, "sku");
+
+        assertEquals(2, first.getContent().size());
+        assertNotNull(first.getNextCursor());
+
+        ScrollPosition expected = ScrollPosition.forward(Map.of("status", StockStatus.AVAILABLE, "id", 2L));
+        when(stockRepository.findAllBy(expected, sort, Limit.of(2))).thenReturn(Window.from(List.of(), i -> expected, false));
+
+        CursorPageResp<StockInfoResp> second = stockService.scrollStocks(first.getNextCursor(), 2, "status", Sort.Direction.ASC, null);
+
+        assertTrue(second.getContent().isEmpty());
+        assertNull(second.getNextCursor());
+        verify(stockRepository).findAllBy(expected, sort, Limit.of(2));
+    }
+
+    @Test
+    void scrollStocksInvalidCursor() {
+        CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
+                stockService.scrollStocks("not-a-cursor", 10, "status", Sort.Direction.ASC, null));
+        assertEquals("Invalid cursor", exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(stockRepository);
+    }
+
+    @Test
+    void scrollStocksCursorFromAnotherSort() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "quantity");
+        List<Stock> stocks = List.of(stock(1L));
+        when(stockRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(1)))
+                .thenReturn(Window.from(stocks, i -> ScrollPosition.forward(Map.of("quantity", 5, "id", 1L)), true));
+        String cursor = stockService.scrollStocks(null, 1, "quantity", Sort.Direction.ASC, null).getNextCursor();
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
+                stockService.scrollStocks(cursor, 1, "status", Sort.Direction.ASC, null));
+        assertEquals("Cursor does not match the requested sort", exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
     @Test
     void stockInventoryStockNotFound() {
         Long stockId = 1L;
@@ -561,6 +897,7 @@ class StockServiceImplTest {
 
         assertEquals(StockStatus.UNAVAILABLE, stock.getStatus());
         verify(stockRepository).save(stock);
+        verify(stockTotalRepository).add(1L, 1L, 0, 3);
         verify(inventoryRepository).save(any(Inventory.class));
     }
 
@@ -579,6 +916,7 @@ class StockServiceImplTest {
 
         assertEquals(StockStatus.AVAILABLE, stock.getStatus());
         verify(stockRepository, never()).save(stock);
+        verifyNoInteractions(stockTotalRepository);
         verify(inventoryRepository).save(any(Inventory.class));
     }
 
@@ -624,7 +962,6 @@ class StockServiceImplTest {
         when(stockRepository.save(stock)).thenReturn(savedStock);
 
         StockInfoResp stockInfoResp = new StockInfoResp();
-        when(objectMapper.convertValue(savedStock, StockInfoResp.class)).thenReturn(stockInfoResp);
 
         StockInfoResp result = stockService.updateQuantity(stock.getId(), quantity);
 
@@ -633,5 +970,76 @@ class StockServiceImplTest {
         assertEquals(quantity, savedStock.getQuantity());
         assertEquals(StockStatus.AVAILABLE, savedStock.getStatus());
         verify(stockRepository).save(stock);
+        verify(stockLedgerRepository).append(new Long[]{null}, new Long[]{1L}, new Long[]{1L}, new Integer[]{5});
+        verify(stockTotalRepository).add(1L, 1L, 5, -5);
+    }
+
+    @Test
+    void updateQuantityBelowStockHeldForShippingIsRejected() {
+        Product product = new Product();
+        product.setId(1L);
+        Location location = new Location();
+        location.setId(2L);
+        Stock stock = stock(product, location, 5);
+        stock.setId(1L);
+        stock.setStatus(StockStatus.UNAVAILABLE);
+
+        when(stockRepository.findByIdAndStatus(1L, StockStatus.UNAVAILABLE)).thenReturn(Optional.of(stock));
+        when(stockReservationRepository.findReserved(new Long[]{1L}, new Long[]{2L})).thenReturn(List.of(quantity(1L, 2L, 4)));
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
+                stockService.updateQuantity(1L, 3));
+
+        assertEquals("Quantity 3 is below the 4 units held for shipping", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(5, stock.getQuantity());
+        InOrder order = inOrder(stockRepository, stockReservationRepository);
+        order.verify(stockRepository).lockQuantities(new Long[]{1L}, new Long[]{2L});
+        order.verify(stockReservationRepository).findReserved(any(), any());
+        verify(stockRepository, never()).save(any());
+        verifyNoInteractions(stockLedgerRepository, stockTotalRepository);
+    }
+
+    private static Stock stock(Long id) {
+        Stock stock = stock(new Product(), new Location(), 1);
+        stock.setId(id);
+        return stock;
+    }
+
+    private static Stock stock(Product product, Location location, int quantity) {
+        Stock stock = new Stock();
+        stock.setProduct(product);
+        stock.setLocation(location);
+        stock.setQuantity(quantity);
+        stock.setStatus(StockStatus.AVAILABLE);
+        return stock;
+    }
+
+    private static OperationDetail detail(Product product, Location fromLocation, Location toLocation, int quantity) {
+        OperationDetail detail = new OperationDetail();
+        detail.setProduct(product);
+        detail.setFromLocation(fromLocation);
+        detail.setToLocation(toLocation);
+        detail.setQuantity(quantity);
+        return detail;
+    }
+
+    private static StockQuantity quantity(Long productId, Long locationId, Integer quantity) {
+        return new StockQuantity() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Long getLocationId() {
+                return locationId;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+        };
     }
-}
\ No newline at end of file
+}
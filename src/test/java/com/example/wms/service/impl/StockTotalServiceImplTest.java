@@ -0,0 +1,82 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.model.db.repository.ProductRepository;
+import com.example.wms.model.db.repository.StockTotalRepository;
+import com.example.wms.model.db.repository.WarehouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockTotalServiceImplTest {
+
+    @Mock
+    private StockTotalRepository stockTotalRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private WarehouseRepository warehouseRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private StockTotalServiceImpl stockTotalService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void verifyRepairsDriftUnderLock() {
+        when(stockTotalRepository.tryLockVerification()).thenReturn(true);
+        when(stockTotalRepository.repairDrift()).thenReturn(3);
+
+        assertEquals(3, stockTotalService.verify());
+    }
+
+    @Test
+    void verifySkipsWhenAnotherInstanceIsVerifying() {
+        when(stockTotalRepository.tryLockVerification()).thenReturn(false);
+
+        assertEquals(0, stockTotalService.verify());
+        verify(stockTotalRepository, never()).repairDrift();
+    }
+
+    @Test
+    void getProductTotalsProductNotFound() {
+        when(productRepository.existsById(1L)).thenReturn(false);
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
+                stockTotalService.getProductTotals(1L));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verifyNoInteractions(stockTotalRepository);
+    }
+
+    @Test
+    void getWarehouseTotalsWarehouseNotFound() {
+        when(warehouseRepository.existsById(1L)).thenReturn(false);
+
+        CommonBackendException exception = assertThrows(CommonBackendException.class, () ->
+                stockTotalService.getWarehouseTotals(1L, 1, 10));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verifyNoInteractions(stockTotalRepository);
+    }
+}
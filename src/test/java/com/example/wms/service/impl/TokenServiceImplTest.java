@@ -0,0 +1,182 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.exception.CommonBackendException;
+import com.example.wms.model.db.entity.Role;
+import com.example.wms.model.db.entity.User;
+import com.example.wms.model.db.repository.UserRepository;
+import com.example.wms.model.dto.request.TokenReq;
+import com.example.wms.model.dto.response.TokenResp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenServiceImplTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private MutableClock clock;
+
+    private TokenServiceImpl tokenService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T08:00:00Z"));
+        tokenService = new TokenServiceImpl(authenticationManager, userRepository, TTL, SECRET, clock);
+    }
+
+    @Test
+    void issueTokenAndAuthenticateWithoutUserLookup() {
+        mockLogin(1L, "picker", "ROLE_PICKER");
+
+        TokenResp resp = tokenService.issueToken(new TokenReq("picker", "secret"));
+        Authentication authentication = tokenService.authenticate(resp.getToken());
+
+        assertEquals("Bearer", resp.getTokenType());
+        assertEquals(Instant.parse("2025-01-01T08:30:00Z"), resp.getExpiresAt());
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("picker", authentication.getName());
+        assertEquals(List.of("ROLE_PICKER"), authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(userRepository, times(1)).findByUsername(any());
+    }
+
+    @Test
+    void issueTokenBadCredentials() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        CommonBackendException e = assertThrows(CommonBackendException.class,
+                () -> tokenService.issueToken(new TokenReq("picker", "guess")));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, e.getStatus());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void authenticateTamperedToken() {
+        mockLogin(1L, "picker", "ROLE_PICKER");
+        String token = tokenService.issueToken(new TokenReq("picker", "secret")).getToken();
+        String foreign = new TokenServiceImpl(authenticationManager, userRepository, TTL,
+                "another-secret-another-secret-xx", clock).issueToken(new TokenReq("picker", "secret")).getToken();
+
+        String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                payload.replace("ROLE_PICKER", "ROLE_ADMIN").getBytes(StandardCharsets.UTF_8)) + token.substring(token.indexOf('.'));
+
+        assertThrows(BadCredentialsException.class, () -> tokenService.authenticate(forged));
+        assertThrows(BadCredentialsException.class, () -> tokenService.authenticate(foreign));
+        assertThrows(BadCredentialsException.class, () -> tokenService.authenticate("garbage"));
+    }
+
+    @Test
+    void authenticateExpiredToken() {
+        mockLogin(1L, "picker", "ROLE_PICKER");
+        String token = tokenService.issueToken(new TokenReq("picker", "secret")).getToken();
+
+        clock.advance(TTL);
+
+        assertThrows(CredentialsExpiredException.class, () -> tokenService.authenticate(token));
+    }
+
+    @Test
+    void revokeRejectsEarlierTokensOfThatUserOnly() {
+        mockLogin(1L, "picker", "ROLE_PICKER");
+        String revoked = tokenService.issueToken(new TokenReq("picker", "secret")).getToken();
+        mockLogin(2L, "receiver", "ROLE_RECEIVER");
+        String other = tokenService.issueToken(new TokenReq("receiver", "secret")).getToken();
+
+        tokenService.revoke(1L);
+        clock.advance(Duration.ofMillis(1));
+        mockLogin(1L, "picker", "ROLE_PICKER");
+        String reissued = tokenService.issueToken(new TokenReq("picker", "secret")).getToken();
+
+        assertThrows(BadCredentialsException.class, () -> tokenService.authenticate(revoked));
+        assertEquals("receiver", tokenService.authenticate(other).getName());
+        assertEquals("picker", tokenService.authenticate(reissued).getName());
+    }
+
+    @Test
+    void revokeSeveralRejectsEarlierTokensOfThoseUsers() {
+        mockLogin(1L, "picker", "ROLE_PICKER");
+        String picker = tokenService.issueToken(new TokenReq("picker", "secret")).getToken();
+        mockLogin(2L, "receiver", "ROLE_PICKER");
+        String receiver = tokenService.issueToken(new TokenReq("receiver", "secret")).getToken();
+        mockLogin(3L, "auditor", "ROLE_AUDITOR");
+        String auditor = tokenService.issueToken(new TokenReq("auditor", "secret")).getToken();
+
+        tokenService.revoke(1L, 2L);
+
+        assertThrows(BadCredentialsException.class, () -> tokenService.authenticate(picker));
+        assertThrows(BadCredentialsException.class, () -> tokenService.authenticate(receiver));
+        assertEquals("auditor", tokenService.authenticate(auditor).getName());
+    }
+
+    private void mockLogin(Long id, String username, String roleName) {
+        Role role = new Role();
+        role.setName(roleName);
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setRole(role);
+
+        when(authenticationManager.authenticate(any())).thenReturn(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
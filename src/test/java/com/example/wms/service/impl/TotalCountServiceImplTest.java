@@ -0,0 +1,89 @@
+package com.example.wms.service.impl;
+
+import com.example.wms.service.TotalCountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TotalCountServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TotalCountServiceImpl totalCountService;
+
+    private final AtomicLong exactCounts = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        totalCountService = new TotalCountServiceImpl(jdbcTemplate, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void unfilteredTotalUsesPlannerEstimate() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("stocks"))).thenReturn(List.of(1_000_000L));
+
+        assertEquals(1_000_000L, totalCountService.approximateTotal("stocks", null, exactCounts::incrementAndGet));
+        assertEquals(0, exactCounts.get());
+    }
+
+    @Test
+    void neverAnalyzedTableFallsBackToCachedCount() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("stocks"))).thenReturn(List.of(-1L));
+
+        assertEquals(1L, totalCountService.approximateTotal("stocks", null, exactCounts::incrementAndGet));
+        assertEquals(1L, totalCountService.approximateTotal("stocks", null, exactCounts::incrementAndGet));
+        assertEquals(1, exactCounts.get());
+    }
+
+    @Test
+    void filteredTotalIsCachedPerTableAndFilter() {
+        assertEquals(1L, totalCountService.approximateTotal("stocks", "A-", exactCounts::incrementAndGet));
+        assertEquals(1L, totalCountService.approximateTotal("stocks", "A-", exactCounts::incrementAndGet));
+        assertEquals(2L, totalCountService.approximateTotal("stocks", "B-", exactCounts::incrementAndGet));
+        assertEquals(3L, totalCountService.approximateTotal("products", "A-", exactCounts::incrementAndGet));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void activeRowsTotalSkipsPlannerEstimate() {
+        assertEquals(1L, totalCountService.approximateTotal("products", TotalCountService.ACTIVE_ROWS, exactCounts::incrementAndGet));
+        assertEquals(1L, totalCountService.approximateTotal("products", TotalCountService.ACTIVE_ROWS, exactCounts::incrementAndGet));
+        assertEquals(2L, totalCountService.approximateTotal("products", "active", exactCounts::incrementAndGet));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void expiredCountIsReloaded() {
+        totalCountService = new TotalCountServiceImpl(jdbcTemplate, Duration.ZERO);
+
+        assertEquals(1L, totalCountService.approximateTotal("stocks", "A-", exactCounts::incrementAndGet));
+        assertEquals(2L, totalCountService.approximateTotal("stocks", "A-", exactCounts::incrementAndGet));
+    }
+
+    @Test
+    void cacheStaysBounded() {
+        for (int i = 0; i <= TotalCountServiceImpl.MAX_CACHED_COUNTS; i++) {
+            totalCountService.approximateTotal("stocks", "filter-" + i, exactCounts::incrementAndGet);
+        }
+
+        long loaded = exactCounts.get();
+        totalCountService.approximateTotal("stocks", "filter-0", exactCounts::incrementAndGet);
+        assertEquals(loaded + 1, exactCounts.get());
+    }
+}
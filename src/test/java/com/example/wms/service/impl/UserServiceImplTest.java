@@ -7,8 +7,8 @@ import com.example.wms.model.db.repository.RoleRepository;
 import com.example.wms.model.db.repository.UserRepository;
 import com.example.wms.model.dto.request.UserInfoReq;
 import com.example.wms.model.dto.response.UserInfoResp;
+import com.example.wms.service.TokenService;
 import com.example.wms.utils.PaginationUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -44,8 +44,12 @@ class UserServiceImplTest {
     @Spy
     private PasswordEncoder passwordEncoder;
 
-    @Spy
-    private ObjectMapper objectMapper;
+    @Mock
+    private AuthenticationCache authenticationCache;
+
+    @Mock
+    private TokenService tokenService;
+
 
     @Test
     void createUser() {
@@ -165,15 +169,13 @@ class UserServiceImplTest {
 
         User user = new User();
         user.setRole(role);
-        UserInfoResp userInfoResp = new UserInfoResp();
 
         when(userRepository.findAllFiltered(pageable, filter)).thenReturn(new PageImpl<>(List.of(user)));
-        when(objectMapper.convertValue(user, UserInfoResp.class)).thenReturn(userInfoResp);
 
         Page<UserInfoResp> result = userService.getAllUsers(pageNumber, pageSize, sortField, sortDirection, filter);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(userInfoResp, result.getContent().get(0));
+        assertEquals("TestRole", result.getContent().get(0).getRoleName());
         assertEquals(1, result.getTotalElements());
     }
 
@@ -191,15 +193,13 @@ class UserServiceImplTest {
 
         User user = new User();
         user.setRole(role);
-        UserInfoResp userInfoResp = new UserInfoResp();
 
         when(userRepository.findAllByIsActiveTrue(pageable)).thenReturn(new PageImpl<>(List.of(user)));
-        when(objectMapper.convertValue(user, UserInfoResp.class)).thenReturn(userInfoResp);
 
         Page<UserInfoResp> result = userService.getAllUsers(pageNumber, pageSize, sortField, sortDirection, null);
 
         assertEquals(1, result.getContent().size());
-        assertEquals(userInfoResp, result.getContent().get(0));
+        assertEquals("TestRole", result.getContent().get(0).getRoleName());
         assertEquals(1, result.getTotalElements());
 
     }
@@ -254,7 +254,8 @@ class UserServiceImplTest {
         assertEquals(expectedResponse.getMiddleName(), resp.getMiddleName());
         assertEquals(expectedResponse.getUsername(), resp.getUsername());
         assertEquals(expectedResponse.getRoleName(), resp.getRoleName());
-
+        verify(authenticationCache).evict("TestUsername");
+        verify(tokenService).revoke(1L);
     }
 
     @Test
@@ -346,10 +347,13 @@ class UserServiceImplTest {
     void deleteUser() {
         User user = new User();
         user.setId(1L);
+        user.setUsername("TestUsername");
         when(userRepository.findByIdAndIsActiveTrue(user.getId())).thenReturn(Optional.of(user));
 
         userService.deleteUser(user.getId());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(authenticationCache).evict("TestUsername");
+        verify(tokenService).revoke(1L);
         assertEquals(false, user.getIsActive());
     }
 